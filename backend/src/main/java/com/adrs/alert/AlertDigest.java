@@ -0,0 +1,22 @@
+package com.adrs.alert;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The alerts of one batch for one recipient, delivered as a single message.
+ */
+@Value
+public class AlertDigest {
+
+    /**
+     * Id of the user the digest is for.
+     */
+    long recipientId;
+
+    List<DiseaseAlert> alerts;
+
+    Instant createdAt;
+}
@@ -0,0 +1,227 @@
+package com.adrs.alert;
+
+import com.adrs.model.District;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Dedup, batching and delivery stages for disease alerts.
+ *
+ * {@link #offer} drops an alert when its disease already raised one in the same district
+ * within the dedup window, and otherwise queues it without blocking; a full queue drops
+ * it. {@link #flush} takes up to a batch of queued alerts, hands them to the router,
+ * which returns the alerts for each recipient, and delivers one {@link AlertDigest} per
+ * recipient. A digest the sink fails
+ * on is retried on later flushes, after a backoff doubled for each attempt, until
+ * {@code maxAttempts} attempts have failed.
+ *
+ * Publishes {@code alerts.received} (tagged queued, suppressed or dropped),
+ * {@code alerts.digests} (tagged delivered, retried or failed), the {@code alerts.delivery}
+ * timer and the {@code alerts.queued} and {@code alerts.retrying} gauges.
+ */
+public class AlertPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertPipeline.class);
+
+    private final AlertSink sink;
+    private final Function<List<DiseaseAlert>, Map<Long, List<DiseaseAlert>>> router;
+    private final long dedupWindowMillis;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final LongSupplier clockMillis;
+
+    private final BlockingQueue<DiseaseAlert> queue;
+    private final Map<DedupKey, Long> lastRaised = new ConcurrentHashMap<>();
+    /** Guarded by this. */
+    private final List<Delivery> retries = new ArrayList<>();
+
+    private final Counter queued;
+    private final Counter suppressed;
+    private final Counter dropped;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer deliveryTimer;
+
+    private record DedupKey(UUID diseaseId, District district) {
+    }
+
+    private record Delivery(AlertDigest digest, int attempts, long dueAt) {
+    }
+
+    /**
+     * @param sink          where digests are delivered
+     * @param router        resolves a batch of alerts to the alerts for each recipient id
+     * @param dedupWindow   time within which a disease raises one alert per district
+     * @param maxBatchSize  most alerts taken per flush
+     * @param queueCapacity most alerts waiting for a flush
+     * @param maxAttempts   delivery attempts per digest
+     * @param retryBackoff  wait before the first retry, doubled for each retry after it
+     * @param clockMillis   wall clock in milliseconds
+     * @param meterRegistry registry for the alert metrics
+     */
+    public AlertPipeline(AlertSink sink, Function<List<DiseaseAlert>, Map<Long, List<DiseaseAlert>>> router,
+                         Duration dedupWindow, int maxBatchSize, int queueCapacity, int maxAttempts,
+                         Duration retryBackoff, LongSupplier clockMillis, MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1 || queueCapacity < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Alert batch size, queue capacity and attempts must be positive");
+        }
+        this.sink = sink;
+        this.router = router;
+        this.dedupWindowMillis = dedupWindow.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.clockMillis = clockMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.queued = received(meterRegistry, "queued");
+        this.suppressed = received(meterRegistry, "suppressed");
+        this.dropped = received(meterRegistry, "dropped");
+        this.delivered = digests(meterRegistry, "delivered");
+        this.retried = digests(meterRegistry, "retried");
+        this.failed = digests(meterRegistry, "failed");
+        this.deliveryTimer = Timer.builder("alerts.delivery").register(meterRegistry);
+        Gauge.builder("alerts.queued", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("alerts.retrying", this, AlertPipeline::retryCount).register(meterRegistry);
+    }
+
+    /**
+     * Queue an alert unless its disease already raised one in its district within the
+     * dedup window. Never blocks.
+     *
+     * @param alert the alert
+     * @return whether the alert was queued
+     */
+    public boolean offer(DiseaseAlert alert) {
+        long now = clockMillis.getAsLong();
+        DedupKey key = new DedupKey(alert.getDiseaseId(), alert.getDistrict());
+        boolean[] raised = new boolean[1];
+        lastRaised.compute(key, (k, previous) -> {
+            if (previous != null && now - previous < dedupWindowMillis) {
+                return previous;
+            }
+            raised[0] = true;
+            return now;
+        });
+        if (!raised[0]) {
+            suppressed.increment();
+            return false;
+        }
+        if (!queue.offer(alert)) {
+            // Let the next confirmation raise the alert that was lost here
+            lastRaised.remove(key, now);
+            dropped.increment();
+            logger.warn("Alert queue full, dropped alert for {} in {}", alert.getDiseaseId(), alert.getDistrict());
+            return false;
+        }
+        queued.increment();
+        return true;
+    }
+
+    /**
+     * Deliver a batch of queued alerts as digests, and the retries that are due.
+     *
+     * @return the number of digests delivered
+     */
+    public synchronized int flush() {
+        long now = clockMillis.getAsLong();
+        lastRaised.values().removeIf(raisedAt -> now - raisedAt >= dedupWindowMillis);
+
+        List<Delivery> due = new ArrayList<>();
+        for (Iterator<Delivery> it = retries.iterator(); it.hasNext(); ) {
+            Delivery retry = it.next();
+            if (retry.dueAt() <= now) {
+                due.add(retry);
+                it.remove();
+            }
+        }
+
+        List<DiseaseAlert> batch = new ArrayList<>();
+        queue.drainTo(batch, maxBatchSize);
+        if (!batch.isEmpty()) {
+            Instant createdAt = Instant.ofEpochMilli(now);
+            try {
+                router.apply(batch).forEach((recipientId, alerts) ->
+                        due.add(new Delivery(new AlertDigest(recipientId, List.copyOf(alerts), createdAt), 0, now)));
+            } catch (RuntimeException e) {
+                // Route the batch again on the next flush; what no longer fits is dropped
+                logger.error("Could not route {} alerts, keeping them for the next batch", batch.size(), e);
+                batch.stream().filter(alert -> !queue.offer(alert)).forEach(alert -> dropped.increment());
+                retries.addAll(due);
+                return 0;
+            }
+        }
+
+        int count = 0;
+        for (Delivery delivery : due) {
+            if (deliver(delivery, now)) {
+                count++;
+            }
+        }
+        if (!batch.isEmpty() || count > 0) {
+            logger.info("Alert batch: {} alerts, {} digests delivered, {} awaiting retry",
+                    batch.size(), count, retries.size());
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of digests waiting to be retried
+     */
+    public synchronized int retryCount() {
+        return retries.size();
+    }
+
+    private boolean deliver(Delivery delivery, long now) {
+        long start = System.nanoTime();
+        try {
+            sink.deliver(delivery.digest());
+            delivered.increment();
+            return true;
+        } catch (RuntimeException e) {
+            int attempts = delivery.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                failed.increment();
+                logger.error("Gave up delivering alert digest to user {} after {} attempts",
+                        delivery.digest().getRecipientId(), attempts, e);
+            } else {
+                long backoff = retryBackoffMillis << Math.min(attempts - 1, 20);
+                retries.add(new Delivery(delivery.digest(), attempts, now + backoff));
+                retried.increment();
+                logger.warn("Alert digest delivery to user {} failed, retrying in {} ms: {}",
+                        delivery.digest().getRecipientId(), backoff, e.getMessage());
+            }
+            return false;
+        } finally {
+            deliveryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Counter received(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("alerts.received").tag("result", result).register(meterRegistry);
+    }
+
+    private static Counter digests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("alerts.digests").tag("result", result).register(meterRegistry);
+    }
+}
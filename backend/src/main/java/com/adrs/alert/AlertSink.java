@@ -0,0 +1,17 @@
+package com.adrs.alert;
+
+/**
+ * Destination of alert digests, such as a mail or SMS gateway.
+ * Called from one thread at a time.
+ */
+public interface AlertSink {
+
+    /**
+     * Deliver a digest. A digest that throws is retried with backoff, so delivery
+     * should be idempotent or tolerate the odd duplicate.
+     *
+     * @param digest the digest
+     * @throws RuntimeException if the digest could not be delivered
+     */
+    void deliver(AlertDigest digest);
+}
@@ -0,0 +1,27 @@
+package com.adrs.alert;
+
+import com.adrs.model.District;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A confirmed report of a notifiable disease in a district, to be sent to its officers.
+ * Further confirmations of the same disease in the same district within the dedup
+ * window are folded into this alert rather than raising their own.
+ */
+@Value
+public class DiseaseAlert {
+
+    UUID diseaseId;
+
+    String diseaseName;
+
+    District district;
+
+    LocalDate reportDate;
+
+    Instant raisedAt;
+}
@@ -0,0 +1,147 @@
+package com.adrs.alert;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportFact;
+import com.adrs.analytics.ReportRowListener;
+import com.adrs.config.AlertProperties;
+import com.adrs.model.District;
+import com.adrs.model.User;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.impl.DistrictOfficerRoster;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Raises an alert when a disease report becomes confirmed, and sends the alerts of
+ * notifiable diseases to the district's veterinary officers and the province's admins.
+ *
+ * Confirmations are seen as row changes of the {@link ReportColumnStore}, which carry
+ * the row before and after the change, so only the change to confirmed raises an
+ * alert; reloads of the store raise none. Only active notifiable diseases, looked up by
+ * ID in a map derived from the cached catalog of the {@link DiseaseService}, are offered
+ * to the {@link AlertPipeline}, whose batches find recipients in the
+ * {@link DistrictOfficerRoster} without loading users.
+ * Reports whose farm district is not a {@link District} raise no alert.
+ */
+public class DiseaseAlertDispatcher implements ReportRowListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiseaseAlertDispatcher.class);
+
+    private final ReportColumnStore columnStore;
+    private final DiseaseService diseaseService;
+    private final DistrictOfficerRoster districtRoster;
+    private final AlertPipeline pipeline;
+
+    /**
+     * @param columnStore    store whose confirmations raise alerts
+     * @param diseaseService service for disease names and notifiability
+     * @param districtRoster roster of the officers to alert
+     * @param sink           where digests are delivered
+     * @param properties     dedup, batching and retry settings
+     * @param meterRegistry  registry for the alert metrics
+     */
+    public DiseaseAlertDispatcher(ReportColumnStore columnStore, DiseaseService diseaseService,
+                                  DistrictOfficerRoster districtRoster, AlertSink sink, AlertProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.columnStore = columnStore;
+        this.diseaseService = diseaseService;
+        this.districtRoster = districtRoster;
+        this.pipeline = new AlertPipeline(sink, this::route, properties.getDedupWindow(),
+                properties.getMaxBatchSize(), properties.getQueueCapacity(), properties.getMaxAttempts(),
+                properties.getRetryBackoff(), System::currentTimeMillis, meterRegistry);
+        columnStore.addListener(this);
+    }
+
+    @Override
+    public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+        if (current == null || !current.confirmed() || (previous != null && previous.confirmed())) {
+            return;
+        }
+        District district = district(columnStore.districtName(current.district()));
+        if (district == null) {
+            logger.debug("No alert for a confirmed report in district {}", columnStore.districtName(current.district()));
+            return;
+        }
+        UUID diseaseId = columnStore.diseaseId(current.disease());
+        String diseaseName = diseaseService.getNotifiableDiseaseNames().get(diseaseId);
+        if (diseaseName == null) {
+            return;
+        }
+        pipeline.offer(new DiseaseAlert(diseaseId, diseaseName, district,
+                LocalDate.ofEpochDay(current.epochDay()), Instant.now()));
+    }
+
+    @Override
+    public void onReload(ReportColumnStore store) {
+        // A reload carries no transitions; confirmations it replays were seen as row changes
+    }
+
+    /**
+     * Deliver the queued alerts and due retries.
+     *
+     * @return the number of digests delivered
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.batch-interval:PT30S}")
+    public int flush() {
+        return pipeline.flush();
+    }
+
+    /**
+     * Deliver what is queued before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @return the pipeline alerts go through
+     */
+    public AlertPipeline getPipeline() {
+        return pipeline;
+    }
+
+    private Map<Long, List<DiseaseAlert>> route(List<DiseaseAlert> batch) {
+        Map<Long, List<DiseaseAlert>> byRecipient = new LinkedHashMap<>();
+        for (DiseaseAlert alert : batch) {
+            for (long recipientId : recipients(alert.getDistrict())) {
+                byRecipient.computeIfAbsent(recipientId, id -> new ArrayList<>()).add(alert);
+            }
+        }
+        return byRecipient;
+    }
+
+    private Set<Long> recipients(District district) {
+        Set<Long> recipients = new LinkedHashSet<>();
+        for (long id : districtRoster.userIds(district, User.Role.VETERINARY_OFFICER)) {
+            recipients.add(id);
+        }
+        for (District provinceDistrict : District.getDistrictsByProvince(district.getProvince())) {
+            for (long id : districtRoster.userIds(provinceDistrict, User.Role.ADMIN)) {
+                recipients.add(id);
+            }
+        }
+        return recipients;
+    }
+
+    private static District district(String name) {
+        try {
+            return District.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.adrs.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each digest to a file as one line of JSON, for tests, local runs and
+ * hand-off to an external mailer that follows the file.
+ */
+public class FileAlertSink implements AlertSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param file         the file to append to; it and its directory are created if missing
+     * @param objectMapper mapper for the JSON lines
+     */
+    public FileAlertSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(AlertDigest digest) {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(digest));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append alert digest to " + file, e);
+        }
+    }
+}
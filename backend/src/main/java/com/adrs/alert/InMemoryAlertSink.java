@@ -0,0 +1,43 @@
+package com.adrs.alert;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the latest delivered digests in memory, for tests and local runs.
+ */
+public class InMemoryAlertSink implements AlertSink {
+
+    private final int capacity;
+    private final Deque<AlertDigest> digests = new ArrayDeque<>();
+
+    /**
+     * @param capacity most digests kept; older ones are dropped
+     */
+    public InMemoryAlertSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(AlertDigest digest) {
+        if (digests.size() == capacity) {
+            digests.removeFirst();
+        }
+        digests.addLast(digest);
+    }
+
+    /**
+     * @return the digests kept, oldest first
+     */
+    public synchronized List<AlertDigest> getDigests() {
+        return List.copyOf(digests);
+    }
+
+    /**
+     * Drop every digest kept.
+     */
+    public synchronized void clear() {
+        digests.clear();
+    }
+}
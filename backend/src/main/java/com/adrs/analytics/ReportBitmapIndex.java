@@ -0,0 +1,288 @@
+package com.adrs.analytics;
+
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.model.Disease;
+import com.adrs.service.DiseaseService;
+import com.adrs.util.CompressedBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over the rows of the {@link ReportColumnStore}.
+ *
+ * There is one compressed bitmap of row numbers per district, disease, month and
+ * outcome, plus bitmaps of live and confirmed rows. A count intersects the union
+ * of each filtered field's bitmaps and never reads the rows themselves.
+ *
+ * Unions of several values (a severity, which is the union of its diseases, or a
+ * range of months) are the expensive part of a count, so the most recent ones are
+ * kept and updated along with the value bitmaps as rows change. Severities are
+ * resolved per count from the cached disease catalog of the {@link DiseaseService},
+ * so a disease's new severity applies to the next count without a database read.
+ */
+@Component
+public class ReportBitmapIndex implements ReportRowListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportBitmapIndex.class);
+
+    private static final int MAX_CACHED_UNIONS = 64;
+
+    private final ReportColumnStore columnStore;
+    private final DiseaseService diseaseService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by {@link #lock}. */
+    private Bitmaps bitmaps = new Bitmaps();
+
+    public ReportBitmapIndex(ReportColumnStore columnStore, DiseaseService diseaseService) {
+        this.columnStore = columnStore;
+        this.diseaseService = diseaseService;
+        columnStore.addListener(this);
+    }
+
+    @Override
+    public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                bitmaps.remove(row, previous);
+            }
+            if (current != null) {
+                bitmaps.add(row, current);
+                bitmaps.resolveNames(columnStore);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReload(ReportColumnStore store) {
+        long start = System.nanoTime();
+        Bitmaps fresh = new Bitmaps();
+        store.forEachLiveRow((fact, row) -> fresh.add(row, fact));
+        fresh.resolveNames(store);
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built report bitmap indexes in {} ms: {} rows, {} KB",
+                (System.nanoTime() - start) / 1_000_000, fresh.live.cardinality(), fresh.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Count live reports matching the filter.
+     *
+     * @param filter the filter
+     * @return number of matching reports
+     */
+    public long count(ReportCountFilter filter) {
+        Set<UUID> severityDiseases = diseasesWithSeverity(filter.getSeverities());
+        if (severityDiseases != null && severityDiseases.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            Bitmaps b = bitmaps;
+            List<CompressedBitmap> clauses = new ArrayList<>();
+            boolean satisfiable = b.addClause(clauses, Field.DISTRICT, filter.getDistricts(), b.districtCodes::get)
+                    && b.addClause(clauses, Field.DISEASE, filter.getDiseaseIds(), b.diseaseCodes::get)
+                    && b.addClause(clauses, Field.DISEASE, severityDiseases, b.diseaseCodes::get)
+                    && b.addClause(clauses, Field.MONTH, filter.getMonths(), Bitmaps::monthIndex)
+                    && b.addClause(clauses, Field.OUTCOME, filter.getOutcomes(), outcome -> outcome.ordinal() + 1);
+            if (!satisfiable) {
+                return 0;
+            }
+            if (Boolean.TRUE.equals(filter.getConfirmed())) {
+                clauses.add(b.confirmed);
+            }
+            if (clauses.isEmpty()) {
+                clauses.add(b.live);
+            }
+
+            CompressedBitmap excluded = Boolean.FALSE.equals(filter.getConfirmed()) ? b.confirmed : null;
+            return CompressedBitmap.andCardinality(clauses, excluded);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of diseases with any of the severities, or null if not filtering by severity
+     */
+    private Set<UUID> diseasesWithSeverity(Set<Disease.Severity> severities) {
+        if (severities == null || severities.isEmpty()) {
+            return null;
+        }
+        Set<UUID> ids = new HashSet<>();
+        for (Disease.Severity severity : severities) {
+            for (DiseaseDTO disease : diseaseService.getDiseasesBySeverity(severity)) {
+                ids.add(disease.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Indexed fields, each with one bitmap per code.
+     */
+    private enum Field {
+        DISTRICT,
+        DISEASE,
+        MONTH,
+        OUTCOME;
+
+        int code(ReportFact fact) {
+            return switch (this) {
+                case DISTRICT -> fact.district();
+                case DISEASE -> fact.disease();
+                case MONTH -> Bitmaps.monthIndex(LocalDate.ofEpochDay(fact.epochDay()));
+                case OUTCOME -> fact.outcome();
+            };
+        }
+    }
+
+    /**
+     * A union of the bitmaps of several codes of one field.
+     */
+    private record UnionKey(Field field, Set<Integer> codes) {
+    }
+
+    /**
+     * One generation of bitmaps, keyed by the store's dictionary codes, with the
+     * district and disease codes mapped back to values for lookups.
+     */
+    private static final class Bitmaps {
+        private final CompressedBitmap live = new CompressedBitmap();
+        private final CompressedBitmap confirmed = new CompressedBitmap();
+        private final Map<Field, Map<Integer, CompressedBitmap>> byField = new EnumMap<>(Field.class);
+        private final Map<String, Integer> districtCodes = new HashMap<>();
+        private final Map<UUID, Integer> diseaseCodes = new HashMap<>();
+
+        /** Added to by readers holding the read lock; updated by writers with the rows. */
+        private final Map<UnionKey, CompressedBitmap> unions = new ConcurrentHashMap<>();
+
+        Bitmaps() {
+            for (Field field : Field.values()) {
+                byField.put(field, new HashMap<>());
+            }
+        }
+
+        void add(int row, ReportFact fact) {
+            live.add(row);
+            if (fact.confirmed()) {
+                confirmed.add(row);
+            }
+            for (Field field : Field.values()) {
+                byField.get(field).computeIfAbsent(field.code(fact), code -> new CompressedBitmap()).add(row);
+            }
+            unions.forEach((key, union) -> {
+                if (key.codes().contains(key.field().code(fact))) {
+                    union.add(row);
+                }
+            });
+        }
+
+        void remove(int row, ReportFact fact) {
+            live.remove(row);
+            confirmed.remove(row);
+            for (Field field : Field.values()) {
+                byField.get(field).get(field.code(fact)).remove(row);
+            }
+            unions.forEach((key, union) -> {
+                if (key.codes().contains(key.field().code(fact))) {
+                    union.remove(row);
+                }
+            });
+        }
+
+        /**
+         * Record the values of district and disease codes seen for the first time.
+         */
+        void resolveNames(ReportColumnStore store) {
+            Map<Integer, CompressedBitmap> districts = byField.get(Field.DISTRICT);
+            if (districtCodes.size() < districts.size()) {
+                districts.keySet().forEach(code -> districtCodes.putIfAbsent(store.districtName(code), code));
+            }
+            Map<Integer, CompressedBitmap> diseases = byField.get(Field.DISEASE);
+            if (diseaseCodes.size() < diseases.size()) {
+                diseases.keySet().forEach(code -> diseaseCodes.putIfAbsent(store.diseaseId(code), code));
+            }
+        }
+
+        /**
+         * Add the union of the bitmaps of the values as a clause. Null values do not filter.
+         *
+         * @return false if no report has any of the values
+         */
+        <T> boolean addClause(List<CompressedBitmap> clauses, Field field, Collection<T> values,
+                              Function<T, Integer> codeOf) {
+            if (values == null) {
+                return true;
+            }
+            Map<Integer, CompressedBitmap> index = byField.get(field);
+            Set<Integer> codes = new HashSet<>();
+            for (T value : values) {
+                Integer code = codeOf.apply(value);
+                if (code != null && index.containsKey(code) && !index.get(code).isEmpty()) {
+                    codes.add(code);
+                }
+            }
+            if (codes.isEmpty()) {
+                return values.isEmpty();
+            }
+            if (codes.size() == 1) {
+                clauses.add(index.get(codes.iterator().next()));
+                return true;
+            }
+            UnionKey key = new UnionKey(field, codes);
+            CompressedBitmap union = unions.get(key);
+            if (union == null) {
+                union = CompressedBitmap.or(codes.stream().map(index::get).toList());
+                if (unions.size() >= MAX_CACHED_UNIONS) {
+                    unions.keySet().stream().findAny().ifPresent(unions::remove);
+                }
+                unions.putIfAbsent(key, union);
+            }
+            clauses.add(union);
+            return true;
+        }
+
+        long sizeInBytes() {
+            long bytes = live.sizeInBytes() + confirmed.sizeInBytes();
+            for (Map<Integer, CompressedBitmap> index : byField.values()) {
+                bytes += index.values().stream().mapToLong(CompressedBitmap::sizeInBytes).sum();
+            }
+            return bytes;
+        }
+
+        static int monthIndex(LocalDate date) {
+            return date.getYear() * 12 + date.getMonthValue() - 1;
+        }
+
+        static int monthIndex(YearMonth month) {
+            return month.getYear() * 12 + month.getMonthValue() - 1;
+        }
+    }
+}
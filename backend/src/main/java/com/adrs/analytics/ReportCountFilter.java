@@ -0,0 +1,32 @@
+package com.adrs.analytics;
+
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Filter for bitmap-indexed report counts. Null or empty fields do not filter;
+ * values within a field are alternatives and fields are combined with AND.
+ * Dates are matched by month, the granularity of the month bitmaps.
+ */
+@Data
+@NoArgsConstructor
+public class ReportCountFilter {
+
+    private Set<String> districts;
+
+    private Set<UUID> diseaseIds;
+
+    private Set<Disease.Severity> severities;
+
+    private Set<YearMonth> months;
+
+    private Set<DiseaseReport.Outcome> outcomes;
+
+    private Boolean confirmed;
+}
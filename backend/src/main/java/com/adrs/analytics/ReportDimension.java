@@ -0,0 +1,30 @@
+package com.adrs.analytics;
+
+import java.util.Locale;
+
+/**
+ * Dimensions that report counts can be grouped by.
+ */
+public enum ReportDimension {
+    DISTRICT,
+    DISEASE,
+    MONTH,
+    OUTCOME,
+    CONFIRMED;
+
+    /**
+     * Parse a request parameter value.
+     *
+     * @param value the dimension name, case-insensitive
+     * @return the dimension
+     * @throws IllegalArgumentException if the name is not a dimension
+     */
+    public static ReportDimension fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid dimension: " + value
+                    + ". Valid values are: district, disease, month, outcome, confirmed");
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.adrs.analytics;
+
+import com.adrs.dto.DistinctCountEstimate;
+import com.adrs.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Distinct counts of farms and animals with disease reports, by district, disease
+ * and date, from mergeable {@link HyperLogLog} sketches.
+ *
+ * Each day keeps the farm code and animal hash of its reports per (district,
+ * disease) cell. Each month keeps a pair of sketches per cell plus rollups over
+ * all diseases of a district, all districts of a disease and everything, so a
+ * range is answered by merging whole-month sketches and adding the hashes of
+ * the days at either end. Sketches only grow, so when a report is deleted or
+ * moves cell the affected month sketches are marked stale, and the next estimate
+ * rebuilds them from their months' days, one pass over each month however many
+ * of its reports changed.
+ */
+@Component
+public class ReportDistinctCounter implements ReportRowListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportDistinctCounter.class);
+
+    /** Code standing for every district or every disease in a month rollup. */
+    private static final int ALL = 0xFFFF;
+
+    private final ReportColumnStore columnStore;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by {@link #lock}. */
+    private Sketches sketches = new Sketches();
+
+    public ReportDistinctCounter(ReportColumnStore columnStore) {
+        this.columnStore = columnStore;
+        columnStore.addListener(this);
+    }
+
+    @Override
+    public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+        if (previous != null && current != null && previous.epochDay() == current.epochDay()
+                && previous.district() == current.district() && previous.disease() == current.disease()
+                && previous.farm() == current.farm() && previous.animal() == current.animal()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                sketches.remove(row, previous);
+            }
+            if (current != null) {
+                sketches.add(row, current, columnStore);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReload(ReportColumnStore store) {
+        long start = System.nanoTime();
+        Sketches fresh = new Sketches();
+        store.forEachLiveRow((fact, row) -> fresh.add(row, fact, store));
+
+        lock.writeLock().lock();
+        try {
+            sketches = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built distinct farm and animal sketches in {} ms: {} days, {} month cells",
+                (System.nanoTime() - start) / 1_000_000, fresh.days.size(), fresh.months.size());
+    }
+
+    /**
+     * Estimate the distinct farms and animals with reports matching the filter.
+     *
+     * @param districts  districts to include, or null/empty for all
+     * @param diseaseIds diseases to include, or null/empty for all
+     * @param from       first report date, or null
+     * @param to         last report date, or null
+     * @return the estimates
+     */
+    public DistinctCountEstimate estimate(Collection<String> districts, Collection<UUID> diseaseIds,
+                                          LocalDate from, LocalDate to) {
+        HyperLogLog farms = new HyperLogLog();
+        HyperLogLog animals = new HyperLogLog();
+
+        lock.readLock().lock();
+        if (sketches.hasStaleMonths()) {
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                sketches.rebuildStaleMonths();
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            Sketches s = sketches;
+            BitSet districtCodes = s.codes(districts, s.districtCodes::get);
+            BitSet diseaseCodes = s.codes(diseaseIds, s.diseaseCodes::get);
+            int fromDay = from != null ? (int) Math.max(from.toEpochDay(), s.minDay) : s.minDay;
+            int toDay = to != null ? (int) Math.min(to.toEpochDay(), s.maxDay) : s.maxDay;
+            boolean empty = (districtCodes != null && districtCodes.isEmpty())
+                    || (diseaseCodes != null && diseaseCodes.isEmpty());
+
+            int day = fromDay;
+            while (!empty && day <= toDay) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                int lastOfMonth = (int) date.withDayOfMonth(date.lengthOfMonth()).toEpochDay();
+                if (date.getDayOfMonth() == 1 && lastOfMonth <= toDay) {
+                    s.mergeMonth(monthIndex(date), districtCodes, diseaseCodes, farms, animals);
+                    day = lastOfMonth + 1;
+                } else {
+                    DayBucket bucket = s.days.get(day);
+                    if (bucket != null) {
+                        bucket.addTo(districtCodes, diseaseCodes, farms, animals);
+                    }
+                    day++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        boolean exact = farms.isExact() && animals.isExact();
+        return new DistinctCountEstimate(farms.estimate(), animals.estimate(), exact,
+                exact ? 0 : HyperLogLog.relativeStandardError(farms.getPrecision()));
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int cellKey(int district, int disease) {
+        return district << 16 | disease;
+    }
+
+    private static long monthKey(int month, int district, int disease) {
+        return (long) month << 32 | (cellKey(district, disease) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * One generation of sketches, keyed by the store's dictionary codes.
+     */
+    private static final class Sketches {
+        private final Map<Integer, DayBucket> days = new HashMap<>();
+        private final Map<Long, CellSketch> months = new HashMap<>();
+        /** Keys of month sketches that still count removed reports, by month. */
+        private final Map<Integer, Set<Long>> staleMonths = new HashMap<>();
+        private final Map<String, Integer> districtCodes = new HashMap<>();
+        private final Map<UUID, Integer> diseaseCodes = new HashMap<>();
+        private final BitSet resolvedDistricts = new BitSet();
+        private final BitSet resolvedDiseases = new BitSet();
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+
+        void add(int row, ReportFact fact, ReportColumnStore store) {
+            int day = fact.epochDay();
+            days.computeIfAbsent(day, d -> new DayBucket())
+                    .add(cellKey(fact.district(), fact.disease()), row, fact.farm(), fact.animal());
+            long farmHash = HyperLogLog.hash(fact.farm());
+            int month = monthIndex(LocalDate.ofEpochDay(day));
+            for (long key : monthKeys(month, fact)) {
+                months.computeIfAbsent(key, k -> new CellSketch()).add(farmHash, fact.animal());
+            }
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+
+            if (!resolvedDistricts.get(fact.district())) {
+                districtCodes.put(store.districtName(fact.district()), fact.district());
+                resolvedDistricts.set(fact.district());
+            }
+            if (!resolvedDiseases.get(fact.disease())) {
+                diseaseCodes.put(store.diseaseId(fact.disease()), fact.disease());
+                resolvedDiseases.set(fact.disease());
+            }
+        }
+
+        void remove(int row, ReportFact fact) {
+            DayBucket bucket = days.get(fact.epochDay());
+            if (bucket == null || !bucket.remove(row)) {
+                return;
+            }
+            if (bucket.size == 0) {
+                days.remove(fact.epochDay());
+            }
+            int month = monthIndex(LocalDate.ofEpochDay(fact.epochDay()));
+            Set<Long> stale = staleMonths.computeIfAbsent(month, m -> new HashSet<>());
+            for (long key : monthKeys(month, fact)) {
+                stale.add(key);
+            }
+        }
+
+        boolean hasStaleMonths() {
+            return !staleMonths.isEmpty();
+        }
+
+        /**
+         * Rebuild the stale month sketches from their months' days, dropping those left with no reports.
+         */
+        void rebuildStaleMonths() {
+            staleMonths.forEach((month, keys) -> {
+                Map<Long, CellSketch> rebuilt = new HashMap<>();
+                LocalDate first = LocalDate.of(month / 12, month % 12 + 1, 1);
+                int firstDay = (int) first.toEpochDay();
+                for (int day = firstDay; day < firstDay + first.lengthOfMonth(); day++) {
+                    DayBucket bucket = days.get(day);
+                    if (bucket != null) {
+                        bucket.addTo(month, keys, rebuilt);
+                    }
+                }
+                for (long key : keys) {
+                    CellSketch sketch = rebuilt.get(key);
+                    if (sketch != null) {
+                        months.put(key, sketch);
+                    } else {
+                        months.remove(key);
+                    }
+                }
+            });
+            staleMonths.clear();
+        }
+
+        private static long[] monthKeys(int month, ReportFact fact) {
+            return monthKeys(month, fact.district(), fact.disease());
+        }
+
+        private static long[] monthKeys(int month, int district, int disease) {
+            return new long[] {
+                    monthKey(month, district, disease),
+                    monthKey(month, district, ALL),
+                    monthKey(month, ALL, disease),
+                    monthKey(month, ALL, ALL)
+            };
+        }
+
+        void mergeMonth(int month, BitSet districts, BitSet diseases, HyperLogLog farms, HyperLogLog animals) {
+            int[] districtKeys = districts != null ? districts.stream().toArray() : new int[] {ALL};
+            int[] diseaseKeys = diseases != null ? diseases.stream().toArray() : new int[] {ALL};
+            for (int district : districtKeys) {
+                for (int disease : diseaseKeys) {
+                    CellSketch sketch = months.get(monthKey(month, district, disease));
+                    if (sketch != null) {
+                        farms.merge(sketch.farms);
+                        animals.merge(sketch.animals);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return codes of the values that occur, or null if not filtering
+         */
+        <T> BitSet codes(Collection<T> values, Function<T, Integer> codeOf) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet codes = new BitSet();
+            for (T value : values) {
+                Integer code = codeOf.apply(value);
+                if (code != null) {
+                    codes.set(code);
+                }
+            }
+            return codes;
+        }
+    }
+
+    /**
+     * The reports of one day: cell key, row, farm code and animal hash, in parallel arrays.
+     */
+    private static final class DayBucket {
+        private int size;
+        private int[] cells = new int[4];
+        private int[] rows = new int[4];
+        private int[] farms = new int[4];
+        private long[] animals = new long[4];
+
+        void add(int cell, int row, int farm, long animal) {
+            if (size == rows.length) {
+                int capacity = size * 2;
+                cells = Arrays.copyOf(cells, capacity);
+                rows = Arrays.copyOf(rows, capacity);
+                farms = Arrays.copyOf(farms, capacity);
+                animals = Arrays.copyOf(animals, capacity);
+            }
+            cells[size] = cell;
+            rows[size] = row;
+            farms[size] = farm;
+            animals[size] = animal;
+            size++;
+        }
+
+        boolean remove(int row) {
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == row) {
+                    size--;
+                    cells[i] = cells[size];
+                    rows[i] = rows[size];
+                    farms[i] = farms[size];
+                    animals[i] = animals[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void addTo(BitSet districts, BitSet diseases, HyperLogLog farmSketch, HyperLogLog animalSketch) {
+            for (int i = 0; i < size; i++) {
+                int cell = cells[i];
+                if ((districts == null || districts.get(cell >>> 16)) && (diseases == null || diseases.get(cell & 0xFFFF))) {
+                    farmSketch.add(HyperLogLog.hash(farms[i]));
+                    animalSketch.add(animals[i]);
+                }
+            }
+        }
+
+        /**
+         * Add each report to the sketches of those of its month keys that are wanted.
+         */
+        void addTo(int month, Set<Long> keys, Map<Long, CellSketch> sketches) {
+            for (int i = 0; i < size; i++) {
+                long farmHash = HyperLogLog.hash(farms[i]);
+                for (long key : Sketches.monthKeys(month, cells[i] >>> 16, cells[i] & 0xFFFF)) {
+                    if (keys.contains(key)) {
+                        sketches.computeIfAbsent(key, k -> new CellSketch()).add(farmHash, animals[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class CellSketch {
+        private final HyperLogLog farms = new HyperLogLog();
+        private final HyperLogLog animals = new HyperLogLog();
+
+        void add(long farmHash, long animalHash) {
+            farms.add(farmHash);
+            animals.add(animalHash);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.adrs.analytics;
+
+/**
+ * Dictionary-encoded dimensions of one row of the {@link ReportColumnStore}.
+ * Codes are only meaningful to the store that produced them.
+ *
+ * @param epochDay  report date as days since 1970-01-01
+ * @param district  district code
+ * @param disease   disease code
+ * @param farm      farm code
+ * @param animal    64-bit hash of the animal id ({@link com.adrs.util.HyperLogLog#hash(java.util.UUID)})
+ * @param outcome   0 when not recorded, otherwise outcome ordinal + 1
+ * @param confirmed whether the report is confirmed
+ */
+public record ReportFact(int epochDay, int district, int disease, int farm, long animal, int outcome, boolean confirmed) {
+}
@@ -0,0 +1,30 @@
+package com.adrs.analytics;
+
+import com.adrs.model.DiseaseReport;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Row filter for report analytics. Null or empty fields do not filter;
+ * values within a field are alternatives and fields are combined with AND.
+ */
+@Data
+@NoArgsConstructor
+public class ReportFilter {
+
+    private Set<String> districts;
+
+    private Set<UUID> diseaseIds;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Set<DiseaseReport.Outcome> outcomes;
+
+    private Boolean confirmed;
+}
@@ -0,0 +1,221 @@
+package com.adrs.analytics;
+
+import com.adrs.dto.ReportRangeCount;
+import com.adrs.util.FenwickTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Report counts over arbitrary date ranges from Fenwick trees over epoch days.
+ *
+ * Each (district, disease) cell has one tree of all reports and one of confirmed
+ * reports, indexed by days since the start of the year of the earliest report.
+ * Rollups over all diseases of a district, all districts of a disease and
+ * everything are kept the same way, so a range count sums O(log days) nodes per
+ * cell it touches, and only one cell when a filter is a single value or absent.
+ *
+ * Trees follow inserts, confirmations and deletes through the column store and
+ * grow as later days arrive. A report dated before the first indexed day moves
+ * the start back to January 1st of its year and rebuilds the trees from the store.
+ */
+@Component
+public class ReportRangeCounter implements ReportRowListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRangeCounter.class);
+
+    /** Code standing for every district or every disease in a rollup. */
+    private static final int ALL = 0xFFFF;
+
+    private final ReportColumnStore columnStore;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by {@link #lock}. */
+    private Trees trees = new Trees(Integer.MAX_VALUE);
+
+    public ReportRangeCounter(ReportColumnStore columnStore) {
+        this.columnStore = columnStore;
+        columnStore.addListener(this);
+    }
+
+    @Override
+    public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+        if (previous != null && current != null && previous.epochDay() == current.epochDay()
+                && previous.district() == current.district() && previous.disease() == current.disease()
+                && previous.confirmed() == current.confirmed()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (current != null && current.epochDay() < trees.firstDay) {
+                trees = build(columnStore, firstDayBefore(current.epochDay(), trees.firstDay));
+                return;
+            }
+            if (previous != null) {
+                trees.add(previous, -1, columnStore);
+            }
+            if (current != null) {
+                trees.add(current, 1, columnStore);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReload(ReportColumnStore store) {
+        long start = System.nanoTime();
+        int[] minDay = {Integer.MAX_VALUE};
+        store.forEachLiveRow((fact, row) -> minDay[0] = Math.min(minDay[0], fact.epochDay()));
+        Trees fresh = build(store, firstDayBefore(minDay[0], Integer.MAX_VALUE));
+
+        lock.writeLock().lock();
+        try {
+            trees = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built report range counters in {} ms: {} cells from {}",
+                (System.nanoTime() - start) / 1_000_000, fresh.cells.size(),
+                fresh.firstDay != Integer.MAX_VALUE ? LocalDate.ofEpochDay(fresh.firstDay) : "-");
+    }
+
+    /**
+     * Count the reports in the districts and diseases with report dates in the range.
+     *
+     * @param districts  districts to include, or null/empty for all
+     * @param diseaseIds diseases to include, or null/empty for all
+     * @param from       first report date, inclusive, or null
+     * @param to         last report date, inclusive, or null
+     * @return total and confirmed report counts
+     */
+    public ReportRangeCount count(Collection<String> districts, Collection<UUID> diseaseIds,
+                                  LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Trees t = trees;
+            BitSet districtCodes = t.codes(districts, t.districtCodes::get);
+            BitSet diseaseCodes = t.codes(diseaseIds, t.diseaseCodes::get);
+            if (t.cells.isEmpty() || (districtCodes != null && districtCodes.isEmpty())
+                    || (diseaseCodes != null && diseaseCodes.isEmpty())) {
+                return new ReportRangeCount(0, 0);
+            }
+            int fromIndex = from != null ? (int) Math.max(from.toEpochDay() - t.firstDay, 0) : 0;
+            int toIndex = to != null ? (int) Math.min(to.toEpochDay() - t.firstDay, Integer.MAX_VALUE - 1)
+                    : Integer.MAX_VALUE - 1;
+            if (toIndex < fromIndex) {
+                return new ReportRangeCount(0, 0);
+            }
+
+            int[] districtKeys = districtCodes != null ? districtCodes.stream().toArray() : new int[] {ALL};
+            int[] diseaseKeys = diseaseCodes != null ? diseaseCodes.stream().toArray() : new int[] {ALL};
+            long total = 0;
+            long confirmed = 0;
+            for (int district : districtKeys) {
+                for (int disease : diseaseKeys) {
+                    Cell cell = t.cells.get(cellKey(district, disease));
+                    if (cell != null) {
+                        total += cell.total.rangeSum(fromIndex, toIndex);
+                        confirmed += cell.confirmed.rangeSum(fromIndex, toIndex);
+                    }
+                }
+            }
+            return new ReportRangeCount(total, confirmed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Trees build(ReportColumnStore store, int firstDay) {
+        Trees fresh = new Trees(firstDay);
+        store.forEachLiveRow((fact, row) -> fresh.add(fact, 1, store));
+        return fresh;
+    }
+
+    /**
+     * @return January 1st of the year of {@code day}, or {@code current} if no day is known
+     */
+    private static int firstDayBefore(int day, int current) {
+        if (day == Integer.MAX_VALUE) {
+            return current;
+        }
+        return (int) LocalDate.ofEpochDay(day).withDayOfYear(1).toEpochDay();
+    }
+
+    private static int cellKey(int district, int disease) {
+        return district << 16 | disease;
+    }
+
+    /**
+     * One generation of trees, keyed by the store's dictionary codes.
+     */
+    private static final class Trees {
+        /** Epoch day of tree position 0, or {@code Integer.MAX_VALUE} before the first report. */
+        private final int firstDay;
+        private final Map<Integer, Cell> cells = new HashMap<>();
+        private final Map<String, Integer> districtCodes = new HashMap<>();
+        private final Map<UUID, Integer> diseaseCodes = new HashMap<>();
+        private final BitSet resolvedDistricts = new BitSet();
+        private final BitSet resolvedDiseases = new BitSet();
+
+        Trees(int firstDay) {
+            this.firstDay = firstDay;
+        }
+
+        void add(ReportFact fact, int delta, ReportColumnStore store) {
+            int position = fact.epochDay() - firstDay;
+            for (int key : new int[] {
+                    cellKey(fact.district(), fact.disease()),
+                    cellKey(fact.district(), ALL),
+                    cellKey(ALL, fact.disease()),
+                    cellKey(ALL, ALL)}) {
+                Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+                cell.total.add(position, delta);
+                if (fact.confirmed()) {
+                    cell.confirmed.add(position, delta);
+                }
+            }
+
+            if (!resolvedDistricts.get(fact.district())) {
+                districtCodes.put(store.districtName(fact.district()), fact.district());
+                resolvedDistricts.set(fact.district());
+            }
+            if (!resolvedDiseases.get(fact.disease())) {
+                diseaseCodes.put(store.diseaseId(fact.disease()), fact.disease());
+                resolvedDiseases.set(fact.disease());
+            }
+        }
+
+        /**
+         * @return codes of the values that occur, or null if not filtering
+         */
+        <T> BitSet codes(Collection<T> values, Function<T, Integer> codeOf) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            BitSet codes = new BitSet();
+            for (T value : values) {
+                Integer code = codeOf.apply(value);
+                if (code != null) {
+                    codes.set(code);
+                }
+            }
+            return codes;
+        }
+    }
+
+    private static final class Cell {
+        private final FenwickTree total = new FenwickTree(2048);
+        private final FenwickTree confirmed = new FenwickTree(2048);
+    }
+}
@@ -0,0 +1,28 @@
+package com.adrs.analytics;
+
+/**
+ * Receives row-level changes from the {@link ReportColumnStore}, for structures
+ * derived from it. Callbacks run while the store holds its write lock, so they
+ * must be quick. They may use the store's read methods (its lock is reentrant)
+ * but must not modify it.
+ */
+public interface ReportRowListener {
+
+    /**
+     * A row was inserted, overwritten or deleted. Row numbers are stable: an
+     * updated report keeps its row and a deleted row is never reused.
+     *
+     * @param row      the row number
+     * @param previous the row before the change, or null for a new row
+     * @param current  the row after the change, or null when deleted
+     */
+    void onRowChanged(int row, ReportFact previous, ReportFact current);
+
+    /**
+     * The store was reloaded and all derived state should be rebuilt, typically
+     * with {@link ReportColumnStore#forEachLiveRow}.
+     *
+     * @param store the reloaded store
+     */
+    void onReload(ReportColumnStore store);
+}
@@ -0,0 +1,68 @@
+package com.adrs.config;
+
+import com.adrs.alert.AlertSink;
+import com.adrs.alert.DiseaseAlertDispatcher;
+import com.adrs.alert.FileAlertSink;
+import com.adrs.alert.InMemoryAlertSink;
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.impl.DistrictOfficerRoster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Alerts for confirmed reports of notifiable diseases.
+ *
+ * With {@code app.alerts.enabled=true} (the default), {@link DiseaseAlertDispatcher}
+ * sends digests to the {@code app.alerts.sink}. Another sink, such as a mail gateway,
+ * is plugged in by declaring an {@link AlertSink} bean, which replaces the built-in ones.
+ */
+@Configuration
+@EnableConfigurationProperties(AlertProperties.class)
+@ConditionalOnProperty(name = "app.alerts.enabled", havingValue = "true", matchIfMissing = true)
+public class AlertConfig {
+
+    private static final int MEMORY_SINK_CAPACITY = 1_000;
+
+    /**
+     * Creates the configured built-in sink, unless the application declares its own.
+     *
+     * @param properties   the alert settings
+     * @param objectMapper mapper for the file sink's JSON lines
+     * @return AlertSink instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(AlertSink.class)
+    public AlertSink alertSink(AlertProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getSink()) {
+            case MEMORY -> new InMemoryAlertSink(MEMORY_SINK_CAPACITY);
+            case FILE -> new FileAlertSink(properties.getFile(), objectMapper);
+        };
+    }
+
+    /**
+     * Creates the dispatcher that follows report confirmations.
+     *
+     * @param columnStore    store whose confirmations raise alerts
+     * @param diseaseService service for disease names and notifiability
+     * @param districtRoster roster of the officers to alert
+     * @param alertSink      where digests are delivered
+     * @param properties     the alert settings
+     * @param meterRegistry  registry for the alert metrics
+     * @return DiseaseAlertDispatcher instance
+     */
+    @Bean
+    public DiseaseAlertDispatcher diseaseAlertDispatcher(ReportColumnStore columnStore,
+                                                         DiseaseService diseaseService,
+                                                         DistrictOfficerRoster districtRoster,
+                                                         AlertSink alertSink, AlertProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new DiseaseAlertDispatcher(columnStore, diseaseService, districtRoster, alertSink, properties,
+                meterRegistry);
+    }
+}
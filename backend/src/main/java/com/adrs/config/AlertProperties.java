@@ -0,0 +1,52 @@
+package com.adrs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Notifiable disease alert settings, bound from {@code app.alerts.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.alerts")
+public class AlertProperties {
+
+    /** Whether confirmed reports of notifiable diseases raise alerts. */
+    private boolean enabled = true;
+
+    /** Where digests are delivered. */
+    private Sink sink = Sink.MEMORY;
+
+    /** File the {@link Sink#FILE} sink appends digests to, one JSON object per line. */
+    private Path file = Path.of("logs/alerts.jsonl");
+
+    /** Further confirmations of a disease in a district within this time of an alert raise none. */
+    private Duration dedupWindow = Duration.ofHours(6);
+
+    /** How often queued alerts are merged into digests and delivered. */
+    private Duration batchInterval = Duration.ofSeconds(30);
+
+    /** Most alerts taken from the queue per batch; the rest wait for the next. */
+    private int maxBatchSize = 1_000;
+
+    /** Most alerts waiting for a batch; alerts beyond this are dropped and counted. */
+    private int queueCapacity = 10_000;
+
+    /** Delivery attempts per digest before it is given up. */
+    private int maxAttempts = 5;
+
+    /** Wait before the first retry of a digest; doubled for each retry after it. */
+    private Duration retryBackoff = Duration.ofSeconds(10);
+
+    /**
+     * Digest destinations.
+     */
+    public enum Sink {
+        /** Keep the latest digests in memory, for tests and local runs. */
+        MEMORY,
+        /** Append digests to {@link #file}. */
+        FILE
+    }
+}
@@ -54,8 +54,15 @@ public class OpenApiConfig {
                                 .type(SecurityScheme.Type.APIKEY)
                                 .in(SecurityScheme.In.COOKIE)
                                 .name("JSESSIONID")
-                                .description("Session-based authentication using Spring Security")))
+                                .description("Session-based authentication using Spring Security"))
+                        .addSecuritySchemes("bearer-auth", new SecurityScheme()
+                                .type(SecurityScheme.Type.HTTP)
+                                .scheme("bearer")
+                                .bearerFormat("JWT")
+                                .description("Signed token from /api/auth/login, when the stateless mode is enabled")))
                 .addSecurityItem(new SecurityRequirement()
-                        .addList("session-auth"));
+                        .addList("session-auth"))
+                .addSecurityItem(new SecurityRequirement()
+                        .addList("bearer-auth"));
     }
 }
@@ -0,0 +1,38 @@
+package com.adrs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request rate limiting for logins and configuration writes.
+ *
+ * With {@code app.rate-limit.enabled=true}, the {@code app.rate-limit.rules} are enforced
+ * by {@link RateLimitFilter}, registered just ahead of the Spring Security filter chain.
+ * Limits are kept in each node's memory, so with several nodes each allows the full rate.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    /**
+     * Registers the rate limit filter before Spring Security.
+     *
+     * @param properties    the rate limit rules
+     * @param meterRegistry registry for the rate limit metrics
+     * @return FilterRegistrationBean instance
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,195 @@
+package com.adrs.config;
+
+import com.adrs.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Limits the rate of requests by the rules of {@link RateLimitProperties}, each with its
+ * own {@link TokenBucketRateLimiter}. A request over any rule it matches is refused with
+ * 429 and a Retry-After header. Runs before Spring Security, so refused logins cost no
+ * password hash and refused writes no database work.
+ *
+ * Rules are checked client address first, then username, then endpoint, and checking
+ * stops at the first rule that refuses, so a refused request takes no token or bucket
+ * from the rules after it: a client over its address limit cannot fill the username
+ * table with made-up names. A rule whose table is full lets a request through only if
+ * the rules it already passed still have a token left for it.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String USERNAME_PARAMETER = "username";
+
+    private final LimitedPath[] paths;
+
+    /**
+     * @param properties    the rules to enforce
+     * @param meterRegistry registry for the rate limit metrics
+     */
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.paths = properties.getRules().stream()
+                .map(rule -> new LimitedPath(rule, properties.getCapacity(), meterRegistry))
+                .sorted(Comparator.comparing((LimitedPath limited) -> limited.key))
+                .toArray(LimitedPath[]::new);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        String method = request.getMethod();
+        long retryAfterMillis = 0;
+        for (int i = 0; i < paths.length && retryAfterMillis == 0; i++) {
+            LimitedPath limited = paths[i];
+            if (!limited.matches(uri, offset, method)) {
+                continue;
+            }
+            retryAfterMillis = limited.check(request);
+            if (retryAfterMillis == TokenBucketRateLimiter.OVERFLOW) {
+                retryAfterMillis = passedRulesWait(request, uri, offset, method, i);
+                limited.overflowed(retryAfterMillis);
+            }
+        }
+
+        if (retryAfterMillis > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMillis + 999) / 1000));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The longest wait for a token among the rules before {@code end} that the request
+     * matched, all of which allowed it.
+     */
+    private long passedRulesWait(HttpServletRequest request, String uri, int offset, String method, int end) {
+        long waitMillis = 0;
+        for (int i = 0; i < end; i++) {
+            if (paths[i].matches(uri, offset, method)) {
+                waitMillis = Math.max(waitMillis, paths[i].waitMillis(request));
+            }
+        }
+        return waitMillis;
+    }
+
+    /**
+     * One rule with its buckets and counters.
+     */
+    private static final class LimitedPath {
+
+        private final String path;
+        private final boolean prefix;
+        private final Set<String> methods;
+        private final RateLimitProperties.Key key;
+        private final TokenBucketRateLimiter limiter;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        LimitedPath(RateLimitProperties.Rule rule, int capacity, MeterRegistry meterRegistry) {
+            if (rule.getPath() == null || rule.getName() == null) {
+                throw new IllegalArgumentException("Rate limit rule needs a name and a path");
+            }
+            this.prefix = rule.getPath().endsWith("/**");
+            this.path = prefix ? rule.getPath().substring(0, rule.getPath().length() - 3) : rule.getPath();
+            this.methods = rule.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.key = rule.getKey();
+            int burst = rule.getBurst() != null ? rule.getBurst() : rule.getLimit();
+            this.limiter = new TokenBucketRateLimiter(rule.getLimit(), rule.getPeriod(), burst,
+                    key == RateLimitProperties.Key.ENDPOINT ? 1 : capacity);
+
+            this.allowed = Counter.builder("ratelimit.requests")
+                    .description("Requests checked against a rate limit rule")
+                    .tags("rule", rule.getName(), "result", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("ratelimit.requests")
+                    .description("Requests checked against a rate limit rule")
+                    .tags("rule", rule.getName(), "result", "rejected")
+                    .register(meterRegistry);
+            FunctionCounter.builder("ratelimit.overflow", limiter, TokenBucketRateLimiter::overflowCount)
+                    .description("Checks that found no free bucket for their key")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Matches the path of a request URI after the context path, without copying it.
+         */
+        boolean matches(String uri, int offset, String method) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            int end = offset + path.length();
+            if (!uri.startsWith(path, offset)) {
+                return false;
+            }
+            return uri.length() == end || (prefix && uri.charAt(end) == '/');
+        }
+
+        /**
+         * @return 0 if allowed, {@link TokenBucketRateLimiter#OVERFLOW} if the rule had no
+         *         free bucket, otherwise the milliseconds to wait
+         */
+        long check(HttpServletRequest request) {
+            String keyValue = keyValue(request);
+            if (keyValue == null) {
+                return 0;
+            }
+            long retryAfterMillis = limiter.tryAcquire(limiter.keyHash(keyValue));
+            if (retryAfterMillis == 0) {
+                allowed.increment();
+            } else if (retryAfterMillis > 0) {
+                rejected.increment();
+            }
+            return retryAfterMillis;
+        }
+
+        /**
+         * Count the outcome of a check that found no free bucket.
+         *
+         * @param retryAfterMillis 0 if the request was let through, otherwise the wait given
+         */
+        void overflowed(long retryAfterMillis) {
+            (retryAfterMillis == 0 ? allowed : rejected).increment();
+        }
+
+        /**
+         * @return 0 if the request's bucket has a token, otherwise the milliseconds to wait
+         */
+        long waitMillis(HttpServletRequest request) {
+            String keyValue = keyValue(request);
+            return keyValue == null ? 0 : limiter.waitMillis(limiter.keyHash(keyValue));
+        }
+
+        /**
+         * @return the normalized key of the request's bucket, or null if the rule does not apply
+         */
+        private String keyValue(HttpServletRequest request) {
+            return switch (key) {
+                case IP -> request.getRemoteAddr();
+                case USERNAME -> {
+                    String username = request.getParameter(USERNAME_PARAMETER);
+                    yield username == null || username.isBlank() ? null : username.trim().toLowerCase(Locale.ROOT);
+                }
+                case ENDPOINT -> "";
+            };
+        }
+    }
+}
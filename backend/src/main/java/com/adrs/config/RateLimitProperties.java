@@ -0,0 +1,69 @@
+package com.adrs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules, bound from {@code app.rate-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /** Whether requests are rate limited. */
+    private boolean enabled;
+
+    /**
+     * Buckets kept per rule; keys beyond this are let through rather than limited,
+     * unless the client is out of tokens on another rule the request matches.
+     */
+    private int capacity = 65_536;
+
+    /**
+     * Rules; a request must pass every rule it matches. Address rules are checked first,
+     * then username rules, then endpoint rules, each group in the order given.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * What a bucket is kept for.
+     */
+    public enum Key {
+        /** One bucket per client address. */
+        IP,
+        /** One bucket per username in the request parameters; requests without one are not limited. */
+        USERNAME,
+        /** One bucket for the whole endpoint. */
+        ENDPOINT
+    }
+
+    /**
+     * A limit on the requests to one path.
+     */
+    @Data
+    public static class Rule {
+
+        /** Name used in metrics. */
+        private String name;
+
+        /** Exact path, or a prefix followed by {@code /**}. */
+        private String path;
+
+        /** HTTP methods limited; empty limits every method. */
+        private List<String> methods = new ArrayList<>();
+
+        private Key key = Key.IP;
+
+        /** Requests allowed per period once the burst is used up. */
+        private int limit;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        /** Requests allowed at once; defaults to the limit. */
+        private Integer burst;
+    }
+}
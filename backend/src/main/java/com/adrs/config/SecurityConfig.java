@@ -1,22 +1,42 @@
 package com.adrs.config;
 
+import com.adrs.exception.LoginCapacityExceededException;
+import com.adrs.service.impl.BoundedPasswordEncoder;
+import com.adrs.service.impl.CapacityAwareAuthenticationProvider;
+import com.adrs.service.impl.UserDetailsCache;
+import com.adrs.service.TokenService;
 import com.adrs.service.impl.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 /**
  * Security configuration class for the application.
- * Configures form-based authentication with Spring Security and Thymeleaf integration.
+ * Configures form-based authentication with Spring Security and Thymeleaf integration,
+ * and optionally ({@code app.jwt.enabled}) stateless token authentication for API clients.
  */
 @Configuration
 @EnableWebSecurity
@@ -27,33 +47,58 @@ public class SecurityConfig {
     private static final String LOGIN_URL = "/login";
     private static final String DASHBOARD_URL = "/dashboard";
     private static final String LOGOUT_URL = "/logout";
+    private static final String API_LOGIN_URL = "/api/auth/login";
+    private static final String LOGIN_RETRY_AFTER_SECONDS = "1";
 
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
-    /**
-     * Configures the password encoder.
-     *
-     * @return BCryptPasswordEncoder instance
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Autowired
+    private UserDetailsCache userCache;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired(required = false)
+    private SessionRegistry sessionRegistry;
 
     /**
      * Configures the authentication provider.
+     * Users are served from the user cache, so a repeat login does not read the database.
+     * Passwords are checked on the bounded hashing pool, and a hash made at another cost
+     * is remade at the configured one after a successful login. A login the pool has no
+     * capacity for fails at once rather than being retried against the database.
      *
      * @return DaoAuthenticationProvider instance
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new CapacityAwareAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        authProvider.setUserCache(userCache);
         return authProvider;
     }
 
+    /**
+     * Sends a login that could not be checked for lack of hashing capacity a 503 to retry,
+     * and any other failed login back to the login page.
+     *
+     * @return AuthenticationFailureHandler instance
+     */
+    private AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler loginPage = new SimpleUrlAuthenticationFailureHandler(LOGIN_URL + "?error=true");
+        return (request, response, exception) -> {
+            if (exception instanceof LoginCapacityExceededException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, LOGIN_RETRY_AFTER_SECONDS);
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+            } else {
+                loginPage.onAuthenticationFailure(request, response, exception);
+            }
+        };
+    }
+
     /**
      * Exposes the authentication manager bean.
      *
@@ -66,6 +111,41 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Configures the optional stateless mode for API clients, ahead of the form-login chain.
+     * Handles logins to {@code /api/auth/login}, which return a signed token, and
+     * {@code /api/**} requests carrying that token as a bearer token, with no session.
+     * CSRF protection is off here because a bearer token is never sent by the browser
+     * on its own. Requests without a token still go to the session-based chain below.
+     *
+     * @param http         the HttpSecurity object
+     * @param tokenService the service verifying tokens
+     * @return SecurityFilterChain instance
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "app.jwt.enabled", havingValue = "true")
+    public SecurityFilterChain tokenFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
+        http
+                .securityMatcher(new OrRequestMatcher(
+                        antMatcher(HttpMethod.POST, API_LOGIN_URL),
+                        new AndRequestMatcher(antMatcher("/api/**"), JwtAuthenticationFilter::hasBearerToken)))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(antMatcher(HttpMethod.POST, API_LOGIN_URL)).permitAll()
+                        .anyRequest().authenticated()
+                )
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .authenticationProvider(authenticationProvider());
+
+        return http.build();
+    }
+
     /**
      * Configures HTTP security for the application.
      * Uses form-based authentication with Thymeleaf templates.
@@ -93,7 +173,7 @@ public class SecurityConfig {
                         .loginPage(LOGIN_URL)
                         .loginProcessingUrl(LOGIN_URL)
                         .defaultSuccessUrl(DASHBOARD_URL, true)
-                        .failureUrl(LOGIN_URL + "?error=true")
+                        .failureHandler(loginFailureHandler())
                         .usernameParameter("username")
                         .passwordParameter("password")
                         .permitAll()
@@ -108,6 +188,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .maximumSessions(1)
                         .maxSessionsPreventsLogin(false)
+                        // Shared by all nodes with the JDBC session store; null keeps the in-memory registry
+                        .sessionRegistry(sessionRegistry)
                 )
                 .authenticationProvider(authenticationProvider());
 
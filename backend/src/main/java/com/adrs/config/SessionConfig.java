@@ -0,0 +1,64 @@
+package com.adrs.config;
+
+import com.adrs.session.JdbcSessionRepository;
+import com.adrs.session.SessionAttributeCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Shared session store for running several nodes behind a load balancer.
+ *
+ * With {@code app.session.store=jdbc}, HTTP sessions are kept in the database by
+ * {@link JdbcSessionRepository} instead of in each node's servlet container, and the
+ * single-session rule of {@link SecurityConfig} uses a session registry backed by it,
+ * so a new login ends the user's session on any node. The default, {@code memory},
+ * keeps the container's sessions for a single node.
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")
+public class SessionConfig {
+
+    /**
+     * Configures the JDBC session repository. Its tables come from the database
+     * migrations ({@code 007_add_http_session_tables.sql}).
+     *
+     * @param jdbcTemplate            template over the application database
+     * @param transactionManager      transaction manager of the application database
+     * @param timeout                 session timeout
+     * @param lastAccessFlushInterval how often access times are written
+     * @param meterRegistry           registry for the repository metrics
+     * @return JdbcSessionRepository instance
+     */
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+                                                   @Value("${app.session.last-access-flush-interval:PT10S}") Duration lastAccessFlushInterval,
+                                                   MeterRegistry meterRegistry) {
+        return new JdbcSessionRepository(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new SessionAttributeCodec(getClass().getClassLoader()), timeout, lastAccessFlushInterval, meterRegistry);
+    }
+
+    /**
+     * Exposes the session registry used for the single-session rule across nodes.
+     *
+     * @param sessionRepository the session repository
+     * @return SessionRegistry instance
+     */
+    @Bean
+    public SessionRegistry sessionRegistry(JdbcSessionRepository sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+}
@@ -2,6 +2,7 @@ package com.adrs.controller;
 
 import com.adrs.dto.AuthResponse;
 import com.adrs.dto.LoginRequest;
+import com.adrs.service.TokenService;
 import com.adrs.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,10 +23,14 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+    private static final String BEARER_PREFIX = "Bearer ";
 
     @Autowired
     private UserService userService;
 
+    @Autowired(required = false)
+    private TokenService tokenService;
+
     /**
      * Authenticates a user and returns a JWT token.
      *
@@ -42,15 +48,18 @@ public class AuthController {
     }
 
     /**
-     * Logs out the current user.
+     * Logs out the current user, revoking the bearer token in the stateless mode.
      *
+     * @param authorization the Authorization header, if any
      * @return success message
      */
     @PostMapping("/logout")
-    @Operation(summary = "Logout user", description = "Logs out the current user")
-    public ResponseEntity<String> logout() {
+    @Operation(summary = "Logout user", description = "Logs out the current user and revokes its bearer token")
+    public ResponseEntity<String> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         logger.info("Logout request received");
-        // Since we're using JWT, logout is handled on the client-side by removing the token
+        if (tokenService != null && authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            tokenService.revokeToken(authorization.substring(BEARER_PREFIX.length()).trim());
+        }
         return ResponseEntity.ok("Logged out successfully");
     }
 }
@@ -2,13 +2,18 @@ package com.adrs.controller;
 
 import com.adrs.dto.FarmTypeDTO;
 import com.adrs.dto.AnimalTypeDTO;
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.DiseaseDTO;
+import com.adrs.dto.ReferenceDataSnapshot;
 import com.adrs.model.Disease;
 import com.adrs.service.FarmTypeService;
 import com.adrs.service.AnimalTypeService;
+import com.adrs.service.ConfigurationTransferService;
 import com.adrs.service.DiseaseService;
+import com.adrs.service.ReferenceDataService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,11 +23,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -31,6 +42,7 @@ import java.util.UUID;
  * REST Controller for configuration management.
  * Provides CRUD endpoints for farm types, animal types, and diseases.
  * All endpoints are restricted to ADMIN role only.
+ * List endpoints write the pre-rendered bodies of the current {@link ReferenceDataSnapshot}.
  */
 @Tag(name = "Configuration Management", description = "APIs for managing system configuration including farm types, animal types, and diseases")
 @RestController
@@ -44,13 +56,19 @@ public class ConfigurationController {
     private final FarmTypeService farmTypeService;
     private final AnimalTypeService animalTypeService;
     private final DiseaseService diseaseService;
+    private final ReferenceDataService referenceDataService;
+    private final ConfigurationTransferService transferService;
 
     public ConfigurationController(FarmTypeService farmTypeService,
                                    AnimalTypeService animalTypeService,
-                                   DiseaseService diseaseService) {
+                                   DiseaseService diseaseService,
+                                   ReferenceDataService referenceDataService,
+                                   ConfigurationTransferService transferService) {
         this.farmTypeService = farmTypeService;
         this.animalTypeService = animalTypeService;
         this.diseaseService = diseaseService;
+        this.referenceDataService = referenceDataService;
+        this.transferService = transferService;
     }
 
     // ========================================
@@ -60,18 +78,21 @@ public class ConfigurationController {
     /**
      * Get all farm types.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of all farm types
      */
     @Operation(summary = "Get all farm types", description = "Retrieves a list of all farm types in the system")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of farm types"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of farm types",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = FarmTypeDTO.class)))),
             @ApiResponse(responseCode = "403", description = "Access denied - Admin role required", content = @Content)
     })
     @GetMapping("/farm-types")
-    public ResponseEntity<List<FarmTypeDTO>> getAllFarmTypes() {
+    public ResponseEntity<byte[]> getAllFarmTypes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/farm-types - Fetching all farm types");
-        List<FarmTypeDTO> farmTypes = farmTypeService.getAllFarmTypes();
-        return ResponseEntity.ok(farmTypes);
+        return catalog(ReferenceDataSnapshot.Catalog.FARM_TYPES, acceptEncoding);
     }
 
     /**
@@ -158,6 +179,17 @@ public class ConfigurationController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get usage counts for all farm types in one request.
+     *
+     * @return usage count per farm type ID
+     */
+    @GetMapping("/farm-types/usage")
+    public ResponseEntity<Map<UUID, Long>> getFarmTypeUsageCounts() {
+        logger.info("GET /api/configuration/farm-types/usage - Fetching usage counts");
+        return ResponseEntity.ok(farmTypeService.getFarmUsageCounts());
+    }
+
     /**
      * Get farm usage count for a farm type.
      *
@@ -178,26 +210,28 @@ public class ConfigurationController {
     /**
      * Get all animal types.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of all animal types
      */
     @GetMapping("/animal-types")
-    public ResponseEntity<List<AnimalTypeDTO>> getAllAnimalTypes() {
+    public ResponseEntity<byte[]> getAllAnimalTypes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/animal-types - Fetching all animal types");
-        List<AnimalTypeDTO> animalTypes = animalTypeService.getAllAnimalTypes();
-        return ResponseEntity.ok(animalTypes);
+        return catalog(ReferenceDataSnapshot.Catalog.ANIMAL_TYPES, acceptEncoding);
     }
 
     /**
      * Get active animal types only.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of active animal types
      */
     @GetMapping("/animal-types/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARY_OFFICER', 'FARMER')")
-    public ResponseEntity<List<AnimalTypeDTO>> getActiveAnimalTypes() {
+    public ResponseEntity<byte[]> getActiveAnimalTypes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/animal-types/active - Fetching active animal types");
-        List<AnimalTypeDTO> animalTypes = animalTypeService.getActiveAnimalTypes();
-        return ResponseEntity.ok(animalTypes);
+        return catalog(ReferenceDataSnapshot.Catalog.ACTIVE_ANIMAL_TYPES, acceptEncoding);
     }
 
     /**
@@ -270,6 +304,17 @@ public class ConfigurationController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get usage counts for all animal types in one request.
+     *
+     * @return usage count per animal type ID
+     */
+    @GetMapping("/animal-types/usage")
+    public ResponseEntity<Map<UUID, Long>> getAnimalTypeUsageCounts() {
+        logger.info("GET /api/configuration/animal-types/usage - Fetching usage counts");
+        return ResponseEntity.ok(animalTypeService.getAnimalUsageCounts());
+    }
+
     /**
      * Get animal usage count for an animal type.
      *
@@ -283,6 +328,21 @@ public class ConfigurationController {
         return ResponseEntity.ok(Map.of("usageCount", count));
     }
 
+    /**
+     * Get the active diseases that can affect an animal type.
+     *
+     * @param id the animal type ID
+     * @return list of diseases affecting the animal type
+     */
+    @GetMapping("/animal-types/{id}/diseases")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARY_OFFICER', 'FARMER')")
+    public ResponseEntity<List<DiseaseDTO>> getDiseasesAffectingAnimalType(@PathVariable UUID id) {
+        logger.info("GET /api/configuration/animal-types/{}/diseases - Fetching diseases affecting animal type", id);
+        animalTypeService.getAnimalTypeById(id);
+        List<DiseaseDTO> diseases = diseaseService.getDiseasesAffectingAnimalType(id);
+        return ResponseEntity.ok(diseases);
+    }
+
     // ========================================
     // DISEASE ENDPOINTS
     // ========================================
@@ -290,29 +350,32 @@ public class ConfigurationController {
     /**
      * Get all diseases.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of all diseases
      */
     @GetMapping("/diseases")
-    public ResponseEntity<List<DiseaseDTO>> getAllDiseases() {
+    public ResponseEntity<byte[]> getAllDiseases(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/diseases - Fetching all diseases");
-        List<DiseaseDTO> diseases = diseaseService.getAllDiseases();
-        return ResponseEntity.ok(diseases);
+        return catalog(ReferenceDataSnapshot.Catalog.DISEASES, acceptEncoding);
     }
 
     /**
      * Get diseases by severity level.
      *
      * @param severity the severity level
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of diseases with specified severity
      */
     @GetMapping("/diseases/severity/{severity}")
     @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARY_OFFICER', 'FARMER')")
-    public ResponseEntity<List<DiseaseDTO>> getDiseasesBySeverity(@PathVariable String severity) {
+    public ResponseEntity<byte[]> getDiseasesBySeverity(@PathVariable String severity,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/diseases/severity/{} - Fetching diseases by severity", severity);
         try {
             Disease.Severity severityEnum = Disease.Severity.valueOf(severity.toUpperCase());
-            List<DiseaseDTO> diseases = diseaseService.getDiseasesBySeverity(severityEnum);
-            return ResponseEntity.ok(diseases);
+            ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
+            return PrerenderedJson.ok(snapshot, snapshot.getDiseasesBySeverity(severityEnum), acceptEncoding);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid severity level: " + severity + 
                 ". Valid values are: LOW, MEDIUM, HIGH, CRITICAL");
@@ -389,6 +452,17 @@ public class ConfigurationController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get usage counts for all diseases in one request.
+     *
+     * @return usage count per disease ID
+     */
+    @GetMapping("/diseases/usage")
+    public ResponseEntity<Map<UUID, Long>> getDiseaseUsageCounts() {
+        logger.info("GET /api/configuration/diseases/usage - Fetching usage counts");
+        return ResponseEntity.ok(diseaseService.getDiseaseReportUsageCounts());
+    }
+
     /**
      * Get disease report usage count for a disease.
      *
@@ -405,12 +479,154 @@ public class ConfigurationController {
     /**
      * Get notifiable diseases.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of notifiable diseases
      */
     @GetMapping("/diseases/notifiable")
-    public ResponseEntity<List<DiseaseDTO>> getNotifiableDiseases() {
+    public ResponseEntity<byte[]> getNotifiableDiseases(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.info("GET /api/configuration/diseases/notifiable - Fetching notifiable diseases");
-        List<DiseaseDTO> diseases = diseaseService.getNotifiableDiseases();
-        return ResponseEntity.ok(diseases);
+        return catalog(ReferenceDataSnapshot.Catalog.NOTIFIABLE_DISEASES, acceptEncoding);
+    }
+
+    // ========================================
+    // BULK IMPORT / EXPORT ENDPOINTS
+    // ========================================
+
+    /**
+     * Import farm types in bulk from a JSON array or a CSV file with a header row.
+     *
+     * @param format json or csv
+     * @param body the file
+     * @return the outcome, with status 400 and the rejected rows if nothing was imported
+     * @throws IOException if reading the request body fails
+     */
+    @Operation(summary = "Import farm types",
+               description = "Creates all farm types in the file in one transaction, or none if any row is rejected")
+    @PostMapping("/farm-types/import")
+    public ResponseEntity<ConfigurationImportResult> importFarmTypes(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format,
+            InputStream body) throws IOException {
+        logger.info("POST /api/configuration/farm-types/import?format={} - Importing farm types", format);
+        return importCatalog(ConfigurationTransferService.Catalog.FARM_TYPES, format, body);
+    }
+
+    /**
+     * Export all farm types in the format accepted by the import endpoint.
+     *
+     * @param format json or csv
+     * @return the streamed file
+     */
+    @Operation(summary = "Export farm types", description = "Streams all farm types as JSON or CSV")
+    @GetMapping("/farm-types/export")
+    public ResponseEntity<StreamingResponseBody> exportFarmTypes(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format) {
+        logger.info("GET /api/configuration/farm-types/export?format={} - Exporting farm types", format);
+        return exportCatalog(ConfigurationTransferService.Catalog.FARM_TYPES, format);
+    }
+
+    /**
+     * Import animal types in bulk from a JSON array or a CSV file with a header row.
+     *
+     * @param format json or csv
+     * @param body the file
+     * @return the outcome, with status 400 and the rejected rows if nothing was imported
+     * @throws IOException if reading the request body fails
+     */
+    @Operation(summary = "Import animal types",
+               description = "Creates all animal types in the file in one transaction, or none if any row is rejected")
+    @PostMapping("/animal-types/import")
+    public ResponseEntity<ConfigurationImportResult> importAnimalTypes(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format,
+            InputStream body) throws IOException {
+        logger.info("POST /api/configuration/animal-types/import?format={} - Importing animal types", format);
+        return importCatalog(ConfigurationTransferService.Catalog.ANIMAL_TYPES, format, body);
+    }
+
+    /**
+     * Export all animal types in the format accepted by the import endpoint.
+     *
+     * @param format json or csv
+     * @return the streamed file
+     */
+    @Operation(summary = "Export animal types", description = "Streams all animal types as JSON or CSV")
+    @GetMapping("/animal-types/export")
+    public ResponseEntity<StreamingResponseBody> exportAnimalTypes(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format) {
+        logger.info("GET /api/configuration/animal-types/export?format={} - Exporting animal types", format);
+        return exportCatalog(ConfigurationTransferService.Catalog.ANIMAL_TYPES, format);
+    }
+
+    /**
+     * Import diseases in bulk from a JSON array or a CSV file with a header row.
+     *
+     * @param format json or csv
+     * @param body the file
+     * @return the outcome, with status 400 and the rejected rows if nothing was imported
+     * @throws IOException if reading the request body fails
+     */
+    @Operation(summary = "Import diseases",
+               description = "Creates all diseases in the file in one transaction, or none if any row is rejected")
+    @PostMapping("/diseases/import")
+    public ResponseEntity<ConfigurationImportResult> importDiseases(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format,
+            InputStream body) throws IOException {
+        logger.info("POST /api/configuration/diseases/import?format={} - Importing diseases", format);
+        return importCatalog(ConfigurationTransferService.Catalog.DISEASES, format, body);
+    }
+
+    /**
+     * Export all diseases in the format accepted by the import endpoint.
+     *
+     * @param format json or csv
+     * @return the streamed file
+     */
+    @Operation(summary = "Export diseases", description = "Streams all diseases as JSON or CSV")
+    @GetMapping("/diseases/export")
+    public ResponseEntity<StreamingResponseBody> exportDiseases(
+            @Parameter(description = "File format: json or csv")
+            @RequestParam(defaultValue = "json") String format) {
+        logger.info("GET /api/configuration/diseases/export?format={} - Exporting diseases", format);
+        return exportCatalog(ConfigurationTransferService.Catalog.DISEASES, format);
+    }
+
+    private ResponseEntity<ConfigurationImportResult> importCatalog(ConfigurationTransferService.Catalog catalog,
+                                                                    String format, InputStream body) throws IOException {
+        ConfigurationImportResult result = transferService.importCatalog(catalog, parseFormat(format), body);
+        if (result.getErrorCount() > 0) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportCatalog(ConfigurationTransferService.Catalog catalog,
+                                                                String format) {
+        ConfigurationTransferService.Format exportFormat = parseFormat(format);
+        String filename = catalog.getFileName() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> transferService.exportCatalog(catalog, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private ConfigurationTransferService.Format parseFormat(String format) {
+        try {
+            return ConfigurationTransferService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid format: " + format + ". Valid values are: json, csv");
+        }
+    }
+
+    private ResponseEntity<byte[]> catalog(ReferenceDataSnapshot.Catalog catalog, String acceptEncoding) {
+        ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
+        return PrerenderedJson.ok(snapshot, snapshot.get(catalog), acceptEncoding);
     }
 }
@@ -440,13 +440,6 @@ public class DashboardController {
             }
         }
         
-        List<User> users = dashboardService.getUsersByDistrictAndRole(districtEnum, userRole);
-        
-        // Convert to UserResponse DTOs
-        List<UserResponse> userResponses = users.stream()
-                .map(UserResponse::fromUser)
-                .collect(java.util.stream.Collectors.toList());
-        
-        return ResponseEntity.ok(userResponses);
+        return ResponseEntity.ok(dashboardService.getUsersByDistrictAndRole(districtEnum, userRole));
     }
 }
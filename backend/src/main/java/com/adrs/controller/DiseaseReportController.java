@@ -0,0 +1,146 @@
+package com.adrs.controller;
+
+import com.adrs.dto.DiseaseReportSearchResult;
+import com.adrs.service.DiseaseReportExportService;
+import com.adrs.service.DiseaseReportSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for disease report operations.
+ * Provides extract endpoints for ministry reporting and full-text search.
+ */
+@Tag(name = "Disease Reports", description = "APIs for disease report extracts and search")
+@RestController
+@RequestMapping("/api/disease-reports")
+@SecurityRequirement(name = "session-auth")
+public class DiseaseReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiseaseReportController.class);
+
+    private final DiseaseReportExportService exportService;
+    private final DiseaseReportSearchService searchService;
+
+    public DiseaseReportController(DiseaseReportExportService exportService,
+                                   DiseaseReportSearchService searchService) {
+        this.exportService = exportService;
+        this.searchService = searchService;
+    }
+
+    /**
+     * Export disease reports within a date range.
+     * The response is streamed while rows are read, so extracts of any size can be
+     * downloaded without loading them into memory.
+     *
+     * @param from   first report date (inclusive)
+     * @param to     last report date (inclusive)
+     * @param format csv or xlsx
+     * @return the streamed extract
+     */
+    @Operation(summary = "Export disease reports",
+               description = "Streams all disease reports dated within the range as CSV or XLSX")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Extract streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or format", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARY_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @Parameter(description = "First report date (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last report date (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Extract format: csv or xlsx")
+            @RequestParam(defaultValue = "csv") String format) {
+        logger.info("GET /api/disease-reports/export?from={}&to={}&format={} - Exporting reports", from, to, format);
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        DiseaseReportExportService.Format exportFormat = parseFormat(format);
+
+        String filename = "disease-reports_" + from + "_" + to + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> exportService.exportReports(from, to, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Search report symptoms, diagnosis, treatment and notes.
+     *
+     * @param q     the query; terms are ANDed, OR joins alternatives, -term excludes, "quotes" match a phrase
+     * @param limit maximum number of results
+     * @return matching reports, best match first
+     */
+    @Operation(summary = "Search disease reports",
+               description = "Ranked full-text search over report symptoms, diagnosis, treatment and notes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed"),
+            @ApiResponse(responseCode = "400", description = "Invalid query or limit", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'VETERINARY_OFFICER')")
+    public ResponseEntity<List<DiseaseReportSearchResult>> searchReports(
+            @Parameter(description = "Query, e.g. lameness \"loss of appetite\" -recovered", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("GET /api/disease-reports/search?q={}&limit={} - Searching reports", q, limit);
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    /**
+     * Rebuild the search index from the database.
+     *
+     * @return number of reports indexed
+     */
+    @Operation(summary = "Rebuild search index",
+               description = "Reloads the full-text index from the disease_reports table (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Index rebuilt"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin only", content = @Content)
+    })
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex() {
+        logger.info("POST /api/disease-reports/search/rebuild - Rebuilding search index");
+        return ResponseEntity.ok(Map.of("indexedReports", searchService.rebuildIndex()));
+    }
+
+    private DiseaseReportExportService.Format parseFormat(String format) {
+        try {
+            return DiseaseReportExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + format + ". Valid values are: csv, xlsx");
+        }
+    }
+}
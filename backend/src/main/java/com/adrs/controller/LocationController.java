@@ -1,76 +1,74 @@
 package com.adrs.controller;
 
-import com.adrs.model.District;
+import com.adrs.dto.ReferenceDataSnapshot;
 import com.adrs.model.Province;
+import com.adrs.service.ReferenceDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.time.Duration;
 
 /**
  * REST controller for location-related operations.
- * Provides endpoints for retrieving provinces and districts.
+ * Provides endpoints for retrieving provinces and districts, written from the
+ * pre-rendered bodies of the current {@link ReferenceDataSnapshot}. Locations only
+ * change with a release, so browsers may cache them for {@code app.locations.cache-max-age}
+ * and then revalidate them by entity tag.
  */
 @RestController
 @RequestMapping("/api/locations")
 public class LocationController {
 
     private static final Logger logger = LoggerFactory.getLogger(LocationController.class);
-    private static final String VALUE_KEY = "value";
-    private static final String LABEL_KEY = "label";
-    private static final String PROVINCE_KEY = "province";
+
+    private final ReferenceDataService referenceDataService;
+    private final String cacheControl;
+
+    public LocationController(ReferenceDataService referenceDataService,
+                              @Value("${app.locations.cache-max-age:P1D}") Duration cacheMaxAge) {
+        this.referenceDataService = referenceDataService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic().getHeaderValue();
+    }
 
     /**
      * Gets all available provinces.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of provinces with their enum names and display names
      */
     @GetMapping("/provinces")
-    public ResponseEntity<List<Map<String, String>>> getProvinces() {
+    public ResponseEntity<byte[]> getProvinces(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.debug("Fetching all provinces");
-        
-        List<Map<String, String>> provinces = Arrays.stream(Province.values())
-                .map(province -> {
-                    Map<String, String> provinceMap = new HashMap<>();
-                    provinceMap.put(VALUE_KEY, province.name());
-                    provinceMap.put(LABEL_KEY, province.getDisplayName());
-                    return provinceMap;
-                })
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(provinces);
+
+        ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
+        return PrerenderedJson.ok(snapshot, snapshot.get(ReferenceDataSnapshot.Catalog.PROVINCES),
+                acceptEncoding, cacheControl);
     }
 
     /**
      * Gets all districts that belong to a specific province.
      *
      * @param provinceName the name of the province
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of districts in the province
      */
     @GetMapping("/districts")
-    public ResponseEntity<List<Map<String, String>>> getDistrictsByProvince(
-            @RequestParam String provinceName) {
+    public ResponseEntity<byte[]> getDistrictsByProvince(
+            @RequestParam String provinceName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.debug("Fetching districts for province: {}", provinceName);
-        
+
         try {
             Province province = Province.valueOf(provinceName);
-            List<Map<String, String>> districts = District.getDistrictsByProvince(province)
-                    .stream()
-                    .map(district -> {
-                        Map<String, String> districtMap = new HashMap<>();
-                        districtMap.put(VALUE_KEY, district.name());
-                        districtMap.put(LABEL_KEY, district.getDisplayName());
-                        return districtMap;
-                    })
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(districts);
+            ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
+            return PrerenderedJson.ok(snapshot, snapshot.getDistrictsByProvince(province),
+                    acceptEncoding, cacheControl);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid province name: {}", provinceName);
             return ResponseEntity.badRequest().build();
@@ -80,22 +78,16 @@ public class LocationController {
     /**
      * Gets all districts regardless of province.
      *
+     * @param acceptEncoding the Accept-Encoding header, for gzip
      * @return list of all districts
      */
     @GetMapping("/districts/all")
-    public ResponseEntity<List<Map<String, String>>> getAllDistricts() {
+    public ResponseEntity<byte[]> getAllDistricts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         logger.debug("Fetching all districts");
-        
-        List<Map<String, String>> districts = Arrays.stream(District.values())
-                .map(district -> {
-                    Map<String, String> districtMap = new HashMap<>();
-                    districtMap.put(VALUE_KEY, district.name());
-                    districtMap.put(LABEL_KEY, district.getDisplayName());
-                    districtMap.put(PROVINCE_KEY, district.getProvince().name());
-                    return districtMap;
-                })
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(districts);
+
+        ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
+        return PrerenderedJson.ok(snapshot, snapshot.get(ReferenceDataSnapshot.Catalog.ALL_DISTRICTS),
+                acceptEncoding, cacheControl);
     }
 }
@@ -0,0 +1,125 @@
+package com.adrs.controller;
+
+import com.adrs.dto.ReferenceDataSnapshot;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Writes pre-rendered reference data bodies straight to the response, gzip-encoded
+ * when the client accepts it, without serializing anything per request.
+ *
+ * Each body carries the entity tag of its encoding, so Spring MVC answers a
+ * conditional GET whose If-None-Match names it with 304 Not Modified and no body.
+ */
+final class PrerenderedJson {
+
+    static final String VERSION_HEADER = "X-Reference-Data-Version";
+
+    private static final String GZIP = "gzip";
+
+    private PrerenderedJson() {
+    }
+
+    /**
+     * @param snapshot       snapshot the payload belongs to
+     * @param payload        the rendered body
+     * @param acceptEncoding the request's Accept-Encoding header, or null
+     * @return a 200 response carrying the payload
+     */
+    static ResponseEntity<byte[]> ok(ReferenceDataSnapshot snapshot, ReferenceDataSnapshot.Payload payload,
+                                     String acceptEncoding) {
+        return ok(snapshot, payload, acceptEncoding, null);
+    }
+
+    /**
+     * @param snapshot       snapshot the payload belongs to
+     * @param payload        the rendered body
+     * @param acceptEncoding the request's Accept-Encoding header, or null
+     * @param cacheControl   the Cache-Control header value, or null for none
+     * @return a 200 response carrying the payload
+     */
+    static ResponseEntity<byte[]> ok(ReferenceDataSnapshot snapshot, ReferenceDataSnapshot.Payload payload,
+                                     String acceptEncoding, String cacheControl) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(VERSION_HEADER, snapshot.getVersionText());
+        if (cacheControl != null) {
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (payload.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .eTag(payload.gzipEtag())
+                    .body(payload.gzip());
+        }
+        return response.eTag(payload.etag()).body(payload.json());
+    }
+
+    /**
+     * Whether an Accept-Encoding header accepts gzip with a non-zero quality.
+     * Scans the header in place rather than splitting it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int length = acceptEncoding.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int codingStart = skipSpaces(acceptEncoding, start, end);
+            int parameters = acceptEncoding.indexOf(';', codingStart);
+            if (parameters < 0 || parameters > end) {
+                parameters = end;
+            }
+            int codingEnd = trimEnd(acceptEncoding, codingStart, parameters);
+            if (codingEnd - codingStart == GZIP.length()
+                    && acceptEncoding.regionMatches(true, codingStart, GZIP, 0, GZIP.length())) {
+                return parameters == end || !isZeroQuality(acceptEncoding, parameters + 1, end);
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String header, int from, int to) {
+        int start = skipSpaces(header, from, to);
+        if (start + 1 >= to || Character.toLowerCase(header.charAt(start)) != 'q') {
+            return false;
+        }
+        int equals = skipSpaces(header, start + 1, to);
+        if (equals >= to || header.charAt(equals) != '=') {
+            return false;
+        }
+        int value = skipSpaces(header, equals + 1, to);
+        int valueEnd = trimEnd(header, value, to);
+        if (value >= valueEnd || header.charAt(value) != '0') {
+            return false;
+        }
+        for (int i = value + 1; i < valueEnd; i++) {
+            char c = header.charAt(i);
+            if (c != '0' && !(c == '.' && i == value + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(String header, int from, int to) {
+        while (from < to && header.charAt(from) == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(String header, int from, int to) {
+        while (to > from && header.charAt(to - 1) == ' ') {
+            to--;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,190 @@
+package com.adrs.controller;
+
+import com.adrs.analytics.ReportCountFilter;
+import com.adrs.analytics.ReportFilter;
+import com.adrs.dto.DistinctCountEstimate;
+import com.adrs.dto.ReportGroupCount;
+import com.adrs.dto.ReportRangeCount;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.service.ReportAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * REST Controller for ad-hoc disease report analytics.
+ * Answers are computed from in-memory report indexes rather than the database.
+ */
+@Tag(name = "Report Analytics", description = "APIs for slicing disease report counts by district, disease, severity, month and outcome")
+@RestController
+@RequestMapping("/api/dashboard/reports")
+@SecurityRequirement(name = "session-auth")
+public class ReportAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportAnalyticsController.class);
+
+    private final ReportAnalyticsService reportAnalyticsService;
+
+    public ReportAnalyticsController(ReportAnalyticsService reportAnalyticsService) {
+        this.reportAnalyticsService = reportAnalyticsService;
+    }
+
+    /**
+     * Count reports grouped by any combination of dimensions.
+     *
+     * @return non-empty groups, largest first
+     */
+    @Operation(summary = "Get grouped report counts",
+               description = "Counts disease reports matching the filters, grouped by district, disease, month, outcome and/or confirmed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed grouped counts"),
+            @ApiResponse(responseCode = "400", description = "Invalid dimension or filter", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    @GetMapping("/group-counts")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ReportGroupCount>> getGroupCounts(
+            @Parameter(description = "Dimensions to group by: district, disease, month, outcome, confirmed")
+            @RequestParam(required = false) List<String> groupBy,
+            @Parameter(description = "Districts to include")
+            @RequestParam(required = false) Set<String> district,
+            @Parameter(description = "Disease ids to include")
+            @RequestParam(required = false) Set<UUID> diseaseId,
+            @Parameter(description = "First report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Outcomes to include")
+            @RequestParam(required = false) Set<DiseaseReport.Outcome> outcome,
+            @Parameter(description = "Only confirmed (true) or unconfirmed (false) reports")
+            @RequestParam(required = false) Boolean confirmed) {
+        logger.info("GET /api/dashboard/reports/group-counts?groupBy={} - Computing grouped report counts", groupBy);
+
+        ReportFilter filter = new ReportFilter();
+        filter.setDistricts(district);
+        filter.setDiseaseIds(diseaseId);
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setOutcomes(outcome);
+        filter.setConfirmed(confirmed);
+
+        return ResponseEntity.ok(reportAnalyticsService.getGroupCounts(groupBy, filter));
+    }
+
+    /**
+     * Count reports matching any combination of filters.
+     *
+     * @return the number of matching reports
+     */
+    @Operation(summary = "Count reports",
+               description = "Counts disease reports matching the filters using bitmap indexes over the reports")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted reports"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter value", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    @GetMapping("/count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Long>> countReports(
+            @Parameter(description = "Districts to include")
+            @RequestParam(required = false) Set<String> district,
+            @Parameter(description = "Disease ids to include")
+            @RequestParam(required = false) Set<UUID> diseaseId,
+            @Parameter(description = "Disease severities to include")
+            @RequestParam(required = false) Set<Disease.Severity> severity,
+            @Parameter(description = "Report months to include (yyyy-MM)")
+            @RequestParam(required = false) Set<YearMonth> month,
+            @Parameter(description = "Outcomes to include")
+            @RequestParam(required = false) Set<DiseaseReport.Outcome> outcome,
+            @Parameter(description = "Only confirmed (true) or unconfirmed (false) reports")
+            @RequestParam(required = false) Boolean confirmed) {
+        logger.info("GET /api/dashboard/reports/count - Counting reports");
+
+        ReportCountFilter filter = new ReportCountFilter();
+        filter.setDistricts(district);
+        filter.setDiseaseIds(diseaseId);
+        filter.setSeverities(severity);
+        filter.setMonths(month);
+        filter.setOutcomes(outcome);
+        filter.setConfirmed(confirmed);
+
+        return ResponseEntity.ok(Map.of("count", reportAnalyticsService.countReports(filter)));
+    }
+
+    /**
+     * Estimate how many distinct farms and animals have reports.
+     *
+     * @return farm and animal estimates with their relative standard error
+     */
+    @Operation(summary = "Estimate distinct affected farms and animals",
+               description = "Estimates distinct farms and animals with reports matching the filters from mergeable "
+                       + "HyperLogLog sketches. Small counts are exact; otherwise the relative standard error is about 1.6%")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully estimated distinct counts"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    @GetMapping("/distinct")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<DistinctCountEstimate> estimateDistinct(
+            @Parameter(description = "Districts to include")
+            @RequestParam(required = false) Set<String> district,
+            @Parameter(description = "Disease ids to include")
+            @RequestParam(required = false) Set<UUID> diseaseId,
+            @Parameter(description = "First report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("GET /api/dashboard/reports/distinct - Estimating distinct farms and animals");
+        return ResponseEntity.ok(reportAnalyticsService.estimateDistinct(district, diseaseId, from, to));
+    }
+
+    /**
+     * Count reports with report dates in an inclusive range.
+     *
+     * @return total and confirmed report counts
+     */
+    @Operation(summary = "Count reports in a date range",
+               description = "Counts disease reports, and confirmed reports, in the districts and diseases with report "
+                       + "dates between from and to inclusive, using per-day range counters kept in memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted reports"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content)
+    })
+    @GetMapping("/range-count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ReportRangeCount> countInRange(
+            @Parameter(description = "Districts to include")
+            @RequestParam(required = false) Set<String> district,
+            @Parameter(description = "Disease ids to include")
+            @RequestParam(required = false) Set<UUID> diseaseId,
+            @Parameter(description = "First report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last report date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("GET /api/dashboard/reports/range-count - Counting reports from {} to {}", from, to);
+        return ResponseEntity.ok(reportAnalyticsService.countInRange(district, diseaseId, from, to));
+    }
+}
@@ -0,0 +1,88 @@
+package com.adrs.controller;
+
+import com.adrs.dto.SearchSuggestion;
+import com.adrs.service.SearchSuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for typeahead suggestions.
+ * Users are suggested to admins only; farms to admins and veterinary officers.
+ */
+@Tag(name = "Search", description = "APIs for typeahead suggestions of users and farms")
+@RestController
+@RequestMapping("/api/search")
+@SecurityRequirement(name = "session-auth")
+public class SearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    private final SearchSuggestionService suggestionService;
+
+    public SearchController(SearchSuggestionService suggestionService) {
+        this.suggestionService = suggestionService;
+    }
+
+    /**
+     * Suggest users or farms for the words typed so far.
+     *
+     * @param type  what to suggest
+     * @param q     the words typed so far; the last may be incomplete
+     * @param limit maximum number of suggestions
+     * @return matching users or farms, best match first
+     */
+    @Operation(summary = "Suggest users or farms",
+               description = "Typeahead over user names, usernames and emails, or farm and owner names")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions found"),
+            @ApiResponse(responseCode = "400", description = "Invalid type, query or limit", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+    })
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('VETERINARY_OFFICER') and #type.name() == 'FARM')")
+    public ResponseEntity<List<SearchSuggestion>> suggest(
+            @Parameter(description = "USER or FARM", required = true)
+            @RequestParam SearchSuggestion.Type type,
+            @Parameter(description = "Words typed so far, e.g. nim per", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (1-20)")
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.debug("GET /api/search/suggest?type={}&q={}&limit={} - Suggesting", type, q, limit);
+        return ResponseEntity.ok(suggestionService.suggest(type, q, limit));
+    }
+
+    /**
+     * Rebuild the suggestion indexes from the database.
+     *
+     * @return number of users and farms indexed
+     */
+    @Operation(summary = "Rebuild suggestion indexes",
+               description = "Reloads the typeahead indexes from the users and farms tables (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Indexes rebuilt"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin only", content = @Content)
+    })
+    @PostMapping("/suggest/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSuggestionIndexes() {
+        logger.info("POST /api/search/suggest/rebuild - Rebuilding suggestion indexes");
+        return ResponseEntity.ok(Map.of("indexedEntries", suggestionService.rebuildIndex()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.adrs.controller;
+
+import com.adrs.dto.SyncResponse;
+import com.adrs.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for delta sync with offline field clients.
+ */
+@Tag(name = "Sync", description = "APIs for offline clients to download changes since their last sync")
+@RestController
+@RequestMapping("/api/sync")
+@SecurityRequirement(name = "session-auth")
+public class SyncController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncController.class);
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Get the next chunk of changes after a cursor.
+     *
+     * @return changed rows, deletes and the cursor to continue from
+     */
+    @Operation(summary = "Get changes since a cursor",
+               description = "Returns farm types, animal types, diseases, farms, animals and disease reports created or "
+                       + "updated since the cursor, then deletes, which for a district include rows that moved out of "
+                       + "it. Omit the cursor for a full sync; call again with the returned cursor while hasMore is "
+                       + "true, and keep the last cursor for the next sync. Changes appear once every write "
+                       + "transaction open when they were made has committed, and at least the settle window "
+                       + "(app.sync.settle-window) after they were made; on databases that cannot report open "
+                       + "transactions, a change committed later than the settle window after it was made is "
+                       + "missed by clients that synced in between")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+            @ApiResponse(responseCode = "410", description = "Cursor older than the tombstone retention window; "
+                    + "discard local data and sync again without a cursor", content = @Content)
+    })
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SyncResponse> getChanges(
+            @Parameter(description = "Cursor from the previous response; omit for a full sync")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "District to limit farms, animals and reports to")
+            @RequestParam(required = false) String district,
+            @Parameter(description = "Maximum number of changes to return (1-5000, default 500)")
+            @RequestParam(required = false) Integer limit) {
+        logger.info("GET /api/sync - Fetching changes for district {}", district);
+        return ResponseEntity.ok(syncService.getChanges(cursor, district, limit));
+    }
+}
@@ -0,0 +1,57 @@
+package com.adrs.controller;
+
+import com.adrs.dto.UserPage;
+import com.adrs.dto.UserSearchCriteria;
+import com.adrs.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the user management listing.
+ * Same filters and paging as the user management page.
+ */
+@Tag(name = "User Management", description = "APIs for listing users")
+@RestController
+@RequestMapping("/api/users")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "session-auth")
+public class UserApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserApiController.class);
+
+    private final UserService userService;
+
+    public UserApiController(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Get one page of users matching the filters, ordered by username.
+     *
+     * @param criteria the filters, page cursor ({@code after}) and page size
+     * @return the page of users with the next cursor
+     */
+    @Operation(summary = "List users", description = "Lists users by role, province, district, status and text, "
+            + "a page at a time; pass nextCursor as 'after' for the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of users"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or page size", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<UserPage> listUsers(UserSearchCriteria criteria) {
+        logger.info("GET /api/users - Listing users: {}", criteria);
+        return ResponseEntity.ok(userService.searchUsers(criteria));
+    }
+}
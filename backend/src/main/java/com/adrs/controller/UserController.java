@@ -1,7 +1,10 @@
 package com.adrs.controller;
 
 import com.adrs.dto.UserRequest;
-import com.adrs.dto.UserResponse;
+import com.adrs.dto.UserSearchCriteria;
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.model.User;
 import com.adrs.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -15,8 +18,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 /**
  * MVC controller for user management pages.
  * Handles Thymeleaf template rendering and form submissions.
@@ -48,16 +49,19 @@ public class UserController {
     }
 
     /**
-     * Displays the user management page with all users.
+     * Displays one page of the user management listing, filtered on the server.
      *
-     * @param model the model for the view
+     * @param filters the filters and page cursor from the query string
+     * @param model   the model for the view
      * @return the user management view name
      */
     @GetMapping
-    public String listUsers(Model model) {
-        logger.info("User management page requested");
-        List<UserResponse> users = userService.getAllUsers();
-        model.addAttribute("users", users);
+    public String listUsers(@ModelAttribute("filters") UserSearchCriteria filters, Model model) {
+        logger.info("User management page requested: {}", filters);
+        model.addAttribute("page", userService.searchUsers(filters));
+        model.addAttribute("roles", User.Role.values());
+        model.addAttribute("provinces", Province.values());
+        model.addAttribute("districts", District.values());
         model.addAttribute("userRequest", new UserRequest());
         return USERS_VIEW;
     }
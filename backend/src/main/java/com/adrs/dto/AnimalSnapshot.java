@@ -0,0 +1,57 @@
+package com.adrs.dto;
+
+import com.adrs.model.Animal;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of an animal's own columns and foreign keys, as sent to syncing clients.
+ */
+@Value
+public class AnimalSnapshot {
+
+    UUID id;
+
+    UUID farmId;
+
+    UUID animalTypeId;
+
+    String tagNumber;
+
+    String breed;
+
+    Integer ageYears;
+
+    Integer ageMonths;
+
+    Animal.Sex sex;
+
+    String healthStatus;
+
+    Boolean isActive;
+
+    LocalDateTime updatedAt;
+
+    /**
+     * Copy an animal. Associations are read by id only, so lazy proxies are not initialized.
+     *
+     * @param animal the animal entity
+     * @return the snapshot
+     */
+    public static AnimalSnapshot of(Animal animal) {
+        return new AnimalSnapshot(
+                animal.getId(),
+                animal.getFarm() != null ? animal.getFarm().getId() : null,
+                animal.getAnimalType() != null ? animal.getAnimalType().getId() : null,
+                animal.getTagNumber(),
+                animal.getBreed(),
+                animal.getAgeYears(),
+                animal.getAgeMonths(),
+                animal.getSex(),
+                animal.getHealthStatus(),
+                animal.getIsActive(),
+                animal.getUpdatedAt());
+    }
+}
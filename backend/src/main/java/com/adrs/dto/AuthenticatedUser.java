@@ -0,0 +1,104 @@
+package com.adrs.dto;
+
+import com.adrs.model.User;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * Spring Security principal for an active user.
+ * Carries the profile fields the login response needs, so a login does not read
+ * the user again once authenticated. The password hash is erased once a login
+ * succeeds, so it is not kept in the session; the user cache therefore hands out
+ * copies made with {@link #withPassword(String)}.
+ */
+@Value
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    Long id;
+    String username;
+    @ToString.Exclude
+    @NonFinal
+    String password;
+    String email;
+    String firstName;
+    String lastName;
+    User.Role role;
+    List<GrantedAuthority> authorities;
+
+    /**
+     * Create a principal from a user entity.
+     *
+     * @param user the user; must be active
+     * @return the principal
+     */
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                user.getFirstName(), user.getLastName(), user.getRole(), authoritiesFor(user.getRole()));
+    }
+
+    /**
+     * Create a principal without a password, for a user authenticated by a token.
+     *
+     * @param id        the user ID
+     * @param username  the username
+     * @param email     the email
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @param role      the role
+     * @return the principal
+     */
+    public static AuthenticatedUser withoutPassword(Long id, String username, String email, String firstName,
+                                                    String lastName, User.Role role) {
+        return new AuthenticatedUser(id, username, null, email, firstName, lastName, role, authoritiesFor(role));
+    }
+
+    /**
+     * Copy this principal with another password hash.
+     *
+     * @param password the password hash
+     * @return a new principal, even if the hash is unchanged
+     */
+    public AuthenticatedUser withPassword(String password) {
+        return new AuthenticatedUser(id, username, password, email, firstName, lastName, role, authorities);
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    private static List<GrantedAuthority> authoritiesFor(User.Role role) {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
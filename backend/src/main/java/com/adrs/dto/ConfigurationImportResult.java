@@ -0,0 +1,39 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk configuration import.
+ * An import is all or nothing: if any row is rejected, imported is zero and
+ * errors lists the rejected rows (up to a limit; errorCount is the full count).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationImportResult {
+
+    private int rowsRead;
+
+    private int imported;
+
+    private int errorCount;
+
+    private List<RowError> errors;
+
+    /**
+     * One problem with one row of the import, numbered from 1 excluding any header.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private int row;
+
+        private String message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.adrs.dto;
+
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, read-only row of a disease report extract.
+ * Populated directly by a JPQL constructor expression so that no entities are
+ * attached to the persistence context while an export is streamed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiseaseReportExportRow {
+
+    private UUID id;
+    private LocalDate reportDate;
+    private String diseaseCode;
+    private String diseaseName;
+    private Disease.Severity severity;
+    private String farmName;
+    private String ownerName;
+    private String district;
+    private String province;
+    private String animalTag;
+    private String animalType;
+    private String reportedBy;
+    private DiseaseReport.Outcome outcome;
+    private Boolean isConfirmed;
+    private LocalDateTime confirmedAt;
+    private String symptoms;
+    private String diagnosis;
+    private String treatment;
+    private String notes;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.adrs.dto;
+
+import com.adrs.model.DiseaseReport;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a ranked disease report search hit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiseaseReportSearchResult {
+
+    private UUID id;
+
+    private double score;
+
+    private LocalDate reportDate;
+
+    private String diseaseName;
+
+    private String farmName;
+
+    private String district;
+
+    private DiseaseReport.Outcome outcome;
+
+    private Boolean isConfirmed;
+
+    private String symptoms;
+
+    private String diagnosis;
+}
@@ -0,0 +1,63 @@
+package com.adrs.dto;
+
+import com.adrs.model.DiseaseReport;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a disease report's own columns and foreign keys.
+ * Carried by report change events and used to rebuild in-memory report indexes,
+ * so consumers never touch a managed entity outside its session.
+ */
+@Value
+public class DiseaseReportSnapshot {
+
+    UUID id;
+
+    UUID diseaseId;
+
+    UUID farmId;
+
+    UUID animalId;
+
+    LocalDate reportDate;
+
+    DiseaseReport.Outcome outcome;
+
+    Boolean isConfirmed;
+
+    String symptoms;
+
+    String diagnosis;
+
+    String treatment;
+
+    String notes;
+
+    LocalDateTime updatedAt;
+
+    /**
+     * Copy a report. Associations are read by id only, so lazy proxies are not initialized.
+     *
+     * @param report the report entity
+     * @return the snapshot
+     */
+    public static DiseaseReportSnapshot of(DiseaseReport report) {
+        return new DiseaseReportSnapshot(
+                report.getId(),
+                report.getDisease() != null ? report.getDisease().getId() : null,
+                report.getFarm() != null ? report.getFarm().getId() : null,
+                report.getAnimal() != null ? report.getAnimal().getId() : null,
+                report.getReportDate(),
+                report.getOutcome(),
+                report.getIsConfirmed(),
+                report.getSymptoms(),
+                report.getDiagnosis(),
+                report.getTreatment(),
+                report.getNotes(),
+                report.getUpdatedAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for estimated numbers of distinct farms and animals with disease reports.
+ * Unless exact, each estimate is within relativeStandardError of the true count
+ * about 68% of the time and within twice that about 95% of the time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctCountEstimate {
+
+    private long farms;
+
+    private long animals;
+
+    private boolean exact;
+
+    private double relativeStandardError;
+}
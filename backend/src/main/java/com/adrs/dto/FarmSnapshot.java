@@ -0,0 +1,64 @@
+package com.adrs.dto;
+
+import com.adrs.model.Farm;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a farm's own columns and foreign keys, as sent to syncing clients.
+ */
+@Value
+public class FarmSnapshot {
+
+    UUID id;
+
+    String farmName;
+
+    UUID farmTypeId;
+
+    String ownerName;
+
+    String ownerContact;
+
+    String address;
+
+    String district;
+
+    String province;
+
+    BigDecimal gpsLatitude;
+
+    BigDecimal gpsLongitude;
+
+    Integer totalAnimals;
+
+    Boolean isActive;
+
+    LocalDateTime updatedAt;
+
+    /**
+     * Copy a farm. The farm type is read by id only, so its lazy proxy is not initialized.
+     *
+     * @param farm the farm entity
+     * @return the snapshot
+     */
+    public static FarmSnapshot of(Farm farm) {
+        return new FarmSnapshot(
+                farm.getId(),
+                farm.getFarmName(),
+                farm.getFarmType() != null ? farm.getFarmType().getId() : null,
+                farm.getOwnerName(),
+                farm.getOwnerContact(),
+                farm.getAddress(),
+                farm.getDistrict(),
+                farm.getProvince(),
+                farm.getGpsLatitude(),
+                farm.getGpsLongitude(),
+                farm.getTotalAnimals(),
+                farm.getIsActive(),
+                farm.getUpdatedAt());
+    }
+}
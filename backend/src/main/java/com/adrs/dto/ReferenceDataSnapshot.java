@@ -0,0 +1,86 @@
+package com.adrs.dto;
+
+import com.adrs.model.Disease;
+import com.adrs.model.Province;
+
+import java.util.Map;
+
+/**
+ * Immutable, versioned copy of the reference data served to forms: farm types,
+ * animal types, diseases, provinces and districts, each list already rendered
+ * to the JSON body of its endpoint.
+ *
+ * A new snapshot with a higher version replaces the old one whenever a
+ * configuration write commits; readers holding the old one keep a consistent view.
+ */
+public final class ReferenceDataSnapshot {
+
+    /**
+     * Reference data lists with one rendered body each.
+     */
+    public enum Catalog {
+        FARM_TYPES,
+        ANIMAL_TYPES,
+        ACTIVE_ANIMAL_TYPES,
+        DISEASES,
+        NOTIFIABLE_DISEASES,
+        PROVINCES,
+        ALL_DISTRICTS
+    }
+
+    /**
+     * A rendered JSON body, with its gzip encoding when that is smaller, and the
+     * entity tag of each. Tags are derived from the JSON, so a body that comes out
+     * the same in a later snapshot keeps its tag.
+     * The arrays are shared by every request and must not be modified.
+     *
+     * @param json     UTF-8 JSON
+     * @param gzip     gzip-compressed JSON, or null if compression does not pay
+     * @param etag     quoted entity tag of the JSON
+     * @param gzipEtag quoted entity tag of the gzip encoding, or null without one
+     */
+    public record Payload(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    private final long version;
+    private final String versionText;
+    private final Map<Catalog, Payload> catalogs;
+    private final Map<Disease.Severity, Payload> diseasesBySeverity;
+    private final Map<Province, Payload> districtsByProvince;
+
+    public ReferenceDataSnapshot(long version, Map<Catalog, Payload> catalogs,
+                                 Map<Disease.Severity, Payload> diseasesBySeverity,
+                                 Map<Province, Payload> districtsByProvince) {
+        this.version = version;
+        this.versionText = Long.toString(version);
+        this.catalogs = Map.copyOf(catalogs);
+        this.diseasesBySeverity = Map.copyOf(diseasesBySeverity);
+        this.districtsByProvince = Map.copyOf(districtsByProvince);
+    }
+
+    /**
+     * @return version of the snapshot, increasing with every rebuild
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the version as text, for response headers
+     */
+    public String getVersionText() {
+        return versionText;
+    }
+
+    public Payload get(Catalog catalog) {
+        return catalogs.get(catalog);
+    }
+
+    public Payload getDiseasesBySeverity(Disease.Severity severity) {
+        return diseasesBySeverity.get(severity);
+    }
+
+    public Payload getDistrictsByProvince(Province province) {
+        return districtsByProvince.get(province);
+    }
+}
@@ -0,0 +1,31 @@
+package com.adrs.dto;
+
+import com.adrs.model.DiseaseReport;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The dimensions of a disease report used by the in-memory analytics stores,
+ * with the reporting farm's district resolved.
+ */
+@Value
+public class ReportAnalyticsRow {
+
+    UUID id;
+
+    UUID diseaseId;
+
+    UUID farmId;
+
+    UUID animalId;
+
+    String district;
+
+    LocalDate reportDate;
+
+    DiseaseReport.Outcome outcome;
+
+    Boolean isConfirmed;
+}
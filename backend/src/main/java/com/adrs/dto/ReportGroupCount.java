@@ -0,0 +1,21 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for one group of a grouped report count.
+ * The group maps each grouping dimension to its value, in the requested order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportGroupCount {
+
+    private Map<String, String> group;
+
+    private long count;
+}
@@ -0,0 +1,18 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the number of disease reports, and of confirmed reports, in a date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRangeCount {
+
+    private long total;
+
+    private long confirmed;
+}
@@ -0,0 +1,32 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a typeahead suggestion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestion {
+
+    /**
+     * What a suggestion refers to.
+     */
+    public enum Type {
+        USER,
+        FARM
+    }
+
+    private Type type;
+
+    private String id;
+
+    /** Full name of a user, or name of a farm. */
+    private String label;
+
+    /** Username of a user, or owner and district of a farm. */
+    private String detail;
+}
@@ -0,0 +1,20 @@
+package com.adrs.dto;
+
+import com.adrs.model.SyncTombstone;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A deleted row that a syncing client should remove.
+ */
+@Value
+public class SyncDeletion {
+
+    SyncTombstone.EntityType type;
+
+    UUID id;
+
+    LocalDateTime deletedAt;
+}
@@ -0,0 +1,37 @@
+package com.adrs.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one chunk of changes returned to a syncing client.
+ * Rows changed since the request's cursor are listed per type, configuration
+ * first, followed by deletes. The client passes {@code cursor} back to get the
+ * next chunk, repeating while {@code hasMore} is true, and keeps the last
+ * cursor for its next sync.
+ */
+@Data
+@NoArgsConstructor
+public class SyncResponse {
+
+    private String cursor;
+
+    private boolean hasMore;
+
+    private List<FarmTypeDTO> farmTypes = new ArrayList<>();
+
+    private List<AnimalTypeDTO> animalTypes = new ArrayList<>();
+
+    private List<DiseaseDTO> diseases = new ArrayList<>();
+
+    private List<FarmSnapshot> farms = new ArrayList<>();
+
+    private List<AnimalSnapshot> animals = new ArrayList<>();
+
+    private List<DiseaseReportSnapshot> reports = new ArrayList<>();
+
+    private List<SyncDeletion> deleted = new ArrayList<>();
+}
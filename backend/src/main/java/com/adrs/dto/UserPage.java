@@ -0,0 +1,24 @@
+package com.adrs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of the user listing, in username order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+
+    private List<UserSummary> users;
+
+    /** Number of users matching the filters, on every page. */
+    private long totalElements;
+
+    /** Value of {@code after} for the next page; null on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,32 @@
+package com.adrs.dto;
+
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.model.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for user listing filters.
+ * Filters left null are not applied.
+ */
+@Data
+@NoArgsConstructor
+public class UserSearchCriteria {
+
+    private User.Role role;
+
+    private Province province;
+
+    private District district;
+
+    private Boolean active;
+
+    /** Text matched anywhere in the username, email, first name or last name. */
+    private String q;
+
+    /** Username of the last user on the previous page; null for the first page. */
+    private String after;
+
+    private Integer size;
+}
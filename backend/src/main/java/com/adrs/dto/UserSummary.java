@@ -0,0 +1,32 @@
+package com.adrs.dto;
+
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.model.User;
+
+/**
+ * Projection of the user columns shown in the user management listing.
+ * Read straight from the query, without loading User entities.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhoneNumber();
+
+    Province getProvince();
+
+    District getDistrict();
+
+    User.Role getRole();
+
+    Boolean getActive();
+}
@@ -0,0 +1,35 @@
+package com.adrs.event;
+
+import com.adrs.dto.DiseaseReportSnapshot;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a disease report is inserted, updated or deleted through JPA.
+ * Listeners that maintain in-memory state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class DiseaseReportChangedEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    ChangeType type;
+
+    /**
+     * State of the report after the change; for deletes, the state it was deleted in.
+     */
+    DiseaseReportSnapshot report;
+
+    public UUID getReportId() {
+        return report.getId();
+    }
+}
@@ -0,0 +1,44 @@
+package com.adrs.event;
+
+import com.adrs.dto.DiseaseReportSnapshot;
+import com.adrs.model.DiseaseReport;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns disease report writes into
+ * {@link DiseaseReportChangedEvent}s. Hibernate obtains this listener from the
+ * Spring context, so it can use the application event publisher.
+ * Bulk JPQL/SQL updates bypass entity callbacks and are not reported.
+ */
+@Component
+public class DiseaseReportEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DiseaseReportEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void afterInsert(DiseaseReport report) {
+        publish(DiseaseReportChangedEvent.ChangeType.CREATED, report);
+    }
+
+    @PostUpdate
+    public void afterUpdate(DiseaseReport report) {
+        publish(DiseaseReportChangedEvent.ChangeType.UPDATED, report);
+    }
+
+    @PostRemove
+    public void afterDelete(DiseaseReport report) {
+        publish(DiseaseReportChangedEvent.ChangeType.DELETED, report);
+    }
+
+    private void publish(DiseaseReportChangedEvent.ChangeType type, DiseaseReport report) {
+        eventPublisher.publishEvent(new DiseaseReportChangedEvent(type, DiseaseReportSnapshot.of(report)));
+    }
+}
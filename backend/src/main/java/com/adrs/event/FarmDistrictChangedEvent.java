@@ -0,0 +1,20 @@
+package com.adrs.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published when a farm updated through JPA moves to another district, while the
+ * update is flushed. Listeners that maintain in-memory state should use
+ * {@code @TransactionalEventListener} so they only see committed moves.
+ */
+@Value
+public class FarmDistrictChangedEvent {
+
+    UUID farmId;
+
+    String previousDistrict;
+
+    String district;
+}
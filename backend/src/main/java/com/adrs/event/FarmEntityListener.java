@@ -0,0 +1,36 @@
+package com.adrs.event;
+
+import com.adrs.model.Farm;
+import jakarta.persistence.PreUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * JPA entity listener that turns farm district changes into
+ * {@link FarmDistrictChangedEvent}s. The district the farm had is read with plain
+ * JDBC before the update is written, since entity callbacks must not use the
+ * entity manager. Bulk JPQL/SQL updates bypass entity callbacks and are not reported.
+ */
+@Component
+public class FarmEntityListener {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FarmEntityListener(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PreUpdate
+    public void beforeUpdate(Farm farm) {
+        List<String> stored = jdbcTemplate.queryForList("SELECT district FROM farms WHERE id = ?",
+                String.class, farm.getId());
+        if (!stored.isEmpty() && stored.get(0) != null && !stored.get(0).equals(farm.getDistrict())) {
+            eventPublisher.publishEvent(new FarmDistrictChangedEvent(farm.getId(), stored.get(0), farm.getDistrict()));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.adrs.event;
+
+import lombok.Value;
+
+/**
+ * Published by the configuration services whenever a farm type, animal type or
+ * disease is created, updated, toggled or deleted. Listeners that cache reference
+ * data should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class ReferenceDataChangedEvent {
+
+    /**
+     * Configuration catalog that changed.
+     */
+    public enum Catalog {
+        FARM_TYPES,
+        ANIMAL_TYPES,
+        DISEASES
+    }
+
+    Catalog catalog;
+}
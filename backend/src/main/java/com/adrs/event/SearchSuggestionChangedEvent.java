@@ -0,0 +1,74 @@
+package com.adrs.event;
+
+import com.adrs.dto.SearchSuggestion;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Published whenever a user or farm is inserted, updated or deleted through JPA,
+ * with the text it is suggested for. Listeners that maintain in-memory state
+ * should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class SearchSuggestionChangedEvent {
+
+    /**
+     * State of the suggestion after the change.
+     */
+    SearchSuggestion suggestion;
+
+    /**
+     * Text fields the suggestion matches, most important first.
+     */
+    List<String> fields;
+
+    /**
+     * True if the entity was deleted or should no longer be suggested.
+     */
+    boolean removed;
+
+    /**
+     * A user suggestion, matching the full name, the username and the mailbox part of the email.
+     *
+     * @param id        the user id
+     * @param username  the username
+     * @param email     the email
+     * @param firstName the first name
+     * @param lastName  the last name
+     * @return the event for the user
+     */
+    public static SearchSuggestionChangedEvent user(Long id, String username, String email,
+                                                    String firstName, String lastName) {
+        String name = firstName + " " + lastName;
+        int at = email != null ? email.indexOf('@') : -1;
+        String mailbox = at > 0 ? email.substring(0, at) : email;
+        return new SearchSuggestionChangedEvent(
+                new SearchSuggestion(SearchSuggestion.Type.USER, String.valueOf(id), name, username),
+                Arrays.asList(name, username, mailbox), false);
+    }
+
+    /**
+     * A farm suggestion, matching the farm name and the owner name.
+     *
+     * @param id        the farm id
+     * @param farmName  the farm name
+     * @param ownerName the owner name
+     * @param district  the district
+     * @return the event for the farm
+     */
+    public static SearchSuggestionChangedEvent farm(Object id, String farmName, String ownerName, String district) {
+        return new SearchSuggestionChangedEvent(
+                new SearchSuggestion(SearchSuggestion.Type.FARM, String.valueOf(id), farmName,
+                        ownerName + ", " + district),
+                Arrays.asList(farmName, ownerName), false);
+    }
+
+    /**
+     * @return the same suggestion, removed
+     */
+    public SearchSuggestionChangedEvent asRemoved() {
+        return new SearchSuggestionChangedEvent(suggestion, List.of(), true);
+    }
+}
@@ -0,0 +1,50 @@
+package com.adrs.event;
+
+import com.adrs.model.Farm;
+import com.adrs.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns user and farm writes into
+ * {@link SearchSuggestionChangedEvent}s. Inactive farms are reported as removed.
+ * Bulk JPQL/SQL updates bypass entity callbacks and are not reported.
+ */
+@Component
+public class SearchSuggestionEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SearchSuggestionEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void afterDelete(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        SearchSuggestionChangedEvent event;
+        if (entity instanceof User user) {
+            event = SearchSuggestionChangedEvent.user(user.getId(), user.getUsername(), user.getEmail(),
+                    user.getFirstName(), user.getLastName());
+        } else if (entity instanceof Farm farm) {
+            event = SearchSuggestionChangedEvent.farm(farm.getId(), farm.getFarmName(), farm.getOwnerName(),
+                    farm.getDistrict());
+            removed |= !Boolean.TRUE.equals(farm.getIsActive());
+        } else {
+            return;
+        }
+        eventPublisher.publishEvent(removed ? event.asRemoved() : event);
+    }
+}
@@ -0,0 +1,101 @@
+package com.adrs.event;
+
+import com.adrs.model.Animal;
+import com.adrs.model.AnimalType;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.model.Farm;
+import com.adrs.model.FarmType;
+import com.adrs.model.SyncTombstone;
+import com.adrs.util.UuidV7Generator;
+import jakarta.persistence.PreRemove;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA entity listener that records a {@link SyncTombstone} for every synced
+ * entity removed through JPA. The tombstone is written with plain JDBC on the
+ * transaction's connection, since entity callbacks must not use the entity
+ * manager, so it commits or rolls back with the delete. Bulk JPQL/SQL deletes
+ * bypass entity callbacks and leave no tombstone.
+ *
+ * When a farm moves to another district ({@link FarmDistrictChangedEvent}, published
+ * while the update is flushed), the farm, its animals and its reports get moved
+ * tombstones in the old district, so that clients syncing it drop them, and the
+ * animals and reports are stamped as updated, so that clients syncing the new
+ * district fetch them. Moved tombstones the rows left in the new district, when
+ * the farm moves back, are removed.
+ */
+@Component
+public class SyncTombstoneListener {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sync_tombstones (id, entity_type, entity_id, district, deleted_at, moved) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String FARM_ROWS_SQL =
+            "(entity_id = ? OR entity_id IN (SELECT id FROM animals WHERE farm_id = ?) "
+                    + "OR entity_id IN (SELECT id FROM disease_reports WHERE farm_id = ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncTombstoneListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PreRemove
+    public void beforeDelete(Object entity) {
+        if (entity instanceof FarmType farmType) {
+            record(SyncTombstone.EntityType.FARM_TYPE, farmType.getId(), null);
+        } else if (entity instanceof AnimalType animalType) {
+            record(SyncTombstone.EntityType.ANIMAL_TYPE, animalType.getId(), null);
+        } else if (entity instanceof Disease disease) {
+            record(SyncTombstone.EntityType.DISEASE, disease.getId(), null);
+        } else if (entity instanceof Farm farm) {
+            record(SyncTombstone.EntityType.FARM, farm.getId(), farm.getDistrict());
+        } else if (entity instanceof Animal animal) {
+            record(SyncTombstone.EntityType.ANIMAL, animal.getId(), animal.getFarm().getDistrict());
+        } else if (entity instanceof DiseaseReport report) {
+            record(SyncTombstone.EntityType.DISEASE_REPORT, report.getId(), report.getFarm().getDistrict());
+        }
+    }
+
+    @EventListener
+    public void onFarmDistrictChanged(FarmDistrictChangedEvent event) {
+        recordMove(event.getFarmId(), event.getPreviousDistrict(), event.getDistrict());
+    }
+
+    private void record(SyncTombstone.EntityType type, UUID entityId, String district) {
+        jdbcTemplate.update(INSERT_SQL, UuidV7Generator.generate(), type.name(), entityId, district,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), false);
+    }
+
+    private void recordMove(UUID farmId, String fromDistrict, String toDistrict) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.update("DELETE FROM sync_tombstones WHERE moved = TRUE AND district = ? AND " + FARM_ROWS_SQL,
+                toDistrict, farmId, farmId, farmId);
+
+        List<Object[]> tombstones = new ArrayList<>();
+        tombstones.add(moved(SyncTombstone.EntityType.FARM, farmId, fromDistrict, now));
+        for (UUID animalId : jdbcTemplate.queryForList("SELECT id FROM animals WHERE farm_id = ?", UUID.class, farmId)) {
+            tombstones.add(moved(SyncTombstone.EntityType.ANIMAL, animalId, fromDistrict, now));
+        }
+        for (UUID reportId : jdbcTemplate.queryForList("SELECT id FROM disease_reports WHERE farm_id = ?",
+                UUID.class, farmId)) {
+            tombstones.add(moved(SyncTombstone.EntityType.DISEASE_REPORT, reportId, fromDistrict, now));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, tombstones);
+
+        jdbcTemplate.update("UPDATE animals SET updated_at = ? WHERE farm_id = ?", now, farmId);
+        jdbcTemplate.update("UPDATE disease_reports SET updated_at = ? WHERE farm_id = ?", now, farmId);
+    }
+
+    private static Object[] moved(SyncTombstone.EntityType type, UUID entityId, String district, LocalDateTime now) {
+        return new Object[]{UuidV7Generator.generate(), type.name(), entityId, district, now, true};
+    }
+}
@@ -2,6 +2,8 @@ package com.adrs.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -60,6 +62,31 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    /**
+     * Handles SyncCursorExpiredException.
+     *
+     * @param ex the exception
+     * @return error response asking the client for a full sync
+     */
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleSyncCursorExpiredException(SyncCursorExpiredException ex) {
+        logger.info("Sync cursor expired: {}", ex.getMessage());
+        return buildErrorResponse(HttpStatus.GONE, ex.getMessage());
+    }
+
+    /**
+     * Handles DataIntegrityViolationException, such as a duplicate name that got
+     * past the service checks and was caught by a unique index.
+     *
+     * @param ex the exception
+     * @return error response
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        logger.error("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        return buildErrorResponse(HttpStatus.CONFLICT, "The change conflicts with existing data");
+    }
+
     /**
      * Handles IllegalArgumentException.
      *
@@ -84,6 +111,22 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid username or password");
     }
 
+    /**
+     * Handles LoginCapacityExceededException.
+     *
+     * @param ex the exception
+     * @return error response asking the client to retry
+     */
+    @ExceptionHandler(LoginCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleLoginCapacityExceededException(LoginCapacityExceededException ex) {
+        logger.warn("Login not checked: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> error = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many logins at once, please try again");
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error.getBody());
+    }
+
     /**
      * Handles UsernameNotFoundException.
      *
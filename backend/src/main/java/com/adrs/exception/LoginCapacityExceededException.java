@@ -0,0 +1,23 @@
+package com.adrs.exception;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Exception thrown when a password cannot be verified in time because the
+ * verification pool is saturated. The login is neither accepted nor rejected
+ * and should be retried shortly.
+ *
+ * Extends {@link InternalAuthenticationServiceException} so that the provider
+ * manager fails the login straight away instead of trying other providers.
+ */
+public class LoginCapacityExceededException extends InternalAuthenticationServiceException {
+
+    /**
+     * Constructs a new LoginCapacityExceededException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
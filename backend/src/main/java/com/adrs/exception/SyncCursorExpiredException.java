@@ -0,0 +1,18 @@
+package com.adrs.exception;
+
+/**
+ * Exception thrown when a sync cursor is older than the tombstone retention window,
+ * so deletes the client has not seen may have been purged. The client must discard
+ * its data and run a full sync.
+ */
+public class SyncCursorExpiredException extends RuntimeException {
+
+    /**
+     * Constructs a new SyncCursorExpiredException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SyncCursorExpiredException(String message) {
+        super(message);
+    }
+}
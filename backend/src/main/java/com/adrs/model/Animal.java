@@ -1,5 +1,6 @@
 package com.adrs.model;
 
+import com.adrs.event.SyncTombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -16,14 +17,16 @@ import java.util.UUID;
  * Animals belong to farms and have specific types.
  */
 @Entity
-@Table(name = "animals")
+@Table(name = "animals",
+       indexes = @Index(name = "idx_animals_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(SyncTombstoneListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Animal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.adrs.model;
 
+import com.adrs.event.SyncTombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -23,14 +24,16 @@ import java.util.UUID;
  * - Deactivating an animal type affects all related animals
  */
 @Entity
-@Table(name = "animal_types")
+@Table(name = "animal_types",
+       indexes = @Index(name = "idx_animal_types_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(SyncTombstoneListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AnimalType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
 
     @NotBlank(message = "Animal type name is required")
@@ -1,5 +1,6 @@
 package com.adrs.model;
 
+import com.adrs.event.SyncTombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -24,14 +25,16 @@ import java.util.UUID;
  * - Affected animal types are stored as an array for flexibility
  */
 @Entity
-@Table(name = "diseases")
+@Table(name = "diseases",
+       indexes = @Index(name = "idx_diseases_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners(SyncTombstoneListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Disease {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
 
     @NotBlank(message = "Disease name is required")
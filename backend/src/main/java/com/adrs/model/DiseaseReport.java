@@ -1,5 +1,7 @@
 package com.adrs.model;
 
+import com.adrs.event.DiseaseReportEntityListener;
+import com.adrs.event.SyncTombstoneListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,16 +16,20 @@ import java.util.UUID;
 /**
  * Entity representing a disease report in the system.
  * Disease reports track animal disease incidents and their outcomes.
+ * Writes are published as DiseaseReportChangedEvents by DiseaseReportEntityListener,
+ * and deletes are recorded as SyncTombstones by SyncTombstoneListener.
  */
 @Entity
-@Table(name = "disease_reports")
+@Table(name = "disease_reports",
+       indexes = @Index(name = "idx_disease_reports_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners({DiseaseReportEntityListener.class, SyncTombstoneListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DiseaseReport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
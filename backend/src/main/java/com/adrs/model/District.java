@@ -2,7 +2,9 @@ package com.adrs.model;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Enum representing the districts of Sri Lanka.
@@ -52,6 +54,17 @@ public enum District {
     MATARA(Province.SOUTHERN, "Matara"),
     GALLE(Province.SOUTHERN, "Galle");
 
+    private static final Map<Province, List<District>> BY_PROVINCE = new EnumMap<>(Province.class);
+    private static final List<Province> ALL_PROVINCES = List.of(Province.values());
+
+    static {
+        for (Province province : Province.values()) {
+            BY_PROVINCE.put(province, Arrays.stream(values())
+                    .filter(district -> district.province == province)
+                    .toList());
+        }
+    }
+
     private final Province province;
     private final String displayName;
 
@@ -80,6 +93,7 @@ public enum District {
 
     /**
      * Gets all districts that belong to a specific province.
+     * The lists are built once and shared, so they are immutable.
      *
      * @param province the province
      * @return list of districts in the province
@@ -88,17 +102,15 @@ public enum District {
         if (province == null) {
             return Collections.emptyList();
         }
-        return Arrays.stream(District.values())
-                .filter(district -> district.getProvince() == province)
-                .toList();
+        return BY_PROVINCE.get(province);
     }
 
     /**
      * Gets all available provinces.
      *
-     * @return list of all provinces
+     * @return immutable list of all provinces
      */
     public static List<Province> getAllProvinces() {
-        return Arrays.asList(Province.values());
+        return ALL_PROVINCES;
     }
 }
@@ -1,5 +1,8 @@
 package com.adrs.model;
 
+import com.adrs.event.FarmEntityListener;
+import com.adrs.event.SearchSuggestionEntityListener;
+import com.adrs.event.SyncTombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -18,14 +21,16 @@ import java.util.UUID;
  * Farms are the primary locations where animals are kept and managed.
  */
 @Entity
-@Table(name = "farms")
+@Table(name = "farms",
+       indexes = @Index(name = "idx_farms_updated_at_id", columnList = "updated_at, id"))
+@EntityListeners({FarmEntityListener.class, SyncTombstoneListener.class, SearchSuggestionEntityListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Farm {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
 
     @NotBlank(message = "Farm name is required")
@@ -0,0 +1,33 @@
+package com.adrs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revocation of API tokens before they expire, kept until the tokens it covers have.
+ * Either a single token, keyed by its token ID, or every token a user was issued up
+ * to the revocation time, keyed by {@code user:<user id>}. Each instance holds the
+ * whole list in memory and reloads it periodically, so checking a token needs no query.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+       indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,62 @@
+package com.adrs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a deleted row, kept so that offline clients syncing changes learn
+ * about deletes. Written by SyncTombstoneListener when an entity is removed
+ * through JPA, in the same transaction as the delete, and for a farm's rows
+ * when the farm moves to another district. Kept for {@code app.sync.tombstone-retention}.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+       indexes = @Index(name = "idx_sync_tombstones_deleted_at_id", columnList = "deleted_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    /**
+     * District of the deleted farm, animal or report; null for configuration.
+     */
+    @Column(length = 50)
+    private String district;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    /**
+     * Whether the row still exists but left {@link #district} with its farm, so that
+     * only clients syncing that district remove it.
+     */
+    @Column(nullable = false)
+    private boolean moved;
+
+    /**
+     * Kinds of synced entity, in the order a sync returns them.
+     */
+    public enum EntityType {
+        FARM_TYPE,
+        ANIMAL_TYPE,
+        DISEASE,
+        FARM,
+        ANIMAL,
+        DISEASE_REPORT
+    }
+}
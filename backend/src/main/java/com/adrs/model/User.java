@@ -1,5 +1,6 @@
 package com.adrs.model;
 
+import com.adrs.event.SearchSuggestionEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,6 +19,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(SearchSuggestionEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,19 @@
+package com.adrs.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID primary key as generated with time-ordered UUIDv7 values.
+ * Used instead of {@code @GeneratedValue} so that new rows append to the right-hand
+ * edge of the primary-key B-tree rather than landing on random leaf pages.
+ */
+@IdGeneratorType(UuidV7IdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7Id {
+}
@@ -1,9 +1,14 @@
 package com.adrs.repository;
 
 import com.adrs.model.Animal;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -18,4 +23,23 @@ public interface AnimalRepository extends JpaRepository<Animal, UUID> {
      * @return count of all animals
      */
     long count();
+
+    /**
+     * Find animals changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param district  farm district to include, or null for all
+     * @param limit     maximum number of rows
+     * @return animals ordered by update time and id
+     */
+    @Query("SELECT a FROM Animal a JOIN a.farm f " +
+           "WHERE (a.updatedAt > :updatedAt OR (a.updatedAt = :updatedAt AND a.id > :id)) " +
+           "AND a.updatedAt <= :until " +
+           "AND (:district IS NULL OR f.district = :district) " +
+           "ORDER BY a.updatedAt, a.id")
+    List<Animal> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                  @Param("until") LocalDateTime until, @Param("district") String district,
+                                  Limit limit);
 }
@@ -1,10 +1,13 @@
 package com.adrs.repository;
 
 import com.adrs.model.AnimalType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -76,4 +79,28 @@ public interface AnimalTypeRepository extends JpaRepository<AnimalType, UUID> {
      */
     @Query("SELECT COUNT(a) FROM Animal a WHERE a.animalType.id = :animalTypeId")
     Long countAnimalsUsingAnimalType(UUID animalTypeId);
+
+    /**
+     * Count animals per animal type, for every animal type in use.
+     *
+     * @return list of Object[] containing [UUID animalTypeId, Long count]
+     */
+    @Query("SELECT a.animalType.id, COUNT(a) FROM Animal a GROUP BY a.animalType.id")
+    List<Object[]> countAnimalsByAnimalType();
+
+    /**
+     * Find animal types changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param limit     maximum number of rows
+     * @return animal types ordered by update time and id
+     */
+    @Query("SELECT at FROM AnimalType at " +
+           "WHERE (at.updatedAt > :updatedAt OR (at.updatedAt = :updatedAt AND at.id > :id)) " +
+           "AND at.updatedAt <= :until " +
+           "ORDER BY at.updatedAt, at.id")
+    List<AnimalType> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                      @Param("until") LocalDateTime until, Limit limit);
 }
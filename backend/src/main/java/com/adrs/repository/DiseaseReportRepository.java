@@ -1,13 +1,24 @@
 package com.adrs.repository;
 
+import com.adrs.dto.DiseaseReportExportRow;
+import com.adrs.dto.DiseaseReportSnapshot;
+import com.adrs.dto.ReportAnalyticsRow;
 import com.adrs.model.DiseaseReport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for DiseaseReport entity.
@@ -55,4 +66,92 @@ public interface DiseaseReportRepository extends JpaRepository<DiseaseReport, UU
            "GROUP BY CAST(dr.reportDate AS LocalDate) " +
            "ORDER BY CAST(dr.reportDate AS LocalDate)")
     List<Object[]> getDiseaseReportTrend(LocalDateTime startDate);
+
+    /**
+     * Stream flattened report rows for an extract, ordered by report date.
+     * Rows are read through a forward-only cursor in fetch-size chunks and are not
+     * attached to the persistence context, so memory use does not grow with the
+     * result size. Must be called inside a transaction and the stream closed.
+     *
+     * @param from first report date (inclusive)
+     * @param to   last report date (inclusive)
+     * @return stream of export rows
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.adrs.dto.DiseaseReportExportRow(" +
+           "dr.id, dr.reportDate, d.diseaseCode, d.diseaseName, d.severity, " +
+           "f.farmName, f.ownerName, f.district, f.province, " +
+           "a.tagNumber, t.typeName, u.username, " +
+           "dr.outcome, dr.isConfirmed, dr.confirmedAt, " +
+           "dr.symptoms, dr.diagnosis, dr.treatment, dr.notes, dr.createdAt) " +
+           "FROM DiseaseReport dr " +
+           "JOIN dr.disease d JOIN dr.farm f JOIN dr.animal a JOIN a.animalType t JOIN dr.reportedBy u " +
+           "WHERE dr.reportDate BETWEEN :from AND :to " +
+           "ORDER BY dr.reportDate, dr.id")
+    Stream<DiseaseReportExportRow> streamExportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Stream snapshots of every report, for rebuilding in-memory report indexes.
+     * Same cursor semantics as {@link #streamExportRows}.
+     *
+     * @return stream of report snapshots
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.adrs.dto.DiseaseReportSnapshot(" +
+           "dr.id, dr.disease.id, dr.farm.id, dr.animal.id, dr.reportDate, dr.outcome, dr.isConfirmed, " +
+           "dr.symptoms, dr.diagnosis, dr.treatment, dr.notes, dr.updatedAt) " +
+           "FROM DiseaseReport dr")
+    Stream<DiseaseReportSnapshot> streamSnapshots();
+
+    /**
+     * Find reports by id with their disease and farm loaded.
+     *
+     * @param ids the report ids
+     * @return the reports found, in no particular order
+     */
+    @Query("SELECT dr FROM DiseaseReport dr JOIN FETCH dr.disease JOIN FETCH dr.farm WHERE dr.id IN :ids")
+    List<DiseaseReport> findWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Stream the analytics dimensions of every report, for loading the in-memory
+     * analytics stores. Same cursor semantics as {@link #streamExportRows}.
+     *
+     * @return stream of analytics rows
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.adrs.dto.ReportAnalyticsRow(" +
+           "dr.id, dr.disease.id, f.id, dr.animal.id, f.district, dr.reportDate, dr.outcome, dr.isConfirmed) " +
+           "FROM DiseaseReport dr JOIN dr.farm f")
+    Stream<ReportAnalyticsRow> streamAnalyticsRows();
+
+    /**
+     * Find disease reports changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param district  farm district to include, or null for all
+     * @param limit     maximum number of rows
+     * @return disease reports ordered by update time and id
+     */
+    @Query("SELECT dr FROM DiseaseReport dr JOIN dr.farm f " +
+           "WHERE (dr.updatedAt > :updatedAt OR (dr.updatedAt = :updatedAt AND dr.id > :id)) " +
+           "AND dr.updatedAt <= :until " +
+           "AND (:district IS NULL OR f.district = :district) " +
+           "ORDER BY dr.updatedAt, dr.id")
+    List<DiseaseReport> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                         @Param("until") LocalDateTime until, @Param("district") String district,
+                                         Limit limit);
 }
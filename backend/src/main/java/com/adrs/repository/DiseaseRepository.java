@@ -1,10 +1,13 @@
 package com.adrs.repository;
 
 import com.adrs.model.Disease;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -121,4 +124,28 @@ public interface DiseaseRepository extends JpaRepository<Disease, UUID> {
      */
     @Query("SELECT COUNT(dr) FROM DiseaseReport dr WHERE dr.disease.id = :diseaseId")
     Long countDiseaseReportsUsingDisease(UUID diseaseId);
+
+    /**
+     * Count disease reports per disease, for every disease in use.
+     *
+     * @return list of Object[] containing [UUID diseaseId, Long count]
+     */
+    @Query("SELECT dr.disease.id, COUNT(dr) FROM DiseaseReport dr GROUP BY dr.disease.id")
+    List<Object[]> countDiseaseReportsByDisease();
+
+    /**
+     * Find diseases changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param limit     maximum number of rows
+     * @return diseases ordered by update time and id
+     */
+    @Query("SELECT d FROM Disease d " +
+           "WHERE (d.updatedAt > :updatedAt OR (d.updatedAt = :updatedAt AND d.id > :id)) " +
+           "AND d.updatedAt <= :until " +
+           "ORDER BY d.updatedAt, d.id")
+    List<Disease> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                   @Param("until") LocalDateTime until, Limit limit);
 }
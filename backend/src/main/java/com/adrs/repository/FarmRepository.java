@@ -1,12 +1,15 @@
 package com.adrs.repository;
 
 import com.adrs.model.Farm;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -41,4 +44,40 @@ public interface FarmRepository extends JpaRepository<Farm, UUID> {
            "GROUP BY CAST(f.createdAt AS LocalDate) " +
            "ORDER BY CAST(f.createdAt AS LocalDate)")
     List<Object[]> getFarmRegistrationTrend(LocalDateTime startDate);
+
+    /**
+     * Find the district of a farm without loading the entity.
+     *
+     * @param id the farm id
+     * @return the district, if the farm exists
+     */
+    @Query("SELECT f.district FROM Farm f WHERE f.id = :id")
+    Optional<String> findDistrictById(@Param("id") UUID id);
+
+    /**
+     * Read the fields active farms are suggested by, for loading the typeahead index.
+     * Returns raw data as Object[]: id, farm name, owner name and district.
+     *
+     * @return list of Object[] containing [UUID, String, String, String]
+     */
+    @Query("SELECT f.id, f.farmName, f.ownerName, f.district FROM Farm f WHERE f.isActive = true")
+    List<Object[]> findActiveSuggestionFields();
+
+    /**
+     * Find farms changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param district  farm district to include, or null for all
+     * @param limit     maximum number of rows
+     * @return farms ordered by update time and id
+     */
+    @Query("SELECT f FROM Farm f " +
+           "WHERE (f.updatedAt > :updatedAt OR (f.updatedAt = :updatedAt AND f.id > :id)) " +
+           "AND f.updatedAt <= :until " +
+           "AND (:district IS NULL OR f.district = :district) " +
+           "ORDER BY f.updatedAt, f.id")
+    List<Farm> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                @Param("until") LocalDateTime until, @Param("district") String district, Limit limit);
 }
@@ -1,10 +1,13 @@
 package com.adrs.repository;
 
 import com.adrs.model.FarmType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -76,4 +79,28 @@ public interface FarmTypeRepository extends JpaRepository<FarmType, UUID> {
      */
     @Query("SELECT COUNT(f) FROM Farm f WHERE f.farmType.id = :farmTypeId")
     Long countFarmsUsingFarmType(UUID farmTypeId);
+
+    /**
+     * Count farms per farm type, for every farm type in use.
+     *
+     * @return list of Object[] containing [UUID farmTypeId, Long count]
+     */
+    @Query("SELECT f.farmType.id, COUNT(f) FROM Farm f GROUP BY f.farmType.id")
+    List<Object[]> countFarmsByFarmType();
+
+    /**
+     * Find farm types changed after a sync position, oldest change first.
+     *
+     * @param updatedAt update time of the last row already synced
+     * @param id        id of the last row already synced
+     * @param until     latest update time to include
+     * @param limit     maximum number of rows
+     * @return farm types ordered by update time and id
+     */
+    @Query("SELECT ft FROM FarmType ft " +
+           "WHERE (ft.updatedAt > :updatedAt OR (ft.updatedAt = :updatedAt AND ft.id > :id)) " +
+           "AND ft.updatedAt <= :until " +
+           "ORDER BY ft.updatedAt, ft.id")
+    List<FarmType> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") UUID id,
+                                    @Param("until") LocalDateTime until, Limit limit);
 }
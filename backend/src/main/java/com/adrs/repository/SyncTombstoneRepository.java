@@ -0,0 +1,51 @@
+package com.adrs.repository;
+
+import com.adrs.model.SyncTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for SyncTombstone entity.
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, UUID> {
+
+    /**
+     * Find deletes after a sync position, oldest first. Rows that moved out of a
+     * district are deletes only for clients syncing that district.
+     *
+     * @param deletedAt deletion time of the last tombstone already synced
+     * @param id        id of the last tombstone already synced
+     * @param until     latest deletion time to include
+     * @param district  district to include along with configuration deletes, or null for all
+     * @param limit     maximum number of tombstones
+     * @return tombstones ordered by deletion time and id
+     */
+    @Query("SELECT t FROM SyncTombstone t " +
+           "WHERE (t.deletedAt > :deletedAt OR (t.deletedAt = :deletedAt AND t.id > :id)) " +
+           "AND t.deletedAt <= :until " +
+           "AND ((:district IS NULL AND t.moved = false) " +
+           "OR (:district IS NOT NULL AND (t.district IS NULL OR t.district = :district))) " +
+           "ORDER BY t.deletedAt, t.id")
+    List<SyncTombstone> findDeletedSince(@Param("deletedAt") LocalDateTime deletedAt, @Param("id") UUID id,
+                                         @Param("until") LocalDateTime until, @Param("district") String district,
+                                         Limit limit);
+
+    /**
+     * Delete tombstones older than the retention window.
+     *
+     * @param cutoff deletion time before which tombstones are deleted
+     * @return the number of tombstones deleted
+     */
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
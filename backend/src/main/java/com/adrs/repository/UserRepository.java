@@ -1,8 +1,12 @@
 package com.adrs.repository;
 
+import com.adrs.dto.UserSummary;
+import com.adrs.model.District;
 import com.adrs.model.Province;
 import com.adrs.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +21,16 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /** Filters of the user listing queries. */
+    String SEARCH_FILTERS = "(:role IS NULL OR u.role = :role) "
+            + "AND (:province IS NULL OR u.province = :province) "
+            + "AND (:district IS NULL OR u.district = :district) "
+            + "AND (:active IS NULL OR u.active = :active) "
+            + "AND (:pattern IS NULL OR LOWER(u.username) LIKE :pattern ESCAPE '\\' "
+            + "OR LOWER(u.email) LIKE :pattern ESCAPE '\\' "
+            + "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' "
+            + "OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\')";
+
     /**
      * Finds a user by username.
      *
@@ -49,6 +63,77 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Replaces a user's password hash without loading the user.
+     * Used to rehash at a new cost on login, so it leaves the update time alone.
+     *
+     * @param username the username
+     * @param password the new password hash
+     * @return the number of users updated
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Finds one page of the user listing, ordered by username.
+     * Pages by key: the next page starts after the last username of this one,
+     * so every page costs the same however deep it is. Null filters match all users.
+     *
+     * @param role     the role, or null
+     * @param province the province, or null
+     * @param district the district, or null
+     * @param active   the active status, or null
+     * @param pattern  lowercase LIKE pattern for username, email or name, or null
+     * @param after    the last username of the previous page, or null for the first page
+     * @param pageable the page size; its page number and sort are ignored
+     * @return the users on the page
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.firstName AS firstName, "
+            + "u.lastName AS lastName, u.phoneNumber AS phoneNumber, u.province AS province, "
+            + "u.district AS district, u.role AS role, u.active AS active FROM User u "
+            + "WHERE " + SEARCH_FILTERS + " AND (:after IS NULL OR u.username > :after) ORDER BY u.username")
+    List<UserSummary> searchUsers(@Param("role") User.Role role, @Param("province") Province province,
+                                  @Param("district") District district, @Param("active") Boolean active,
+                                  @Param("pattern") String pattern, @Param("after") String after,
+                                  Pageable pageable);
+
+    /**
+     * Counts the users matching the listing filters of {@link #searchUsers}.
+     *
+     * @param role     the role, or null
+     * @param province the province, or null
+     * @param district the district, or null
+     * @param active   the active status, or null
+     * @param pattern  lowercase LIKE pattern for username, email or name, or null
+     * @return the number of matching users
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE " + SEARCH_FILTERS)
+    long countSearchUsers(@Param("role") User.Role role, @Param("province") Province province,
+                          @Param("district") District district, @Param("active") Boolean active,
+                          @Param("pattern") String pattern);
+
+    /**
+     * Reads the fields users are suggested by, for loading the typeahead index.
+     * Returns raw data as Object[]: id, username, email, first name and last name.
+     *
+     * @return list of Object[] containing [Long, String, String, String, String]
+     */
+    @Query("SELECT u.id, u.username, u.email, u.firstName, u.lastName FROM User u")
+    List<Object[]> findSuggestionFields();
+
+    /**
+     * Reads the contact details of the active users with a district, for loading the district roster.
+     * Returns raw data as Object[]: id, username, email, first name, last name, phone number,
+     * province, district, role, created and updated times.
+     *
+     * @return list of Object[] containing [Long, String, String, String, String, String,
+     *         Province, District, Role, LocalDateTime, LocalDateTime]
+     */
+    @Query("SELECT u.id, u.username, u.email, u.firstName, u.lastName, u.phoneNumber, u.province, u.district, "
+            + "u.role, u.createdAt, u.updatedAt FROM User u WHERE u.active = true AND u.district IS NOT NULL")
+    List<Object[]> findActiveDistrictRoster();
+
     /**
      * Finds all users with a specific role.
      *
@@ -1,8 +1,11 @@
 package com.adrs.service;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.AnimalTypeDTO;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -84,6 +87,13 @@ public interface AnimalTypeService {
      */
     Long getAnimalUsageCount(UUID id);
 
+    /**
+     * Get counts of animals for all animal types at once.
+     *
+     * @return count of animals per animal type ID, zero for unused ones, in display order
+     */
+    Map<UUID, Long> getAnimalUsageCounts();
+
     /**
      * Check if an animal type name already exists.
      *
@@ -91,4 +101,14 @@ public interface AnimalTypeService {
      * @return true if exists, false otherwise
      */
     boolean animalTypeExists(String typeName);
+
+    /**
+     * Create animal types in bulk, in JDBC batches within one transaction.
+     * Every row is checked against the existing catalog and the rows before it;
+     * if any row is rejected, none are imported.
+     *
+     * @param rows the animal types to create, in file order
+     * @return the outcome, listing any rejected rows
+     */
+    ConfigurationImportResult importAnimalTypes(Iterator<AnimalTypeDTO> rows);
 }
@@ -0,0 +1,81 @@
+package com.adrs.service;
+
+import com.adrs.dto.ConfigurationImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk import and export of the configuration catalogs.
+ * Imports are parsed as they are read; exports are written from the cached catalogs.
+ * Both formats use the same fields, so an export can be imported into another deployment.
+ */
+public interface ConfigurationTransferService {
+
+    /**
+     * Catalogs that can be imported and exported.
+     */
+    enum Catalog {
+        FARM_TYPES("farm-types"),
+        ANIMAL_TYPES("animal-types"),
+        DISEASES("diseases");
+
+        private final String fileName;
+
+        Catalog(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+    }
+
+    /**
+     * Supported file formats: a JSON array of objects, or CSV with a header row.
+     */
+    enum Format {
+        JSON("application/json", "json"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Create every entry in the input, or none if any row is rejected.
+     *
+     * @param catalog the catalog to import into
+     * @param format  the input format
+     * @param in      the input; UTF-8 for CSV
+     * @return the outcome, listing any rejected rows
+     * @throws IOException if reading the input fails
+     * @throws IllegalArgumentException if the input is malformed beyond single rows
+     */
+    ConfigurationImportResult importCatalog(Catalog catalog, Format format, InputStream in) throws IOException;
+
+    /**
+     * Write every entry of a catalog to the output stream, in display order.
+     *
+     * @param catalog the catalog to export
+     * @param format  the output format
+     * @param out     the target stream
+     * @return number of entries written
+     * @throws IOException if writing to the target fails
+     */
+    long exportCatalog(Catalog catalog, Format format, OutputStream out) throws IOException;
+}
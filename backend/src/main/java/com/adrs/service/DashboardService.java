@@ -108,11 +108,12 @@ public interface DashboardService {
 
     /**
      * Get all active users in a specific district.
-     * Optionally filter by user role.
+     * Optionally filter by user role. Answered from the in-memory district roster,
+     * so the users carry no last login time.
      *
      * @param district the district to get users from
      * @param role     the user role to filter by (null for all users)
      * @return list of users in the district
      */
-    List<User> getUsersByDistrictAndRole(com.adrs.model.District district, User.Role role);
+    List<com.adrs.dto.UserResponse> getUsersByDistrictAndRole(com.adrs.model.District district, User.Role role);
 }
@@ -0,0 +1,48 @@
+package com.adrs.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for disease report extracts.
+ * Rows are streamed from the database to the output as they are read.
+ */
+public interface DiseaseReportExportService {
+
+    /**
+     * Supported extract formats.
+     */
+    enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write all reports dated within the range to the output stream.
+     *
+     * @param from   first report date (inclusive)
+     * @param to     last report date (inclusive)
+     * @param format the extract format
+     * @param out    the target stream
+     * @return number of rows written
+     * @throws IOException if writing to the target fails
+     */
+    long exportReports(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException;
+}
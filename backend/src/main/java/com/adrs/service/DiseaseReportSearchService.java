@@ -0,0 +1,31 @@
+package com.adrs.service;
+
+import com.adrs.dto.DiseaseReportSearchResult;
+
+import java.util.List;
+
+/**
+ * Service interface for full-text search over disease report symptoms,
+ * diagnosis, treatment and notes.
+ */
+public interface DiseaseReportSearchService {
+
+    /**
+     * Search reports, best match first.
+     * Terms are ANDed; {@code OR} joins alternatives, {@code -term} excludes and
+     * {@code "quoted text"} matches a phrase.
+     *
+     * @param query the query string
+     * @param limit maximum number of results
+     * @return ranked results
+     * @throws IllegalArgumentException if the query is blank or too long
+     */
+    List<DiseaseReportSearchResult> search(String query, int limit);
+
+    /**
+     * Rebuild the index from the disease_reports table.
+     *
+     * @return number of reports indexed
+     */
+    int rebuildIndex();
+}
@@ -1,9 +1,12 @@
 package com.adrs.service;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.DiseaseDTO;
 import com.adrs.model.Disease;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -74,6 +77,31 @@ public interface DiseaseService {
      */
     List<DiseaseDTO> getNotifiableDiseases();
 
+    /**
+     * Get the names of all active notifiable diseases, for lookups by ID.
+     *
+     * @return disease name by disease ID
+     */
+    Map<UUID, String> getNotifiableDiseaseNames();
+
+    /**
+     * Get the active diseases that can affect an animal type.
+     * Diseases that list no affected animal types are included for every type.
+     *
+     * @param animalTypeId the animal type ID
+     * @return list of active diseases affecting the animal type
+     */
+    List<DiseaseDTO> getDiseasesAffectingAnimalType(UUID animalTypeId);
+
+    /**
+     * Check whether a disease can affect an animal type.
+     *
+     * @param diseaseId the disease ID
+     * @param animalTypeId the animal type ID
+     * @return true if the disease lists the animal type or lists no animal types
+     */
+    boolean isDiseaseApplicableToAnimalType(UUID diseaseId, UUID animalTypeId);
+
     /**
      * Activate or deactivate a disease.
      * This will cascade to all disease reports using this disease.
@@ -100,6 +128,13 @@ public interface DiseaseService {
      */
     Long getDiseaseReportUsageCount(UUID id);
 
+    /**
+     * Get counts of disease reports for all diseases at once.
+     *
+     * @return count of disease reports per disease ID, zero for unused ones, in display order
+     */
+    Map<UUID, Long> getDiseaseReportUsageCounts();
+
     /**
      * Check if a disease name already exists.
      *
@@ -115,4 +150,14 @@ public interface DiseaseService {
      * @return true if exists, false otherwise
      */
     boolean diseaseCodeExists(String diseaseCode);
+
+    /**
+     * Create diseases in bulk, in JDBC batches within one transaction.
+     * Every row is checked against the existing catalog and the rows before it;
+     * if any row is rejected, none are imported.
+     *
+     * @param rows the diseases to create, in file order
+     * @return the outcome, listing any rejected rows
+     */
+    ConfigurationImportResult importDiseases(Iterator<DiseaseDTO> rows);
 }
@@ -1,8 +1,11 @@
 package com.adrs.service;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.FarmTypeDTO;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -84,6 +87,13 @@ public interface FarmTypeService {
      */
     Long getFarmUsageCount(UUID id);
 
+    /**
+     * Get counts of farms for all farm types at once.
+     *
+     * @return count of farms per farm type ID, zero for unused ones, in display order
+     */
+    Map<UUID, Long> getFarmUsageCounts();
+
     /**
      * Check if a farm type name already exists.
      *
@@ -91,4 +101,14 @@ public interface FarmTypeService {
      * @return true if exists, false otherwise
      */
     boolean farmTypeExists(String typeName);
+
+    /**
+     * Create farm types in bulk, in JDBC batches within one transaction.
+     * Every row is checked against the existing catalog and the rows before it;
+     * if any row is rejected, none are imported.
+     *
+     * @param rows the farm types to create, in file order
+     * @return the outcome, listing any rejected rows
+     */
+    ConfigurationImportResult importFarmTypes(Iterator<FarmTypeDTO> rows);
 }
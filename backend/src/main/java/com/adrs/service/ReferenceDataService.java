@@ -0,0 +1,16 @@
+package com.adrs.service;
+
+import com.adrs.dto.ReferenceDataSnapshot;
+
+/**
+ * Service interface for the pre-rendered reference data snapshot.
+ */
+public interface ReferenceDataService {
+
+    /**
+     * Get the current snapshot, building it on first use.
+     *
+     * @return the latest snapshot
+     */
+    ReferenceDataSnapshot getSnapshot();
+}
@@ -0,0 +1,62 @@
+package com.adrs.service;
+
+import com.adrs.analytics.ReportCountFilter;
+import com.adrs.analytics.ReportFilter;
+import com.adrs.dto.DistinctCountEstimate;
+import com.adrs.dto.ReportGroupCount;
+import com.adrs.dto.ReportRangeCount;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service interface for ad-hoc disease report analytics served from memory.
+ */
+public interface ReportAnalyticsService {
+
+    /**
+     * Count reports matching the filter, grouped by the given dimensions.
+     *
+     * @param groupBy dimension names (district, disease, month, outcome, confirmed)
+     * @param filter  row filter
+     * @return non-empty groups, largest first
+     * @throws IllegalArgumentException if a dimension is unknown or repeated, or the date range is inverted
+     */
+    List<ReportGroupCount> getGroupCounts(List<String> groupBy, ReportFilter filter);
+
+    /**
+     * Count reports matching the filter using the bitmap indexes.
+     *
+     * @param filter row filter
+     * @return number of matching reports
+     */
+    long countReports(ReportCountFilter filter);
+
+    /**
+     * Estimate the distinct farms and animals with reports in the given districts,
+     * diseases and date range.
+     *
+     * @param districts  districts to include, or null for all
+     * @param diseaseIds diseases to include, or null for all
+     * @param from       first report date, or null
+     * @param to         last report date, or null
+     * @return the estimates with their error bound
+     * @throws IllegalArgumentException if the date range is inverted
+     */
+    DistinctCountEstimate estimateDistinct(Set<String> districts, Set<UUID> diseaseIds, LocalDate from, LocalDate to);
+
+    /**
+     * Count the reports, and confirmed reports, in the given districts and diseases
+     * with report dates in an inclusive range.
+     *
+     * @param districts  districts to include, or null for all
+     * @param diseaseIds diseases to include, or null for all
+     * @param from       first report date, or null
+     * @param to         last report date, or null
+     * @return total and confirmed counts
+     * @throws IllegalArgumentException if the date range is inverted
+     */
+    ReportRangeCount countInRange(Set<String> districts, Set<UUID> diseaseIds, LocalDate from, LocalDate to);
+}
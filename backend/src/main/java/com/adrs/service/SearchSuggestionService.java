@@ -0,0 +1,31 @@
+package com.adrs.service;
+
+import com.adrs.dto.SearchSuggestion;
+
+import java.util.List;
+
+/**
+ * Service interface for typeahead suggestions of users, by name, username or email,
+ * and of farms, by farm or owner name.
+ */
+public interface SearchSuggestionService {
+
+    /**
+     * Suggest users or farms for the words typed so far, best match first.
+     * Every word must start a word of the match; the last may be incomplete.
+     *
+     * @param type  what to suggest
+     * @param query the words typed so far
+     * @param limit maximum number of suggestions
+     * @return ranked suggestions
+     * @throws IllegalArgumentException if the query is too long or the limit is out of range
+     */
+    List<SearchSuggestion> suggest(SearchSuggestion.Type type, String query, int limit);
+
+    /**
+     * Rebuild the suggestion indexes from the users and farms tables.
+     *
+     * @return number of users and farms indexed
+     */
+    int rebuildIndex();
+}
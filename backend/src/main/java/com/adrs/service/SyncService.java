@@ -0,0 +1,30 @@
+package com.adrs.service;
+
+import com.adrs.dto.SyncResponse;
+
+/**
+ * Service interface for delta sync with offline field clients.
+ */
+public interface SyncService {
+
+    /**
+     * Get the next chunk of changes after a cursor: configuration, farms, animals
+     * and disease reports created or updated since, then deletes.
+     *
+     * @param cursor   cursor returned by the previous chunk, or null for a full sync
+     * @param district farm district to limit farms, animals and reports to, or null for all
+     * @param limit    maximum number of changes in the chunk, or null for the default
+     * @return the chunk with the cursor to continue from
+     * @throws IllegalArgumentException if the cursor is invalid or the limit is out of range
+     * @throws com.adrs.exception.SyncCursorExpiredException if the cursor is older than the
+     *         tombstone retention window
+     */
+    SyncResponse getChanges(String cursor, String district, Integer limit);
+
+    /**
+     * Delete sync tombstones older than the retention window.
+     *
+     * @return the number of tombstones deleted
+     */
+    int purgeTombstones();
+}
@@ -0,0 +1,42 @@
+package com.adrs.service;
+
+import com.adrs.dto.AuthenticatedUser;
+
+import java.util.Optional;
+
+/**
+ * Service interface for signed API tokens, used by clients of the stateless mode
+ * instead of a session. Only present when {@code app.jwt.enabled} is set.
+ */
+public interface TokenService {
+
+    /**
+     * Issue a token for an authenticated user, signed with the current key.
+     *
+     * @param user the authenticated user
+     * @return the signed token
+     */
+    String issueToken(AuthenticatedUser user);
+
+    /**
+     * Check a token's signature, expiry and revocation without reading the database.
+     *
+     * @param token the token
+     * @return the user the token was issued to, without password, or empty if the token is not valid
+     */
+    Optional<AuthenticatedUser> verifyToken(String token);
+
+    /**
+     * Revoke a single token, as on logout. Does nothing if the token is not valid.
+     *
+     * @param token the token
+     */
+    void revokeToken(String token);
+
+    /**
+     * Revoke every token issued to a user so far, as when the user is changed or removed.
+     *
+     * @param userId the user ID
+     */
+    void revokeUserTokens(Long userId);
+}
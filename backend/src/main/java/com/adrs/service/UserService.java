@@ -2,8 +2,10 @@ package com.adrs.service;
 
 import com.adrs.dto.AuthResponse;
 import com.adrs.dto.LoginRequest;
+import com.adrs.dto.UserPage;
 import com.adrs.dto.UserRequest;
 import com.adrs.dto.UserResponse;
+import com.adrs.dto.UserSearchCriteria;
 import com.adrs.model.Province;
 import com.adrs.model.User;
 
@@ -54,6 +56,14 @@ public interface UserService {
      */
     List<UserResponse> getAllUsers();
 
+    /**
+     * Retrieves one page of users matching the filters, ordered by username.
+     *
+     * @param criteria the filters, page cursor and page size
+     * @return the page of users
+     */
+    UserPage searchUsers(UserSearchCriteria criteria);
+
     /**
      * Deletes a user by ID.
      *
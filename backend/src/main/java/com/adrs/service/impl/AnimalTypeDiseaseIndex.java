@@ -0,0 +1,89 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.DiseaseDTO;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Lookup from animal type to the diseases that can affect it, over one disease catalog list.
+ *
+ * Every animal type named in a disease's {@code affectedAnimalTypes} maps to a bitset
+ * of positions in the list, so a lookup is one map access and a walk over the set
+ * bits, and the result keeps the list's order. A disease that names no animal types
+ * is treated as affecting every type. Immutable once built.
+ */
+final class AnimalTypeDiseaseIndex {
+
+    private final List<DiseaseDTO> diseases;
+    private final Map<String, BitSet> byAnimalType = new HashMap<>();
+    private final Map<UUID, Integer> positions = new HashMap<>();
+    private final BitSet unrestricted = new BitSet();
+
+    /**
+     * @param diseases the disease catalog; kept, not copied
+     */
+    AnimalTypeDiseaseIndex(List<DiseaseDTO> diseases) {
+        this.diseases = diseases;
+        for (int i = 0; i < diseases.size(); i++) {
+            DiseaseDTO disease = diseases.get(i);
+            positions.put(disease.getId(), i);
+            String[] animalTypes = disease.getAffectedAnimalTypes();
+            boolean restricted = false;
+            if (animalTypes != null) {
+                for (String animalType : animalTypes) {
+                    if (animalType != null && !animalType.isBlank()) {
+                        byAnimalType.computeIfAbsent(key(animalType), k -> new BitSet()).set(i);
+                        restricted = true;
+                    }
+                }
+            }
+            if (!restricted) {
+                unrestricted.set(i);
+            }
+        }
+    }
+
+    /**
+     * @param animalTypeId the animal type
+     * @return the diseases that can affect the animal type, in catalog order
+     */
+    List<DiseaseDTO> diseasesAffecting(UUID animalTypeId) {
+        BitSet matches = (BitSet) unrestricted.clone();
+        BitSet listed = byAnimalType.get(key(animalTypeId.toString()));
+        if (listed != null) {
+            matches.or(listed);
+        }
+        return matches.stream().mapToObj(diseases::get).toList();
+    }
+
+    /**
+     * @param diseaseId the disease
+     * @return whether the disease is in the catalog
+     */
+    boolean contains(UUID diseaseId) {
+        return positions.containsKey(diseaseId);
+    }
+
+    /**
+     * @param diseaseId    a disease in the catalog
+     * @param animalTypeId the animal type
+     * @return whether the disease can affect the animal type
+     */
+    boolean affects(UUID diseaseId, UUID animalTypeId) {
+        int position = positions.get(diseaseId);
+        if (unrestricted.get(position)) {
+            return true;
+        }
+        BitSet listed = byAnimalType.get(key(animalTypeId.toString()));
+        return listed != null && listed.get(position);
+    }
+
+    private static String key(String animalType) {
+        return animalType.trim().toLowerCase(Locale.ROOT);
+    }
+}
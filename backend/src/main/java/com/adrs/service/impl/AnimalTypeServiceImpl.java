@@ -1,24 +1,35 @@
 package com.adrs.service.impl;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.AnimalTypeDTO;
+import com.adrs.event.ReferenceDataChangedEvent;
 import com.adrs.exception.ConfigurationInUseException;
 import com.adrs.exception.ConfigurationNotFoundException;
 import com.adrs.model.AnimalType;
 import com.adrs.repository.AnimalTypeRepository;
 import com.adrs.service.AnimalTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Implementation of AnimalTypeService.
  * Handles all business logic for animal type management including CRUD operations,
  * validation, and cascade logic for related entities.
+ * Reads are served from a {@link CatalogCache} of all animal types, which every
+ * write invalidates, so they run without a transaction once the cache is warm.
  */
 @Service
 @Transactional
@@ -29,16 +40,28 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
     private static final String NOT_FOUND_MSG = "Animal type not found with ID: {}";
     
     private final AnimalTypeRepository animalTypeRepository;
+    private final CatalogCache<AnimalTypeDTO> animalTypeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogImporter catalogImporter;
+    private final Supplier<Map<String, AnimalTypeDTO>> animalTypesByName;
 
-    public AnimalTypeServiceImpl(AnimalTypeRepository animalTypeRepository) {
+    public AnimalTypeServiceImpl(AnimalTypeRepository animalTypeRepository, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                                 CatalogImporter catalogImporter) {
         this.animalTypeRepository = animalTypeRepository;
+        this.animalTypeCache = new CatalogCache<>("animal-types",
+                () -> animalTypeRepository.findAllByOrderByTypeNameAsc().stream().map(this::convertToDTO).toList(),
+                AnimalTypeDTO::getId, transactionManager, meterRegistry);
+        this.eventPublisher = eventPublisher;
+        this.catalogImporter = catalogImporter;
+        this.animalTypesByName = animalTypeCache.lowerCaseIndex(AnimalTypeDTO::getTypeName);
     }
 
     @Override
     public AnimalTypeDTO createAnimalType(AnimalTypeDTO animalTypeDTO) {
         logger.info("Creating new animal type: {}", animalTypeDTO.getTypeName());
         
-        if (animalTypeRepository.existsByTypeNameIgnoreCase(animalTypeDTO.getTypeName())) {
+        if (animalTypeExists(animalTypeDTO.getTypeName())) {
             logger.error("Animal type already exists: {}", animalTypeDTO.getTypeName());
             throw new IllegalArgumentException("Animal type with name '" + animalTypeDTO.getTypeName() + "' already exists");
         }
@@ -49,6 +72,7 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
         animalType.setIsActive(true);
         
         AnimalType savedAnimalType = animalTypeRepository.save(animalType);
+        catalogChanged();
         logger.info("Animal type created successfully with ID: {}", savedAnimalType.getId());
         
         return convertToDTO(savedAnimalType);
@@ -65,7 +89,7 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
                 });
         
         if (!animalType.getTypeName().equalsIgnoreCase(animalTypeDTO.getTypeName()) &&
-            animalTypeRepository.existsByTypeNameIgnoreCase(animalTypeDTO.getTypeName())) {
+            animalTypeExists(animalTypeDTO.getTypeName())) {
             logger.error("Animal type name already exists: {}", animalTypeDTO.getTypeName());
             throw new IllegalArgumentException("Animal type with name '" + animalTypeDTO.getTypeName() + "' already exists");
         }
@@ -74,56 +98,48 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
         animalType.setDescription(animalTypeDTO.getDescription());
         
         AnimalType updatedAnimalType = animalTypeRepository.save(animalType);
+        catalogChanged();
         logger.info("Animal type updated successfully: {}", updatedAnimalType.getId());
         
         return convertToDTO(updatedAnimalType);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public AnimalTypeDTO getAnimalTypeById(UUID id) {
         logger.debug("Fetching animal type with ID: {}", id);
         
-        AnimalType animalType = animalTypeRepository.findById(id)
+        return animalTypeCache.get(id)
                 .orElseThrow(() -> {
                     logger.error(NOT_FOUND_MSG, id);
                     return new ConfigurationNotFoundException(ENTITY_TYPE, id);
                 });
-        
-        return convertToDTO(animalType);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AnimalTypeDTO> getAllAnimalTypes() {
         logger.debug("Fetching all animal types");
         
-        List<AnimalType> animalTypes = animalTypeRepository.findAllByOrderByTypeNameAsc();
-        return animalTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return animalTypeCache.getAll();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AnimalTypeDTO> getActiveAnimalTypes() {
         logger.debug("Fetching active animal types");
         
-        List<AnimalType> animalTypes = animalTypeRepository.findByIsActiveTrue();
-        return animalTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getAnimalTypesByStatus(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AnimalTypeDTO> getAnimalTypesByStatus(Boolean isActive) {
         logger.debug("Fetching animal types with status: {}", isActive);
         
-        List<AnimalType> animalTypes = animalTypeRepository.findByIsActiveOrderByTypeNameAsc(isActive);
-        return animalTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return animalTypeCache.getAll().stream()
+                .filter(animalType -> Objects.equals(animalType.getIsActive(), isActive))
+                .toList();
     }
 
     @Override
@@ -138,6 +154,7 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
         
         animalType.setIsActive(isActive);
         AnimalType updatedAnimalType = animalTypeRepository.save(animalType);
+        catalogChanged();
         
         String status = Boolean.TRUE.equals(isActive) ? "active" : "inactive";
         logger.info("Animal type status updated successfully: {} is now {}", 
@@ -164,6 +181,7 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
         }
         
         animalTypeRepository.delete(animalType);
+        catalogChanged();
         logger.info("Animal type deleted successfully: {}", animalType.getTypeName());
     }
 
@@ -176,9 +194,55 @@ public class AnimalTypeServiceImpl implements AnimalTypeService {
 
     @Override
     @Transactional(readOnly = true)
+    public Map<UUID, Long> getAnimalUsageCounts() {
+        logger.debug("Getting usage counts for all animal types");
+        return animalTypeCache.countsById(animalTypeRepository.countAnimalsByAnimalType());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean animalTypeExists(String typeName) {
         logger.debug("Checking if animal type exists: {}", typeName);
-        return animalTypeRepository.existsByTypeNameIgnoreCase(typeName);
+        return animalTypesByName.get().containsKey(CatalogCache.lowerCase(typeName));
+    }
+
+    @Override
+    public ConfigurationImportResult importAnimalTypes(Iterator<AnimalTypeDTO> rows) {
+        logger.info("Importing animal types");
+        
+        ConfigurationImportResult result = catalogImporter.importRows(rows,
+                List.of(new CatalogImporter.UniqueKey<>("Animal type", AnimalTypeDTO::getTypeName, animalTypesByName.get())),
+                this::newEntity, animalTypeRepository);
+        if (result.getImported() > 0) {
+            catalogChanged();
+        }
+        logger.info("Imported {} of {} animal types with {} rejected rows",
+                result.getImported(), result.getRowsRead(), result.getErrorCount());
+        
+        return result;
+    }
+
+    /**
+     * Drop the cached animal types and announce the change once the transaction commits.
+     */
+    private void catalogChanged() {
+        animalTypeCache.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Catalog.ANIMAL_TYPES));
+    }
+
+    /**
+     * Build a new, unsaved animal type from an imported row.
+     * Active unless the row says otherwise.
+     *
+     * @param dto the row
+     * @return the entity
+     */
+    private AnimalType newEntity(AnimalTypeDTO dto) {
+        AnimalType animalType = new AnimalType();
+        animalType.setTypeName(dto.getTypeName());
+        animalType.setDescription(dto.getDescription());
+        animalType.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        return animalType;
     }
 
     /**
@@ -0,0 +1,182 @@
+package com.adrs.service.impl;
+
+import com.adrs.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder that hashes on a small bounded pool instead of the calling thread.
+ *
+ * By default the pool has one thread per two cores, so a burst of logins cannot take every
+ * core away from the rest of the application; callers wait for their turn without using
+ * CPU. A hash that could not start within {@code maxQueueTime} is not attempted and the
+ * login fails with {@link LoginCapacityExceededException}, as does one that arrives when the
+ * queue is full or when the queue, at the recent average hash time, would already take
+ * longer than that to drain.
+ *
+ * Hashes made at a cost other than the configured strength report
+ * {@link #upgradeEncoding(String) upgradeEncoding}, so the authentication provider rehashes
+ * them on the next successful login, raising or lowering the cost.
+ *
+ * Publishes {@code password.hash} (tagged by operation), {@code password.hash.queue},
+ * {@code password.hash.rejected} (tagged by reason), {@code password.hash.queued} and
+ * {@code password.hash.active}.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final int threads;
+    private final long maxQueueNanos;
+    private final ThreadPoolExecutor executor;
+
+    /** Exponentially weighted average of recent hash times, in nanoseconds. */
+    private final AtomicLong averageHashNanos = new AtomicLong();
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer queueTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedEstimated;
+    private final Counter rejectedTimedOut;
+
+    /**
+     * @param strength      BCrypt cost for new hashes
+     * @param threads       hashing threads; 0 for one per two cores
+     * @param queueCapacity most hashes waiting for a thread
+     * @param maxQueueTime  longest a hash may wait for a thread
+     * @param meterRegistry registry for the pool metrics
+     */
+    public BoundedPasswordEncoder(@Value("${app.security.password.bcrypt-strength:10}") int strength,
+                                  @Value("${app.security.password.hash-threads:0}") int threads,
+                                  @Value("${app.security.password.hash-queue-capacity:256}") int queueCapacity,
+                                  @Value("${app.security.password.hash-max-queue-time:2s}") Duration maxQueueTime,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.maxQueueNanos = maxQueueTime.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.queueTimer = Timer.builder("password.hash.queue").register(meterRegistry);
+        this.rejectedQueueFull = rejected(meterRegistry, "queue-full");
+        this.rejectedEstimated = rejected(meterRegistry, "estimated-wait");
+        this.rejectedTimedOut = rejected(meterRegistry, "timed-out");
+        Gauge.builder("password.hash.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+
+        logger.info("Password hashing on {} threads, queue {} with at most {} ms wait, BCrypt cost {}",
+                this.threads, queueCapacity, maxQueueTime.toMillis(), strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Whether a hash was made at a cost other than the configured strength.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the hash should be remade at the configured strength
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Callable<T> work, Timer timer) {
+        long waiting = executor.getQueue().size() + 1L;
+        if (waiting * averageHashNanos.get() / threads > maxQueueNanos) {
+            rejectedEstimated.increment();
+            throw new LoginCapacityExceededException("Password verification is at capacity");
+        }
+
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                if (started - submitted > maxQueueNanos) {
+                    rejectedTimedOut.increment();
+                    throw new LoginCapacityExceededException("Password verification timed out in the queue");
+                }
+                T result = work.call();
+                long elapsed = System.nanoTime() - started;
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+                averageHashNanos.updateAndGet(average -> average == 0 ? elapsed : average + (elapsed - average) / 8);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new LoginCapacityExceededException("Password verification queue is full");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityExceededException("Interrupted while waiting for password verification");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("password.hash.rejected").tag("reason", reason).register(meterRegistry);
+    }
+}
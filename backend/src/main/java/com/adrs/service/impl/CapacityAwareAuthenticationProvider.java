@@ -0,0 +1,59 @@
+package com.adrs.service.impl;
+
+import com.adrs.exception.LoginCapacityExceededException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+
+/**
+ * Authentication provider that fails a login straight away when the password cannot be
+ * checked for lack of hashing capacity.
+ *
+ * With a user cache, {@link DaoAuthenticationProvider} takes any failed password check on
+ * a cached user as a sign the cache is stale, reloads the user and checks the password
+ * again; on {@link LoginCapacityExceededException} that would read the database and queue
+ * a second hash just when the pool is saturated. The exception is therefore carried past
+ * that retry and rethrown as is.
+ */
+public class CapacityAwareAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        try {
+            return super.authenticate(authentication);
+        } catch (CapacityExceeded e) {
+            throw e.exception;
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } catch (LoginCapacityExceededException e) {
+            throw new CapacityExceeded(e);
+        }
+    }
+
+    /**
+     * Not an {@link AuthenticationException}, so the provider's stale-cache retry lets it through.
+     */
+    private static final class CapacityExceeded extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient LoginCapacityExceededException exception;
+
+        private CapacityExceeded(LoginCapacityExceededException exception) {
+            super(exception.getMessage(), null, false, false);
+            this.exception = exception;
+        }
+    }
+}
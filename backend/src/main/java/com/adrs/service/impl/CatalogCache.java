@@ -0,0 +1,213 @@
+package com.adrs.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of a whole configuration catalog as one immutable list of DTOs.
+ *
+ * The list is loaded in its own read-only transaction on the first read after an
+ * invalidation, and every read after that is served from memory. Writers call
+ * {@link #invalidate()}, which drops the list straight away and again when their
+ * transaction commits or rolls back, so a list loaded from data the transaction had
+ * not yet committed (or later rolled back) is never kept. A load that overlaps an
+ * invalidation is returned to its caller but not kept either. The post-commit
+ * eviction runs before any after-completion callback, so those already read
+ * committed data through the cache.
+ *
+ * Publishes {@code cache.gets} (tagged hit or miss), {@code cache.evictions} and
+ * {@code cache.size}, tagged with the cache name, to the meter registry.
+ *
+ * @param <T> DTO type; DTOs handed out are shared and must not be modified
+ */
+final class CatalogCache<T> {
+
+    private final Supplier<List<T>> loader;
+    private final Function<T, UUID> idOf;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /** Bumped by every invalidation; a load only keeps its result if this is unchanged. */
+    private long generation;
+
+    private volatile Snapshot<T> snapshot;
+
+    private record Snapshot<T>(List<T> items, Map<UUID, T> byId) {
+    }
+
+    private record Derived<T, V>(List<T> source, V value) {
+    }
+
+    /**
+     * @param name               cache name for metrics
+     * @param loader             loads the whole catalog in display order
+     * @param idOf               id of a DTO
+     * @param transactionManager transaction manager for loads
+     * @param meterRegistry      registry for the cache metrics
+     */
+    CatalogCache(String name, Supplier<List<T>> loader, Function<T, UUID> idOf,
+                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", this, cache -> {
+            Snapshot<T> current = cache.snapshot;
+            return current != null ? current.items().size() : 0;
+        }).tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * @return the whole catalog, unmodifiable
+     */
+    List<T> getAll() {
+        return current().items();
+    }
+
+    /**
+     * @param id the id
+     * @return the entry with the id, if it exists
+     */
+    Optional<T> get(UUID id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    /**
+     * A value computed from the cached catalog, such as a lookup index, that is
+     * recomputed on first use after the catalog is reloaded.
+     *
+     * @param builder computes the value from the catalog list
+     * @param <V>     value type; must not be modified once built
+     * @return supplier of the value for the current catalog
+     */
+    <V> Supplier<V> derived(Function<List<T>, V> builder) {
+        return new Supplier<>() {
+            private volatile Derived<T, V> built;
+
+            @Override
+            public V get() {
+                List<T> items = getAll();
+                Derived<T, V> current = built;
+                if (current == null || current.source() != items) {
+                    current = new Derived<>(items, builder.apply(items));
+                    built = current;
+                }
+                return current.value();
+            }
+        };
+    }
+
+    /**
+     * Case-insensitive unique lookup over the catalog, matching the database's
+     * {@code lower(...)} unique indexes.
+     *
+     * @param keyOf the key of an entry; entries with a null key are left out
+     * @return supplier of the entries by {@link #lowerCase(String) lower-cased} key
+     */
+    Supplier<Map<String, T>> lowerCaseIndex(Function<T, String> keyOf) {
+        return derived(items -> {
+            Map<String, T> byKey = new HashMap<>();
+            for (T item : items) {
+                String key = keyOf.apply(item);
+                if (key != null) {
+                    byKey.put(lowerCase(key), item);
+                }
+            }
+            return byKey;
+        });
+    }
+
+    /**
+     * @param key a name or code
+     * @return the form it is looked up by in a {@link #lowerCaseIndex(Function)}
+     */
+    static String lowerCase(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Spread grouped counts over the whole catalog.
+     *
+     * @param counts rows of [UUID id, Long count] from a GROUP BY query
+     * @return count per id, zero for entries with no row, in catalog order
+     */
+    Map<UUID, Long> countsById(List<Object[]> counts) {
+        Map<UUID, Long> byId = new LinkedHashMap<>();
+        getAll().forEach(item -> byId.put(idOf.apply(item), 0L));
+        for (Object[] row : counts) {
+            byId.put((UUID) row[0], (Long) row[1]);
+        }
+        return byId;
+    }
+
+    /**
+     * Drop the cached catalog now and, inside a transaction, again once it commits or rolls back.
+     */
+    void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evict();
+                    }
+                }
+            });
+        }
+    }
+
+    private Snapshot<T> current() {
+        Snapshot<T> cached = snapshot;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        List<T> items = List.copyOf(readOnlyTransaction.execute(status -> loader.get()));
+        Map<UUID, T> byId = new LinkedHashMap<>();
+        items.forEach(item -> byId.put(idOf.apply(item), item));
+        Snapshot<T> loaded = new Snapshot<>(items, byId);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private synchronized void evict() {
+        generation++;
+        snapshot = null;
+        evictions.increment();
+    }
+}
@@ -0,0 +1,147 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.ConfigurationImportResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Writes bulk configuration imports inside the caller's transaction.
+ *
+ * Rows are checked as they are read, against bean validation and the catalog's
+ * case-insensitive unique keys (both the existing catalog and the rows before them),
+ * and valid rows are inserted in JDBC batches of {@link #BATCH_SIZE}. The persistence
+ * context is cleared after every batch, so memory does not grow with the import.
+ * Once a row is rejected nothing more is written, the remaining rows are only
+ * checked, and the transaction is marked rollback-only.
+ */
+@Component
+class CatalogImporter {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    /**
+     * A case-insensitive unique key of a catalog.
+     *
+     * @param label    name of the key in error messages
+     * @param keyOf    reads the key from a row; null or blank keys are not checked
+     * @param existing the catalog's current entries by lower-cased key
+     */
+    record UniqueKey<D>(String label, Function<D, String> keyOf, Map<String, ?> existing) {
+    }
+
+    CatalogImporter(Validator validator, EntityManager entityManager) {
+        this.validator = validator;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Import rows into one catalog.
+     *
+     * @param rows       the rows in file order; {@code next()} may throw
+     *                   IllegalArgumentException for a row that could not be read,
+     *                   which rejects that row only
+     * @param uniqueKeys the catalog's unique keys
+     * @param toEntity   builds a new entity from a valid row
+     * @param repository the catalog's repository
+     * @return the outcome
+     */
+    <D, E> ConfigurationImportResult importRows(Iterator<D> rows, List<UniqueKey<D>> uniqueKeys,
+                                                Function<D, E> toEntity, JpaRepository<E, UUID> repository) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BATCH_SIZE);
+
+        List<Map<String, Integer>> seen = new ArrayList<>();
+        uniqueKeys.forEach(key -> seen.add(new HashMap<>()));
+        List<ConfigurationImportResult.RowError> errors = new ArrayList<>();
+        List<E> batch = new ArrayList<>(BATCH_SIZE);
+        int row = 0;
+        int errorCount = 0;
+        int imported = 0;
+
+        while (rows.hasNext()) {
+            row++;
+            List<String> problems;
+            D value = null;
+            try {
+                value = rows.next();
+                problems = validate(value, uniqueKeys, seen, row);
+            } catch (IllegalArgumentException e) {
+                problems = List.of(e.getMessage());
+            }
+
+            if (!problems.isEmpty()) {
+                for (String problem : problems) {
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ConfigurationImportResult.RowError(row, problem));
+                    }
+                    errorCount++;
+                }
+            } else if (errorCount == 0) {
+                batch.add(toEntity.apply(value));
+                imported++;
+                if (batch.size() == BATCH_SIZE) {
+                    write(batch, repository);
+                }
+            }
+        }
+
+        if (errorCount > 0) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new ConfigurationImportResult(row, 0, errorCount, errors);
+        }
+        write(batch, repository);
+        return new ConfigurationImportResult(row, imported, 0, errors);
+    }
+
+    private <D> List<String> validate(D value, List<UniqueKey<D>> uniqueKeys,
+                                      List<Map<String, Integer>> seen, int row) {
+        List<String> problems = new ArrayList<>();
+        validator.validate(value).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .forEach(problems::add);
+
+        for (int i = 0; i < uniqueKeys.size(); i++) {
+            UniqueKey<D> uniqueKey = uniqueKeys.get(i);
+            String key = uniqueKey.keyOf().apply(value);
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            String lowerCaseKey = CatalogCache.lowerCase(key);
+            Integer firstRow = seen.get(i).putIfAbsent(lowerCaseKey, row);
+            if (uniqueKey.existing().containsKey(lowerCaseKey)) {
+                problems.add(uniqueKey.label() + " '" + key + "' already exists");
+            } else if (firstRow != null) {
+                problems.add(uniqueKey.label() + " '" + key + "' is repeated from row " + firstRow);
+            }
+        }
+        return problems;
+    }
+
+    private <E> void write(List<E> batch, JpaRepository<E, UUID> repository) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        repository.saveAll(batch);
+        repository.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+}
@@ -0,0 +1,374 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.AnimalTypeDTO;
+import com.adrs.dto.ConfigurationImportResult;
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.dto.FarmTypeDTO;
+import com.adrs.model.Disease;
+import com.adrs.service.AnimalTypeService;
+import com.adrs.service.ConfigurationTransferService;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.FarmTypeService;
+import com.adrs.util.CsvReader;
+import com.adrs.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of ConfigurationTransferService.
+ * Parses the input one row at a time and hands the rows to the catalog's service,
+ * which checks and writes them as they arrive. In files, a disease's affected animal
+ * types are listed by name; on import, IDs of existing animal types are accepted too.
+ */
+@Service
+public class ConfigurationTransferServiceImpl implements ConfigurationTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationTransferServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LIST_SEPARATOR = ";";
+
+    private final FarmTypeService farmTypeService;
+    private final AnimalTypeService animalTypeService;
+    private final DiseaseService diseaseService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * One field of a catalog file: how to read it from a DTO for export, and how to
+     * set it on a DTO from a non-empty CSV field on import.
+     */
+    private record Column<D>(String name, Function<D, Object> getter, BiConsumer<D, String> setter) {
+    }
+
+    public ConfigurationTransferServiceImpl(FarmTypeService farmTypeService,
+                                            AnimalTypeService animalTypeService,
+                                            DiseaseService diseaseService,
+                                            ObjectMapper objectMapper) {
+        this.farmTypeService = farmTypeService;
+        this.animalTypeService = animalTypeService;
+        this.diseaseService = diseaseService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ConfigurationImportResult importCatalog(Catalog catalog, Format format, InputStream in) throws IOException {
+        logger.info("Importing {} as {}", catalog, format);
+
+        try {
+            return switch (catalog) {
+                case FARM_TYPES -> farmTypeService.importFarmTypes(
+                        rows(format, in, FarmTypeDTO.class, FarmTypeDTO::new, farmTypeColumns()));
+                case ANIMAL_TYPES -> animalTypeService.importAnimalTypes(
+                        rows(format, in, AnimalTypeDTO.class, AnimalTypeDTO::new, animalTypeColumns()));
+                case DISEASES -> diseaseService.importDiseases(withAnimalTypeIds(
+                        rows(format, in, DiseaseDTO.class, DiseaseDTO::new, diseaseColumns(Map.of()))));
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public long exportCatalog(Catalog catalog, Format format, OutputStream out) throws IOException {
+        logger.info("Exporting {} as {}", catalog, format);
+
+        long rows = switch (catalog) {
+            case FARM_TYPES -> write(farmTypeService.getAllFarmTypes(), farmTypeColumns(), format, out);
+            case ANIMAL_TYPES -> write(animalTypeService.getAllAnimalTypes(), animalTypeColumns(), format, out);
+            case DISEASES -> write(diseaseService.getAllDiseases(), diseaseColumns(animalTypeNamesById()), format, out);
+        };
+
+        logger.info("Exported {} {} entries", rows, catalog);
+        return rows;
+    }
+
+    private List<Column<FarmTypeDTO>> farmTypeColumns() {
+        return List.of(
+                new Column<>("typeName", FarmTypeDTO::getTypeName, FarmTypeDTO::setTypeName),
+                new Column<>("description", FarmTypeDTO::getDescription, FarmTypeDTO::setDescription),
+                new Column<>("isActive", FarmTypeDTO::getIsActive,
+                        (dto, value) -> dto.setIsActive(parseBoolean("isActive", value))));
+    }
+
+    private List<Column<AnimalTypeDTO>> animalTypeColumns() {
+        return List.of(
+                new Column<>("typeName", AnimalTypeDTO::getTypeName, AnimalTypeDTO::setTypeName),
+                new Column<>("description", AnimalTypeDTO::getDescription, AnimalTypeDTO::setDescription),
+                new Column<>("isActive", AnimalTypeDTO::getIsActive,
+                        (dto, value) -> dto.setIsActive(parseBoolean("isActive", value))));
+    }
+
+    /**
+     * @param animalTypeNames animal type names by ID, for export
+     */
+    private List<Column<DiseaseDTO>> diseaseColumns(Map<String, String> animalTypeNames) {
+        return List.of(
+                new Column<>("diseaseName", DiseaseDTO::getDiseaseName, DiseaseDTO::setDiseaseName),
+                new Column<>("diseaseCode", DiseaseDTO::getDiseaseCode, DiseaseDTO::setDiseaseCode),
+                new Column<>("description", DiseaseDTO::getDescription, DiseaseDTO::setDescription),
+                new Column<>("severity", DiseaseDTO::getSeverity,
+                        (dto, value) -> dto.setSeverity(parseSeverity(value))),
+                new Column<>("isNotifiable", DiseaseDTO::getIsNotifiable,
+                        (dto, value) -> dto.setIsNotifiable(parseBoolean("isNotifiable", value))),
+                new Column<>("isActive", DiseaseDTO::getIsActive,
+                        (dto, value) -> dto.setIsActive(parseBoolean("isActive", value))),
+                new Column<>("affectedAnimalTypes",
+                        dto -> dto.getAffectedAnimalTypes() == null ? null : Arrays.stream(dto.getAffectedAnimalTypes())
+                                .map(id -> animalTypeNames.getOrDefault(id, id))
+                                .toArray(String[]::new),
+                        (dto, value) -> dto.setAffectedAnimalTypes(Arrays.stream(value.split(LIST_SEPARATOR))
+                                .map(String::trim)
+                                .filter(name -> !name.isEmpty())
+                                .toArray(String[]::new))));
+    }
+
+    private Map<String, String> animalTypeNamesById() {
+        Map<String, String> names = new HashMap<>();
+        for (AnimalTypeDTO animalType : animalTypeService.getAllAnimalTypes()) {
+            names.put(animalType.getId().toString(), animalType.getTypeName());
+        }
+        return names;
+    }
+
+    /**
+     * Store affected animal types as IDs, resolving names case-insensitively, and
+     * treat a blank disease code as none.
+     */
+    private Iterator<DiseaseDTO> withAnimalTypeIds(Iterator<DiseaseDTO> rows) {
+        Map<String, String> ids = new HashMap<>();
+        for (AnimalTypeDTO animalType : animalTypeService.getAllAnimalTypes()) {
+            String id = animalType.getId().toString();
+            ids.put(CatalogCache.lowerCase(animalType.getTypeName()), id);
+            ids.put(id, id);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public DiseaseDTO next() {
+                DiseaseDTO disease = rows.next();
+                if (disease.getDiseaseCode() != null && disease.getDiseaseCode().isBlank()) {
+                    disease.setDiseaseCode(null);
+                }
+                String[] animalTypes = disease.getAffectedAnimalTypes();
+                if (animalTypes != null) {
+                    String[] animalTypeIds = new String[animalTypes.length];
+                    for (int i = 0; i < animalTypes.length; i++) {
+                        String key = animalTypes[i] == null ? null : CatalogCache.lowerCase(animalTypes[i].trim());
+                        animalTypeIds[i] = ids.get(key);
+                        if (animalTypeIds[i] == null) {
+                            throw new IllegalArgumentException("Unknown animal type '" + animalTypes[i] + "'");
+                        }
+                    }
+                    disease.setAffectedAnimalTypes(animalTypeIds);
+                }
+                return disease;
+            }
+        };
+    }
+
+    private <D> Iterator<D> rows(Format format, InputStream in, Class<D> type, Supplier<D> factory,
+                                 List<Column<D>> columns) throws IOException {
+        return format == Format.CSV ? csvRows(in, factory, columns) : jsonRows(in, type);
+    }
+
+    /**
+     * Bind the elements of a top-level JSON array one at a time. A value that cannot
+     * be bound rejects its row only; the parser skips to the next element.
+     */
+    private <D> Iterator<D> jsonRows(InputStream in, Class<D> type) throws IOException {
+        MappingIterator<D> values = objectMapper.readerFor(type).readValues(in);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw malformedJson(e);
+                }
+            }
+
+            @Override
+            public D next() {
+                try {
+                    return values.nextValue();
+                } catch (InvalidFormatException e) {
+                    throw new IllegalArgumentException(invalidValue(fieldOf(e), String.valueOf(e.getValue())));
+                } catch (JsonMappingException e) {
+                    throw new IllegalArgumentException(e.getPath().isEmpty()
+                            ? e.getOriginalMessage() : "Invalid value for " + fieldOf(e));
+                } catch (IOException e) {
+                    throw malformedJson(e);
+                }
+            }
+        };
+    }
+
+    private RuntimeException malformedJson(IOException e) {
+        if (e instanceof JsonProcessingException parseError) {
+            return new IllegalArgumentException("Malformed JSON: " + parseError.getOriginalMessage());
+        }
+        return new UncheckedIOException(e);
+    }
+
+    private static String fieldOf(JsonMappingException e) {
+        List<JsonMappingException.Reference> path = e.getPath();
+        return path.isEmpty() ? "row" : path.get(path.size() - 1).getFieldName();
+    }
+
+    /**
+     * Read CSV rows, matching fields to columns by the header row. Blank lines are
+     * skipped and empty fields leave the DTO's value null.
+     */
+    private <D> Iterator<D> csvRows(InputStream in, Supplier<D> factory, List<Column<D>> columns) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+        List<String> header = csv.readRow();
+        if (header == null) {
+            return Collections.emptyIterator();
+        }
+
+        Map<String, Column<D>> byName = new HashMap<>();
+        columns.forEach(column -> byName.put(column.name(), column));
+        List<Column<D>> layout = header.stream()
+                .map(name -> {
+                    Column<D> column = byName.get(name.trim());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Unknown column '" + name + "'. Valid columns are: "
+                                + String.join(", ", columns.stream().map(Column::name).toList()));
+                    }
+                    return column;
+                })
+                .toList();
+        if (!layout.contains(columns.get(0))) {
+            throw new IllegalArgumentException("Missing required column '" + columns.get(0).name() + "'");
+        }
+
+        return new Iterator<>() {
+            private List<String> pending;
+
+            @Override
+            public boolean hasNext() {
+                while (pending == null) {
+                    try {
+                        pending = csv.readRow();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (pending == null) {
+                        return false;
+                    }
+                    if (pending.size() == 1 && pending.get(0).isBlank()) {
+                        pending = null;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public D next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<String> fields = pending;
+                pending = null;
+                if (fields.size() != layout.size()) {
+                    throw new IllegalArgumentException("Expected " + layout.size() + " fields but found " + fields.size());
+                }
+                D value = factory.get();
+                for (int i = 0; i < fields.size(); i++) {
+                    if (!fields.get(i).isEmpty()) {
+                        layout.get(i).setter().accept(value, fields.get(i));
+                    }
+                }
+                return value;
+            }
+        };
+    }
+
+    private <D> long write(List<D> items, List<Column<D>> columns, Format format, OutputStream out) throws IOException {
+        return format == Format.CSV ? writeCsv(items, columns, out) : writeJson(items, columns, out);
+    }
+
+    private <D> long writeCsv(List<D> items, List<Column<D>> columns, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        csv.writeRow(columns.stream().map(Column::name).toArray());
+        Object[] values = new Object[columns.size()];
+        for (D item : items) {
+            for (int i = 0; i < values.length; i++) {
+                Object value = columns.get(i).getter().apply(item);
+                values[i] = value instanceof String[] list ? String.join(LIST_SEPARATOR, list) : value;
+            }
+            csv.writeRow(values);
+        }
+        csv.flush();
+        return items.size();
+    }
+
+    private <D> long writeJson(List<D> items, List<Column<D>> columns, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.writeStartArray();
+        for (D item : items) {
+            json.writeStartObject();
+            for (Column<D> column : columns) {
+                json.writeObjectField(column.name(), column.getter().apply(item));
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.flush();
+        return items.size();
+    }
+
+    private static Boolean parseBoolean(String field, String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException(invalidValue(field, value));
+        };
+    }
+
+    private static Disease.Severity parseSeverity(String value) {
+        try {
+            return Disease.Severity.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(invalidValue("severity", value)
+                    + ". Valid values are: " + Arrays.toString(Disease.Severity.values()));
+        }
+    }
+
+    private static String invalidValue(String field, String value) {
+        return "Invalid value for " + field + ": '" + value + "'";
+    }
+}
@@ -4,6 +4,7 @@ import com.adrs.dto.ChartDataDTO;
 import com.adrs.dto.DashboardStatsDTO;
 import com.adrs.dto.DistrictUserDistributionDTO;
 import com.adrs.dto.ProvinceUserDistributionDTO;
+import com.adrs.dto.UserResponse;
 import com.adrs.model.District;
 import com.adrs.model.Province;
 import com.adrs.model.User;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 /**
  * Implementation of DashboardService.
  * Aggregates statistics from multiple repositories for dashboard display.
+ * District-level user counts and lists come from the {@link DistrictOfficerRoster}.
  */
 @Service
 @Transactional(readOnly = true)
@@ -37,6 +39,7 @@ public class DashboardServiceImpl implements DashboardService {
     private final FarmRepository farmRepository;
     private final AnimalRepository animalRepository;
     private final DiseaseReportRepository diseaseReportRepository;
+    private final DistrictOfficerRoster districtRoster;
 
     public DashboardServiceImpl(UserRepository userRepository,
                                 FarmTypeRepository farmTypeRepository,
@@ -44,7 +47,8 @@ public class DashboardServiceImpl implements DashboardService {
                                 DiseaseRepository diseaseRepository,
                                 FarmRepository farmRepository,
                                 AnimalRepository animalRepository,
-                                DiseaseReportRepository diseaseReportRepository) {
+                                DiseaseReportRepository diseaseReportRepository,
+                                DistrictOfficerRoster districtRoster) {
         this.userRepository = userRepository;
         this.farmTypeRepository = farmTypeRepository;
         this.animalTypeRepository = animalTypeRepository;
@@ -52,6 +56,7 @@ public class DashboardServiceImpl implements DashboardService {
         this.farmRepository = farmRepository;
         this.animalRepository = animalRepository;
         this.diseaseReportRepository = diseaseReportRepository;
+        this.districtRoster = districtRoster;
     }
 
     @Override
@@ -331,9 +336,7 @@ public class DashboardServiceImpl implements DashboardService {
         
         // Iterate through all 25 districts in the District enum
         for (District district : District.values()) {
-            Long count = (role == null) 
-                ? userRepository.countActiveUsersByDistrict(district)
-                : userRepository.countActiveUsersByDistrictAndRole(district, role);
+            Long count = (long) districtRoster.count(district, role);
             
             DistrictUserDistributionDTO dto = new DistrictUserDistributionDTO(
                 district.name(),
@@ -354,7 +357,7 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public List<User> getUsersByDistrictAndRole(District district, User.Role role) {
+    public List<UserResponse> getUsersByDistrictAndRole(District district, User.Role role) {
         logger.debug("Fetching users for district: {} with role: {}", 
                     district != null ? district.name() : "null", 
                     role != null ? role.name() : "all");
@@ -364,9 +367,7 @@ public class DashboardServiceImpl implements DashboardService {
             return Collections.emptyList();
         }
         
-        List<User> users = (role == null)
-            ? userRepository.findActiveUsersByDistrict(district)
-            : userRepository.findActiveUsersByDistrictAndRole(district, role);
+        List<UserResponse> users = districtRoster.users(district, role);
         
         logger.info("Found {} users in district {} {}", 
                    users.size(), 
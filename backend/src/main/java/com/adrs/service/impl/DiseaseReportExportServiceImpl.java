@@ -0,0 +1,100 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.DiseaseReportExportRow;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.service.DiseaseReportExportService;
+import com.adrs.util.CsvWriter;
+import com.adrs.util.XlsxStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of DiseaseReportExportService.
+ * Reads the extract through a forward-only cursor and writes each row to the
+ * output before reading the next, so heap use is bounded by the JDBC fetch size
+ * and the writer buffers rather than by the size of the extract.
+ */
+@Service
+public class DiseaseReportExportServiceImpl implements DiseaseReportExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiseaseReportExportServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_INTERVAL = 10_000;
+
+    private static final Object[] HEADER = {
+            "Report ID", "Report Date", "Disease Code", "Disease", "Severity",
+            "Farm", "Owner", "District", "Province", "Animal Tag", "Animal Type",
+            "Reported By", "Outcome", "Confirmed", "Confirmed At",
+            "Symptoms", "Diagnosis", "Treatment", "Notes", "Created At"
+    };
+
+    private final DiseaseReportRepository diseaseReportRepository;
+
+    public DiseaseReportExportServiceImpl(DiseaseReportRepository diseaseReportRepository) {
+        this.diseaseReportRepository = diseaseReportRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportReports(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        logger.info("Exporting disease reports from {} to {} as {}", from, to, format);
+
+        long rows;
+        try (Stream<DiseaseReportExportRow> stream = diseaseReportRepository.streamExportRows(from, to)) {
+            Iterator<DiseaseReportExportRow> iterator = stream.iterator();
+            rows = format == Format.XLSX ? writeXlsx(iterator, out) : writeCsv(iterator, out);
+        }
+
+        logger.info("Exported {} disease reports from {} to {}", rows, from, to);
+        return rows;
+    }
+
+    private long writeCsv(Iterator<DiseaseReportExportRow> rows, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        csv.writeRow(HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            csv.writeRow(toValues(rows.next()));
+            if (++count % FLUSH_INTERVAL == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        return count;
+    }
+
+    private long writeXlsx(Iterator<DiseaseReportExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(new BufferedOutputStream(out, BUFFER_SIZE), "Disease Reports")) {
+            xlsx.writeRow(HEADER);
+            while (rows.hasNext()) {
+                xlsx.writeRow(toValues(rows.next()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Object[] toValues(DiseaseReportExportRow row) {
+        return new Object[] {
+                row.getId(), row.getReportDate(), row.getDiseaseCode(), row.getDiseaseName(), row.getSeverity(),
+                row.getFarmName(), row.getOwnerName(), row.getDistrict(), row.getProvince(),
+                row.getAnimalTag(), row.getAnimalType(), row.getReportedBy(),
+                row.getOutcome(), row.getIsConfirmed(), row.getConfirmedAt(),
+                row.getSymptoms(), row.getDiagnosis(), row.getTreatment(), row.getNotes(), row.getCreatedAt()
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.DiseaseReportSearchResult;
+import com.adrs.dto.DiseaseReportSnapshot;
+import com.adrs.event.DiseaseReportChangedEvent;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.service.DiseaseReportSearchService;
+import com.adrs.util.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of DiseaseReportSearchService.
+ * Keeps an in-memory inverted index of report text that is loaded from the table
+ * when the application starts and then kept current from committed report change
+ * events. Only report ids and scores come from the index; the returned details are
+ * read from the database, so a stale index entry can never leak deleted data.
+ */
+@Service
+public class DiseaseReportSearchServiceImpl implements DiseaseReportSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiseaseReportSearchServiceImpl.class);
+    private static final int MAX_QUERY_LENGTH = 500;
+    private static final int MAX_LIMIT = 100;
+
+    private final DiseaseReportRepository diseaseReportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile InvertedIndex<UUID> index = new InvertedIndex<>();
+
+    /** Changes committed while a rebuild is reading the table; null when no rebuild is running. */
+    private List<DiseaseReportChangedEvent> changesDuringRebuild;
+    private final Object rebuildMonitor = new Object();
+
+    public DiseaseReportSearchServiceImpl(DiseaseReportRepository diseaseReportRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.diseaseReportRepository = diseaseReportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DiseaseReportSearchResult> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<InvertedIndex.Hit<UUID>> hits = index.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, DiseaseReport> reports = diseaseReportRepository
+                .findWithDetailsByIdIn(hits.stream().map(InvertedIndex.Hit::key).toList())
+                .stream()
+                .collect(Collectors.toMap(DiseaseReport::getId, Function.identity()));
+
+        List<DiseaseReportSearchResult> results = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit<UUID> hit : hits) {
+            DiseaseReport report = reports.get(hit.key());
+            if (report != null) {
+                results.add(convertToResult(report, hit.score()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int rebuildIndex() {
+        synchronized (rebuildMonitor) {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("Search index rebuild already in progress");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        InvertedIndex<UUID> rebuilt = new InvertedIndex<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DiseaseReportSnapshot> snapshots = diseaseReportRepository.streamSnapshots()) {
+                    snapshots.forEach(snapshot -> indexReport(rebuilt, snapshot));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (rebuildMonitor) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (rebuildMonitor) {
+            // Replaying is idempotent, so changes the table scan already saw are harmless.
+            changesDuringRebuild.forEach(event -> apply(rebuilt, event));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        }
+        logger.info("Rebuilt disease report search index: {} reports, {} terms", rebuilt.size(), rebuilt.termCount());
+        return rebuilt.size();
+    }
+
+    /**
+     * Load the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildIndex();
+    }
+
+    /**
+     * Apply a committed report change to the index.
+     *
+     * @param event the report change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(DiseaseReportChangedEvent event) {
+        InvertedIndex<UUID> target;
+        synchronized (rebuildMonitor) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            target = index;
+        }
+        apply(target, event);
+    }
+
+    private void apply(InvertedIndex<UUID> target, DiseaseReportChangedEvent event) {
+        if (event.getType() == DiseaseReportChangedEvent.ChangeType.DELETED) {
+            target.remove(event.getReportId());
+        } else {
+            indexReport(target, event.getReport());
+        }
+    }
+
+    private void indexReport(InvertedIndex<UUID> target, DiseaseReportSnapshot report) {
+        target.put(report.getId(), report.getSymptoms(), report.getDiagnosis(), report.getTreatment(), report.getNotes());
+    }
+
+    private DiseaseReportSearchResult convertToResult(DiseaseReport report, double score) {
+        return new DiseaseReportSearchResult(
+                report.getId(),
+                score,
+                report.getReportDate(),
+                report.getDisease().getDiseaseName(),
+                report.getFarm().getFarmName(),
+                report.getFarm().getDistrict(),
+                report.getOutcome(),
+                report.getIsConfirmed(),
+                report.getSymptoms(),
+                report.getDiagnosis()
+        );
+    }
+}
@@ -1,24 +1,37 @@
 package com.adrs.service.impl;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.DiseaseDTO;
+import com.adrs.event.ReferenceDataChangedEvent;
 import com.adrs.exception.ConfigurationInUseException;
 import com.adrs.exception.ConfigurationNotFoundException;
 import com.adrs.model.Disease;
 import com.adrs.repository.DiseaseRepository;
 import com.adrs.service.DiseaseService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of DiseaseService.
  * Handles all business logic for disease management including CRUD operations,
  * validation, and cascade logic for related entities.
+ * Reads are served from a {@link CatalogCache} of all diseases, which every
+ * write invalidates, so they run without a transaction once the cache is warm.
  */
 @Service
 @Transactional
@@ -29,22 +42,47 @@ public class DiseaseServiceImpl implements DiseaseService {
     private static final String NOT_FOUND_MSG = "Disease not found with ID: {}";
     
     private final DiseaseRepository diseaseRepository;
+    private final CatalogCache<DiseaseDTO> diseaseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogImporter catalogImporter;
+    private final Supplier<AnimalTypeDiseaseIndex> animalTypeDiseaseIndex;
+    private final Supplier<Map<Disease.Severity, List<DiseaseDTO>>> diseasesBySeverity;
+    private final Supplier<Map<UUID, String>> notifiableDiseaseNames;
+    private final Supplier<Map<String, DiseaseDTO>> diseasesByName;
+    private final Supplier<Map<String, DiseaseDTO>> diseasesByCode;
 
-    public DiseaseServiceImpl(DiseaseRepository diseaseRepository) {
+    public DiseaseServiceImpl(DiseaseRepository diseaseRepository, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                              CatalogImporter catalogImporter) {
         this.diseaseRepository = diseaseRepository;
+        this.diseaseCache = new CatalogCache<>("diseases",
+                () -> diseaseRepository.findAllByOrderByDiseaseNameAsc().stream().map(this::convertToDTO).toList(),
+                DiseaseDTO::getId, transactionManager, meterRegistry);
+        this.eventPublisher = eventPublisher;
+        this.catalogImporter = catalogImporter;
+        this.animalTypeDiseaseIndex = diseaseCache.derived(AnimalTypeDiseaseIndex::new);
+        this.diseasesBySeverity = diseaseCache.derived(diseases -> diseases.stream()
+                .filter(disease -> disease.getSeverity() != null)
+                .collect(Collectors.groupingBy(DiseaseDTO::getSeverity,
+                        () -> new EnumMap<>(Disease.Severity.class), Collectors.toUnmodifiableList())));
+        this.notifiableDiseaseNames = diseaseCache.derived(diseases -> diseases.stream()
+                .filter(disease -> Boolean.TRUE.equals(disease.getIsActive())
+                        && Boolean.TRUE.equals(disease.getIsNotifiable()))
+                .collect(Collectors.toUnmodifiableMap(DiseaseDTO::getId, DiseaseDTO::getDiseaseName)));
+        this.diseasesByName = diseaseCache.lowerCaseIndex(DiseaseDTO::getDiseaseName);
+        this.diseasesByCode = diseaseCache.lowerCaseIndex(DiseaseDTO::getDiseaseCode);
     }
 
     @Override
     public DiseaseDTO createDisease(DiseaseDTO diseaseDTO) {
         logger.info("Creating new disease: {}", diseaseDTO.getDiseaseName());
         
-        if (diseaseRepository.existsByDiseaseNameIgnoreCase(diseaseDTO.getDiseaseName())) {
+        if (diseaseExists(diseaseDTO.getDiseaseName())) {
             logger.error("Disease already exists: {}", diseaseDTO.getDiseaseName());
             throw new IllegalArgumentException("Disease with name '" + diseaseDTO.getDiseaseName() + "' already exists");
         }
         
-        if (diseaseDTO.getDiseaseCode() != null && 
-            diseaseRepository.existsByDiseaseCodeIgnoreCase(diseaseDTO.getDiseaseCode())) {
+        if (diseaseDTO.getDiseaseCode() != null && diseaseCodeExists(diseaseDTO.getDiseaseCode())) {
             logger.error("Disease code already exists: {}", diseaseDTO.getDiseaseCode());
             throw new IllegalArgumentException("Disease with code '" + diseaseDTO.getDiseaseCode() + "' already exists");
         }
@@ -59,6 +97,7 @@ public class DiseaseServiceImpl implements DiseaseService {
         disease.setIsActive(true);
         
         Disease savedDisease = diseaseRepository.save(disease);
+        catalogChanged();
         logger.info("Disease created successfully with ID: {}", savedDisease.getId());
         
         return convertToDTO(savedDisease);
@@ -75,14 +114,14 @@ public class DiseaseServiceImpl implements DiseaseService {
                 });
         
         if (!disease.getDiseaseName().equalsIgnoreCase(diseaseDTO.getDiseaseName()) &&
-            diseaseRepository.existsByDiseaseNameIgnoreCase(diseaseDTO.getDiseaseName())) {
+            diseaseExists(diseaseDTO.getDiseaseName())) {
             logger.error("Disease name already exists: {}", diseaseDTO.getDiseaseName());
             throw new IllegalArgumentException("Disease with name '" + diseaseDTO.getDiseaseName() + "' already exists");
         }
         
         if (diseaseDTO.getDiseaseCode() != null &&
             (disease.getDiseaseCode() == null || !disease.getDiseaseCode().equalsIgnoreCase(diseaseDTO.getDiseaseCode())) &&
-            diseaseRepository.existsByDiseaseCodeIgnoreCase(diseaseDTO.getDiseaseCode())) {
+            diseaseCodeExists(diseaseDTO.getDiseaseCode())) {
             logger.error("Disease code already exists: {}", diseaseDTO.getDiseaseCode());
             throw new IllegalArgumentException("Disease with code '" + diseaseDTO.getDiseaseCode() + "' already exists");
         }
@@ -95,78 +134,96 @@ public class DiseaseServiceImpl implements DiseaseService {
         disease.setIsNotifiable(diseaseDTO.getIsNotifiable());
         
         Disease updatedDisease = diseaseRepository.save(disease);
+        catalogChanged();
         logger.info("Disease updated successfully: {}", updatedDisease.getId());
         
         return convertToDTO(updatedDisease);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public DiseaseDTO getDiseaseById(UUID id) {
         logger.debug("Fetching disease with ID: {}", id);
         
-        Disease disease = diseaseRepository.findById(id)
+        return diseaseCache.get(id)
                 .orElseThrow(() -> {
                     logger.error(NOT_FOUND_MSG, id);
                     return new ConfigurationNotFoundException(ENTITY_TYPE, id);
                 });
-        
-        return convertToDTO(disease);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DiseaseDTO> getAllDiseases() {
         logger.debug("Fetching all diseases");
         
-        List<Disease> diseases = diseaseRepository.findAllByOrderByDiseaseNameAsc();
-        return diseases.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return diseaseCache.getAll();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DiseaseDTO> getActiveDiseases() {
         logger.debug("Fetching active diseases");
         
-        List<Disease> diseases = diseaseRepository.findByIsActiveTrue();
-        return diseases.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getDiseasesByStatus(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DiseaseDTO> getDiseasesByStatus(Boolean isActive) {
         logger.debug("Fetching diseases with status: {}", isActive);
         
-        List<Disease> diseases = diseaseRepository.findByIsActiveOrderByDiseaseNameAsc(isActive);
-        return diseases.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return diseaseCache.getAll().stream()
+                .filter(disease -> Objects.equals(disease.getIsActive(), isActive))
+                .toList();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DiseaseDTO> getDiseasesBySeverity(Disease.Severity severity) {
         logger.debug("Fetching diseases with severity: {}", severity);
         
-        List<Disease> diseases = diseaseRepository.findBySeverity(severity);
-        return diseases.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return diseasesBySeverity.get().getOrDefault(severity, List.of());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<DiseaseDTO> getNotifiableDiseases() {
         logger.debug("Fetching notifiable diseases");
         
-        List<Disease> diseases = diseaseRepository.findByIsActiveTrueAndIsNotifiableTrue();
-        return diseases.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return diseaseCache.getAll().stream()
+                .filter(disease -> Boolean.TRUE.equals(disease.getIsActive())
+                        && Boolean.TRUE.equals(disease.getIsNotifiable()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<UUID, String> getNotifiableDiseaseNames() {
+        return notifiableDiseaseNames.get();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<DiseaseDTO> getDiseasesAffectingAnimalType(UUID animalTypeId) {
+        logger.debug("Fetching diseases affecting animal type: {}", animalTypeId);
+        
+        return animalTypeDiseaseIndex.get().diseasesAffecting(animalTypeId).stream()
+                .filter(disease -> Boolean.TRUE.equals(disease.getIsActive()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isDiseaseApplicableToAnimalType(UUID diseaseId, UUID animalTypeId) {
+        logger.debug("Checking if disease {} can affect animal type {}", diseaseId, animalTypeId);
+        
+        AnimalTypeDiseaseIndex index = animalTypeDiseaseIndex.get();
+        if (!index.contains(diseaseId)) {
+            logger.error(NOT_FOUND_MSG, diseaseId);
+            throw new ConfigurationNotFoundException(ENTITY_TYPE, diseaseId);
+        }
+        return index.affects(diseaseId, animalTypeId);
     }
 
     @Override
@@ -181,6 +238,7 @@ public class DiseaseServiceImpl implements DiseaseService {
         
         disease.setIsActive(isActive);
         Disease updatedDisease = diseaseRepository.save(disease);
+        catalogChanged();
         
         String status = Boolean.TRUE.equals(isActive) ? "active" : "inactive";
         logger.info("Disease status updated successfully: {} is now {}", 
@@ -207,6 +265,7 @@ public class DiseaseServiceImpl implements DiseaseService {
         }
         
         diseaseRepository.delete(disease);
+        catalogChanged();
         logger.info("Disease deleted successfully: {}", disease.getDiseaseName());
     }
 
@@ -219,16 +278,67 @@ public class DiseaseServiceImpl implements DiseaseService {
 
     @Override
     @Transactional(readOnly = true)
+    public Map<UUID, Long> getDiseaseReportUsageCounts() {
+        logger.debug("Getting usage counts for all diseases");
+        return diseaseCache.countsById(diseaseRepository.countDiseaseReportsByDisease());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean diseaseExists(String diseaseName) {
         logger.debug("Checking if disease exists: {}", diseaseName);
-        return diseaseRepository.existsByDiseaseNameIgnoreCase(diseaseName);
+        return diseasesByName.get().containsKey(CatalogCache.lowerCase(diseaseName));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean diseaseCodeExists(String diseaseCode) {
         logger.debug("Checking if disease code exists: {}", diseaseCode);
-        return diseaseRepository.existsByDiseaseCodeIgnoreCase(diseaseCode);
+        return diseasesByCode.get().containsKey(CatalogCache.lowerCase(diseaseCode));
+    }
+
+    @Override
+    public ConfigurationImportResult importDiseases(Iterator<DiseaseDTO> rows) {
+        logger.info("Importing diseases");
+        
+        ConfigurationImportResult result = catalogImporter.importRows(rows,
+                List.of(new CatalogImporter.UniqueKey<>("Disease", DiseaseDTO::getDiseaseName, diseasesByName.get()),
+                        new CatalogImporter.UniqueKey<>("Disease code", DiseaseDTO::getDiseaseCode, diseasesByCode.get())),
+                this::newEntity, diseaseRepository);
+        if (result.getImported() > 0) {
+            catalogChanged();
+        }
+        logger.info("Imported {} of {} diseases with {} rejected rows",
+                result.getImported(), result.getRowsRead(), result.getErrorCount());
+        
+        return result;
+    }
+
+    /**
+     * Drop the cached diseases and announce the change once the transaction commits.
+     */
+    private void catalogChanged() {
+        diseaseCache.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Catalog.DISEASES));
+    }
+
+    /**
+     * Build a new, unsaved disease from an imported row.
+     * Active unless the row says otherwise.
+     *
+     * @param dto the row
+     * @return the entity
+     */
+    private Disease newEntity(DiseaseDTO dto) {
+        Disease disease = new Disease();
+        disease.setDiseaseName(dto.getDiseaseName());
+        disease.setDiseaseCode(dto.getDiseaseCode());
+        disease.setDescription(dto.getDescription());
+        disease.setAffectedAnimalTypes(dto.getAffectedAnimalTypes());
+        disease.setSeverity(dto.getSeverity());
+        disease.setIsNotifiable(dto.getIsNotifiable() != null ? dto.getIsNotifiable() : false);
+        disease.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        return disease;
     }
 
     /**
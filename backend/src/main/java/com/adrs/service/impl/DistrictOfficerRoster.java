@@ -0,0 +1,322 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.UserResponse;
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory roster of the active users in each district, by role, for alert fan-out
+ * and the dashboard map drill-down.
+ *
+ * For each role an {@code EnumMap<District, long[]>} holds the sorted ids of the active
+ * users, beside the contact details of each; both are loaded with one projection query
+ * when the application starts. {@code UserServiceImpl} reports each user it creates,
+ * updates, toggles or deletes, and the change is applied once its transaction commits,
+ * copying only the one district's id array. Lookups read an immutable set of arrays and
+ * take no lock, query nothing and load no entities. Users changed outside the
+ * application are picked up by a full reload every {@code refresh-interval}.
+ */
+@Component
+public class DistrictOfficerRoster {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistrictOfficerRoster.class);
+    private static final long[] NO_IDS = new long[0];
+
+    /**
+     * Contact details of a rostered user. The last login is written behind and not kept.
+     */
+    private record Member(Long id, String username, String email, String firstName, String lastName,
+                          String phoneNumber, Province province, District district, User.Role role,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        UserResponse toResponse() {
+            return new UserResponse(id, username, email, firstName, lastName, phoneNumber,
+                    province != null ? province.name() : null, district.name(), role.name(), true,
+                    createdAt, updatedAt, null);
+        }
+    }
+
+    /**
+     * Ids by role and district, and the members they refer to. Id arrays are never
+     * changed once published; a member whose district or role no longer matches the
+     * array it was found through is skipped, which covers a lookup racing a move.
+     */
+    private record Roster(Map<User.Role, EnumMap<District, long[]>> ids, Map<Long, Member> members) {
+    }
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Roster roster = emptyRoster();
+
+    /** Changes committed while a reload is reading the table; null when no reload is running. */
+    private List<Change> changesDuringReload;
+    private final Object monitor = new Object();
+
+    /** A committed change: the user's new details, or null when it left the roster. */
+    private record Change(Long id, Member member) {
+    }
+
+    public DistrictOfficerRoster(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Ids of the active users in a district, for notification fan-out.
+     *
+     * @param district the district
+     * @param role     the role to include, or null for every role
+     * @return the user ids, ascending within each role; a new array the caller may keep
+     */
+    public long[] userIds(District district, User.Role role) {
+        Map<User.Role, EnumMap<District, long[]>> ids = roster.ids();
+        if (role != null) {
+            return ids.get(role).getOrDefault(district, NO_IDS).clone();
+        }
+        long[] all = NO_IDS;
+        for (EnumMap<District, long[]> byDistrict : ids.values()) {
+            long[] roleIds = byDistrict.getOrDefault(district, NO_IDS);
+            int length = all.length;
+            all = Arrays.copyOf(all, length + roleIds.length);
+            System.arraycopy(roleIds, 0, all, length, roleIds.length);
+        }
+        return all;
+    }
+
+    /**
+     * Number of active users in a district.
+     *
+     * @param district the district
+     * @param role     the role to count, or null for every role
+     * @return the number of users
+     */
+    public int count(District district, User.Role role) {
+        Map<User.Role, EnumMap<District, long[]>> ids = roster.ids();
+        if (role != null) {
+            return ids.get(role).getOrDefault(district, NO_IDS).length;
+        }
+        int count = 0;
+        for (EnumMap<District, long[]> byDistrict : ids.values()) {
+            count += byDistrict.getOrDefault(district, NO_IDS).length;
+        }
+        return count;
+    }
+
+    /**
+     * Details of the active users in a district. The last login is not included.
+     *
+     * @param district the district
+     * @param role     the role to include, or null for every role
+     * @return the users, ascending by id within each role
+     */
+    public List<UserResponse> users(District district, User.Role role) {
+        Roster current = roster;
+        List<UserResponse> users = new ArrayList<>();
+        for (Map.Entry<User.Role, EnumMap<District, long[]>> byRole : current.ids().entrySet()) {
+            if (role != null && byRole.getKey() != role) {
+                continue;
+            }
+            for (long id : byRole.getValue().getOrDefault(district, NO_IDS)) {
+                Member member = current.members().get(id);
+                if (member != null && member.district() == district && member.role() == byRole.getKey()) {
+                    users.add(member.toResponse());
+                }
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Record a created or updated user, once the current transaction commits.
+     * Inactive users and users without a district are taken off the roster.
+     *
+     * @param user the saved user, read at commit so timestamps set on flush are seen
+     */
+    public void userSaved(User user) {
+        afterCommit(() -> new Change(user.getId(), member(user)));
+    }
+
+    /**
+     * Record a deleted user, once the current transaction commits.
+     *
+     * @param id the user id
+     */
+    public void userRemoved(Long id) {
+        afterCommit(() -> new Change(id, null));
+    }
+
+    /**
+     * Reload the roster from the users table, keeping changes committed meanwhile.
+     *
+     * @return the number of users on the roster
+     */
+    @Scheduled(initialDelayString = "${app.users.district-roster.refresh-interval:PT5M}",
+               fixedDelayString = "${app.users.district-roster.refresh-interval:PT5M}")
+    public int reload() {
+        synchronized (monitor) {
+            if (changesDuringReload != null) {
+                logger.debug("District roster reload already in progress");
+                return roster.members().size();
+            }
+            changesDuringReload = new ArrayList<>();
+        }
+
+        Roster reloaded;
+        try {
+            List<Object[]> rows = readOnlyTransaction.execute(status -> userRepository.findActiveDistrictRoster());
+            reloaded = build(rows.stream()
+                    .map(row -> new Member((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                            (String) row[4], (String) row[5], (Province) row[6], (District) row[7],
+                            (User.Role) row[8], (LocalDateTime) row[9], (LocalDateTime) row[10]))
+                    .toList());
+        } catch (RuntimeException e) {
+            synchronized (monitor) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+
+        synchronized (monitor) {
+            // Replaying is idempotent, so changes the table scan already saw are harmless.
+            for (Change change : changesDuringReload) {
+                reloaded = apply(reloaded, change);
+            }
+            changesDuringReload = null;
+            roster = reloaded;
+        }
+        logger.debug("Reloaded district roster: {} users", reloaded.members().size());
+        return reloaded.members().size();
+    }
+
+    /**
+     * Load the roster once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        int users = reload();
+        logger.info("Loaded district roster: {} users", users);
+    }
+
+    private void afterCommit(Supplier<Change> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(change.get());
+                }
+            });
+        } else {
+            record(change.get());
+        }
+    }
+
+    private static Member member(User user) {
+        if (!Boolean.TRUE.equals(user.getActive()) || user.getDistrict() == null || user.getRole() == null) {
+            return null;
+        }
+        return new Member(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getPhoneNumber(), user.getProvince(), user.getDistrict(),
+                user.getRole(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    private void record(Change change) {
+        synchronized (monitor) {
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+            roster = apply(roster, change);
+        }
+    }
+
+    /**
+     * Apply a change, sharing the members map and every id array the change leaves alone.
+     */
+    private static Roster apply(Roster current, Change change) {
+        Member previous = change.member() != null
+                ? current.members().put(change.id(), change.member())
+                : current.members().remove(change.id());
+        Map<User.Role, EnumMap<District, long[]>> ids = current.ids();
+        if (previous != null) {
+            ids = withIds(ids, previous.role(), previous.district(), change.id(), false);
+        }
+        if (change.member() != null) {
+            ids = withIds(ids, change.member().role(), change.member().district(), change.id(), true);
+        }
+        return ids == current.ids() ? current : new Roster(ids, current.members());
+    }
+
+    private static Map<User.Role, EnumMap<District, long[]>> withIds(Map<User.Role, EnumMap<District, long[]>> ids,
+                                                                   User.Role role, District district,
+                                                                   long id, boolean present) {
+        long[] current = ids.get(role).getOrDefault(district, NO_IDS);
+        int index = Arrays.binarySearch(current, id);
+        if ((index >= 0) == present) {
+            return ids;
+        }
+        long[] changed;
+        if (present) {
+            int insertion = -index - 1;
+            changed = new long[current.length + 1];
+            System.arraycopy(current, 0, changed, 0, insertion);
+            changed[insertion] = id;
+            System.arraycopy(current, insertion, changed, insertion + 1, current.length - insertion);
+        } else {
+            changed = new long[current.length - 1];
+            System.arraycopy(current, 0, changed, 0, index);
+            System.arraycopy(current, index + 1, changed, index, current.length - index - 1);
+        }
+        EnumMap<District, long[]> byDistrict = new EnumMap<>(ids.get(role));
+        byDistrict.put(district, changed);
+        Map<User.Role, EnumMap<District, long[]>> byRole = new EnumMap<>(ids);
+        byRole.put(role, byDistrict);
+        return byRole;
+    }
+
+    private static Roster build(List<Member> members) {
+        Map<Long, Member> byId = new ConcurrentHashMap<>();
+        Map<User.Role, EnumMap<District, List<Long>>> grouped = new EnumMap<>(User.Role.class);
+        for (Member member : members) {
+            byId.put(member.id(), member);
+            grouped.computeIfAbsent(member.role(), role -> new EnumMap<>(District.class))
+                    .computeIfAbsent(member.district(), district -> new ArrayList<>())
+                    .add(member.id());
+        }
+        Map<User.Role, EnumMap<District, long[]>> ids = emptyRoster().ids();
+        grouped.forEach((role, byDistrict) -> byDistrict.forEach((district, list) -> {
+            long[] sorted = list.stream().mapToLong(Long::longValue).sorted().toArray();
+            ids.get(role).put(district, sorted);
+        }));
+        return new Roster(ids, byId);
+    }
+
+    private static Roster emptyRoster() {
+        Map<User.Role, EnumMap<District, long[]>> ids = new EnumMap<>(User.Role.class);
+        for (User.Role role : User.Role.values()) {
+            ids.put(role, new EnumMap<>(District.class));
+        }
+        return new Roster(ids, new ConcurrentHashMap<>());
+    }
+}
@@ -1,24 +1,35 @@
 package com.adrs.service.impl;
 
+import com.adrs.dto.ConfigurationImportResult;
 import com.adrs.dto.FarmTypeDTO;
+import com.adrs.event.ReferenceDataChangedEvent;
 import com.adrs.exception.ConfigurationInUseException;
 import com.adrs.exception.ConfigurationNotFoundException;
 import com.adrs.model.FarmType;
 import com.adrs.repository.FarmTypeRepository;
 import com.adrs.service.FarmTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Implementation of FarmTypeService.
  * Handles all business logic for farm type management including CRUD operations,
  * validation, and cascade logic for related entities.
+ * Reads are served from a {@link CatalogCache} of all farm types, which every
+ * write invalidates, so they run without a transaction once the cache is warm.
  */
 @Service
 @Transactional
@@ -27,9 +38,21 @@ public class FarmTypeServiceImpl implements FarmTypeService {
     private static final Logger logger = LoggerFactory.getLogger(FarmTypeServiceImpl.class);
     
     private final FarmTypeRepository farmTypeRepository;
+    private final CatalogCache<FarmTypeDTO> farmTypeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogImporter catalogImporter;
+    private final Supplier<Map<String, FarmTypeDTO>> farmTypesByName;
 
-    public FarmTypeServiceImpl(FarmTypeRepository farmTypeRepository) {
+    public FarmTypeServiceImpl(FarmTypeRepository farmTypeRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                               CatalogImporter catalogImporter) {
         this.farmTypeRepository = farmTypeRepository;
+        this.farmTypeCache = new CatalogCache<>("farm-types",
+                () -> farmTypeRepository.findAllByOrderByTypeNameAsc().stream().map(this::convertToDTO).toList(),
+                FarmTypeDTO::getId, transactionManager, meterRegistry);
+        this.eventPublisher = eventPublisher;
+        this.catalogImporter = catalogImporter;
+        this.farmTypesByName = farmTypeCache.lowerCaseIndex(FarmTypeDTO::getTypeName);
     }
 
     @Override
@@ -37,7 +60,7 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         logger.info("Creating new farm type: {}", farmTypeDTO.getTypeName());
         
         // Check if farm type already exists
-        if (farmTypeRepository.existsByTypeNameIgnoreCase(farmTypeDTO.getTypeName())) {
+        if (farmTypeExists(farmTypeDTO.getTypeName())) {
             logger.error("Farm type already exists: {}", farmTypeDTO.getTypeName());
             throw new IllegalArgumentException("Farm type with name '" + farmTypeDTO.getTypeName() + "' already exists");
         }
@@ -48,6 +71,7 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         farmType.setIsActive(true);
         
         FarmType savedFarmType = farmTypeRepository.save(farmType);
+        catalogChanged();
         logger.info("Farm type created successfully with ID: {}", savedFarmType.getId());
         
         return convertToDTO(savedFarmType);
@@ -65,7 +89,7 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         
         // Check if new name conflicts with existing farm type
         if (!farmType.getTypeName().equalsIgnoreCase(farmTypeDTO.getTypeName()) &&
-            farmTypeRepository.existsByTypeNameIgnoreCase(farmTypeDTO.getTypeName())) {
+            farmTypeExists(farmTypeDTO.getTypeName())) {
             logger.error("Farm type name already exists: {}", farmTypeDTO.getTypeName());
             throw new IllegalArgumentException("Farm type with name '" + farmTypeDTO.getTypeName() + "' already exists");
         }
@@ -74,56 +98,48 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         farmType.setDescription(farmTypeDTO.getDescription());
         
         FarmType updatedFarmType = farmTypeRepository.save(farmType);
+        catalogChanged();
         logger.info("Farm type updated successfully: {}", updatedFarmType.getId());
         
         return convertToDTO(updatedFarmType);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public FarmTypeDTO getFarmTypeById(UUID id) {
         logger.debug("Fetching farm type with ID: {}", id);
         
-        FarmType farmType = farmTypeRepository.findById(id)
+        return farmTypeCache.get(id)
                 .orElseThrow(() -> {
                     logger.error("Farm type not found with ID: {}", id);
                     return new ConfigurationNotFoundException("FarmType", id);
                 });
-        
-        return convertToDTO(farmType);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<FarmTypeDTO> getAllFarmTypes() {
         logger.debug("Fetching all farm types");
         
-        List<FarmType> farmTypes = farmTypeRepository.findAllByOrderByTypeNameAsc();
-        return farmTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return farmTypeCache.getAll();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<FarmTypeDTO> getActiveFarmTypes() {
         logger.debug("Fetching active farm types");
         
-        List<FarmType> farmTypes = farmTypeRepository.findByIsActiveTrue();
-        return farmTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getFarmTypesByStatus(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<FarmTypeDTO> getFarmTypesByStatus(Boolean isActive) {
         logger.debug("Fetching farm types with status: {}", isActive);
         
-        List<FarmType> farmTypes = farmTypeRepository.findByIsActiveOrderByTypeNameAsc(isActive);
-        return farmTypes.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return farmTypeCache.getAll().stream()
+                .filter(farmType -> Objects.equals(farmType.getIsActive(), isActive))
+                .toList();
     }
 
     @Override
@@ -138,6 +154,7 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         
         farmType.setIsActive(isActive);
         FarmType updatedFarmType = farmTypeRepository.save(farmType);
+        catalogChanged();
         
         logger.info("Farm type status updated successfully: {} is now {}", 
                 updatedFarmType.getTypeName(), isActive ? "active" : "inactive");
@@ -164,6 +181,7 @@ public class FarmTypeServiceImpl implements FarmTypeService {
         }
         
         farmTypeRepository.delete(farmType);
+        catalogChanged();
         logger.info("Farm type deleted successfully: {}", farmType.getTypeName());
     }
 
@@ -176,9 +194,55 @@ public class FarmTypeServiceImpl implements FarmTypeService {
 
     @Override
     @Transactional(readOnly = true)
+    public Map<UUID, Long> getFarmUsageCounts() {
+        logger.debug("Getting usage counts for all farm types");
+        return farmTypeCache.countsById(farmTypeRepository.countFarmsByFarmType());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean farmTypeExists(String typeName) {
         logger.debug("Checking if farm type exists: {}", typeName);
-        return farmTypeRepository.existsByTypeNameIgnoreCase(typeName);
+        return farmTypesByName.get().containsKey(CatalogCache.lowerCase(typeName));
+    }
+
+    @Override
+    public ConfigurationImportResult importFarmTypes(Iterator<FarmTypeDTO> rows) {
+        logger.info("Importing farm types");
+        
+        ConfigurationImportResult result = catalogImporter.importRows(rows,
+                List.of(new CatalogImporter.UniqueKey<>("Farm type", FarmTypeDTO::getTypeName, farmTypesByName.get())),
+                this::newEntity, farmTypeRepository);
+        if (result.getImported() > 0) {
+            catalogChanged();
+        }
+        logger.info("Imported {} of {} farm types with {} rejected rows",
+                result.getImported(), result.getRowsRead(), result.getErrorCount());
+        
+        return result;
+    }
+
+    /**
+     * Drop the cached farm types and announce the change once the transaction commits.
+     */
+    private void catalogChanged() {
+        farmTypeCache.invalidate();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Catalog.FARM_TYPES));
+    }
+
+    /**
+     * Build a new, unsaved farm type from an imported row.
+     * Active unless the row says otherwise.
+     *
+     * @param dto the row
+     * @return the entity
+     */
+    private FarmType newEntity(FarmTypeDTO dto) {
+        FarmType farmType = new FarmType();
+        farmType.setTypeName(dto.getTypeName());
+        farmType.setDescription(dto.getDescription());
+        farmType.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        return farmType;
     }
 
     /**
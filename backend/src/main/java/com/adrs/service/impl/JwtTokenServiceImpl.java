@@ -0,0 +1,264 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.model.RevokedToken;
+import com.adrs.model.User;
+import com.adrs.repository.RevokedTokenRepository;
+import com.adrs.service.TokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HMAC-signed JWT implementation of {@link TokenService}.
+ *
+ * Tokens carry the user's ID, username, role and profile, so a request is authenticated
+ * from the token alone. New tokens are signed with {@code app.jwt.secret} and name it by
+ * key ID; tokens signed with any of {@code app.jwt.previous-secrets} are still accepted,
+ * so a secret is rotated by moving it to the previous list for one token lifetime.
+ *
+ * Revocations are written to {@link RevokedToken} and kept in memory, where each instance
+ * reloads them every {@code app.jwt.revocation-refresh-interval}; another instance sees a
+ * revocation made here at most that much later. Revocations are dropped once the tokens
+ * they cover have expired, so the list stays small.
+ *
+ * Publishes {@code auth.tokens.verified} tagged by result.
+ */
+@Service
+@ConditionalOnProperty(name = "app.jwt.enabled", havingValue = "true")
+public class JwtTokenServiceImpl implements TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenServiceImpl.class);
+    private static final String ISSUER = "adrs";
+    private static final String USER_REVOCATION_PREFIX = "user:";
+    private static final long CLOCK_SKEW_SECONDS = 30;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration expiration;
+    private final String currentKeyId;
+    private final SecretKey currentKey;
+    private final JwtParser parser;
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter expired;
+    private final Counter revoked;
+
+    private record Revocation(LocalDateTime revokedAt, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * @param secret                 key new tokens are signed with, at least 32 bytes
+     * @param previousSecrets        keys of tokens still accepted
+     * @param expirationMs           token lifetime in milliseconds
+     * @param revokedTokenRepository store of revocations
+     * @param meterRegistry          registry for the token metrics
+     */
+    public JwtTokenServiceImpl(@Value("${app.jwt.secret:}") String secret,
+                               @Value("${app.jwt.previous-secrets:}") List<String> previousSecrets,
+                               @Value("${app.jwt.expiration-ms:900000}") long expirationMs,
+                               RevokedTokenRepository revokedTokenRepository,
+                               MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expiration = Duration.ofMillis(expirationMs);
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        this.currentKey = signingKey(secret);
+        this.currentKeyId = keyId(currentKey);
+        keys.put(currentKeyId, currentKey);
+        for (String previous : previousSecrets) {
+            if (!previous.isBlank()) {
+                SecretKey key = signingKey(previous.trim());
+                keys.put(keyId(key), key);
+            }
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(header -> header instanceof ProtectedHeader protectedHeader
+                        ? keys.get(protectedHeader.getKeyId())
+                        : null)
+                .requireIssuer(ISSUER)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+
+        this.valid = verified(meterRegistry, "valid");
+        this.invalid = verified(meterRegistry, "invalid");
+        this.expired = verified(meterRegistry, "expired");
+        this.revoked = verified(meterRegistry, "revoked");
+
+        logger.info("Stateless API tokens enabled with key {} and {} previous keys", currentKeyId, keys.size() - 1);
+    }
+
+    @Override
+    public String issueToken(AuthenticatedUser user) {
+        Date issuedAt = new Date();
+        return Jwts.builder()
+                .header().keyId(currentKeyId).and()
+                .id(UUID.randomUUID().toString())
+                .issuer(ISSUER)
+                .subject(user.getUsername())
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + expiration.toMillis()))
+                .claim("uid", user.getId())
+                .claim("role", user.getRole().name())
+                .claim("email", user.getEmail())
+                .claim("given_name", user.getFirstName())
+                .claim("family_name", user.getLastName())
+                .signWith(currentKey)
+                .compact();
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> verifyToken(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            expired.increment();
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected API token: {}", e.getMessage());
+            invalid.increment();
+            return Optional.empty();
+        }
+
+        // A correctly signed token may still lack the claims this service issues, e.g. one signed
+        // with a shared secret by another tool, so reject it rather than fail the request
+        Object uid = claims.get("uid");
+        User.Role role = role(claims.get("role"));
+        if (!(uid instanceof Number) || role == null || claims.getId() == null
+                || claims.getSubject() == null || claims.getIssuedAt() == null) {
+            logger.debug("Rejected API token {} with missing or unknown claims", claims.getId());
+            invalid.increment();
+            return Optional.empty();
+        }
+
+        Long userId = ((Number) uid).longValue();
+        if (isRevoked(claims.getId(), userId, toLocalDateTime(claims.getIssuedAt()))) {
+            revoked.increment();
+            return Optional.empty();
+        }
+        valid.increment();
+        return Optional.of(AuthenticatedUser.withoutPassword(userId, claims.getSubject(),
+                claims.get("email", String.class), claims.get("given_name", String.class),
+                claims.get("family_name", String.class), role));
+    }
+
+    @Override
+    @Transactional
+    public void revokeToken(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        revoke(claims.getId(), LocalDateTime.now(), toLocalDateTime(claims.getExpiration()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeUserTokens(Long userId) {
+        // Issue times are in whole seconds, so a token issued in the same second is revoked too
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        revoke(USER_REVOCATION_PREFIX + userId, now, now.plus(expiration).plusSeconds(CLOCK_SKEW_SECONDS));
+    }
+
+    /**
+     * Load revocations made by other instances and drop those whose tokens have expired.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-interval:PT30S}")
+    @Transactional
+    public void refreshRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revocations.merge(token.getId(), new Revocation(token.getRevokedAt(), token.getExpiresAt()),
+                    (current, loaded) -> loaded.revokedAt().isAfter(current.revokedAt()) ? loaded : current);
+        }
+        revocations.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+    }
+
+    private boolean isRevoked(String tokenId, Long userId, LocalDateTime issuedAt) {
+        if (revocations.containsKey(tokenId)) {
+            return true;
+        }
+        Revocation userRevocation = revocations.get(USER_REVOCATION_PREFIX + userId);
+        return userRevocation != null && !issuedAt.isAfter(userRevocation.revokedAt());
+    }
+
+    private void revoke(String id, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(id, revokedAt, expiresAt));
+        revocations.put(id, new Revocation(revokedAt, expiresAt));
+    }
+
+    private static User.Role role(Object claim) {
+        if (claim instanceof String name) {
+            for (User.Role role : User.Role.values()) {
+                if (role.name().equals(name)) {
+                    return role;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static SecretKey signingKey(String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("app.jwt secrets must be at least 32 bytes");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+
+    private static String keyId(SecretKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static Counter verified(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.tokens.verified").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.adrs.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind recorder of user last-login times.
+ *
+ * Logins only put the time into a concurrent map, keeping the latest per user, so
+ * the login path does no database write. The map is drained on a fixed delay and on
+ * shutdown, and written with one {@code UPDATE ... FROM (VALUES ...)} per
+ * {@link #MAX_ROWS_PER_STATEMENT} users; a row is only moved forward in time. If a
+ * write fails its entries are put back for the next flush. Logins still pending when
+ * the process dies are lost, which is acceptable for an informational timestamp.
+ *
+ * Publishes {@code users.last_login.pending} and {@code users.last_login.flushed}.
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+    static final int MAX_ROWS_PER_STATEMENT = 1_000;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter flushed;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushed = Counter.builder("users.last_login.flushed").register(meterRegistry);
+        Gauge.builder("users.last_login.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Record a login, to be written with the next flush.
+     *
+     * @param userId    the user ID
+     * @param loginTime the login time
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime.truncatedTo(ChronoUnit.MICROS),
+                (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Write all pending login times.
+     *
+     * @return the number of users written
+     */
+    @Scheduled(fixedDelayString = "${app.security.last-login.flush-interval:PT10S}")
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                rows.add(new Object[] {userId, Timestamp.valueOf(loginTime)});
+            }
+        }
+
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            try {
+                jdbcTemplate.update(updateSql(chunk.size()), chunk.stream().flatMap(Arrays::stream).toArray());
+                flushed.increment(chunk.size());
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write {} last-login times, retrying on the next flush", chunk.size(), e);
+                for (Object[] row : chunk) {
+                    record((Long) row[0], ((Timestamp) row[1]).toLocalDateTime());
+                }
+            }
+        }
+        logger.debug("Wrote last-login times for {} users", rows.size());
+        return rows.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        if (written > 0) {
+            logger.info("Wrote {} pending last-login times on shutdown", written);
+        }
+    }
+
+    private static String updateSql(int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE users u SET last_login = v.last_login FROM (VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS BIGINT), CAST(? AS TIMESTAMP))");
+        }
+        return sql.append(") AS v(id, last_login) ")
+                .append("WHERE u.id = v.id AND (u.last_login IS NULL OR u.last_login < v.last_login)")
+                .toString();
+    }
+}
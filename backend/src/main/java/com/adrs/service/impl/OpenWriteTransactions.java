@@ -0,0 +1,47 @@
+package com.adrs.service.impl;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Start time of the oldest transaction that has written to the database and not yet committed.
+ *
+ * Any update time such a transaction stamped is no earlier than its start, so rows updated
+ * before that start time are all visible. On PostgreSQL it is read from
+ * {@code pg_stat_activity}, where a transaction that has written has a {@code backend_xid};
+ * the database user sees the other sessions' transactions when they connect as the same
+ * user, as every application instance does. Other databases report no open transactions.
+ */
+@Component
+public class OpenWriteTransactions {
+
+    private static final String OLDEST_WRITE_SQL = "SELECT min(xact_start) FROM pg_stat_activity "
+            + "WHERE datname = current_database() AND backend_xid IS NOT NULL AND pid <> pg_backend_pid()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean supported;
+
+    public OpenWriteTransactions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.supported = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    /**
+     * @return when the oldest open write transaction started, or empty if there is none
+     *         or the database cannot tell
+     */
+    public Optional<LocalDateTime> oldestStart() {
+        if (!supported) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jdbcTemplate.queryForObject(OLDEST_WRITE_SQL, OffsetDateTime.class))
+                .map(start -> LocalDateTime.ofInstant(start.toInstant(), ZoneId.systemDefault()));
+    }
+}
@@ -0,0 +1,188 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.dto.ReferenceDataSnapshot;
+import com.adrs.dto.ReferenceDataSnapshot.Catalog;
+import com.adrs.dto.ReferenceDataSnapshot.Payload;
+import com.adrs.event.ReferenceDataChangedEvent;
+import com.adrs.model.Disease;
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.service.AnimalTypeService;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.FarmTypeService;
+import com.adrs.service.ReferenceDataService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of ReferenceDataService.
+ * Renders every reference data list to JSON and gzip once per configuration
+ * change, from the catalog caches of the configuration services, and swaps the
+ * result in as a new snapshot version. Provinces and districts come from enums, so
+ * they are rendered once at startup and shared by every snapshot.
+ */
+@Service
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataServiceImpl.class);
+    private static final String VALUE_KEY = "value";
+    private static final String LABEL_KEY = "label";
+    private static final String PROVINCE_KEY = "province";
+
+    private final FarmTypeService farmTypeService;
+    private final AnimalTypeService animalTypeService;
+    private final DiseaseService diseaseService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Payload provinces;
+    private final Payload allDistricts;
+    private final Map<Province, Payload> districtsByProvince = new EnumMap<>(Province.class);
+
+    /** Guarded by this; read without locking through {@link #snapshot}. */
+    private long version;
+
+    private volatile ReferenceDataSnapshot snapshot;
+
+    public ReferenceDataServiceImpl(FarmTypeService farmTypeService, AnimalTypeService animalTypeService,
+                                    DiseaseService diseaseService, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.farmTypeService = farmTypeService;
+        this.animalTypeService = animalTypeService;
+        this.diseaseService = diseaseService;
+        this.objectMapper = objectMapper;
+        // Rebuilds run after the writer's transaction completes, so they need one of their own.
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.provinces = render(District.getAllProvinces().stream()
+                .map(province -> option(province.name(), province.getDisplayName()))
+                .toList());
+        this.allDistricts = render(Arrays.stream(District.values())
+                .map(district -> {
+                    Map<String, String> districtMap = option(district.name(), district.getDisplayName());
+                    districtMap.put(PROVINCE_KEY, district.getProvince().name());
+                    return districtMap;
+                })
+                .toList());
+        for (Province province : Province.values()) {
+            districtsByProvince.put(province, render(District.getDistrictsByProvince(province).stream()
+                    .map(district -> option(district.name(), district.getDisplayName()))
+                    .toList()));
+        }
+    }
+
+    @Override
+    public ReferenceDataSnapshot getSnapshot() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * Render the snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Replace the snapshot after a configuration write. Runs after completion rather
+     * than after commit so the catalog caches have already dropped their old lists;
+     * a rolled back write only costs an identical rebuild.
+     *
+     * @param event the configuration change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        logger.debug("Reference data changed: {}", event.getCatalog());
+        rebuild();
+    }
+
+    private synchronized ReferenceDataSnapshot rebuild() {
+        long start = System.nanoTime();
+        ReferenceDataSnapshot rebuilt = readOnlyTransaction.execute(status -> render(version + 1));
+        version = rebuilt.getVersion();
+        snapshot = rebuilt;
+        logger.info("Rendered reference data snapshot version {} in {} ms",
+                rebuilt.getVersion(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    private ReferenceDataSnapshot render(long newVersion) {
+        Map<Catalog, Payload> catalogs = new EnumMap<>(Catalog.class);
+        catalogs.put(Catalog.FARM_TYPES, render(farmTypeService.getAllFarmTypes()));
+        catalogs.put(Catalog.ANIMAL_TYPES, render(animalTypeService.getAllAnimalTypes()));
+        catalogs.put(Catalog.ACTIVE_ANIMAL_TYPES, render(animalTypeService.getActiveAnimalTypes()));
+        catalogs.put(Catalog.DISEASES, render(diseaseService.getAllDiseases()));
+        catalogs.put(Catalog.NOTIFIABLE_DISEASES, render(diseaseService.getNotifiableDiseases()));
+        catalogs.put(Catalog.PROVINCES, provinces);
+        catalogs.put(Catalog.ALL_DISTRICTS, allDistricts);
+
+        Map<Disease.Severity, Payload> diseasesBySeverity = new EnumMap<>(Disease.Severity.class);
+        for (Disease.Severity severity : Disease.Severity.values()) {
+            List<DiseaseDTO> diseases = diseaseService.getDiseasesBySeverity(severity);
+            diseasesBySeverity.put(severity, render(diseases));
+        }
+        return new ReferenceDataSnapshot(newVersion, catalogs, diseasesBySeverity, districtsByProvince);
+    }
+
+    private static Map<String, String> option(String value, String label) {
+        Map<String, String> option = new LinkedHashMap<>();
+        option.put(VALUE_KEY, value);
+        option.put(LABEL_KEY, label);
+        return option;
+    }
+
+    private Payload render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            byte[] gzip = compressed.size() < json.length ? compressed.toByteArray() : null;
+            String tag = contentTag(json);
+            return new Payload(json, gzip, "\"" + tag + "\"", gzip != null ? "\"" + tag + "-gzip\"" : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render reference data", e);
+        }
+    }
+
+    private static String contentTag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.adrs.service.impl;
+
+import com.adrs.analytics.ReportBitmapIndex;
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportCountFilter;
+import com.adrs.analytics.ReportDistinctCounter;
+import com.adrs.analytics.ReportDimension;
+import com.adrs.analytics.ReportFilter;
+import com.adrs.analytics.ReportRangeCounter;
+import com.adrs.dto.DistinctCountEstimate;
+import com.adrs.dto.ReportGroupCount;
+import com.adrs.dto.ReportRangeCount;
+import com.adrs.service.ReportAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of ReportAnalyticsService backed by the in-memory report column
+ * store and the bitmap indexes, distinct-count sketches and range counters
+ * derived from it.
+ */
+@Service
+public class ReportAnalyticsServiceImpl implements ReportAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportAnalyticsServiceImpl.class);
+
+    private final ReportColumnStore columnStore;
+    private final ReportBitmapIndex bitmapIndex;
+    private final ReportDistinctCounter distinctCounter;
+    private final ReportRangeCounter rangeCounter;
+
+    public ReportAnalyticsServiceImpl(ReportColumnStore columnStore, ReportBitmapIndex bitmapIndex,
+                                      ReportDistinctCounter distinctCounter, ReportRangeCounter rangeCounter) {
+        this.columnStore = columnStore;
+        this.bitmapIndex = bitmapIndex;
+        this.distinctCounter = distinctCounter;
+        this.rangeCounter = rangeCounter;
+    }
+
+    @Override
+    public List<ReportGroupCount> getGroupCounts(List<String> groupBy, ReportFilter filter) {
+        validateDateRange(filter);
+        List<ReportDimension> dimensions = new ArrayList<>();
+        if (groupBy != null) {
+            for (String name : groupBy) {
+                ReportDimension dimension = ReportDimension.fromParam(name);
+                if (dimensions.contains(dimension)) {
+                    throw new IllegalArgumentException("Dimension listed more than once: " + name);
+                }
+                dimensions.add(dimension);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<ReportGroupCount> result = columnStore.groupCount(dimensions, filter);
+        logger.debug("Grouped report counts by {} in {} µs: {} groups",
+                dimensions, (System.nanoTime() - start) / 1_000, result.size());
+        return result;
+    }
+
+    @Override
+    public long countReports(ReportCountFilter filter) {
+        long start = System.nanoTime();
+        long count = bitmapIndex.count(filter);
+        logger.debug("Counted {} reports from bitmap indexes in {} µs", count, (System.nanoTime() - start) / 1_000);
+        return count;
+    }
+
+    @Override
+    public DistinctCountEstimate estimateDistinct(Set<String> districts, Set<UUID> diseaseIds,
+                                                  LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        return distinctCounter.estimate(districts, diseaseIds, from, to);
+    }
+
+    @Override
+    public ReportRangeCount countInRange(Set<String> districts, Set<UUID> diseaseIds, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        long start = System.nanoTime();
+        ReportRangeCount count = rangeCounter.count(districts, diseaseIds, from, to);
+        logger.debug("Counted {} reports in range from Fenwick trees in {} µs",
+                count.getTotal(), (System.nanoTime() - start) / 1_000);
+        return count;
+    }
+
+    private void validateDateRange(ReportFilter filter) {
+        validateDateRange(filter.getFrom(), filter.getTo());
+    }
+
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+}
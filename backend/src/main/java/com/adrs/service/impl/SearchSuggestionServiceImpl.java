@@ -0,0 +1,156 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.SearchSuggestion;
+import com.adrs.event.SearchSuggestionChangedEvent;
+import com.adrs.repository.FarmRepository;
+import com.adrs.repository.UserRepository;
+import com.adrs.service.SearchSuggestionService;
+import com.adrs.util.PrefixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of SearchSuggestionService.
+ * Keeps an in-memory prefix index per suggestion type that is loaded from the tables
+ * when the application starts and then kept current from committed change events,
+ * so suggestions are answered without a database query. Suggestions carry only
+ * names and ids; callers load anything else by id.
+ */
+@Service
+public class SearchSuggestionServiceImpl implements SearchSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchSuggestionServiceImpl.class);
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_LIMIT = 20;
+
+    private final UserRepository userRepository;
+    private final FarmRepository farmRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> indexes = emptyIndexes();
+
+    /** Changes committed while a rebuild is reading the tables; null when no rebuild is running. */
+    private List<SearchSuggestionChangedEvent> changesDuringRebuild;
+    private final Object rebuildMonitor = new Object();
+
+    public SearchSuggestionServiceImpl(UserRepository userRepository,
+                                       FarmRepository farmRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.farmRepository = farmRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<SearchSuggestion> suggest(SearchSuggestion.Type type, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return indexes.get(type).suggest(query, limit);
+    }
+
+    @Override
+    public int rebuildIndex() {
+        synchronized (rebuildMonitor) {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("Suggestion index rebuild already in progress");
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> rebuilt = emptyIndexes();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                rebuilt.get(SearchSuggestion.Type.USER).putAll(userRepository.findSuggestionFields().stream()
+                        .map(row -> document(SearchSuggestionChangedEvent.user((Long) row[0], (String) row[1],
+                                (String) row[2], (String) row[3], (String) row[4])))
+                        .toList());
+                rebuilt.get(SearchSuggestion.Type.FARM).putAll(farmRepository.findActiveSuggestionFields().stream()
+                        .map(row -> document(SearchSuggestionChangedEvent.farm(row[0], (String) row[1],
+                                (String) row[2], (String) row[3])))
+                        .toList());
+            });
+        } catch (RuntimeException e) {
+            synchronized (rebuildMonitor) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (rebuildMonitor) {
+            // Replaying is idempotent, so changes the table scan already saw are harmless.
+            changesDuringRebuild.forEach(event -> apply(rebuilt, event));
+            changesDuringRebuild = null;
+            indexes = rebuilt;
+        }
+        int users = rebuilt.get(SearchSuggestion.Type.USER).size();
+        int farms = rebuilt.get(SearchSuggestion.Type.FARM).size();
+        logger.info("Rebuilt suggestion indexes: {} users, {} farms", users, farms);
+        return users + farms;
+    }
+
+    /**
+     * Load the indexes once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildIndex();
+    }
+
+    /**
+     * Apply a committed user or farm change to the indexes.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSuggestionChanged(SearchSuggestionChangedEvent event) {
+        Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> target;
+        synchronized (rebuildMonitor) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            target = indexes;
+        }
+        apply(target, event);
+    }
+
+    private void apply(Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> target,
+                       SearchSuggestionChangedEvent event) {
+        PrefixIndex<SearchSuggestion> index = target.get(event.getSuggestion().getType());
+        if (event.isRemoved()) {
+            index.remove(event.getSuggestion().getId());
+        } else {
+            index.put(document(event));
+        }
+    }
+
+    private static PrefixIndex.Document<SearchSuggestion> document(SearchSuggestionChangedEvent event) {
+        return new PrefixIndex.Document<>(event.getSuggestion().getId(), event.getSuggestion(), event.getFields());
+    }
+
+    private static Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> emptyIndexes() {
+        Map<SearchSuggestion.Type, PrefixIndex<SearchSuggestion>> indexes = new EnumMap<>(SearchSuggestion.Type.class);
+        for (SearchSuggestion.Type type : SearchSuggestion.Type.values()) {
+            indexes.put(type, new PrefixIndex<>());
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,136 @@
+package com.adrs.service.impl;
+
+import com.adrs.model.SyncTombstone;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a syncing client in each change stream: one per synced entity
+ * type, ordered by (updatedAt, id), plus the tombstones, ordered by
+ * (deletedAt, id). Sent to clients as an opaque URL-safe string.
+ *
+ * Once a client has every tombstone up to a time, its tombstone position is
+ * moved to that time, so the position also tells how far back the client's
+ * knowledge of deletes reaches.
+ */
+final class SyncCursor {
+
+    /** Index of the tombstone stream; entity streams use their type's ordinal. */
+    static final int TOMBSTONES = SyncTombstone.EntityType.values().length;
+
+    private static final int STREAMS = TOMBSTONES + 1;
+    private static final String VERSION = "1";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID NIL = new UUID(0, 0);
+    private static final UUID MAX = new UUID(-1, -1);
+
+    private final LocalDateTime[] times;
+    private final UUID[] ids;
+
+    private SyncCursor(LocalDateTime[] times, UUID[] ids) {
+        this.times = times;
+        this.ids = ids;
+    }
+
+    /**
+     * @return a cursor before every change
+     */
+    static SyncCursor start() {
+        LocalDateTime[] times = new LocalDateTime[STREAMS];
+        UUID[] ids = new UUID[STREAMS];
+        Arrays.fill(times, EPOCH);
+        Arrays.fill(ids, NIL);
+        return new SyncCursor(times, ids);
+    }
+
+    /**
+     * Decode a cursor previously returned to a client.
+     *
+     * @param encoded the cursor string
+     * @return the cursor
+     * @throws IllegalArgumentException if the string is not a valid cursor
+     */
+    static SyncCursor parse(String encoded) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = text.split("\\|", -1);
+            if (parts.length != STREAMS + 1 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync cursor");
+            }
+            SyncCursor cursor = start();
+            for (int stream = 0; stream < STREAMS; stream++) {
+                String part = parts[stream + 1];
+                if (!part.isEmpty()) {
+                    int comma = part.indexOf(',');
+                    long micros = Long.parseLong(part.substring(0, comma));
+                    cursor.times[stream] = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+                    cursor.ids[stream] = UUID.fromString(part.substring(comma + 1));
+                }
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid sync cursor", e);
+        }
+    }
+
+    /**
+     * @param time time up to which there are no tombstones to sync
+     * @return a cursor before every change, but past the tombstones up to {@code time}
+     */
+    static SyncCursor startAt(LocalDateTime time) {
+        SyncCursor cursor = start();
+        cursor.advance(TOMBSTONES, time, MAX);
+        return cursor;
+    }
+
+    LocalDateTime time(int stream) {
+        return times[stream];
+    }
+
+    UUID id(int stream) {
+        return ids[stream];
+    }
+
+    /**
+     * Move a stream past a row.
+     *
+     * @param stream entity type ordinal or {@link #TOMBSTONES}
+     * @param time   update or deletion time of the row
+     * @param id     id of the row
+     */
+    void advance(int stream, LocalDateTime time, UUID id) {
+        times[stream] = time;
+        ids[stream] = id;
+    }
+
+    /**
+     * Move the tombstone stream past every tombstone up to a time, once all of them
+     * have been synced.
+     *
+     * @param time time up to which every tombstone has been synced
+     */
+    void tombstonesSyncedUntil(LocalDateTime time) {
+        if (time.isAfter(times[TOMBSTONES])) {
+            advance(TOMBSTONES, time, MAX);
+        }
+    }
+
+    String encode() {
+        StringBuilder text = new StringBuilder(VERSION);
+        for (int stream = 0; stream < STREAMS; stream++) {
+            text.append('|');
+            if (!NIL.equals(ids[stream])) {
+                long micros = ChronoUnit.MICROS.between(EPOCH, times[stream]);
+                text.append(micros).append(',').append(ids[stream]);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
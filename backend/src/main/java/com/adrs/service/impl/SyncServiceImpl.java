@@ -0,0 +1,251 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.AnimalSnapshot;
+import com.adrs.dto.AnimalTypeDTO;
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.dto.DiseaseReportSnapshot;
+import com.adrs.dto.FarmSnapshot;
+import com.adrs.dto.FarmTypeDTO;
+import com.adrs.dto.SyncDeletion;
+import com.adrs.dto.SyncResponse;
+import com.adrs.exception.SyncCursorExpiredException;
+import com.adrs.model.Animal;
+import com.adrs.model.AnimalType;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.model.Farm;
+import com.adrs.model.FarmType;
+import com.adrs.model.SyncTombstone;
+import com.adrs.repository.AnimalRepository;
+import com.adrs.repository.AnimalTypeRepository;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.DiseaseRepository;
+import com.adrs.repository.FarmRepository;
+import com.adrs.repository.FarmTypeRepository;
+import com.adrs.repository.SyncTombstoneRepository;
+import com.adrs.service.SyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Implementation of SyncService using keyset queries over (updatedAt, id).
+ *
+ * Each entity type and the tombstones are a separate stream with its own
+ * position in the cursor. A chunk reads the streams in a fixed order, so
+ * configuration arrives before the farms and reports that refer to it, until
+ * the limit is reached. A transaction stamps its rows' update time before it
+ * commits, so a cursor already past that time would skip them; rows are therefore
+ * held back until the next sync from the start of the oldest write transaction
+ * still open ({@link OpenWriteTransactions}), which covers long ones such as
+ * configuration imports and farm moves, and from the settle window before that
+ * time or now, which covers clock differences between the application and the
+ * database and databases that cannot report open transactions. On those a
+ * transaction that commits later than the settle window after stamping its rows
+ * is missed by clients whose cursor has passed them.
+ *
+ * Tombstones are kept for the retention window. A full sync starts its tombstone
+ * stream at the time it reads up to, since rows deleted before then are not in
+ * it, and a cursor that has not seen the tombstones from before the window is
+ * refused, since some of them may have been purged.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncServiceImpl implements SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncServiceImpl.class);
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 5000;
+
+    private final FarmTypeRepository farmTypeRepository;
+    private final AnimalTypeRepository animalTypeRepository;
+    private final DiseaseRepository diseaseRepository;
+    private final FarmRepository farmRepository;
+    private final AnimalRepository animalRepository;
+    private final DiseaseReportRepository diseaseReportRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final OpenWriteTransactions openWriteTransactions;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+
+    public SyncServiceImpl(FarmTypeRepository farmTypeRepository, AnimalTypeRepository animalTypeRepository,
+                           DiseaseRepository diseaseRepository, FarmRepository farmRepository,
+                           AnimalRepository animalRepository, DiseaseReportRepository diseaseReportRepository,
+                           SyncTombstoneRepository syncTombstoneRepository,
+                           OpenWriteTransactions openWriteTransactions,
+                           @Value("${app.sync.settle-window:5s}") Duration settleWindow,
+                           @Value("${app.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.farmTypeRepository = farmTypeRepository;
+        this.animalTypeRepository = animalTypeRepository;
+        this.diseaseRepository = diseaseRepository;
+        this.farmRepository = farmRepository;
+        this.animalRepository = animalRepository;
+        this.diseaseReportRepository = diseaseReportRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.openWriteTransactions = openWriteTransactions;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public SyncResponse getChanges(String cursor, String district, Integer limit) {
+        int maxChanges = limit != null ? limit : DEFAULT_LIMIT;
+        if (maxChanges < 1 || maxChanges > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime syncedUntil = openWriteTransactions.oldestStart()
+                .filter(start -> start.isBefore(now))
+                .orElse(now)
+                .minus(settleWindow);
+        SyncCursor position;
+        if (cursor == null || cursor.isBlank()) {
+            position = SyncCursor.startAt(syncedUntil);
+        } else {
+            position = SyncCursor.parse(cursor);
+            if (position.time(SyncCursor.TOMBSTONES).isBefore(now.minus(tombstoneRetention))) {
+                throw new SyncCursorExpiredException("Sync cursor is older than " + tombstoneRetention
+                        + "; discard local data and sync again without a cursor");
+            }
+        }
+        Chunk chunk = new Chunk(position, syncedUntil, maxChanges);
+        SyncResponse response = new SyncResponse();
+
+        response.setFarmTypes(chunk.read(SyncTombstone.EntityType.FARM_TYPE.ordinal(),
+                (time, id, until, max) -> farmTypeRepository.findChangedSince(time, id, until, max),
+                FarmType::getUpdatedAt, FarmType::getId, this::toDTO));
+        response.setAnimalTypes(chunk.read(SyncTombstone.EntityType.ANIMAL_TYPE.ordinal(),
+                (time, id, until, max) -> animalTypeRepository.findChangedSince(time, id, until, max),
+                AnimalType::getUpdatedAt, AnimalType::getId, this::toDTO));
+        response.setDiseases(chunk.read(SyncTombstone.EntityType.DISEASE.ordinal(),
+                (time, id, until, max) -> diseaseRepository.findChangedSince(time, id, until, max),
+                Disease::getUpdatedAt, Disease::getId, this::toDTO));
+        response.setFarms(chunk.read(SyncTombstone.EntityType.FARM.ordinal(),
+                (time, id, until, max) -> farmRepository.findChangedSince(time, id, until, district, max),
+                Farm::getUpdatedAt, Farm::getId, FarmSnapshot::of));
+        response.setAnimals(chunk.read(SyncTombstone.EntityType.ANIMAL.ordinal(),
+                (time, id, until, max) -> animalRepository.findChangedSince(time, id, until, district, max),
+                Animal::getUpdatedAt, Animal::getId, AnimalSnapshot::of));
+        response.setReports(chunk.read(SyncTombstone.EntityType.DISEASE_REPORT.ordinal(),
+                (time, id, until, max) -> diseaseReportRepository.findChangedSince(time, id, until, district, max),
+                DiseaseReport::getUpdatedAt, DiseaseReport::getId, DiseaseReportSnapshot::of));
+        response.setDeleted(chunk.read(SyncCursor.TOMBSTONES,
+                (time, id, until, max) -> syncTombstoneRepository.findDeletedSince(time, id, until, district, max),
+                SyncTombstone::getDeletedAt, SyncTombstone::getId,
+                tombstone -> new SyncDeletion(tombstone.getEntityType(), tombstone.getEntityId(),
+                        tombstone.getDeletedAt())));
+        if (!chunk.hasMore) {
+            chunk.cursor.tombstonesSyncedUntil(syncedUntil);
+        }
+
+        response.setCursor(chunk.cursor.encode());
+        response.setHasMore(chunk.hasMore);
+        logger.debug("Sync chunk for district {}: {} changes, more: {}",
+                district, maxChanges - chunk.remaining, chunk.hasMore);
+        return response;
+    }
+
+    /**
+     * Delete tombstones older than the retention window.
+     *
+     * @return the number of tombstones deleted
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval:PT1H}")
+    @Transactional
+    public int purgeTombstones() {
+        int purged = syncTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} sync tombstones older than {}", purged, tombstoneRetention);
+        }
+        return purged;
+    }
+
+    /**
+     * Keyset query for one stream.
+     */
+    @FunctionalInterface
+    private interface ChangeQuery<T> {
+        List<T> find(LocalDateTime time, UUID id, LocalDateTime until, Limit limit);
+    }
+
+    /**
+     * Cursor and remaining budget of the chunk being built.
+     */
+    private static final class Chunk {
+        private final SyncCursor cursor;
+        private final LocalDateTime until;
+        private int remaining;
+        private boolean hasMore;
+
+        Chunk(SyncCursor cursor, LocalDateTime until, int limit) {
+            this.cursor = cursor;
+            this.until = until;
+            this.remaining = limit;
+        }
+
+        /**
+         * Read the next rows of a stream within the remaining budget and move its position past them.
+         */
+        <T, R> List<R> read(int stream, ChangeQuery<T> query, Function<T, LocalDateTime> timeOf,
+                            Function<T, UUID> idOf, Function<T, R> mapper) {
+            if (remaining == 0) {
+                hasMore = true;
+                return List.of();
+            }
+            List<T> rows = query.find(cursor.time(stream), cursor.id(stream), until, Limit.of(remaining + 1));
+            if (rows.size() > remaining) {
+                rows = rows.subList(0, remaining);
+                hasMore = true;
+            }
+            if (!rows.isEmpty()) {
+                T last = rows.get(rows.size() - 1);
+                cursor.advance(stream, timeOf.apply(last), idOf.apply(last));
+            }
+            remaining -= rows.size();
+            return rows.stream().map(mapper).toList();
+        }
+    }
+
+    private FarmTypeDTO toDTO(FarmType farmType) {
+        FarmTypeDTO dto = new FarmTypeDTO(farmType.getId(), farmType.getTypeName(), farmType.getDescription(),
+                farmType.getIsActive());
+        dto.setCreatedAt(farmType.getCreatedAt());
+        dto.setUpdatedAt(farmType.getUpdatedAt());
+        return dto;
+    }
+
+    private AnimalTypeDTO toDTO(AnimalType animalType) {
+        AnimalTypeDTO dto = new AnimalTypeDTO(animalType.getId(), animalType.getTypeName(),
+                animalType.getDescription(), animalType.getIsActive());
+        dto.setCreatedAt(animalType.getCreatedAt());
+        dto.setUpdatedAt(animalType.getUpdatedAt());
+        return dto;
+    }
+
+    private DiseaseDTO toDTO(Disease disease) {
+        DiseaseDTO dto = new DiseaseDTO();
+        dto.setId(disease.getId());
+        dto.setDiseaseName(disease.getDiseaseName());
+        dto.setDiseaseCode(disease.getDiseaseCode());
+        dto.setDescription(disease.getDescription());
+        dto.setAffectedAnimalTypes(disease.getAffectedAnimalTypes());
+        dto.setSeverity(disease.getSeverity());
+        dto.setIsNotifiable(disease.getIsNotifiable());
+        dto.setIsActive(disease.getIsActive());
+        dto.setCreatedAt(disease.getCreatedAt());
+        dto.setUpdatedAt(disease.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,135 @@
+package com.adrs.service.impl;
+
+import com.adrs.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, expiring cache of {@link UserDetails} by username for the authentication provider.
+ *
+ * Holds at most {@code maxSize} users, dropping the least recently used, and each for
+ * at most {@code ttl} after it was loaded, which bounds how long a change made outside
+ * {@code UserServiceImpl} can go unseen. Changes made through it call
+ * {@link #removeUserFromCache(String)}, which evicts straight away and again when the
+ * transaction completes. A user loaded after a cache miss on the same thread is only
+ * kept if no eviction happened on the way, so a load that raced an update cannot put
+ * back the old user.
+ *
+ * Users go in and come out as copies, since the authentication provider erases the
+ * password hash of the principal it returns and would otherwise erase the cached one.
+ *
+ * Publishes {@code cache.gets} (tagged hit or miss), {@code cache.evictions} and
+ * {@code cache.size} under the cache name {@code users}.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private static final String CACHE_NAME = "users";
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final ThreadLocal<Long> missGeneration = new ThreadLocal<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /** Bumped by every eviction; a user loaded after a miss is only kept if this is unchanged. */
+    private long generation;
+
+    private record Entry(UserDetails user, long loadedAt) {
+    }
+
+    /**
+     * @param maxSize       most users kept
+     * @param ttl           how long a user is kept after loading
+     * @param meterRegistry registry for the cache metrics
+     */
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${app.security.user-cache.ttl:5m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserDetailsCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", this, UserDetailsCache::size).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    @Override
+    public synchronized UserDetails getUserFromCache(String username) {
+        Entry entry = entries.get(username);
+        if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+            hits.increment();
+            return copy(entry.user());
+        }
+        if (entry != null) {
+            entries.remove(username);
+        }
+        misses.increment();
+        missGeneration.set(generation);
+        return null;
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails user) {
+        Long loadGeneration = missGeneration.get();
+        missGeneration.remove();
+        if (loadGeneration == null || loadGeneration == generation) {
+            entries.put(user.getUsername(), new Entry(copy(user), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Evict a user now and, inside a transaction, again once it completes.
+     *
+     * @param username the username
+     */
+    @Override
+    public void removeUserFromCache(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private synchronized void evict(String username) {
+        generation++;
+        entries.remove(username);
+        evictions.increment();
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return user instanceof AuthenticatedUser authenticated
+                ? authenticated.withPassword(authenticated.getPassword())
+                : user;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+}
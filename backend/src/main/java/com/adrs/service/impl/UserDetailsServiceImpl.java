@@ -1,33 +1,36 @@
 package com.adrs.service.impl;
 
+import com.adrs.dto.AuthenticatedUser;
 import com.adrs.model.User;
 import com.adrs.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.Collections;
-
 /**
  * Service implementation for loading user-specific data for Spring Security.
+ * The authentication provider caches what this returns in {@link UserDetailsCache},
+ * and after a successful login stores the password rehashed here when its cost
+ * differs from the configured one.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userCache;
+
     /**
      * Loads a user by username for authentication.
      *
      * @param username the username
-     * @return UserDetails object containing user information
+     * @return an {@link AuthenticatedUser} for the user
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
@@ -40,24 +43,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User account is disabled: " + username);
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getActive(),
-                true,
-                true,
-                true,
-                getAuthorities(user)
-        );
+        return AuthenticatedUser.fromUser(user);
     }
 
     /**
-     * Converts user roles to Spring Security authorities.
+     * Stores a password rehashed at the configured cost.
      *
-     * @param user the user entity
-     * @return a collection of granted authorities
+     * @param user        the authenticated user
+     * @param newPassword the new password hash
+     * @return the user with the new password hash
      */
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        userCache.removeUserFromCache(user.getUsername());
+        return user instanceof AuthenticatedUser authenticated
+                ? authenticated.withPassword(newPassword)
+                : org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
     }
 }
@@ -1,32 +1,44 @@
 package com.adrs.service.impl;
 
 import com.adrs.dto.AuthResponse;
+import com.adrs.dto.AuthenticatedUser;
 import com.adrs.dto.LoginRequest;
+import com.adrs.dto.UserPage;
 import com.adrs.dto.UserRequest;
 import com.adrs.dto.UserResponse;
+import com.adrs.dto.UserSearchCriteria;
+import com.adrs.dto.UserSummary;
 import com.adrs.exception.ResourceNotFoundException;
 import com.adrs.model.Province;
 import com.adrs.model.User;
 import com.adrs.repository.UserRepository;
+import com.adrs.service.TokenService;
 import com.adrs.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for user-related operations.
  * Handles user authentication, creation, updates, and management.
+ * Every change to a user evicts it from the {@link UserDetailsCache} used at login
+ * and, in the stateless mode, revokes the API tokens issued to it. Creates, updates,
+ * status changes and deletes are also reported to the {@link DistrictOfficerRoster}.
  */
 @Service
 @Transactional
@@ -44,15 +56,35 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private UserDetailsCache userCache;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private DistrictOfficerRoster districtRoster;
+
+    @Autowired(required = false)
+    private TokenService tokenService;
+
+    @Value("${app.pagination.default-page-size:10}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+
     /**
-     * Authenticates a user and updates last login time.
-     * Note: This method is kept for backward compatibility but is not used
-     * in form-based authentication. Spring Security handles authentication.
+     * Authenticates a user and records the login time with the {@link LastLoginRecorder}.
+     * Costs at most one user read (none when the user is cached) and no writes.
+     * Note: This method is not used in form-based authentication, where Spring
+     * Security handles the login; it serves API clients of the stateless mode.
      *
      * @param loginRequest the login request
-     * @return AuthResponse with user details (token will be empty)
+     * @return AuthResponse with user details and, in the stateless mode, a signed token
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public AuthResponse authenticateUser(LoginRequest loginRequest) {
         logger.info("Authenticating user: {}", loginRequest.getUsername());
 
@@ -65,18 +97,21 @@ public class UserServiceImpl implements UserService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // The principal already carries the profile; only a foreign principal needs a read
+        AuthenticatedUser user = authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? principal
+                : userRepository.findByUsername(loginRequest.getUsername())
+                        .map(AuthenticatedUser::fromUser)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Update last login time
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Written behind, coalesced with other logins
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
         logger.info("User authenticated successfully: {}", loginRequest.getUsername());
 
-        // Return AuthResponse without JWT token (using empty string)
+        // A token only in the stateless mode; form-based auth keeps the session
         return new AuthResponse(
-                "",  // No JWT token in form-based auth
+                tokenService != null ? tokenService.issueToken(user) : "",
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
@@ -119,6 +154,7 @@ public class UserServiceImpl implements UserService {
         user.setActive(Boolean.TRUE.equals(userRequest.getActive()));
 
         User savedUser = userRepository.save(user);
+        districtRoster.userSaved(savedUser);
         logger.info("User created successfully: {}", savedUser.getUsername());
 
         return UserResponse.fromUser(savedUser);
@@ -150,6 +186,8 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Email already exists");
         }
 
+        userCache.removeUserFromCache(user.getUsername());
+        revokeTokens(user);
         user.setUsername(userRequest.getUsername());
         user.setEmail(userRequest.getEmail());
         if (userRequest.getPassword() != null && !userRequest.getPassword().isEmpty()) {
@@ -164,6 +202,7 @@ public class UserServiceImpl implements UserService {
         user.setActive(userRequest.getActive());
 
         User updatedUser = userRepository.save(user);
+        districtRoster.userSaved(updatedUser);
         logger.info("User updated successfully: {}", updatedUser.getUsername());
 
         return UserResponse.fromUser(updatedUser);
@@ -201,6 +240,47 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one page of users matching the filters, ordered by username.
+     * Reads one row past the page to tell whether there is a next page.
+     *
+     * @param criteria the filters, page cursor and page size
+     * @return the page of users
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage searchUsers(UserSearchCriteria criteria) {
+        int size = criteria.getSize() != null ? criteria.getSize() : defaultPageSize;
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        String pattern = likePattern(criteria.getQ());
+        logger.debug("Searching users: {}", criteria);
+
+        List<UserSummary> users = userRepository.searchUsers(criteria.getRole(), criteria.getProvince(),
+                criteria.getDistrict(), criteria.getActive(), pattern, criteria.getAfter(),
+                PageRequest.ofSize(size + 1));
+        String nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = users.get(size - 1).getUsername();
+        }
+        long total = userRepository.countSearchUsers(criteria.getRole(), criteria.getProvince(),
+                criteria.getDistrict(), criteria.getActive(), pattern);
+        return new UserPage(users, total, nextCursor);
+    }
+
+    private static String likePattern(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String escaped = text.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
     /**
      * Deletes a user by ID.
      *
@@ -214,6 +294,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND_MSG + id));
 
         userRepository.delete(user);
+        districtRoster.userRemoved(user.getId());
+        userCache.removeUserFromCache(user.getUsername());
+        revokeTokens(user);
         logger.info("User deleted successfully: {}", user.getUsername());
     }
 
@@ -233,6 +316,9 @@ public class UserServiceImpl implements UserService {
 
         user.setActive(active);
         User updatedUser = userRepository.save(user);
+        districtRoster.userSaved(updatedUser);
+        userCache.removeUserFromCache(user.getUsername());
+        revokeTokens(user);
 
         logger.info("User status updated successfully: {}", updatedUser.getUsername());
 
@@ -259,4 +345,15 @@ public class UserServiceImpl implements UserService {
                 .map(UserResponse::fromUser)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Revokes the user's API tokens, which carry its old role and profile, in the stateless mode.
+     *
+     * @param user the changed user
+     */
+    private void revokeTokens(User user) {
+        if (tokenService != null) {
+            tokenService.revokeUserTokens(user.getId());
+        }
+    }
 }
@@ -0,0 +1,466 @@
+package com.adrs.session;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session repository keeping HTTP sessions in the database, so that every node behind
+ * the load balancer sees the same sessions.
+ *
+ * A session is read as one row, together with the security context and the marker of
+ * a session expired by the single-session rule, which nearly every request needs. Other
+ * attributes are read one at a time when first asked for, and deserialized on first use.
+ * Only attributes set during a request are written back, in the compact form of
+ * {@link SessionAttributeCodec}.
+ *
+ * The last access time changes on every request, so it is not written then: saving a
+ * session that only had its access time bumped keeps the time in memory, and those are
+ * written every {@code app.session.last-access-flush-interval} as one batched update.
+ * Another node therefore sees a session's access time up to that much late, which only
+ * matters within that margin of the session timeout. Expired sessions are removed
+ * periodically, leaving the same margin for access times not yet written.
+ *
+ * Sessions are indexed by principal name, which backs the cluster-wide session registry.
+ * Publishes {@code sessions.last_access.pending}.
+ */
+public class JdbcSessionRepository implements FindByIndexNameSessionRepository<JdbcSessionRepository.JdbcSession> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSessionRepository.class);
+
+    static final String SECURITY_CONTEXT_ATTRIBUTE = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+    static final String SESSION_EXPIRED_ATTRIBUTE =
+            "org.springframework.session.security.SpringSessionBackedSessionInformation.EXPIRED";
+    private static final int MAX_ROWS_PER_STATEMENT = 1_000;
+    private static final long NEVER_EXPIRES = Long.MAX_VALUE;
+
+    private static final String SELECT_SESSIONS = "SELECT s.primary_id, s.session_id, s.creation_time, "
+            + "s.last_access_time, s.max_inactive_interval, s.principal_name, a.attribute_name, a.attribute_bytes "
+            + "FROM http_sessions s LEFT JOIN http_session_attributes a "
+            + "ON a.session_primary_id = s.primary_id AND a.attribute_name IN (?, ?) ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final SessionAttributeCodec codec;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration lastAccessFlushInterval;
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    /** Access times not yet written, in epoch milliseconds by primary ID. */
+    private final Map<String, Long> pendingLastAccess = new ConcurrentHashMap<>();
+
+    /**
+     * @param jdbcTemplate               template over the session tables
+     * @param transactionOperations      transactions for writes of several statements
+     * @param codec                      attribute serialization
+     * @param defaultMaxInactiveInterval timeout of new sessions
+     * @param lastAccessFlushInterval    how often pending access times are written
+     * @param meterRegistry              registry for the repository metrics
+     */
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                 SessionAttributeCodec codec, Duration defaultMaxInactiveInterval,
+                                 Duration lastAccessFlushInterval, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.codec = codec;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.lastAccessFlushInterval = lastAccessFlushInterval;
+        Gauge.builder("sessions.last_access.pending", pendingLastAccess, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        Instant now = Instant.now();
+        return new JdbcSession(UUID.randomUUID().toString(), UUID.randomUUID().toString(), now, now,
+                defaultMaxInactiveInterval, null, true);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        if (session.isNew) {
+            transactionOperations.executeWithoutResult(status -> insert(session));
+        } else if (session.rowChanged || !session.changes.isEmpty()) {
+            transactionOperations.executeWithoutResult(status -> update(session));
+        }
+        if (session.lastAccessChanged && !session.isNew) {
+            pendingLastAccess.merge(session.primaryId, session.lastAccessedTime.toEpochMilli(), Math::max);
+        }
+        session.saved();
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        List<JdbcSession> sessions = jdbcTemplate.query(SELECT_SESSIONS + "WHERE s.session_id = ?",
+                this::extractSessions, SECURITY_CONTEXT_ATTRIBUTE, SESSION_EXPIRED_ATTRIBUTE, id);
+        if (sessions.isEmpty()) {
+            return null;
+        }
+        JdbcSession session = sessions.get(0);
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbcTemplate.update("DELETE FROM http_sessions WHERE session_id = ?", id);
+    }
+
+    @Override
+    public Map<String, JdbcSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Collections.emptyMap();
+        }
+        Map<String, JdbcSession> sessions = new LinkedHashMap<>();
+        for (JdbcSession session : jdbcTemplate.query(SELECT_SESSIONS + "WHERE s.principal_name = ?",
+                this::extractSessions, SECURITY_CONTEXT_ATTRIBUTE, SESSION_EXPIRED_ATTRIBUTE, indexValue)) {
+            if (!session.isExpired()) {
+                sessions.put(session.getId(), session);
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Write pending access times.
+     *
+     * @return the number of sessions written
+     */
+    @Scheduled(fixedDelayString = "${app.session.last-access-flush-interval:PT10S}")
+    public synchronized int flushLastAccessTimes() {
+        if (pendingLastAccess.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(pendingLastAccess.size());
+        for (String primaryId : pendingLastAccess.keySet()) {
+            Long lastAccess = pendingLastAccess.remove(primaryId);
+            if (lastAccess != null) {
+                rows.add(new Object[] {primaryId, lastAccess});
+            }
+        }
+
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            try {
+                jdbcTemplate.update(lastAccessUpdateSql(chunk.size()),
+                        chunk.stream().flatMap(Arrays::stream).toArray());
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write {} session access times, retrying on the next flush", chunk.size(), e);
+                for (Object[] row : chunk) {
+                    pendingLastAccess.merge((String) row[0], (Long) row[1], Math::max);
+                }
+            }
+        }
+        return rows.size();
+    }
+
+    /**
+     * Delete expired sessions, allowing for access times other nodes have not written yet.
+     *
+     * @return the number of sessions deleted
+     */
+    @Scheduled(fixedDelayString = "${app.session.cleanup-interval:PT1M}")
+    public int cleanUpExpiredSessions() {
+        flushLastAccessTimes();
+        long cutoff = Instant.now().minus(lastAccessFlushInterval.multipliedBy(2)).toEpochMilli();
+        int deleted = jdbcTemplate.update("DELETE FROM http_sessions WHERE expiry_time < ?", cutoff);
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired sessions", deleted);
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLastAccessTimes();
+    }
+
+    private void insert(JdbcSession session) {
+        session.principalName = principalNameResolver.resolveIndexValueFor(session);
+        jdbcTemplate.update("INSERT INTO http_sessions (primary_id, session_id, creation_time, last_access_time, "
+                        + "max_inactive_interval, expiry_time, principal_name) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                session.primaryId, session.id, session.creationTime.toEpochMilli(),
+                session.lastAccessedTime.toEpochMilli(), (int) session.maxInactiveInterval.toSeconds(),
+                session.expiryTime(), session.principalName);
+        writeAttributes(session);
+    }
+
+    private void update(JdbcSession session) {
+        if (!session.changes.isEmpty()) {
+            String principalName = principalNameResolver.resolveIndexValueFor(session);
+            if (!Objects.equals(principalName, session.principalName)) {
+                session.principalName = principalName;
+                session.rowChanged = true;
+            }
+        }
+        if (session.rowChanged) {
+            jdbcTemplate.update("UPDATE http_sessions SET session_id = ?, "
+                            + "last_access_time = GREATEST(last_access_time, ?), max_inactive_interval = ?, "
+                            + "expiry_time = ?, principal_name = ? WHERE primary_id = ?",
+                    session.id, session.lastAccessedTime.toEpochMilli(),
+                    (int) session.maxInactiveInterval.toSeconds(), session.expiryTime(),
+                    session.principalName, session.primaryId);
+        }
+        writeAttributes(session);
+    }
+
+    private void writeAttributes(JdbcSession session) {
+        if (session.changes.isEmpty()) {
+            return;
+        }
+        if (!session.isNew) {
+            jdbcTemplate.batchUpdate("DELETE FROM http_session_attributes "
+                            + "WHERE session_primary_id = ? AND attribute_name = ?",
+                    session.changes.keySet().stream()
+                            .map(name -> new Object[] {session.primaryId, name})
+                            .toList());
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        session.changes.forEach((name, value) -> {
+            if (value != null) {
+                inserts.add(new Object[] {session.primaryId, name, codec.encode(value)});
+            }
+        });
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO http_session_attributes "
+                    + "(session_primary_id, attribute_name, attribute_bytes) VALUES (?, ?, ?)", inserts);
+        }
+    }
+
+    private StoredAttribute loadAttribute(String primaryId, String name) {
+        List<byte[]> values = jdbcTemplate.query("SELECT attribute_bytes FROM http_session_attributes "
+                        + "WHERE session_primary_id = ? AND attribute_name = ?",
+                (rs, rowNum) -> rs.getBytes(1), primaryId, name);
+        return values.isEmpty() ? null : new StoredAttribute(values.get(0), null);
+    }
+
+    private List<String> loadAttributeNames(String primaryId) {
+        return jdbcTemplate.queryForList("SELECT attribute_name FROM http_session_attributes "
+                + "WHERE session_primary_id = ?", String.class, primaryId);
+    }
+
+    private List<JdbcSession> extractSessions(ResultSet rs) throws SQLException {
+        Map<String, JdbcSession> sessions = new LinkedHashMap<>();
+        while (rs.next()) {
+            String primaryId = rs.getString("primary_id").trim();
+            JdbcSession session = sessions.get(primaryId);
+            if (session == null) {
+                long lastAccess = Math.max(rs.getLong("last_access_time"),
+                        pendingLastAccess.getOrDefault(primaryId, Long.MIN_VALUE));
+                session = new JdbcSession(primaryId, rs.getString("session_id"),
+                        Instant.ofEpochMilli(rs.getLong("creation_time")), Instant.ofEpochMilli(lastAccess),
+                        Duration.ofSeconds(rs.getInt("max_inactive_interval")), rs.getString("principal_name"), false);
+                // The preloaded attributes are known, whether present or not
+                session.attributes.put(SECURITY_CONTEXT_ATTRIBUTE, null);
+                session.attributes.put(SESSION_EXPIRED_ATTRIBUTE, null);
+                sessions.put(primaryId, session);
+            }
+            String name = rs.getString("attribute_name");
+            if (name != null) {
+                session.attributes.put(name, new StoredAttribute(rs.getBytes("attribute_bytes"), null));
+            }
+        }
+        return new ArrayList<>(sessions.values());
+    }
+
+    private static String lastAccessUpdateSql(int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE http_sessions s SET last_access_time = v.last_access_time, "
+                + "expiry_time = CASE WHEN s.max_inactive_interval < 0 THEN " + NEVER_EXPIRES
+                + " ELSE v.last_access_time + s.max_inactive_interval * CAST(1000 AS BIGINT) END FROM (VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS CHAR(36)), CAST(? AS BIGINT))");
+        }
+        return sql.append(") AS v(primary_id, last_access_time) ")
+                .append("WHERE s.primary_id = v.primary_id AND s.last_access_time < v.last_access_time")
+                .toString();
+    }
+
+    /**
+     * Attribute as read from the database, deserialized on first use.
+     */
+    private final class StoredAttribute {
+
+        private byte[] bytes;
+        private Object value;
+
+        private StoredAttribute(byte[] bytes, Object value) {
+            this.bytes = bytes;
+            this.value = value;
+        }
+
+        private Object value() {
+            if (bytes != null) {
+                value = codec.decode(bytes);
+                bytes = null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Session of the JDBC repository, tracking what a request changed.
+     */
+    public final class JdbcSession implements Session {
+
+        private final String primaryId;
+        private final Instant creationTime;
+        private String id;
+        private Instant lastAccessedTime;
+        private Duration maxInactiveInterval;
+        private String principalName;
+        private boolean isNew;
+        private boolean rowChanged;
+        private boolean lastAccessChanged;
+
+        /** Attributes read so far by name; a null value marks one known to be absent. */
+        private final Map<String, StoredAttribute> attributes = new HashMap<>();
+        /** Attributes set or removed since the last save; a null value marks a removal. */
+        private final Map<String, Object> changes = new LinkedHashMap<>();
+        private Set<String> attributeNames;
+
+        private JdbcSession(String primaryId, String id, Instant creationTime, Instant lastAccessedTime,
+                            Duration maxInactiveInterval, String principalName, boolean isNew) {
+            this.primaryId = primaryId;
+            this.id = id;
+            this.creationTime = creationTime;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.principalName = principalName;
+            this.isNew = isNew;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            id = UUID.randomUUID().toString();
+            rowChanged = true;
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            if (changes.containsKey(attributeName)) {
+                return (T) changes.get(attributeName);
+            }
+            if (!attributes.containsKey(attributeName)) {
+                attributes.put(attributeName, isNew ? null : loadAttribute(primaryId, attributeName));
+            }
+            StoredAttribute attribute = attributes.get(attributeName);
+            return attribute == null ? null : (T) attribute.value();
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            if (attributeNames == null) {
+                attributeNames = isNew ? new HashSet<>() : new HashSet<>(loadAttributeNames(primaryId));
+                changes.forEach((name, value) -> {
+                    if (value == null) {
+                        attributeNames.remove(name);
+                    } else {
+                        attributeNames.add(name);
+                    }
+                });
+            }
+            return Collections.unmodifiableSet(new HashSet<>(attributeNames));
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+                return;
+            }
+            changes.put(attributeName, attributeValue);
+            if (attributeNames != null) {
+                attributeNames.add(attributeName);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            changes.put(attributeName, null);
+            if (attributeNames != null) {
+                attributeNames.remove(attributeName);
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+            this.lastAccessChanged = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            this.maxInactiveInterval = interval;
+            this.rowChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return expiryTime() < Instant.now().toEpochMilli();
+        }
+
+        private long expiryTime() {
+            return maxInactiveInterval.isNegative()
+                    ? NEVER_EXPIRES
+                    : lastAccessedTime.plus(maxInactiveInterval).toEpochMilli();
+        }
+
+        private void saved() {
+            changes.forEach((name, value) -> attributes.put(name, value == null ? null : new StoredAttribute(null, value)));
+            changes.clear();
+            isNew = false;
+            rowChanged = false;
+            lastAccessChanged = false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.adrs.session;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes session attributes for the shared session store.
+ *
+ * Attributes are Java-serialized, as the servlet container does, and deflated when the
+ * result is large enough to gain from it; a security context typically shrinks by half.
+ * The first byte says which, so small attributes cost one byte over plain serialization.
+ */
+public class SessionAttributeCodec {
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+    static final int DEFLATE_THRESHOLD = 256;
+
+    private final ClassLoader classLoader;
+
+    /**
+     * @param classLoader class loader to deserialize attributes with
+     */
+    public SessionAttributeCodec(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Serialize an attribute.
+     *
+     * @param value the attribute value, which must be serializable
+     * @return the stored form
+     */
+    public byte[] encode(Object value) {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream(DEFLATE_THRESHOLD);
+        serialized.write(PLAIN);
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Session attribute is not serializable: " + value.getClass().getName(), e);
+        }
+        if (serialized.size() < DEFLATE_THRESHOLD) {
+            return serialized.toByteArray();
+        }
+
+        byte[] plain = serialized.toByteArray();
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(plain.length / 2);
+        deflated.write(DEFLATED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, new Deflater(Deflater.BEST_SPEED))) {
+            out.write(plain, 1, plain.length - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deflated.size() < plain.length ? deflated.toByteArray() : plain;
+    }
+
+    /**
+     * Deserialize an attribute.
+     *
+     * @param bytes the stored form
+     * @return the attribute value
+     */
+    public Object decode(byte[] bytes) {
+        InputStream in = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        if (bytes[0] == DEFLATED) {
+            in = new InflaterInputStream(in);
+        }
+        try (ObjectInputStream objects = new ConfigurableObjectInputStream(in, classLoader)) {
+            return objects.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot read session attribute", e);
+        }
+    }
+}
@@ -0,0 +1,764 @@
+package com.adrs.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compressed bitmap of non-negative ints, laid out like a Roaring bitmap.
+ *
+ * Values are split into chunks of 65536 by their high 16 bits. A chunk holding at
+ * most 4096 values is a sorted char array; a denser chunk is a 1024-word bitset.
+ * Either way a chunk never takes more than 8KB, and set operations run chunk by
+ * chunk on whichever representations meet, without visiting individual values
+ * when both sides are bitsets.
+ *
+ * {@link #add} and {@link #remove} modify the bitmap in place; {@link #and},
+ * {@link #or} and {@link #andNot} return new bitmaps that share nothing with
+ * their inputs. Not thread-safe.
+ */
+public class CompressedBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public CompressedBitmap() {
+        this(4);
+    }
+
+    private CompressedBitmap(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value a non-negative int
+     */
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = indexOf(key);
+        if (i >= 0) {
+            containers[i] = containers[i].add((char) value);
+        } else {
+            insertAt(-i - 1, key, new ArrayContainer().add((char) value));
+        }
+    }
+
+    /**
+     * Remove a value if present.
+     *
+     * @param value a non-negative int
+     */
+    public void remove(int value) {
+        checkValue(value);
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return;
+        }
+        Container container = containers[i].remove((char) value);
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        } else {
+            containers[i] = container;
+        }
+    }
+
+    /**
+     * @param value a non-negative int
+     * @return whether the value is in the bitmap
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * @return number of values in the bitmap
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return approximate heap footprint of the value storage in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * @return a new bitmap with the values in both this and other
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(size, other.size)));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.append(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection with other, without building it.
+     *
+     * @return number of values in both this and other
+     */
+    public long andCardinality(CompressedBitmap other) {
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Number of values in every one of the bitmaps and not in excluded, counted
+     * chunk by chunk without building intermediate bitmaps.
+     *
+     * @param bitmaps  the bitmaps to intersect, at least one
+     * @param excluded values not to count, or null
+     * @return size of the intersection minus excluded
+     */
+    public static long andCardinality(List<CompressedBitmap> bitmaps, CompressedBitmap excluded) {
+        CompressedBitmap fewestChunks = bitmaps.get(0);
+        for (CompressedBitmap bitmap : bitmaps) {
+            if (bitmap.size < fewestChunks.size) {
+                fewestChunks = bitmap;
+            }
+        }
+        Container[] chunk = new Container[bitmaps.size()];
+        ChunkScratch scratch = new ChunkScratch();
+        long cardinality = 0;
+        for (int i = 0; i < fewestChunks.size; i++) {
+            char key = fewestChunks.keys[i];
+            ArrayContainer sparsest = null;
+            boolean inAll = true;
+            for (int b = 0; b < chunk.length && inAll; b++) {
+                CompressedBitmap bitmap = bitmaps.get(b);
+                int index = bitmap.indexOf(key);
+                if (index < 0) {
+                    inAll = false;
+                } else {
+                    chunk[b] = bitmap.containers[index];
+                    if (chunk[b] instanceof ArrayContainer array
+                            && (sparsest == null || array.cardinality < sparsest.cardinality)) {
+                        sparsest = array;
+                    }
+                }
+            }
+            if (inAll) {
+                int excludedIndex = excluded != null ? excluded.indexOf(key) : -1;
+                cardinality += scratch.count(chunk, sparsest, excludedIndex >= 0 ? excluded.containers[excludedIndex] : null);
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return a new bitmap with the values in this or other
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = copy();
+        result.orInPlace(other);
+        return result;
+    }
+
+    /**
+     * Union of any number of bitmaps, accumulated into one result rather than
+     * through pairwise intermediate bitmaps.
+     *
+     * @return a new bitmap with the values in any of the bitmaps
+     */
+    public static CompressedBitmap or(Collection<CompressedBitmap> bitmaps) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (CompressedBitmap bitmap : bitmaps) {
+            result.orInPlace(bitmap);
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap with the values in this but not in other
+     */
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap(Math.max(1, size));
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (container.cardinality() > 0) {
+                result.append(keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a copy sharing no storage with this bitmap
+     */
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap(Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    private void orInPlace(CompressedBitmap other) {
+        char[] mergedKeys = new char[size + other.size];
+        Container[] merged = new Container[size + other.size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                mergedKeys[n] = keys[i];
+                merged[n++] = containers[i++];
+            } else if (i == size || keys[i] > other.keys[j]) {
+                mergedKeys[n] = other.keys[j];
+                merged[n++] = other.containers[j++].copy();
+            } else {
+                mergedKeys[n] = keys[i];
+                merged[n++] = containers[i++].orInPlace(other.containers[j++]);
+            }
+        }
+        keys = mergedKeys;
+        containers = merged;
+        size = n;
+    }
+
+    private int indexOf(char key) {
+        // Appends go to the end, so check the last chunk before searching.
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            containers = Arrays.copyOf(containers, keys.length);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void append(char key, Container container) {
+        insertAt(size, key, container);
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must not be negative: " + value);
+        }
+    }
+
+    // ========================================
+    // CONTAINERS
+    // ========================================
+
+    /**
+     * The low 16 bits of the values in one chunk. Operations may return this,
+     * the other operand never, or a new container in the better representation.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container and(Container other);
+
+        abstract int andCardinality(Container other);
+
+        abstract Container andNot(Container other);
+
+        /** Union that may reuse this container's storage. */
+        abstract Container orInPlace(Container other);
+
+        abstract Container copy();
+
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            // Row numbers mostly arrive in increasing order.
+            int index = cardinality > 0 && values[cardinality - 1] < value
+                    ? -cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                // Branch-free merge: always write, advance the output only on a match.
+                char[] otherValues = array.values;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    char a = values[i];
+                    char b = otherValues[j];
+                    result[n] = a;
+                    n += a == b ? 1 : 0;
+                    i += a <= b ? 1 : 0;
+                    j += a >= b ? 1 : 0;
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                char[] otherValues = array.values;
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    char a = values[i];
+                    char b = otherValues[j];
+                    n += a == b ? 1 : 0;
+                    i += a <= b ? 1 : 0;
+                    j += a >= b ? 1 : 0;
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.copy().orInPlace(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            if (cardinality + array.cardinality > ARRAY_LIMIT) {
+                return toBitmap().orInPlace(array);
+            }
+            char[] result = new char[cardinality + array.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + values.length * 2L;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[WORDS];
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                n += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, n).normalize();
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                n += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return n;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            long[] result = words.clone();
+            int n = cardinality;
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.values[i];
+                    long bit = 1L << value;
+                    if ((result[value >>> 6] & bit) != 0) {
+                        result[value >>> 6] &= ~bit;
+                        n--;
+                    }
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                n = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~otherWords[i];
+                    n += Long.bitCount(result[i]);
+                }
+            }
+            return new BitmapContainer(result, n).normalize();
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+                return this;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] |= otherWords[i];
+                n += Long.bitCount(words[i]);
+            }
+            cardinality = n;
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + WORDS * 8L;
+        }
+
+        private Container normalize() {
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) (i * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+
+    /**
+     * Working storage for counting the intersection of one chunk across bitmaps.
+     *
+     * Sparse chunks are intersected first: each further array is marked in a zeroed
+     * bitset and the candidates are filtered against it, which pipelines better than
+     * a merge. Dense chunks are ANDed word by word into a second bitset, with
+     * excluded values cleared, when there are enough candidates to make that cheaper
+     * than testing each candidate against every chunk.
+     */
+    private static final class ChunkScratch {
+        private static final int PROBE_LIMIT = 256;
+
+        private final long[] dense = new long[WORDS];
+        private final long[] marks = new long[WORDS];
+        private final char[] candidates = new char[ARRAY_LIMIT];
+
+        int count(Container[] chunk, ArrayContainer sparsest, Container excluded) {
+            if (sparsest == null) {
+                andBitmaps(chunk, excluded);
+                int n = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    n += Long.bitCount(dense[i]);
+                }
+                if (excluded instanceof ArrayContainer array) {
+                    for (int i = 0; i < array.cardinality; i++) {
+                        n -= isSet(dense, array.values[i]);
+                    }
+                }
+                return n;
+            }
+
+            int n = intersectArrays(chunk, sparsest);
+            boolean anyBitmap = false;
+            for (Container container : chunk) {
+                anyBitmap |= container instanceof BitmapContainer;
+            }
+            int count = 0;
+            if (anyBitmap && n >= PROBE_LIMIT) {
+                andBitmaps(chunk, excluded);
+                boolean excludedLeft = excluded instanceof ArrayContainer;
+                for (int i = 0; i < n; i++) {
+                    char value = candidates[i];
+                    int match = isSet(dense, value);
+                    if (excludedLeft && match == 1 && excluded.contains(value)) {
+                        match = 0;
+                    }
+                    count += match;
+                }
+                return count;
+            }
+            for (int i = 0; i < n; i++) {
+                char value = candidates[i];
+                boolean match = excluded == null || !excluded.contains(value);
+                for (int c = 0; c < chunk.length && match; c++) {
+                    match = !(chunk[c] instanceof BitmapContainer bitmap) || bitmap.contains(value);
+                }
+                count += match ? 1 : 0;
+            }
+            return count;
+        }
+
+        /**
+         * Intersect the array containers of chunk into candidates.
+         *
+         * @return number of candidates
+         */
+        private int intersectArrays(Container[] chunk, ArrayContainer sparsest) {
+            System.arraycopy(sparsest.values, 0, candidates, 0, sparsest.cardinality);
+            int n = sparsest.cardinality;
+            for (Container container : chunk) {
+                if (container != sparsest && container instanceof ArrayContainer array && n > 0) {
+                    char[] values = array.values;
+                    for (int i = 0; i < array.cardinality; i++) {
+                        marks[values[i] >>> 6] |= 1L << values[i];
+                    }
+                    int kept = 0;
+                    for (int i = 0; i < n; i++) {
+                        char value = candidates[i];
+                        candidates[kept] = value;
+                        kept += isSet(marks, value);
+                    }
+                    n = kept;
+                    for (int i = 0; i < array.cardinality; i++) {
+                        marks[values[i] >>> 6] = 0;
+                    }
+                }
+            }
+            return n;
+        }
+
+        /**
+         * AND the bitmap containers of chunk into dense, clearing excluded values if
+         * excluded is a bitmap too. Requires at least one bitmap container.
+         */
+        private void andBitmaps(Container[] chunk, Container excluded) {
+            boolean first = true;
+            for (Container container : chunk) {
+                if (container instanceof BitmapContainer bitmap) {
+                    if (first) {
+                        System.arraycopy(bitmap.words, 0, dense, 0, WORDS);
+                        first = false;
+                    } else {
+                        for (int i = 0; i < WORDS; i++) {
+                            dense[i] &= bitmap.words[i];
+                        }
+                    }
+                }
+            }
+            if (excluded instanceof BitmapContainer bitmap) {
+                for (int i = 0; i < WORDS; i++) {
+                    dense[i] &= ~bitmap.words[i];
+                }
+            }
+        }
+
+        private static int isSet(long[] words, char value) {
+            return (int) (words[value >>> 6] >>> value) & 1;
+        }
+    }
+}
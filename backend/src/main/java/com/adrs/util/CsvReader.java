@@ -0,0 +1,107 @@
+package com.adrs.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV reader that parses one row at a time from the underlying reader.
+ *
+ * Accepts CRLF or LF line endings and skips a leading byte order mark. A quoted field
+ * that starts with an apostrophe followed by {@code =}, {@code +}, {@code -} or
+ * {@code @} has the apostrophe removed, undoing the formula guard of {@link CsvWriter},
+ * so files written by it read back unchanged.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int next;
+    private long line = 1;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+        this.next = reader.read();
+        if (next == '\uFEFF') {
+            next = reader.read();
+        }
+    }
+
+    /**
+     * Read the next row. Empty fields are returned as empty strings.
+     *
+     * @return the fields of the row, or {@code null} at the end of the input
+     * @throws IOException if the underlying reader fails
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public List<String> readRow() throws IOException {
+        if (next == -1) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        while (true) {
+            boolean quoted = next == '"';
+            if (quoted) {
+                readQuoted();
+            } else {
+                while (next != ',' && next != '\n' && next != '\r' && next != -1) {
+                    field.append((char) next);
+                    next = reader.read();
+                }
+            }
+            row.add(quoted ? unguard(field.toString()) : field.toString());
+            field.setLength(0);
+
+            if (next == ',') {
+                next = reader.read();
+                continue;
+            }
+            if (next == '\r') {
+                next = reader.read();
+            }
+            if (next == '\n') {
+                next = reader.read();
+            }
+            line++;
+            return row;
+        }
+    }
+
+    private void readQuoted() throws IOException {
+        long startLine = line;
+        next = reader.read();
+        while (true) {
+            if (next == -1) {
+                throw new IllegalArgumentException("Unterminated quoted field starting on line " + startLine);
+            }
+            if (next == '"') {
+                next = reader.read();
+                if (next != '"') {
+                    break;
+                }
+            } else if (next == '\n') {
+                line++;
+            }
+            field.append((char) next);
+            next = reader.read();
+        }
+        while (next != ',' && next != '\n' && next != '\r' && next != -1) {
+            field.append((char) next);
+            next = reader.read();
+        }
+    }
+
+    private static String unguard(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
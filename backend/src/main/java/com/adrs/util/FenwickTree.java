@@ -0,0 +1,101 @@
+package com.adrs.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary indexed (Fenwick) tree of int counts over positions 0, 1, 2, ...
+ *
+ * Adding to a position and summing any range of positions both take
+ * O(log n). The capacity is a power of two and doubles when a position
+ * beyond it is added to: the old nodes keep their meaning and the new root
+ * takes the old total, so growing does not rebuild the tree. Not thread-safe.
+ */
+public class FenwickTree {
+
+    /** 1-based: node i holds the sum of positions [i - lowbit(i), i). */
+    private int[] tree;
+    private int capacity;
+
+    public FenwickTree() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of positions to size the tree for
+     */
+    public FenwickTree(int expectedSize) {
+        capacity = Integer.highestOneBit(Math.max(2, expectedSize) - 1) << 1;
+        tree = new int[capacity + 1];
+    }
+
+    /**
+     * Add to the count at a position.
+     *
+     * @param position non-negative position
+     * @param delta    amount to add, may be negative
+     */
+    public void add(int position, int delta) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative: " + position);
+        }
+        if (position >= capacity) {
+            grow(position);
+        }
+        for (int i = position + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @param position last position, inclusive
+     * @return sum of the counts at positions 0 to {@code position}
+     */
+    public long prefixSum(int position) {
+        long sum = 0;
+        for (int i = Math.min(position + 1, capacity); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param from first position, inclusive
+     * @param to   last position, inclusive
+     * @return sum of the counts at positions {@code from} to {@code to}, or 0 if the range is empty
+     */
+    public long rangeSum(int from, int to) {
+        from = Math.max(from, 0);
+        if (to < from) {
+            return 0;
+        }
+        return prefixSum(to) - prefixSum(from - 1);
+    }
+
+    /**
+     * @return sum of all counts
+     */
+    public long total() {
+        return tree[capacity];
+    }
+
+    /**
+     * @return number of positions held without growing
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private void grow(int position) {
+        int grown = capacity;
+        while (grown <= position) {
+            grown <<= 1;
+        }
+        int[] larger = Arrays.copyOf(tree, grown + 1);
+        int total = tree[capacity];
+        for (int root = capacity << 1; root <= grown; root <<= 1) {
+            larger[root] = total;
+        }
+        tree = larger;
+        capacity = grown;
+    }
+}
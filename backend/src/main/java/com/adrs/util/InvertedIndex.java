@@ -0,0 +1,647 @@
+package com.adrs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory positional inverted index with BM25 ranking.
+ *
+ * Each indexed document gets an internal document number that only ever increases,
+ * so every postings list can be appended to in order. A postings list is a single
+ * byte array of variable-length integers: for each document the gap from the
+ * previous document number, the term frequency and the delta-encoded positions.
+ * Updates delete the old document number and index the new text under a fresh
+ * one; deleted numbers are skipped at query time and dropped by {@link #compact()},
+ * which runs automatically once a quarter of the numbers are dead.
+ *
+ * Query syntax: terms are ANDed, {@code OR} between two clauses makes them
+ * alternatives, a leading {@code -} excludes a clause and {@code "double quotes"}
+ * match a phrase. A word the tokenizer splits (for example {@code foot-and-mouth})
+ * is matched as a phrase.
+ *
+ * The index is safe for concurrent use; searches share a read lock and writes
+ * take the write lock.
+ *
+ * @param <K> the external document key
+ */
+public class InvertedIndex<K> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int COMPACT_MIN_DELETED = 1024;
+    private static final double COMPACT_RATIO = 0.25;
+
+    /**
+     * A ranked search hit.
+     *
+     * @param key   the document key
+     * @param score the BM25 score
+     */
+    public record Hit<K>(K key, double score) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<K, Integer> docByKey = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private Object[] keys = new Object[256];
+    private int[] docLengths = new int[256];
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Index a document, replacing any previous version with the same key.
+     *
+     * @param key    the document key
+     * @param fields the text fields; null fields are skipped and phrases never span fields
+     */
+    public void put(K key, String... fields) {
+        Map<String, IntList> termPositions = new LinkedHashMap<>();
+        int position = 0;
+        int length = 0;
+        for (String field : fields) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            position = TextTokenizer.tokenize(field, position,
+                    (term, pos) -> termPositions.computeIfAbsent(term, t -> new IntList()).add(pos)) + 1;
+        }
+        for (IntList positions : termPositions.values()) {
+            length += positions.size;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDoc(key);
+            if (!termPositions.isEmpty()) {
+                int doc = allocate(key, length);
+                for (Map.Entry<String, IntList> entry : termPositions.entrySet()) {
+                    postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(doc, entry.getValue());
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param key the document key
+     * @return true if the document was indexed
+     */
+    public boolean remove(K key) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeDoc(key);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed documents.
+     *
+     * @return live document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct terms, including terms only present in deleted documents
+     * until the next compaction.
+     *
+     * @return term count
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Run a query and return the best matches, highest score first.
+     *
+     * @param query the query string
+     * @param limit maximum number of hits
+     * @return ranked hits; empty if the query has no positive terms
+     */
+    @SuppressWarnings("unchecked")
+    public List<Hit<K>> search(String query, int limit) {
+        ParsedQuery parsed = ParsedQuery.parse(query);
+        if (parsed.groups.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double avgLength = (double) liveLength / liveDocs;
+
+            Scored result = null;
+            for (List<Clause> group : parsed.groups) {
+                Scored alternatives = null;
+                for (Clause clause : group) {
+                    Scored matches = evaluate(clause, avgLength);
+                    alternatives = alternatives == null ? matches : alternatives.or(matches);
+                }
+                result = result == null ? alternatives : result.and(alternatives);
+                if (result.size == 0) {
+                    return List.of();
+                }
+            }
+            for (Clause clause : parsed.excluded) {
+                result = result.andNot(evaluate(clause, avgLength));
+            }
+
+            Scored ranked = result;
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    Comparator.<Integer>comparingDouble(i -> ranked.scores[i]).thenComparingInt(i -> ranked.docs[i]));
+            for (int i = 0; i < ranked.size; i++) {
+                top.add(i);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Hit<K>[] hits = (Hit<K>[]) new Hit<?>[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int index = top.poll();
+                hits[i] = new Hit<>((K) keys[ranked.docs[index]], ranked.scores[index]);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop deleted documents from all postings lists and renumber the rest.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            compactDocs();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- write path (write lock held) ----
+
+    private int allocate(K key, int length) {
+        if (docCount == keys.length) {
+            keys = Arrays.copyOf(keys, docCount * 2);
+            docLengths = Arrays.copyOf(docLengths, docCount * 2);
+        }
+        int doc = docCount++;
+        keys[doc] = key;
+        docLengths[doc] = length;
+        docByKey.put(key, doc);
+        liveDocs++;
+        liveLength += length;
+        return doc;
+    }
+
+    private boolean removeDoc(K key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        keys[doc] = null;
+        liveDocs--;
+        liveLength -= docLengths[doc];
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        int dead = docCount - liveDocs;
+        if (dead >= COMPACT_MIN_DELETED && dead > docCount * COMPACT_RATIO) {
+            compactDocs();
+        }
+    }
+
+    private void compactDocs() {
+        if (docCount == liveDocs) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        Object[] newKeys = new Object[Math.max(256, liveDocs * 2)];
+        int[] newLengths = new int[newKeys.length];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                newKeys[next] = keys[doc];
+                newLengths[next] = docLengths[doc];
+                next++;
+            }
+        }
+
+        IntList positions = new IntList();
+        postings.entrySet().removeIf(entry -> {
+            PostingList rewritten = new PostingList();
+            PostingCursor cursor = entry.getValue().cursor();
+            for (int doc = cursor.nextDoc(); doc >= 0; doc = cursor.nextDoc()) {
+                if (remap[doc] >= 0) {
+                    positions.size = 0;
+                    cursor.readPositions(positions);
+                    rewritten.add(remap[doc], positions);
+                }
+            }
+            entry.setValue(rewritten);
+            return rewritten.docFreq == 0;
+        });
+
+        for (Map.Entry<K, Integer> entry : docByKey.entrySet()) {
+            entry.setValue(remap[entry.getValue()]);
+        }
+        keys = newKeys;
+        docLengths = newLengths;
+        docCount = next;
+        deleted.clear();
+    }
+
+    // ---- read path (read lock held) ----
+
+    private Scored evaluate(Clause clause, double avgLength) {
+        PostingList[] lists = new PostingList[clause.terms.length];
+        double idf = 0;
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(clause.terms[i]);
+            if (lists[i] == null) {
+                return Scored.EMPTY;
+            }
+            idf += idf(lists[i].docFreq);
+        }
+        return lists.length == 1 ? termMatches(lists[0], idf, avgLength) : phraseMatches(clause, lists, idf, avgLength);
+    }
+
+    private Scored termMatches(PostingList list, double idf, double avgLength) {
+        Scored out = new Scored(list.docFreq);
+        PostingCursor cursor = list.cursor();
+        for (int doc = cursor.nextDoc(); doc >= 0; doc = cursor.nextDoc()) {
+            if (!deleted.get(doc)) {
+                out.add(doc, score(cursor.freq, doc, idf, avgLength));
+            }
+        }
+        return out;
+    }
+
+    private Scored phraseMatches(Clause clause, PostingList[] lists, double idf, double avgLength) {
+        int n = lists.length;
+        PostingCursor[] cursors = new PostingCursor[n];
+        IntList[] positions = new IntList[n];
+        int smallest = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            cursors[i] = lists[i].cursor();
+            positions[i] = new IntList();
+            smallest = Math.min(smallest, lists[i].docFreq);
+        }
+        Scored out = new Scored(smallest);
+
+        int target = cursors[0].nextDoc();
+        while (target >= 0) {
+            boolean aligned = true;
+            for (int i = 0; i < n; i++) {
+                int doc = cursors[i].advance(target);
+                if (doc < 0) {
+                    return out;
+                }
+                if (doc > target) {
+                    target = doc;
+                    aligned = false;
+                    break;
+                }
+            }
+            if (!aligned) {
+                continue;
+            }
+            if (!deleted.get(target)) {
+                for (int i = 0; i < n; i++) {
+                    positions[i].size = 0;
+                    cursors[i].readPositions(positions[i]);
+                }
+                int frequency = phraseFrequency(clause.offsets, positions);
+                if (frequency > 0) {
+                    out.add(target, score(frequency, target, idf, avgLength));
+                }
+            }
+            target = cursors[0].nextDoc();
+        }
+        return out;
+    }
+
+    private static int phraseFrequency(int[] offsets, IntList[] positions) {
+        int frequency = 0;
+        IntList first = positions[0];
+        for (int p = 0; p < first.size; p++) {
+            int start = first.values[p] - offsets[0];
+            boolean match = true;
+            for (int i = 1; i < offsets.length && match; i++) {
+                match = Arrays.binarySearch(positions[i].values, 0, positions[i].size, start + offsets[i]) >= 0;
+            }
+            if (match) {
+                frequency++;
+            }
+        }
+        return frequency;
+    }
+
+    private double idf(int docFreq) {
+        int df = Math.min(docFreq, liveDocs);
+        return Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+    }
+
+    private float score(int freq, int doc, double idf, double avgLength) {
+        double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+        return (float) (idf * freq * (K1 + 1) / (freq + norm));
+    }
+
+    // ---- postings encoding ----
+
+    private static final class PostingList {
+        private byte[] data = new byte[8];
+        private int length;
+        private int lastDoc = -1;
+        private int docFreq;
+
+        void add(int doc, IntList positions) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(positions.size);
+            int previous = 0;
+            for (int i = 0; i < positions.size; i++) {
+                writeVarInt(positions.values[i] - previous);
+                previous = positions.values[i];
+            }
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        PostingCursor cursor() {
+            return new PostingCursor(this);
+        }
+
+        private void writeVarInt(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+
+    private static final class PostingCursor {
+        private final byte[] data;
+        private final int end;
+        private int offset;
+        private int doc = -1;
+        private int freq;
+        private int unreadPositions;
+
+        PostingCursor(PostingList list) {
+            this.data = list.data;
+            this.end = list.length;
+        }
+
+        int nextDoc() {
+            while (unreadPositions > 0) {
+                readVarInt();
+                unreadPositions--;
+            }
+            if (offset >= end) {
+                doc = -1;
+                return -1;
+            }
+            doc += readVarInt();
+            freq = readVarInt();
+            unreadPositions = freq;
+            return doc;
+        }
+
+        int advance(int target) {
+            int current = doc;
+            while (current < target) {
+                current = nextDoc();
+                if (current < 0) {
+                    return -1;
+                }
+            }
+            return current;
+        }
+
+        void readPositions(IntList into) {
+            int position = 0;
+            while (unreadPositions > 0) {
+                position += readVarInt();
+                into.add(position);
+                unreadPositions--;
+            }
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Document numbers in ascending order with their scores.
+     */
+    private static final class Scored {
+        private static final Scored EMPTY = new Scored(0);
+
+        private int[] docs;
+        private float[] scores;
+        private int size;
+
+        Scored(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(8, size * 2));
+                scores = Arrays.copyOf(scores, docs.length);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        Scored and(Scored other) {
+            Scored out = new Scored(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    out.add(docs[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return out;
+        }
+
+        Scored or(Scored other) {
+            Scored out = new Scored(size + other.size);
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && docs[i] < other.docs[j])) {
+                    out.add(docs[i], scores[i++]);
+                } else if (i == size || docs[i] > other.docs[j]) {
+                    out.add(other.docs[j], other.scores[j++]);
+                } else {
+                    out.add(docs[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return out;
+        }
+
+        Scored andNot(Scored other) {
+            Scored out = new Scored(size);
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < other.size && other.docs[j] < docs[i]) {
+                    j++;
+                }
+                if (j == other.size || other.docs[j] != docs[i]) {
+                    out.add(docs[i], scores[i]);
+                }
+            }
+            return out;
+        }
+    }
+
+    // ---- query parsing ----
+
+    /**
+     * A term or phrase: terms with their offsets relative to the first term.
+     */
+    private record Clause(String[] terms, int[] offsets) {
+
+        static Clause of(String text) {
+            List<String> terms = new ArrayList<>();
+            IntList offsets = new IntList();
+            TextTokenizer.tokenize(text, 0, (term, position) -> {
+                terms.add(term);
+                offsets.add(position);
+            });
+            return terms.isEmpty() ? null
+                    : new Clause(terms.toArray(String[]::new), Arrays.copyOf(offsets.values, offsets.size));
+        }
+    }
+
+    /**
+     * Conjunction of alternative groups, minus the excluded clauses.
+     */
+    private record ParsedQuery(List<List<Clause>> groups, List<Clause> excluded) {
+
+        static ParsedQuery parse(String query) {
+            List<List<Clause>> groups = new ArrayList<>();
+            List<Clause> excluded = new ArrayList<>();
+            boolean orPending = false;
+            int i = 0;
+            int n = query.length();
+            while (i < n) {
+                if (Character.isWhitespace(query.charAt(i))) {
+                    i++;
+                    continue;
+                }
+                boolean negate = query.charAt(i) == '-';
+                if (negate) {
+                    i++;
+                }
+                String text;
+                if (i < n && query.charAt(i) == '"') {
+                    int close = query.indexOf('"', i + 1);
+                    int end = close < 0 ? n : close;
+                    text = query.substring(i + 1, end);
+                    i = end + 1;
+                } else {
+                    int end = i;
+                    while (end < n && !Character.isWhitespace(query.charAt(end))) {
+                        end++;
+                    }
+                    text = query.substring(i, end);
+                    i = end;
+                    if (!negate && text.equals("OR")) {
+                        orPending = !groups.isEmpty();
+                        continue;
+                    }
+                    if (!negate && text.equals("AND")) {
+                        continue;
+                    }
+                }
+
+                Clause clause = Clause.of(text);
+                if (clause == null) {
+                    continue;
+                }
+                if (negate) {
+                    excluded.add(clause);
+                } else if (orPending) {
+                    groups.get(groups.size() - 1).add(clause);
+                    orPending = false;
+                } else {
+                    List<Clause> group = new ArrayList<>();
+                    group.add(clause);
+                    groups.add(group);
+                }
+            }
+            return new ParsedQuery(groups, excluded);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.adrs.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory prefix index for typeahead suggestions.
+ *
+ * Every word of a document's fields, split by {@link TextTokenizer#words}, is one entry
+ * in a sorted array of words, so the entries for a prefix are a contiguous run found by
+ * binary search. The array is immutable and swapped in whole, so lookups take no lock.
+ * Rebuilding it on every write would sort everything again, so recent writes go to a
+ * short list of added documents that lookups scan in full, and replaced or removed
+ * documents are skipped rather than taken out; the array is rebuilt once
+ * {@value #MAX_PENDING_CHANGES} writes have built up. Writes are serialized.
+ *
+ * A document matches a query when every query word is the prefix of one of its words.
+ * Matches are ranked by the last query word: whole words before prefixes, then by field
+ * in the order given, then shorter words first; of equal matches, the word first in the
+ * sorted array wins.
+ *
+ * @param <V> the value suggested for a document
+ */
+public class PrefixIndex<V> {
+
+    static final int MAX_PENDING_CHANGES = 256;
+
+    /**
+     * A document to index.
+     *
+     * @param key    unique key of the document
+     * @param value  the value suggested for it
+     * @param fields the text fields, most important first; null fields are skipped
+     */
+    public record Document<V>(String key, V value, List<String> fields) {
+    }
+
+    /**
+     * An indexed document; identity tells whether an entry is still current.
+     * Each word has a packed field and length, {@code field << 8 | length}.
+     */
+    private record Entry<V>(String key, V value, String[] words, short[] fieldLengths) {
+    }
+
+    /**
+     * What lookups read: the sorted words with their documents and packed field and
+     * length, and documents written since. Lookups skip a word on the packed value alone.
+     */
+    private record Snapshot<V>(String[] words, Entry<V>[] owners, short[] fieldLengths, Entry<V>[] pending) {
+    }
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private volatile Snapshot<V> snapshot = build(List.of());
+    private int changes;
+
+    /**
+     * Index a document, replacing any previous version with the same key.
+     *
+     * @param document the document
+     */
+    public synchronized void put(Document<V> document) {
+        Entry<V> entry = entry(document);
+        entries.put(document.key(), entry);
+        if (++changes >= MAX_PENDING_CHANGES) {
+            rebuild();
+            return;
+        }
+        Snapshot<V> current = snapshot;
+        Entry<V>[] pending = Arrays.copyOf(current.pending(), current.pending().length + 1);
+        pending[pending.length - 1] = entry;
+        snapshot = new Snapshot<>(current.words(), current.owners(), current.fieldLengths(), pending);
+    }
+
+    /**
+     * Index many documents at once, replacing previous versions, with a single rebuild.
+     *
+     * @param documents the documents
+     */
+    public synchronized void putAll(Collection<Document<V>> documents) {
+        for (Document<V> document : documents) {
+            entries.put(document.key(), entry(document));
+        }
+        rebuild();
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param key the document key
+     */
+    public synchronized void remove(String key) {
+        if (entries.remove(key) != null && ++changes >= MAX_PENDING_CHANGES) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Find the best documents for a query.
+     *
+     * @param query words typed so far; the last may be incomplete
+     * @param limit most values to return
+     * @return the values of the best documents, best first
+     */
+    public List<V> suggest(String query, int limit) {
+        List<String> queryWords = TextTokenizer.words(query);
+        if (queryWords.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String prefix = queryWords.get(queryWords.size() - 1);
+        TopMatches top = new TopMatches(queryWords.subList(0, queryWords.size() - 1), limit);
+        Snapshot<V> current = snapshot;
+
+        int end = lowerBound(current.words(), prefix + Character.MAX_VALUE);
+        for (int i = lowerBound(current.words(), prefix); i < end; i++) {
+            top.offer(current.owners()[i], rank(current.fieldLengths()[i], prefix));
+        }
+        Entry<V>[] pending = current.pending();
+        for (int p = 0; p < pending.length; p++) {
+            for (int w = 0; w < pending[p].words().length; w++) {
+                if (pending[p].words()[w].startsWith(prefix)) {
+                    top.offer(pending[p], rank(pending[p].fieldLengths()[w], prefix));
+                }
+            }
+        }
+        return top.values();
+    }
+
+    /**
+     * @return the number of documents indexed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of words in the sorted array, including those of replaced documents
+     */
+    public int wordCount() {
+        return snapshot.words().length;
+    }
+
+    private static int rank(short fieldLength, String prefix) {
+        // Whole word first, then field, then word length
+        return (fieldLength & 0xFF) == prefix.length() ? fieldLength : fieldLength | 1 << 16;
+    }
+
+    /**
+     * The best matches so far, best first, one per document. Ties go to the match
+     * offered first, so a candidate not ranked above the last place is dropped without
+     * reading its document.
+     */
+    private final class TopMatches {
+
+        private final List<String> otherWords;
+        private final Entry<V>[] matches;
+        private final int[] ranks;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        TopMatches(List<String> otherWords, int limit) {
+            this.otherWords = otherWords;
+            this.matches = (Entry<V>[]) new Entry<?>[limit];
+            this.ranks = new int[limit];
+        }
+
+        void offer(Entry<V> entry, int rank) {
+            if (size == matches.length && rank >= ranks[size - 1]) {
+                return;
+            }
+            int existing = indexOf(matches, entry);
+            if (existing >= 0) {
+                if (rank >= ranks[existing]) {
+                    return;
+                }
+                System.arraycopy(matches, existing + 1, matches, existing, size - existing - 1);
+                System.arraycopy(ranks, existing + 1, ranks, existing, size - existing - 1);
+                size--;
+            } else if (!isCurrent(entry) || !matchesOtherWords(entry)) {
+                return;
+            }
+
+            int position = size == matches.length ? size - 1 : size++;
+            while (position > 0 && rank < ranks[position - 1]) {
+                matches[position] = matches[position - 1];
+                ranks[position] = ranks[position - 1];
+                position--;
+            }
+            matches[position] = entry;
+            ranks[position] = rank;
+        }
+
+        List<V> values() {
+            List<V> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(matches[i].value());
+            }
+            return values;
+        }
+
+        private boolean matchesOtherWords(Entry<V> entry) {
+            for (String other : otherWords) {
+                if (!hasWordStartingWith(entry, other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static int indexOf(Entry<?>[] entries, Entry<?> entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isCurrent(Entry<V> entry) {
+        return entries.get(entry.key()) == entry;
+    }
+
+    private static boolean hasWordStartingWith(Entry<?> entry, String prefix) {
+        for (String word : entry.words()) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        snapshot = build(entries.values());
+        changes = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Snapshot<V> build(Collection<Entry<V>> entries) {
+        int count = 0;
+        for (Entry<V> entry : entries) {
+            count += entry.words().length;
+        }
+        Integer[] order = new Integer[count];
+        String[] unsortedWords = new String[count];
+        Entry<V>[] unsortedOwners = (Entry<V>[]) new Entry<?>[count];
+        short[] unsortedFieldLengths = new short[count];
+        int i = 0;
+        for (Entry<V> entry : entries) {
+            for (int w = 0; w < entry.words().length; w++) {
+                order[i] = i;
+                unsortedWords[i] = entry.words()[w];
+                unsortedOwners[i] = entry;
+                unsortedFieldLengths[i] = entry.fieldLengths()[w];
+                i++;
+            }
+        }
+        Arrays.sort(order, Comparator.comparing(index -> unsortedWords[index]));
+
+        String[] words = new String[count];
+        Entry<V>[] owners = (Entry<V>[]) new Entry<?>[count];
+        short[] fieldLengths = new short[count];
+        for (int j = 0; j < count; j++) {
+            words[j] = unsortedWords[order[j]];
+            owners[j] = unsortedOwners[order[j]];
+            fieldLengths[j] = unsortedFieldLengths[order[j]];
+        }
+        return new Snapshot<>(words, owners, fieldLengths, (Entry<V>[]) new Entry<?>[0]);
+    }
+
+    private static <V> Entry<V> entry(Document<V> document) {
+        List<String> words = new ArrayList<>();
+        List<Integer> fieldLengths = new ArrayList<>();
+        for (int field = 0; field < document.fields().size() && field <= Byte.MAX_VALUE; field++) {
+            String text = document.fields().get(field);
+            if (text == null) {
+                continue;
+            }
+            for (String word : TextTokenizer.words(text)) {
+                if (!words.contains(word)) {
+                    words.add(word);
+                    fieldLengths.add(field << 8 | Math.min(word.length(), 0xFF));
+                }
+            }
+        }
+        short[] packed = new short[fieldLengths.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = fieldLengths.get(i).shortValue();
+        }
+        return new Entry<>(document.key(), document.value(), words.toArray(String[]::new), packed);
+    }
+
+    private static int lowerBound(String[] words, String prefix) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,97 @@
+package com.adrs.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-cased search terms.
+ * A term is a run of letters, digits and combining marks, so Sinhala and Tamil
+ * words are kept whole. Common English stop words are skipped but still consume
+ * a position, so phrase offsets match between indexed text and queries.
+ */
+public final class TextTokenizer {
+
+    /**
+     * Longer runs are truncated to this many characters.
+     */
+    public static final int MAX_TERM_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have",
+            "in", "is", "it", "of", "on", "or", "the", "to", "was", "were", "with");
+
+    /**
+     * Receives each term with its position.
+     */
+    @FunctionalInterface
+    public interface TermSink {
+        void accept(String term, int position);
+    }
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Tokenize text, numbering terms from the given position.
+     *
+     * @param text          the text to tokenize
+     * @param startPosition position of the first term
+     * @param sink          receives each term
+     * @return the position following the last term
+     */
+    public static int tokenize(String text, int startPosition, TermSink sink) {
+        return tokenize(text, startPosition, true, sink);
+    }
+
+    /**
+     * Split text into lower-cased words, keeping stop words. For matching names,
+     * where a stop word may be the start of a longer word being typed.
+     *
+     * @param text the text to split
+     * @return the words in order
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        tokenize(text, 0, false, (term, position) -> words.add(term));
+        return words;
+    }
+
+    private static int tokenize(String text, int startPosition, boolean skipStopWords, TermSink sink) {
+        int position = startPosition;
+        StringBuilder term = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            if (isTermChar(cp)) {
+                if (term.length() < MAX_TERM_LENGTH) {
+                    term.appendCodePoint(Character.toLowerCase(cp));
+                }
+            } else if (term.length() > 0) {
+                position = emit(term, position, skipStopWords, sink);
+            }
+            i += Character.charCount(cp);
+        }
+        if (term.length() > 0) {
+            position = emit(term, position, skipStopWords, sink);
+        }
+        return position;
+    }
+
+    private static int emit(StringBuilder term, int position, boolean skipStopWords, TermSink sink) {
+        String value = term.toString();
+        term.setLength(0);
+        if (!skipStopWords || !STOP_WORDS.contains(value)) {
+            sink.accept(value, position);
+        }
+        return position + 1;
+    }
+
+    private static boolean isTermChar(int cp) {
+        if (Character.isLetterOrDigit(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+}
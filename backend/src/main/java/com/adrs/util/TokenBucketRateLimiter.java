@@ -0,0 +1,247 @@
+package com.adrs.util;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets for many keys in a fixed-size table.
+ *
+ * Each bucket is one long, updated by compare-and-set: a 20-bit fingerprint of its key
+ * and the bucket's theoretical arrival time (the generic cell rate algorithm form of a
+ * token bucket) in milliseconds. A key hashes to a slot and is looked for among the next
+ * {@link #PROBES} slots. A bucket whose arrival time has passed is full, the same as a
+ * bucket never used, so its slot is free for any key: idle buckets expire by themselves
+ * and the table never needs sweeping. Checks allocate nothing.
+ *
+ * Keys are hashed by {@link #keyHash} with SipHash-2-4 under a key drawn at random for
+ * each limiter, so clients cannot pick keys that share a bucket with someone else's.
+ * Different keys share a bucket only if both their slot and fingerprint collide.
+ *
+ * If every slot near a key belongs to a busy bucket the check returns {@link #OVERFLOW},
+ * counted in {@link #overflowCount()}, and the caller decides whether to allow it; size
+ * the table well above the number of keys active within one refill of a full bucket.
+ * Rates are limited to one request per millisecond per key.
+ */
+public class TokenBucketRateLimiter {
+
+    public static final int PROBES = 8;
+
+    /** Returned by {@link #tryAcquire} when the table had no slot for the key. */
+    public static final long OVERFLOW = -1;
+
+    private static final int TIME_BITS = 44;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long intervalMillis;
+    private final long toleranceMillis;
+    private final LongSupplier clockMillis;
+    private final long origin;
+    private final LongAdder overflows = new LongAdder();
+    private final long hashKey0;
+    private final long hashKey1;
+
+    /**
+     * @param limit    requests allowed per period once a bucket is empty
+     * @param period   period the limit applies to
+     * @param burst    requests allowed at once from a full bucket
+     * @param capacity most buckets, rounded up to a power of two
+     */
+    public TokenBucketRateLimiter(int limit, Duration period, int burst, int capacity) {
+        this(limit, period, burst, capacity, () -> System.nanoTime() / 1_000_000);
+    }
+
+    /**
+     * @param limit       requests allowed per period once a bucket is empty
+     * @param period      period the limit applies to
+     * @param burst       requests allowed at once from a full bucket
+     * @param capacity    most buckets, rounded up to a power of two
+     * @param clockMillis monotonic clock in milliseconds
+     */
+    public TokenBucketRateLimiter(int limit, Duration period, int burst, int capacity, LongSupplier clockMillis) {
+        if (limit < 1 || burst < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Rate limit, burst and capacity must be positive");
+        }
+        if (period.toMillis() / limit < 1) {
+            throw new IllegalArgumentException("Rate limit is over one request per millisecond: " + limit + " per " + period);
+        }
+        int size = Integer.highestOneBit(Math.max(capacity, PROBES) - 1) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalMillis = period.toMillis() / limit;
+        this.toleranceMillis = intervalMillis * (burst - 1);
+        this.clockMillis = clockMillis;
+        // Keep times positive, so an unused slot (time 0) reads as idle
+        this.origin = clockMillis.getAsLong() - 1;
+        SecureRandom random = new SecureRandom();
+        this.hashKey0 = random.nextLong();
+        this.hashKey1 = random.nextLong();
+    }
+
+    /**
+     * Hash a key for {@link #tryAcquire}, under this limiter's random hash key.
+     * Allocates nothing.
+     *
+     * @param key the key, already normalized
+     * @return the 64-bit hash of every character of the key
+     */
+    public long keyHash(CharSequence key) {
+        // SipHash-2-4 over the UTF-16 code units, little-endian, four to a word
+        long v0 = hashKey0 ^ 0x736F6D6570736575L;
+        long v1 = hashKey1 ^ 0x646F72616E646F6DL;
+        long v2 = hashKey0 ^ 0x6C7967656E657261L;
+        long v3 = hashKey1 ^ 0x7465646279746573L;
+        int length = key.length();
+        int fullWords = length / 4;
+        // One pass per word, the last holding the remaining characters and the length,
+        // then one for the finalization rounds
+        for (int word = 0; word <= fullWords + 1; word++) {
+            boolean finalization = word > fullWords;
+            long m = 0;
+            if (finalization) {
+                v2 ^= 0xFF;
+            } else {
+                int from = word * 4;
+                int to = word < fullWords ? from + 4 : length;
+                for (int i = from; i < to; i++) {
+                    m |= (long) key.charAt(i) << ((i - from) * 16);
+                }
+                if (word == fullWords) {
+                    m |= (long) (length * 2) << 56;
+                }
+                v3 ^= m;
+            }
+            for (int round = finalization ? 4 : 2; round > 0; round--) {
+                v0 += v1;
+                v1 = Long.rotateLeft(v1, 13);
+                v1 ^= v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3;
+                v3 = Long.rotateLeft(v3, 16);
+                v3 ^= v2;
+                v0 += v3;
+                v3 = Long.rotateLeft(v3, 21);
+                v3 ^= v0;
+                v2 += v1;
+                v1 = Long.rotateLeft(v1, 17);
+                v1 ^= v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    /**
+     * Take a token from a key's bucket if it has one.
+     *
+     * @param keyHash hash of the key from {@link #keyHash}
+     * @return 0 if allowed, {@link #OVERFLOW} if the table had no slot for the key,
+     *         otherwise the milliseconds until the bucket has a token
+     */
+    public long tryAcquire(long keyHash) {
+        long now = clockMillis.getAsLong() - origin;
+        long hash = mix(keyHash);
+        int start = (int) hash & mask;
+        long fingerprint = hash >>> TIME_BITS;
+
+        while (true) {
+            int slot = -1;
+            long current = 0;
+            int idleSlot = -1;
+            long idleValue = 0;
+            for (int i = 0; i < PROBES; i++) {
+                int probe = (start + i) & mask;
+                long value = slots.get(probe);
+                if (value >>> TIME_BITS == fingerprint) {
+                    slot = probe;
+                    current = value;
+                    break;
+                }
+                if (idleSlot < 0 && (value & TIME_MASK) <= now) {
+                    idleSlot = probe;
+                    idleValue = value;
+                }
+            }
+
+            long arrival;
+            if (slot >= 0) {
+                arrival = Math.max(current & TIME_MASK, now);
+            } else if (idleSlot >= 0) {
+                slot = idleSlot;
+                current = idleValue;
+                arrival = now;
+            } else {
+                overflows.increment();
+                return OVERFLOW;
+            }
+
+            long wait = arrival - now - toleranceMillis;
+            if (wait > 0) {
+                return wait;
+            }
+            if (slots.compareAndSet(slot, current, fingerprint << TIME_BITS | (arrival + intervalMillis))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Time until a key's bucket has a token, without taking one.
+     *
+     * @param keyHash hash of the key from {@link #keyHash}
+     * @return 0 if a check would be allowed or the key has no bucket, otherwise the
+     *         milliseconds until it would be
+     */
+    public long waitMillis(long keyHash) {
+        long now = clockMillis.getAsLong() - origin;
+        long hash = mix(keyHash);
+        int start = (int) hash & mask;
+        long fingerprint = hash >>> TIME_BITS;
+        for (int i = 0; i < PROBES; i++) {
+            long value = slots.get((start + i) & mask);
+            if (value >>> TIME_BITS == fingerprint) {
+                return Math.max(Math.max(value & TIME_MASK, now) - now - toleranceMillis, 0);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Number of checks that found no slot for their key.
+     *
+     * @return the overflow count
+     */
+    public long overflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * Number of buckets in use, that is, not full. Scans the table.
+     *
+     * @return the number of active buckets
+     */
+    public int activeBuckets() {
+        long now = clockMillis.getAsLong() - origin;
+        int active = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if ((slots.get(i) & TIME_MASK) > now) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    private static long mix(long keyHash) {
+        long h = keyHash * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,121 @@
+package com.adrs.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing map from UUID to a non-negative int, stored in primitive arrays.
+ * Uses about 20 bytes per slot instead of the ~100 bytes per entry of a
+ * {@code HashMap<UUID, Integer>}, which matters when every disease report has
+ * an entry. Entries cannot be removed. Not thread-safe.
+ */
+public class UuidIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] mostSignificant;
+    private long[] leastSignificant;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public UuidIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of entries to size the table for
+     */
+    public UuidIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Get the value for a key.
+     *
+     * @param key the key
+     * @return the value, or -1 if absent
+     */
+    public int get(UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int slot = hash(msb, lsb) & mask;
+        while (values[slot] >= 0) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Associate a value with a key.
+     *
+     * @param key   the key
+     * @param value a non-negative value
+     * @return the previous value, or -1 if absent
+     */
+    public int put(UUID key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative");
+        }
+        if (size >= resizeAt) {
+            rehash();
+        }
+        return insert(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int insert(long msb, long lsb, int value) {
+        int slot = hash(msb, lsb) & mask;
+        while (values[slot] >= 0) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        mostSignificant[slot] = msb;
+        leastSignificant[slot] = lsb;
+        values[slot] = value;
+        size++;
+        return -1;
+    }
+
+    private void rehash() {
+        long[] oldMsb = mostSignificant;
+        long[] oldLsb = leastSignificant;
+        int[] oldValues = values;
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] >= 0) {
+                insert(oldMsb[i], oldLsb[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSignificant = new long[capacity];
+        leastSignificant = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, -1);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
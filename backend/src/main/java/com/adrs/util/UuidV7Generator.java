@@ -0,0 +1,70 @@
+package com.adrs.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562).
+ *
+ * Layout: 48-bit Unix epoch milliseconds, 4-bit version, 12-bit sub-millisecond
+ * sequence, 2-bit variant and 62 random bits. The timestamp and sequence are
+ * advanced together with a single CAS on one {@link AtomicLong}, so identifiers are
+ * strictly increasing across all threads without taking a lock. When more than
+ * 4096 identifiers are requested within one millisecond the sequence carries into
+ * the timestamp, which keeps ordering intact at the cost of running slightly ahead
+ * of the wall clock.
+ */
+public final class UuidV7Generator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /** Last issued value of (epochMillis << 12 | sequence). */
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    /**
+     * Generates the next time-ordered UUID.
+     *
+     * @return a version 7 UUID greater than any previously generated by this JVM
+     */
+    public static UUID generate() {
+        long stamp = nextStamp(System.currentTimeMillis());
+        long millis = stamp >>> SEQUENCE_BITS;
+        long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+
+        long msb = (millis << 16) | VERSION_7 | sequence;
+        long lsb = VARIANT_RFC | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extracts the embedded Unix timestamp in milliseconds.
+     *
+     * @param uuid a version 7 UUID
+     * @return the epoch milliseconds encoded in the UUID
+     * @throws IllegalArgumentException if the UUID is not version 7
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextStamp(long nowMillis) {
+        long candidate = nowMillis << SEQUENCE_BITS;
+        while (true) {
+            long last = LAST_STAMP.get();
+            long next = candidate > last ? candidate : last + 1;
+            if (LAST_STAMP.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.adrs.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer codes to distinct values, in first-seen order.
+ * Used to dictionary-encode low-cardinality columns. Not thread-safe.
+ *
+ * @param <T> the value type
+ */
+public class ValueDictionary<T> {
+
+    private final Map<T, Integer> codes = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    /**
+     * Get the code for a value, assigning the next code if it is new.
+     *
+     * @param value the value
+     * @return its code
+     */
+    public int encode(T value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Get the code for a value without assigning one.
+     *
+     * @param value the value
+     * @return its code, or -1 if the value has not been seen
+     */
+    public int lookup(T value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * Get the value for a code.
+     *
+     * @param code a code returned by {@link #encode}
+     * @return the value
+     */
+    public T decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Number of distinct values.
+     *
+     * @return dictionary size
+     */
+    public int size() {
+        return values.size();
+    }
+}
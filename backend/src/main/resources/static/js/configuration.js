@@ -137,16 +137,28 @@ function closeModal(modalId) {
     document.getElementById(modalId).classList.remove('show');
 }
 
+/**
+ * Load a catalog list together with the usage counts of all its items
+ * (one request each) and set usageCount on every item.
+ */
+async function fetchWithUsage(api) {
+    const [listResponse, usageResponse] = await Promise.all([fetch(api), fetch(`${api}/usage`)]);
+    if (!listResponse.ok || !usageResponse.ok) throw new Error(`Failed to load ${api}`);
+
+    const [items, usage] = await Promise.all([listResponse.json(), usageResponse.json()]);
+    items.forEach(item => {
+        item.usageCount = usage[item.id] || 0;
+    });
+    return items;
+}
+
 // ========================================
 // FARM TYPE OPERATIONS
 // ========================================
 
 async function loadFarmTypes() {
     try {
-        const response = await fetch(FARM_TYPES_API);
-        if (!response.ok) throw new Error('Failed to load farm types');
-        
-        const farmTypes = await response.json();
+        const farmTypes = await fetchWithUsage(FARM_TYPES_API);
         renderFarmTypes(farmTypes);
     } catch (error) {
         console.error('Error loading farm types:', error);
@@ -318,10 +330,7 @@ function deleteFarmType(id) {
 
 async function loadAnimalTypes() {
     try {
-        const response = await fetch(ANIMAL_TYPES_API);
-        if (!response.ok) throw new Error('Failed to load animal types');
-        
-        const animalTypes = await response.json();
+        const animalTypes = await fetchWithUsage(ANIMAL_TYPES_API);
         renderAnimalTypes(animalTypes);
     } catch (error) {
         console.error('Error loading animal types:', error);
@@ -495,10 +504,7 @@ function deleteAnimalType(id) {
 
 async function loadDiseases() {
     try {
-        const response = await fetch(DISEASES_API);
-        if (!response.ok) throw new Error('Failed to load diseases');
-        
-        const diseases = await response.json();
+        const diseases = await fetchWithUsage(DISEASES_API);
         renderDiseases(diseases);
     } catch (error) {
         console.error('Error loading diseases:', error);
@@ -0,0 +1,143 @@
+package com.adrs.test.alert;
+
+import com.adrs.alert.AlertDigest;
+import com.adrs.alert.AlertPipeline;
+import com.adrs.alert.AlertSink;
+import com.adrs.alert.DiseaseAlert;
+import com.adrs.alert.InMemoryAlertSink;
+import com.adrs.model.District;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AlertPipeline, on a clock the tests move.
+ */
+@DisplayName("Alert Pipeline Tests")
+class AlertPipelineTest {
+
+    private static final UUID FMD = UUID.randomUUID();
+    private static final UUID ANTHRAX = UUID.randomUUID();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should raise one alert per disease and district within the dedup window")
+    void testDedupWindow() {
+        InMemoryAlertSink sink = new InMemoryAlertSink(100);
+        AlertPipeline pipeline = pipeline(sink, batch -> Map.of(1L, batch));
+
+        assertThat(pipeline.offer(alert(FMD, District.COLOMBO))).isTrue();
+        assertThat(pipeline.offer(alert(FMD, District.COLOMBO))).isFalse();
+        assertThat(pipeline.offer(alert(FMD, District.KANDY))).isTrue();
+        assertThat(pipeline.offer(alert(ANTHRAX, District.COLOMBO))).isTrue();
+
+        clock.addAndGet(Duration.ofMinutes(59).toMillis());
+        assertThat(pipeline.offer(alert(FMD, District.COLOMBO))).isFalse();
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertThat(pipeline.offer(alert(FMD, District.COLOMBO))).isTrue();
+
+        assertThat(meterRegistry.get("alerts.received").tag("result", "queued").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("alerts.received").tag("result", "suppressed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should merge a batch into one digest per recipient")
+    void testDigestPerRecipient() {
+        InMemoryAlertSink sink = new InMemoryAlertSink(100);
+        AlertPipeline pipeline = pipeline(sink, batch -> Map.of(
+                1L, batch,
+                2L, batch.stream().filter(alert -> alert.getDistrict() == District.KANDY).toList()));
+
+        pipeline.offer(alert(FMD, District.COLOMBO));
+        pipeline.offer(alert(FMD, District.KANDY));
+        pipeline.offer(alert(ANTHRAX, District.KANDY));
+
+        assertThat(pipeline.flush()).isEqualTo(2);
+        assertThat(sink.getDigests()).extracting(AlertDigest::getRecipientId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(sink.getDigests()).allSatisfy(digest -> assertThat(digest.getAlerts())
+                .hasSize(digest.getRecipientId() == 1L ? 3 : 2));
+        assertThat(pipeline.flush()).isZero();
+        assertThat(meterRegistry.get("alerts.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry failed digests with doubling backoff, then give up")
+    void testRetryWithBackoff() {
+        AtomicInteger calls = new AtomicInteger();
+        List<AlertDigest> delivered = new ArrayList<>();
+        AlertSink flaky = digest -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("gateway unavailable");
+            }
+            delivered.add(digest);
+        };
+        AlertPipeline pipeline = pipeline(flaky, batch -> Map.of(1L, batch));
+        pipeline.offer(alert(FMD, District.COLOMBO));
+
+        assertThat(pipeline.flush()).isZero();
+        assertThat(pipeline.retryCount()).isEqualTo(1);
+        clock.addAndGet(9_999);
+        pipeline.flush();
+        assertThat(calls).hasValue(1);
+
+        clock.addAndGet(1);
+        assertThat(pipeline.flush()).isZero();
+        clock.addAndGet(19_999);
+        pipeline.flush();
+        assertThat(calls).hasValue(2);
+        clock.addAndGet(1);
+        assertThat(pipeline.flush()).isEqualTo(1);
+        assertThat(delivered).singleElement().satisfies(digest -> assertThat(digest.getAlerts()).hasSize(1));
+        assertThat(pipeline.retryCount()).isZero();
+
+        AlertPipeline failing = pipeline(digest -> {
+            throw new IllegalStateException("gateway unavailable");
+        }, batch -> Map.of(1L, batch));
+        failing.offer(alert(FMD, District.COLOMBO));
+        for (int i = 0; i < 3; i++) {
+            failing.flush();
+            clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        }
+        assertThat(failing.retryCount()).isZero();
+        assertThat(meterRegistry.get("alerts.digests").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop alerts beyond the queue capacity and let a later confirmation raise them")
+    void testQueueCapacity() {
+        AlertPipeline pipeline = new AlertPipeline(new InMemoryAlertSink(10), batch -> Map.of(1L, batch),
+                Duration.ofHours(1), 10, 1, 3, Duration.ofSeconds(10), clock::get, meterRegistry);
+
+        assertThat(pipeline.offer(alert(FMD, District.COLOMBO))).isTrue();
+        assertThat(pipeline.offer(alert(FMD, District.KANDY))).isFalse();
+        assertThat(meterRegistry.get("alerts.received").tag("result", "dropped").counter().count()).isEqualTo(1);
+
+        pipeline.flush();
+        assertThat(pipeline.offer(alert(FMD, District.KANDY))).isTrue();
+    }
+
+    private AlertPipeline pipeline(AlertSink sink, Function<List<DiseaseAlert>, Map<Long, List<DiseaseAlert>>> router) {
+        return new AlertPipeline(sink, router, Duration.ofHours(1), 100, 100, 3, Duration.ofSeconds(10),
+                clock::get, meterRegistry);
+    }
+
+    private DiseaseAlert alert(UUID diseaseId, District district) {
+        return new DiseaseAlert(diseaseId, "Disease", district, LocalDate.of(2026, 1, 5),
+                Instant.ofEpochMilli(clock.get()));
+    }
+}
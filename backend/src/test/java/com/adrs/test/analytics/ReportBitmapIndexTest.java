@@ -0,0 +1,147 @@
+package com.adrs.test.analytics;
+
+import com.adrs.analytics.ReportBitmapIndex;
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportCountFilter;
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.dto.ReportAnalyticsRow;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import com.adrs.service.DiseaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportBitmapIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Bitmap Index Tests")
+class ReportBitmapIndexTest {
+
+    private static final UUID FMD = UUID.randomUUID();
+    private static final UUID ANTHRAX = UUID.randomUUID();
+
+    @Mock
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private DiseaseService diseaseService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportColumnStore store;
+    private ReportBitmapIndex index;
+    private List<ReportAnalyticsRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = List.of(
+                row(FMD, "COLOMBO", "2025-01-10", DiseaseReport.Outcome.ONGOING, true),
+                row(FMD, "COLOMBO", "2025-01-25", DiseaseReport.Outcome.RECOVERED, false),
+                row(FMD, "KANDY", "2025-02-03", DiseaseReport.Outcome.DIED, true),
+                row(ANTHRAX, "KANDY", "2025-03-15", null, false));
+        when(diseaseReportRepository.streamAnalyticsRows()).thenReturn(rows.stream());
+
+        store = new ReportColumnStore(diseaseReportRepository, farmRepository, transactionManager);
+        index = new ReportBitmapIndex(store, diseaseService);
+        store.reload();
+    }
+
+    private static ReportAnalyticsRow row(UUID disease, String district, String date,
+                                          DiseaseReport.Outcome outcome, boolean confirmed) {
+        return new ReportAnalyticsRow(UUID.randomUUID(), disease, UUID.randomUUID(), UUID.randomUUID(), district,
+                LocalDate.parse(date), outcome, confirmed);
+    }
+
+    private static ReportCountFilter filter() {
+        return new ReportCountFilter();
+    }
+
+    @Test
+    @DisplayName("Should count combinations of district, disease, month, outcome and confirmation")
+    void testCountCombinations() {
+        assertThat(index.count(filter())).isEqualTo(4);
+
+        ReportCountFilter colomboConfirmed = filter();
+        colomboConfirmed.setDistricts(Set.of("COLOMBO"));
+        colomboConfirmed.setConfirmed(true);
+        assertThat(index.count(colomboConfirmed)).isEqualTo(1);
+
+        ReportCountFilter fmdUnconfirmed = filter();
+        fmdUnconfirmed.setDiseaseIds(Set.of(FMD));
+        fmdUnconfirmed.setMonths(Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)));
+        fmdUnconfirmed.setConfirmed(false);
+        assertThat(index.count(fmdUnconfirmed)).isEqualTo(1);
+
+        ReportCountFilter outcomes = filter();
+        outcomes.setOutcomes(Set.of(DiseaseReport.Outcome.DIED, DiseaseReport.Outcome.RECOVERED));
+        outcomes.setDistricts(Set.of("KANDY", "GALLE"));
+        assertThat(index.count(outcomes)).isEqualTo(1);
+
+        ReportCountFilter unknownDistrict = filter();
+        unknownDistrict.setDistricts(Set.of("GALLE"));
+        assertThat(index.count(unknownDistrict)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should filter by disease severity")
+    void testSeverity() {
+        DiseaseDTO anthrax = new DiseaseDTO("Anthrax", "ANT", null, Disease.Severity.CRITICAL, true);
+        anthrax.setId(ANTHRAX);
+        when(diseaseService.getDiseasesBySeverity(Disease.Severity.CRITICAL)).thenReturn(List.of(anthrax));
+        when(diseaseService.getDiseasesBySeverity(Disease.Severity.LOW)).thenReturn(List.of());
+
+        ReportCountFilter critical = filter();
+        critical.setSeverities(Set.of(Disease.Severity.CRITICAL));
+        assertThat(index.count(critical)).isEqualTo(1);
+
+        ReportCountFilter low = filter();
+        low.setSeverities(Set.of(Disease.Severity.LOW));
+        assertThat(index.count(low)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow updates, deletes and inserts in the column store")
+    void testFollowsStoreChanges() {
+        ReportAnalyticsRow original = rows.get(1);
+        store.upsert(new ReportAnalyticsRow(original.getId(), ANTHRAX, original.getFarmId(), original.getAnimalId(),
+                "KANDY", original.getReportDate(), original.getOutcome(), true));
+        store.delete(rows.get(0).getId());
+        store.upsert(row(FMD, "GALLE", "2025-04-01", null, true));
+
+        ReportCountFilter kandy = filter();
+        kandy.setDistricts(Set.of("KANDY"));
+        kandy.setConfirmed(true);
+        assertThat(index.count(kandy)).isEqualTo(2);
+
+        ReportCountFilter galle = filter();
+        galle.setDistricts(Set.of("GALLE"));
+        galle.setMonths(Set.of(YearMonth.of(2025, 4)));
+        assertThat(index.count(galle)).isEqualTo(1);
+
+        ReportCountFilter colombo = filter();
+        colombo.setDistricts(Set.of("COLOMBO"));
+        assertThat(index.count(colombo)).isZero();
+        assertThat(index.count(filter())).isEqualTo(4);
+    }
+}
@@ -0,0 +1,254 @@
+package com.adrs.test.analytics;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportDimension;
+import com.adrs.analytics.ReportFact;
+import com.adrs.analytics.ReportFilter;
+import com.adrs.analytics.ReportRowListener;
+import com.adrs.dto.ReportAnalyticsRow;
+import com.adrs.dto.ReportGroupCount;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportColumnStore.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Column Store Tests")
+class ReportColumnStoreTest {
+
+    private static final UUID FMD = UUID.randomUUID();
+    private static final UUID ANTHRAX = UUID.randomUUID();
+    private static final UUID FARM_A = UUID.randomUUID();
+    private static final UUID FARM_B = UUID.randomUUID();
+
+    @Mock
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportColumnStore store;
+    private List<ReportAnalyticsRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>(List.of(
+                row(FMD, FARM_A, "COLOMBO", "2025-01-10", DiseaseReport.Outcome.ONGOING, true),
+                row(FMD, FARM_A, "COLOMBO", "2025-01-25", DiseaseReport.Outcome.RECOVERED, false),
+                row(FMD, FARM_B, "KANDY", "2025-02-03", DiseaseReport.Outcome.DIED, true),
+                row(ANTHRAX, FARM_B, "KANDY", "2025-03-15", null, false)));
+        when(diseaseReportRepository.streamAnalyticsRows()).thenReturn(rows.stream());
+
+        store = new ReportColumnStore(diseaseReportRepository, farmRepository, transactionManager);
+        store.reload();
+    }
+
+    private static ReportAnalyticsRow row(UUID disease, UUID farm, String district, String date,
+                                          DiseaseReport.Outcome outcome, boolean confirmed) {
+        return new ReportAnalyticsRow(UUID.randomUUID(), disease, farm, UUID.randomUUID(), district,
+                LocalDate.parse(date), outcome, confirmed);
+    }
+
+    private static Map<Map<String, String>, Long> asMap(List<ReportGroupCount> counts) {
+        Map<Map<String, String>, Long> map = new HashMap<>();
+        counts.forEach(c -> map.put(c.getGroup(), c.getCount()));
+        return map;
+    }
+
+    @Test
+    @DisplayName("Should load rows from a streaming scan and count them")
+    void testReload() {
+        assertThat(store.size()).isEqualTo(4);
+
+        List<ReportGroupCount> total = store.groupCount(List.of(), new ReportFilter());
+
+        assertThat(total).singleElement().extracting(ReportGroupCount::getCount).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should group by several dimensions")
+    void testGroupByDistrictAndMonth() {
+        Map<Map<String, String>, Long> counts = asMap(store.groupCount(
+                List.of(ReportDimension.DISTRICT, ReportDimension.MONTH), new ReportFilter()));
+
+        assertThat(counts).containsOnly(
+                Map.entry(Map.of("district", "COLOMBO", "month", "2025-01"), 2L),
+                Map.entry(Map.of("district", "KANDY", "month", "2025-02"), 1L),
+                Map.entry(Map.of("district", "KANDY", "month", "2025-03"), 1L));
+    }
+
+    @Test
+    @DisplayName("Should apply date, disease, outcome and confirmation filters")
+    void testFilters() {
+        ReportFilter filter = new ReportFilter();
+        filter.setDiseaseIds(Set.of(FMD));
+        filter.setFrom(LocalDate.of(2025, 1, 20));
+        filter.setConfirmed(true);
+
+        assertThat(store.groupCount(List.of(ReportDimension.OUTCOME), filter))
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getGroup()).containsEntry("outcome", "DIED");
+                    assertThat(c.getCount()).isEqualTo(1);
+                });
+
+        ReportFilter unknownOutcome = new ReportFilter();
+        unknownOutcome.setOutcomes(Set.of(DiseaseReport.Outcome.EUTHANIZED));
+        assertThat(store.groupCount(List.of(), unknownOutcome)).isEmpty();
+
+        ReportFilter unknownDistrict = new ReportFilter();
+        unknownDistrict.setDistricts(Set.of("GALLE"));
+        assertThat(store.groupCount(List.of(), unknownDistrict)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should overwrite updated rows in place and notify listeners")
+    void testUpdateAndDeleteKeepRowNumbers() {
+        List<String> changes = new ArrayList<>();
+        store.addListener(new ReportRowListener() {
+            @Override
+            public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+                changes.add(row + ":" + (previous != null) + ":" + (current != null));
+            }
+
+            @Override
+            public void onReload(ReportColumnStore reloaded) {
+            }
+        });
+
+        ReportAnalyticsRow original = rows.get(1);
+        store.upsert(new ReportAnalyticsRow(original.getId(), ANTHRAX, FARM_A, original.getAnimalId(), "COLOMBO",
+                original.getReportDate(), DiseaseReport.Outcome.DIED, true));
+        store.delete(rows.get(0).getId());
+        store.upsert(row(FMD, FARM_A, "GALLE", "2025-04-01", null, false));
+
+        assertThat(changes).containsExactly("1:true:true", "0:true:false", "4:false:true");
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.rowCount()).isEqualTo(5);
+
+        Map<Map<String, String>, Long> counts = asMap(store.groupCount(
+                List.of(ReportDimension.DISEASE), new ReportFilter()));
+        assertThat(counts).containsOnly(
+                Map.entry(Map.of("disease", FMD.toString()), 2L),
+                Map.entry(Map.of("disease", ANTHRAX.toString()), 2L));
+    }
+
+    @Test
+    @DisplayName("Should move every report of a farm that changes district")
+    void testFarmMoved() {
+        List<Integer> changedRows = new ArrayList<>();
+        store.addListener(new ReportRowListener() {
+            @Override
+            public void onRowChanged(int row, ReportFact previous, ReportFact current) {
+                assertThat(current.district()).isNotEqualTo(previous.district());
+                changedRows.add(row);
+            }
+
+            @Override
+            public void onReload(ReportColumnStore reloaded) {
+            }
+        });
+
+        store.moveFarm(FARM_B, "MATALE");
+
+        assertThat(changedRows).containsExactly(2, 3);
+        Map<Map<String, String>, Long> counts = asMap(store.groupCount(
+                List.of(ReportDimension.DISTRICT), new ReportFilter()));
+        assertThat(counts).containsOnly(
+                Map.entry(Map.of("district", "COLOMBO"), 2L),
+                Map.entry(Map.of("district", "MATALE"), 2L));
+    }
+
+    @Test
+    @DisplayName("Should count whole and partial months alike after reports move month, are deleted or change district")
+    void testMonthPartitionsFollowChanges() {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<UUID, ReportAnalyticsRow> liveRows = new HashMap<>();
+        rows.forEach(row -> liveRows.put(row.getId(), row));
+        List<UUID> farms = List.of(FARM_A, FARM_B, UUID.randomUUID());
+        for (int i = 0; i < 2000; i++) {
+            ReportAnalyticsRow row = row(i % 3 == 0 ? ANTHRAX : FMD, farms.get(i % 3), "DISTRICT_" + (i % 3),
+                    LocalDate.of(2024, 1, 1).plusDays(random.nextInt(500)).toString(),
+                    DiseaseReport.Outcome.values()[i % 4], i % 2 == 0);
+            store.upsert(row);
+            liveRows.put(row.getId(), row);
+        }
+        List<UUID> ids = new ArrayList<>(liveRows.keySet());
+        for (int i = 0; i < 300; i++) {
+            ReportAnalyticsRow old = liveRows.get(ids.get(i));
+            ReportAnalyticsRow moved = new ReportAnalyticsRow(old.getId(), old.getDiseaseId(), old.getFarmId(),
+                    old.getAnimalId(), old.getDistrict(), old.getReportDate().plusDays(random.nextInt(-90, 90)),
+                    old.getOutcome(), !old.getIsConfirmed());
+            store.upsert(moved);
+            liveRows.put(moved.getId(), moved);
+        }
+        for (int i = 300; i < 500; i++) {
+            store.delete(ids.get(i));
+            liveRows.remove(ids.get(i));
+        }
+        store.moveFarm(FARM_B, "MATALE");
+        liveRows.replaceAll((id, row) -> !row.getFarmId().equals(FARM_B) ? row
+                : new ReportAnalyticsRow(id, row.getDiseaseId(), FARM_B, row.getAnimalId(), "MATALE",
+                        row.getReportDate(), row.getOutcome(), row.getIsConfirmed()));
+
+        for (String[] range : new String[][] {{"2024-01-01", "2024-12-31"}, {"2024-02-10", "2024-09-20"},
+                {"2024-03-01", "2024-03-31"}, {"2024-05-15", "2024-05-16"}, {"2023-11-05", "2025-06-30"}}) {
+            ReportFilter filter = new ReportFilter();
+            filter.setFrom(LocalDate.parse(range[0]));
+            filter.setTo(LocalDate.parse(range[1]));
+            filter.setConfirmed(true);
+            filter.setDistricts(Set.of("MATALE", "DISTRICT_0"));
+
+            Map<Map<String, String>, Long> expected = new HashMap<>();
+            liveRows.values().stream()
+                    .filter(row -> !row.getReportDate().isBefore(filter.getFrom())
+                            && !row.getReportDate().isAfter(filter.getTo())
+                            && row.getIsConfirmed() && filter.getDistricts().contains(row.getDistrict()))
+                    .forEach(row -> expected.merge(Map.of("district", row.getDistrict(),
+                            "month", row.getReportDate().toString().substring(0, 7)), 1L, Long::sum));
+
+            assertThat(asMap(store.groupCount(List.of(ReportDimension.DISTRICT, ReportDimension.MONTH), filter)))
+                    .as("%s to %s", range[0], range[1])
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject groupings with too many groups")
+    void testTooManyGroups() {
+        for (int i = 0; i < 300; i++) {
+            store.upsert(row(UUID.randomUUID(), FARM_A, "D" + i, "2000-01-01", null, false));
+        }
+        store.upsert(row(FMD, FARM_A, "COLOMBO", "2040-01-01", null, false));
+
+        assertThatThrownBy(() -> store.groupCount(List.of(ReportDimension.DISTRICT, ReportDimension.DISEASE,
+                ReportDimension.MONTH, ReportDimension.OUTCOME), new ReportFilter()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.groupCount(List.of(ReportDimension.DISTRICT), new ReportFilter())).hasSize(302);
+    }
+}
@@ -0,0 +1,163 @@
+package com.adrs.test.analytics;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportDistinctCounter;
+import com.adrs.dto.DistinctCountEstimate;
+import com.adrs.dto.ReportAnalyticsRow;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import com.adrs.util.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportDistinctCounter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Distinct Counter Tests")
+class ReportDistinctCounterTest {
+
+    private static final UUID FMD = UUID.randomUUID();
+    private static final UUID ANTHRAX = UUID.randomUUID();
+    private static final UUID FARM_A = UUID.randomUUID();
+    private static final UUID FARM_B = UUID.randomUUID();
+    private static final UUID COW_1 = UUID.randomUUID();
+    private static final UUID COW_2 = UUID.randomUUID();
+    private static final UUID COW_3 = UUID.randomUUID();
+
+    @Mock
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportColumnStore store;
+    private ReportDistinctCounter counter;
+    private List<ReportAnalyticsRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>(List.of(
+                row(FMD, FARM_A, COW_1, "COLOMBO", "2025-01-10"),
+                row(FMD, FARM_A, COW_1, "COLOMBO", "2025-01-31"),
+                row(FMD, FARM_A, COW_2, "COLOMBO", "2025-02-03"),
+                row(FMD, FARM_B, COW_3, "KANDY", "2025-02-14"),
+                row(ANTHRAX, FARM_B, COW_3, "KANDY", "2025-03-15")));
+        when(diseaseReportRepository.streamAnalyticsRows()).thenReturn(rows.stream());
+
+        store = new ReportColumnStore(diseaseReportRepository, farmRepository, transactionManager);
+        counter = new ReportDistinctCounter(store);
+        store.reload();
+    }
+
+    private static ReportAnalyticsRow row(UUID disease, UUID farm, UUID animal, String district, String date) {
+        return new ReportAnalyticsRow(UUID.randomUUID(), disease, farm, animal, district,
+                LocalDate.parse(date), DiseaseReport.Outcome.ONGOING, true);
+    }
+
+    private DistinctCountEstimate estimate(Set<String> districts, Set<UUID> diseases, String from, String to) {
+        return counter.estimate(districts, diseases, from != null ? LocalDate.parse(from) : null,
+                to != null ? LocalDate.parse(to) : null);
+    }
+
+    @Test
+    @DisplayName("Should count distinct farms and animals over whole months and partial days")
+    void testDistinctCounts() {
+        DistinctCountEstimate all = estimate(null, null, null, null);
+        assertThat(all.getFarms()).isEqualTo(2);
+        assertThat(all.getAnimals()).isEqualTo(3);
+        assertThat(all.isExact()).isTrue();
+
+        DistinctCountEstimate fmd = estimate(null, Set.of(FMD), "2025-01-01", "2025-02-28");
+        assertThat(fmd.getFarms()).isEqualTo(2);
+        assertThat(fmd.getAnimals()).isEqualTo(3);
+
+        DistinctCountEstimate colomboLateJanuary = estimate(Set.of("COLOMBO"), null, "2025-01-15", "2025-02-10");
+        assertThat(colomboLateJanuary.getFarms()).isEqualTo(1);
+        assertThat(colomboLateJanuary.getAnimals()).isEqualTo(2);
+
+        assertThat(estimate(Set.of("GALLE"), null, null, null).getFarms()).isZero();
+        assertThat(estimate(Set.of("KANDY"), Set.of(ANTHRAX), "2025-01-01", "2025-02-28").getAnimals()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild month sketches when reports are deleted or move")
+    void testDeleteAndMove() {
+        store.delete(rows.get(2).getId());
+        ReportAnalyticsRow moved = rows.get(3);
+        store.upsert(new ReportAnalyticsRow(moved.getId(), FMD, FARM_B, COW_3, "KANDY", LocalDate.parse("2025-04-01"),
+                DiseaseReport.Outcome.ONGOING, true));
+
+        DistinctCountEstimate february = estimate(null, null, "2025-02-01", "2025-02-28");
+        assertThat(february.getFarms()).isZero();
+        assertThat(february.getAnimals()).isZero();
+
+        DistinctCountEstimate april = estimate(Set.of("KANDY"), Set.of(FMD), "2025-04-01", "2025-04-30");
+        assertThat(april.getFarms()).isEqualTo(1);
+        assertThat(estimate(null, null, null, null).getAnimals()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count every report of a moved farm under its new district")
+    void testFarmMoveWithManyReports() {
+        UUID farmC = UUID.randomUUID();
+        for (int i = 0; i < 300; i++) {
+            store.upsert(row(i % 2 == 0 ? FMD : ANTHRAX, farmC, UUID.randomUUID(), "COLOMBO",
+                    LocalDate.of(2025, 1, 1).plusDays(i % 31).toString()));
+        }
+        assertThat(estimate(Set.of("COLOMBO"), null, "2025-01-01", "2025-01-31").getFarms()).isEqualTo(2);
+
+        store.moveFarm(farmC, "GALLE");
+
+        DistinctCountEstimate colombo = estimate(Set.of("COLOMBO"), null, "2025-01-01", "2025-01-31");
+        assertThat(colombo.getFarms()).isEqualTo(1);
+        assertThat(colombo.getAnimals()).isEqualTo(1);
+        DistinctCountEstimate galle = estimate(Set.of("GALLE"), Set.of(ANTHRAX), "2025-01-01", "2025-01-31");
+        assertThat(galle.getFarms()).isEqualTo(1);
+        assertThat(galle.getAnimals()).isEqualTo(150);
+        assertThat(estimate(null, Set.of(FMD), "2025-01-01", "2025-01-31").getAnimals()).isEqualTo(151);
+        assertThat(estimate(null, null, null, null).getFarms()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should estimate large distinct counts within the published error")
+    void testLargeCountsWithinErrorBound() {
+        SplittableRandom random = new SplittableRandom(3);
+        Set<UUID> farms = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID farm = new UUID(0, random.nextInt(15_000));
+            farms.add(farm);
+            store.upsert(row(FMD, farm, UUID.randomUUID(), "DISTRICT_" + (i % 5),
+                    LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)).toString()));
+        }
+
+        DistinctCountEstimate estimate = estimate(null, null, "2024-01-01", "2024-12-31");
+
+        assertThat(estimate.isExact()).isFalse();
+        assertThat(estimate.getRelativeStandardError())
+                .isEqualTo(HyperLogLog.relativeStandardError(HyperLogLog.DEFAULT_PRECISION));
+        assertThat((double) estimate.getFarms())
+                .isCloseTo(farms.size(), within(3 * estimate.getRelativeStandardError() * farms.size()));
+    }
+}
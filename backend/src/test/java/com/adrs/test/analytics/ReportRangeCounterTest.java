@@ -0,0 +1,111 @@
+package com.adrs.test.analytics;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportRangeCounter;
+import com.adrs.dto.ReportAnalyticsRow;
+import com.adrs.dto.ReportRangeCount;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportRangeCounter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Range Counter Tests")
+class ReportRangeCounterTest {
+
+    private static final UUID FMD = UUID.randomUUID();
+    private static final UUID ANTHRAX = UUID.randomUUID();
+
+    @Mock
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Mock
+    private FarmRepository farmRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportColumnStore store;
+    private ReportRangeCounter counter;
+    private List<ReportAnalyticsRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>(List.of(
+                row(FMD, "COLOMBO", "2024-01-01", true),
+                row(FMD, "COLOMBO", "2024-06-15", false),
+                row(ANTHRAX, "COLOMBO", "2024-06-16", true),
+                row(FMD, "KANDY", "2024-12-31", false),
+                row(ANTHRAX, "KANDY", "2025-03-01", true)));
+        when(diseaseReportRepository.streamAnalyticsRows()).thenReturn(rows.stream());
+
+        store = new ReportColumnStore(diseaseReportRepository, farmRepository, transactionManager);
+        counter = new ReportRangeCounter(store);
+        store.reload();
+    }
+
+    private static ReportAnalyticsRow row(UUID disease, String district, String date, boolean confirmed) {
+        return new ReportAnalyticsRow(UUID.randomUUID(), disease, UUID.randomUUID(), null, district,
+                LocalDate.parse(date), DiseaseReport.Outcome.ONGOING, confirmed);
+    }
+
+    private ReportRangeCount count(Set<String> districts, Set<UUID> diseases, String from, String to) {
+        return counter.count(districts, diseases, from != null ? LocalDate.parse(from) : null,
+                to != null ? LocalDate.parse(to) : null);
+    }
+
+    @Test
+    @DisplayName("Should count reports in inclusive date ranges by district and disease")
+    void testRangeCounts() {
+        assertThat(count(null, null, null, null)).isEqualTo(new ReportRangeCount(5, 3));
+        assertThat(count(null, null, "2024-06-15", "2024-12-31")).isEqualTo(new ReportRangeCount(3, 1));
+        assertThat(count(Set.of("COLOMBO"), null, "2024-01-01", "2024-06-15")).isEqualTo(new ReportRangeCount(2, 1));
+        assertThat(count(null, Set.of(ANTHRAX), "2024-06-16", null)).isEqualTo(new ReportRangeCount(2, 2));
+        assertThat(count(Set.of("COLOMBO", "KANDY"), Set.of(FMD, ANTHRAX), "2024-02-01", "2025-12-31"))
+                .isEqualTo(new ReportRangeCount(4, 2));
+        assertThat(count(Set.of("GALLE"), null, null, null)).isEqualTo(new ReportRangeCount(0, 0));
+        assertThat(count(null, null, "2030-01-01", null)).isEqualTo(new ReportRangeCount(0, 0));
+    }
+
+    @Test
+    @DisplayName("Should follow inserts, confirmations and deletes")
+    void testFollowsChanges() {
+        ReportAnalyticsRow pending = rows.get(1);
+        store.upsert(new ReportAnalyticsRow(pending.getId(), FMD, pending.getFarmId(), null, "COLOMBO",
+                pending.getReportDate(), DiseaseReport.Outcome.ONGOING, true));
+        store.delete(rows.get(4).getId());
+        store.upsert(row(FMD, "GALLE", "2031-05-05", false));
+
+        assertThat(count(null, null, null, null)).isEqualTo(new ReportRangeCount(5, 3));
+        assertThat(count(Set.of("COLOMBO"), Set.of(FMD), null, null)).isEqualTo(new ReportRangeCount(2, 2));
+        assertThat(count(Set.of("GALLE"), null, "2031-01-01", "2031-12-31")).isEqualTo(new ReportRangeCount(1, 0));
+    }
+
+    @Test
+    @DisplayName("Should rebuild when a report predates the first indexed day")
+    void testEarlierReportRebuilds() {
+        store.upsert(row(ANTHRAX, "KANDY", "2019-07-04", true));
+
+        assertThat(count(null, null, null, null)).isEqualTo(new ReportRangeCount(6, 4));
+        assertThat(count(Set.of("KANDY"), null, "2019-01-01", "2019-12-31")).isEqualTo(new ReportRangeCount(1, 1));
+        assertThat(count(null, null, "2024-01-01", "2024-01-01")).isEqualTo(new ReportRangeCount(1, 1));
+    }
+}
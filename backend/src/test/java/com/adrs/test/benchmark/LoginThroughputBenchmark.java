@@ -0,0 +1,140 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.model.User;
+import com.adrs.service.impl.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures logins through the DAO authentication provider with and without the user cache.
+ *
+ * Users are loaded from an in-memory H2 table with one query per load, as
+ * {@code UserDetailsServiceImpl} does, and the reads per login are printed at the
+ * end of each trial. The BCrypt cost is a parameter: at the production cost of 10
+ * the hash check dominates a login, so the saved read shows in throughput mostly
+ * at low cost and otherwise as database load taken off the pool.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=LoginThroughputBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final int USERS = 200;
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"NONE", "CACHED"})
+    public String userCache;
+
+    @Param({"4", "10"})
+    public int bcryptCost;
+
+    private Connection connection;
+    private PreparedStatement findByUsername;
+    private DaoAuthenticationProvider provider;
+    private long reads;
+    private long logins;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:login-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptCost);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) UNIQUE, "
+                    + "password VARCHAR(100), email VARCHAR(100), role VARCHAR(20), active BOOLEAN)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users VALUES (?, ?, ?, ?, ?, ?)")) {
+            String hash = encoder.encode(PASSWORD);
+            for (int i = 0; i < USERS; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "officer" + i);
+                insert.setString(3, hash);
+                insert.setString(4, "officer" + i + "@example.com");
+                insert.setString(5, User.Role.VETERINARY_OFFICER.name());
+                insert.setBoolean(6, true);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        findByUsername = connection.prepareStatement("SELECT * FROM users WHERE username = ?");
+
+        provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(this::loadUser);
+        if ("CACHED".equals(userCache)) {
+            provider.setUserCache(new UserDetailsCache(10_000, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        }
+    }
+
+    @Benchmark
+    public Authentication login() {
+        String username = "officer" + (logins++ % USERS);
+        return provider.authenticate(new UsernamePasswordAuthenticationToken(username, PASSWORD));
+    }
+
+    @TearDown(Level.Trial)
+    public void reportAndClose() throws SQLException {
+        System.out.printf("%n[%s, cost %d] logins=%d reads=%d reads/login=%.4f%n",
+                userCache, bcryptCost, logins, reads, logins == 0 ? 0.0 : (double) reads / logins);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE users");
+        } finally {
+            connection.close();
+        }
+    }
+
+    private UserDetails loadUser(String username) {
+        reads++;
+        try {
+            findByUsername.setString(1, username);
+            try (ResultSet rs = findByUsername.executeQuery()) {
+                if (!rs.next()) {
+                    throw new UsernameNotFoundException(username);
+                }
+                User user = new User();
+                user.setId(rs.getLong("id"));
+                user.setUsername(rs.getString("username"));
+                user.setPassword(rs.getString("password"));
+                user.setEmail(rs.getString("email"));
+                user.setRole(User.Role.valueOf(rs.getString("role")));
+                user.setActive(rs.getBoolean("active"));
+                return AuthenticatedUser.fromUser(user);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.service.impl.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures BCrypt verifications per second for sizing the password hashing pool.
+ *
+ * {@code direct} checks on one benchmark thread, which gives the verifications per second
+ * of one core at each cost. {@code pooled} sends the same checks through a
+ * {@link BoundedPasswordEncoder} with one hashing thread per core from as many callers,
+ * which gives the most logins per second the host can take and the hand-off overhead
+ * against {@code direct} times the core count. The pool used in production is half
+ * that size by default.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=PasswordVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordVerificationBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"8", "10", "12"})
+    public int bcryptCost;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder pool;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        bcrypt = new BCryptPasswordEncoder(bcryptCost);
+        pool = new BoundedPasswordEncoder(bcryptCost, cores, 1_024, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        hash = bcrypt.encode(PASSWORD);
+        System.out.printf("%n[cost %d] %d cores available%n", bcryptCost, cores);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean direct() {
+        return bcrypt.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean pooled() {
+        return pool.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,91 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.util.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typeahead lookups in a prefix index of synthetic farm and owner names,
+ * for a one-letter prefix (the widest run of words), a three-letter prefix and a
+ * two-word query, with {@value #PENDING} recent writes not yet merged into the array.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=PrefixIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PrefixIndexBenchmark {
+
+    static final int PENDING = 200;
+
+    private static final String[] SYLLABLES = {
+            "ka", "ma", "ni", "ra", "su", "pe", "wi", "ja", "ya", "ku", "la", "si", "de", "na", "ba", "ga"};
+
+    @Param({"10000", "100000"})
+    public int documents;
+
+    private PrefixIndex<String> index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        List<PrefixIndex.Document<String>> loaded = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            loaded.add(document(random, "farm" + i));
+        }
+        index = new PrefixIndex<>();
+        index.putAll(loaded);
+        for (int i = 0; i < PENDING; i++) {
+            index.put(document(random, "farm" + random.nextInt(documents)));
+        }
+    }
+
+    @Benchmark
+    public List<String> oneLetter() {
+        return index.suggest("k", 10);
+    }
+
+    @Benchmark
+    public List<String> threeLetters() {
+        return index.suggest("kam", 10);
+    }
+
+    @Benchmark
+    public List<String> twoWords() {
+        return index.suggest("nira kam", 10);
+    }
+
+    private static PrefixIndex.Document<String> document(SplittableRandom random, String key) {
+        return new PrefixIndex.Document<>(key, key,
+                List.of(name(random) + " " + name(random) + " Farm", name(random) + " " + name(random)));
+    }
+
+    private static String name(SplittableRandom random) {
+        StringBuilder name = new StringBuilder();
+        int length = 2 + random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
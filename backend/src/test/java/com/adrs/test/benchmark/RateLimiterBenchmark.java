@@ -0,0 +1,70 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.util.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rate limit checks, key hashing included, from every core at once, over
+ * client addresses drawn from a pool of the given size, against a table of 65,536 buckets.
+ *
+ * Add {@code -prof gc} to the JMH arguments to confirm checks allocate nothing.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=RateLimiterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"100", "10000"})
+    public int clients;
+
+    private TokenBucketRateLimiter limiter;
+    private String[] addresses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new TokenBucketRateLimiter(30, Duration.ofMinutes(1), 30, 65_536);
+        SplittableRandom random = new SplittableRandom(11);
+        addresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            addresses[i] = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + i % 256;
+        }
+    }
+
+    /**
+     * Each thread's position in the address pool.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long tryAcquire(Cursor cursor) {
+        int i = cursor.next++;
+        String address = addresses[(i & Integer.MAX_VALUE) % addresses.length];
+        return limiter.tryAcquire(limiter.keyHash(address));
+    }
+}
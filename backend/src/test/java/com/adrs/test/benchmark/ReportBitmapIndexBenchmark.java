@@ -0,0 +1,110 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.analytics.ReportBitmapIndex;
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportCountFilter;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseRepository;
+import com.adrs.service.impl.DiseaseServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures four-filter counts over the report bitmap indexes.
+ *
+ * The indexes are built over {@link SyntheticReports} and queried with three
+ * filter combinations of increasing width: single values, a severity with a
+ * year of months, and several values in each of four fields. Severities are
+ * resolved through a real {@link DiseaseServiceImpl} and its catalog cache, over a
+ * repository that only serves the catalog load, so the severity lookup each count
+ * makes is part of the measurement. The target is under 1 ms per count at 5M rows.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=ReportBitmapIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ReportBitmapIndexBenchmark {
+
+    @Param({"1000000", "5000000"})
+    public int reports;
+
+    private ReportBitmapIndex index;
+    private ReportCountFilter singleValues;
+    private ReportCountFilter severityAndYear;
+    private ReportCountFilter wideFilters;
+
+    @Setup(Level.Trial)
+    public void load() {
+        SyntheticReports synthetic = new SyntheticReports(reports);
+        DiseaseRepository diseaseRepository = Mockito.mock(DiseaseRepository.class);
+        Mockito.when(diseaseRepository.findAllByOrderByDiseaseNameAsc()).thenReturn(synthetic.diseases);
+        DiseaseServiceImpl diseaseService = new DiseaseServiceImpl(diseaseRepository,
+                Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                Mockito.mock(ApplicationEventPublisher.class), null);
+        ReportColumnStore store = synthetic.store;
+        index = new ReportBitmapIndex(store, diseaseService);
+        store.reload();
+
+        singleValues = new ReportCountFilter();
+        singleValues.setDistricts(Set.of("DISTRICT_4"));
+        singleValues.setDiseaseIds(Set.of(synthetic.diseases.get(2).getId()));
+        singleValues.setOutcomes(Set.of(DiseaseReport.Outcome.ONGOING));
+        singleValues.setConfirmed(true);
+
+        severityAndYear = new ReportCountFilter();
+        severityAndYear.setDistricts(Set.of("DISTRICT_1", "DISTRICT_2", "DISTRICT_3"));
+        severityAndYear.setSeverities(Set.of(Disease.Severity.HIGH));
+        severityAndYear.setMonths(IntStream.rangeClosed(1, 12).mapToObj(month -> YearMonth.of(2023, month))
+                .collect(Collectors.toSet()));
+        severityAndYear.setConfirmed(false);
+
+        wideFilters = new ReportCountFilter();
+        wideFilters.setDistricts(IntStream.range(0, 10).mapToObj(i -> "DISTRICT_" + i).collect(Collectors.toSet()));
+        wideFilters.setDiseaseIds(IntStream.range(0, 5).mapToObj(i -> synthetic.diseases.get(i).getId())
+                .collect(Collectors.toSet()));
+        wideFilters.setMonths(IntStream.rangeClosed(1, 6).mapToObj(month -> YearMonth.of(2024, month))
+                .collect(Collectors.toSet()));
+        wideFilters.setOutcomes(Set.of(DiseaseReport.Outcome.DIED, DiseaseReport.Outcome.EUTHANIZED));
+    }
+
+    @Benchmark
+    public long singleValues() {
+        return index.count(singleValues);
+    }
+
+    @Benchmark
+    public long severityAndYear() {
+        return index.count(severityAndYear);
+    }
+
+    @Benchmark
+    public long wideFilters() {
+        return index.count(wideFilters);
+    }
+}
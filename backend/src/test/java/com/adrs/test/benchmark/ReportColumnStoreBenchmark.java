@@ -0,0 +1,88 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportDimension;
+import com.adrs.analytics.ReportFilter;
+import com.adrs.dto.ReportGroupCount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures grouped counts over the in-memory report column store.
+ *
+ * The store is filled with {@link SyntheticReports}, then queried with a two-dimension
+ * group-by over everything, a filtered three-dimension group-by over whole months,
+ * and the same filtered group-by over a range that starts and ends mid-month, which
+ * also scans the rows of its first and last months. The target is under 10 ms per
+ * query at 5M rows.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=ReportColumnStoreBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ReportColumnStoreBenchmark {
+
+    @Param({"1000000", "5000000"})
+    public int reports;
+
+    private ReportColumnStore store;
+    private ReportFilter everything;
+    private ReportFilter filtered;
+    private ReportFilter filteredMidMonth;
+
+    @Setup(Level.Trial)
+    public void load() {
+        store = new SyntheticReports(reports).store;
+        store.reload();
+
+        everything = new ReportFilter();
+        filtered = new ReportFilter();
+        filtered.setDistricts(Set.of("DISTRICT_1", "DISTRICT_2", "DISTRICT_3"));
+        filtered.setFrom(LocalDate.of(2023, 1, 1));
+        filtered.setTo(LocalDate.of(2024, 12, 31));
+        filtered.setConfirmed(true);
+
+        filteredMidMonth = new ReportFilter();
+        filteredMidMonth.setDistricts(filtered.getDistricts());
+        filteredMidMonth.setFrom(LocalDate.of(2023, 1, 15));
+        filteredMidMonth.setTo(LocalDate.of(2024, 12, 10));
+        filteredMidMonth.setConfirmed(true);
+    }
+
+    @Benchmark
+    public List<ReportGroupCount> groupByDistrictAndMonth() {
+        return store.groupCount(List.of(ReportDimension.DISTRICT, ReportDimension.MONTH), everything);
+    }
+
+    @Benchmark
+    public List<ReportGroupCount> filteredGroupByDiseaseMonthOutcome() {
+        return store.groupCount(List.of(ReportDimension.DISEASE, ReportDimension.MONTH, ReportDimension.OUTCOME),
+                filtered);
+    }
+
+    @Benchmark
+    public List<ReportGroupCount> filteredMidMonthGroupByDiseaseMonthOutcome() {
+        return store.groupCount(List.of(ReportDimension.DISEASE, ReportDimension.MONTH, ReportDimension.OUTCOME),
+                filteredMidMonth);
+    }
+}
@@ -0,0 +1,125 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportDistinctCounter;
+import com.adrs.dto.DistinctCountEstimate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures distinct farm and animal counts from the HyperLogLog sketches against
+ * exact counts from a scan of the column store.
+ *
+ * Both are run over {@link SyntheticReports} for one district over a quarter and
+ * for every district over two and a half years, with ranges starting and ending
+ * mid-month. The relative error of each estimate is printed during setup.
+ *
+ * Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=ReportDistinctCounterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ReportDistinctCounterBenchmark {
+
+    private static final LocalDate QUARTER_FROM = LocalDate.of(2023, 2, 10);
+    private static final LocalDate QUARTER_TO = LocalDate.of(2023, 5, 9);
+    private static final LocalDate YEARS_FROM = LocalDate.of(2021, 7, 15);
+    private static final LocalDate YEARS_TO = LocalDate.of(2023, 12, 20);
+
+    @Param({"1000000", "5000000"})
+    public int reports;
+
+    private ReportColumnStore store;
+    private ReportDistinctCounter counter;
+
+    @Setup(Level.Trial)
+    public void load() {
+        store = new SyntheticReports(reports).store;
+        counter = new ReportDistinctCounter(store);
+        store.reload();
+
+        report("district quarter", sketchDistrictQuarter(), exactDistrictQuarter());
+        report("all districts, years", sketchAllDistrictsYears(), exactAllDistrictsYears());
+    }
+
+    private static void report(String query, DistinctCountEstimate estimate, long[] exact) {
+        System.out.printf("%s: farms %d (exact %d, error %.2f%%), animals %d (exact %d, error %.2f%%), RSE %.2f%%%n",
+                query, estimate.getFarms(), exact[0], error(estimate.getFarms(), exact[0]),
+                estimate.getAnimals(), exact[1], error(estimate.getAnimals(), exact[1]),
+                estimate.getRelativeStandardError() * 100);
+    }
+
+    private static double error(long estimate, long exact) {
+        return exact == 0 ? 0 : 100.0 * (estimate - exact) / exact;
+    }
+
+    @Benchmark
+    public DistinctCountEstimate sketchDistrictQuarter() {
+        return counter.estimate(Set.of("DISTRICT_7"), null, QUARTER_FROM, QUARTER_TO);
+    }
+
+    @Benchmark
+    public long[] exactDistrictQuarter() {
+        return exact("DISTRICT_7", QUARTER_FROM, QUARTER_TO);
+    }
+
+    @Benchmark
+    public DistinctCountEstimate sketchAllDistrictsYears() {
+        return counter.estimate(null, null, YEARS_FROM, YEARS_TO);
+    }
+
+    @Benchmark
+    public long[] exactAllDistrictsYears() {
+        return exact(null, YEARS_FROM, YEARS_TO);
+    }
+
+    /**
+     * @return exact distinct farms and animals of the district's reports in the range
+     */
+    private long[] exact(String district, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        BitSet farms = new BitSet();
+        Set<Long> animals = new HashSet<>();
+        BitSet checked = new BitSet();
+        BitSet matching = new BitSet();
+        store.forEachLiveRow((fact, row) -> {
+            if (fact.epochDay() < fromDay || fact.epochDay() > toDay) {
+                return;
+            }
+            if (district != null) {
+                int code = fact.district();
+                if (!checked.get(code)) {
+                    checked.set(code);
+                    matching.set(code, district.equals(store.districtName(code)));
+                }
+                if (!matching.get(code)) {
+                    return;
+                }
+            }
+            farms.set(fact.farm());
+            animals.add(fact.animal());
+        });
+        return new long[] {farms.cardinality(), animals.size()};
+    }
+}
@@ -0,0 +1,168 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.analytics.ReportRangeCounter;
+import com.adrs.dto.ReportRangeCount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares date-range report counts from the in-memory Fenwick trees with the
+ * equivalent SQL count on a real PostgreSQL instance.
+ *
+ * The same {@link SyntheticReports} are loaded into both. The tables mirror
+ * {@code disease_reports} and {@code farms}, with an index on the report date
+ * that the application schema does not have, so the SQL side is a best case.
+ * Each side counts one district over a quarter and everything over two and a
+ * half years.
+ *
+ * Requires Docker. Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=ReportRangeCounterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class ReportRangeCounterBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDate QUARTER_FROM = LocalDate.of(2023, 2, 10);
+    private static final LocalDate QUARTER_TO = LocalDate.of(2023, 5, 9);
+    private static final LocalDate YEARS_FROM = LocalDate.of(2021, 7, 15);
+    private static final LocalDate YEARS_TO = LocalDate.of(2023, 12, 20);
+    private static final String COUNT_SQL = "SELECT count(*), count(*) FILTER (WHERE r.is_confirmed) "
+            + "FROM bench_reports r JOIN bench_farms f ON f.id = r.farm_id "
+            + "WHERE r.report_date BETWEEN ? AND ?";
+
+    @Param({"1000000", "5000000"})
+    public int reports;
+
+    private ReportRangeCounter counter;
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void load() throws SQLException {
+        ReportColumnStore store = new SyntheticReports(reports).store;
+        counter = new ReportRangeCounter(store);
+        store.reload();
+
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"))
+                .withCommand("postgres", "-c", "fsync=off");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                postgres.getUsername(), postgres.getPassword());
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_farms (id INT PRIMARY KEY, district VARCHAR(100) NOT NULL)");
+            statement.execute("CREATE TABLE bench_reports (id BIGSERIAL PRIMARY KEY, farm_id INT NOT NULL, "
+                    + "disease_id UUID NOT NULL, report_date DATE NOT NULL, is_confirmed BOOLEAN NOT NULL)");
+        }
+        copyRows(store);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_bench_reports_date ON bench_reports (report_date)");
+            statement.execute("ANALYZE");
+        }
+        connection.commit();
+    }
+
+    private void copyRows(ReportColumnStore store) throws SQLException {
+        BitSet farms = new BitSet();
+        try (PreparedStatement farm = connection.prepareStatement("INSERT INTO bench_farms VALUES (?, ?)");
+             PreparedStatement report = connection.prepareStatement("INSERT INTO bench_reports "
+                     + "(farm_id, disease_id, report_date, is_confirmed) VALUES (?, ?, ?, ?)")) {
+            SQLException[] failure = new SQLException[1];
+            int[] pending = new int[1];
+            store.forEachLiveRow((fact, row) -> {
+                try {
+                    if (!farms.get(fact.farm())) {
+                        farms.set(fact.farm());
+                        farm.setInt(1, fact.farm());
+                        farm.setString(2, store.districtName(fact.district()));
+                        farm.addBatch();
+                    }
+                    report.setInt(1, fact.farm());
+                    report.setObject(2, store.diseaseId(fact.disease()));
+                    report.setObject(3, LocalDate.ofEpochDay(fact.epochDay()));
+                    report.setBoolean(4, fact.confirmed());
+                    report.addBatch();
+                    if (++pending[0] == BATCH_SIZE) {
+                        farm.executeBatch();
+                        report.executeBatch();
+                        pending[0] = 0;
+                    }
+                } catch (SQLException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            farm.executeBatch();
+            report.executeBatch();
+        }
+    }
+
+    @Benchmark
+    public ReportRangeCount fenwickDistrictQuarter() {
+        return counter.count(Set.of("DISTRICT_7"), null, QUARTER_FROM, QUARTER_TO);
+    }
+
+    @Benchmark
+    public ReportRangeCount sqlDistrictQuarter() throws SQLException {
+        return sqlCount(COUNT_SQL + " AND f.district = 'DISTRICT_7'", QUARTER_FROM, QUARTER_TO);
+    }
+
+    @Benchmark
+    public ReportRangeCount fenwickAllYears() {
+        return counter.count(null, null, YEARS_FROM, YEARS_TO);
+    }
+
+    @Benchmark
+    public ReportRangeCount sqlAllYears() throws SQLException {
+        return sqlCount(COUNT_SQL, YEARS_FROM, YEARS_TO);
+    }
+
+    private ReportRangeCount sqlCount(String sql, LocalDate from, LocalDate to) throws SQLException {
+        try (PreparedStatement count = connection.prepareStatement(sql)) {
+            count.setObject(1, from);
+            count.setObject(2, to);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+                return new ReportRangeCount(rs.getLong(1), rs.getLong(2));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,60 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.analytics.ReportColumnStore;
+import com.adrs.dto.ReportAnalyticsRow;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic disease reports for analytics benchmarks: 25 districts, 60 diseases
+ * with a skewed frequency, 50,000 farms, five years from 2021 and a quarter of
+ * reports unconfirmed. The same seed always gives the same reports.
+ */
+final class SyntheticReports {
+
+    static final int DISTRICTS = 25;
+    static final int DISEASES = 60;
+    static final int FARMS = 50_000;
+    static final LocalDate FIRST_DAY = LocalDate.of(2021, 1, 1);
+
+    final List<Disease> diseases = new ArrayList<>();
+    final ReportColumnStore store;
+
+    SyntheticReports(int reports) {
+        Disease.Severity[] severities = Disease.Severity.values();
+        for (int i = 0; i < DISEASES; i++) {
+            Disease disease = new Disease("Disease " + i, "D" + i, null, severities[i % severities.length], false);
+            disease.setId(UUID.randomUUID());
+            diseases.add(disease);
+        }
+        UUID[] farms = IntStream.range(0, FARMS).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        DiseaseReport.Outcome[] outcomes = DiseaseReport.Outcome.values();
+        long firstDay = FIRST_DAY.toEpochDay();
+
+        SplittableRandom random = new SplittableRandom(42);
+        DiseaseReportRepository repository = Mockito.mock(DiseaseReportRepository.class);
+        Mockito.when(repository.streamAnalyticsRows()).thenAnswer(invocation -> IntStream.range(0, reports)
+                .mapToObj(i -> {
+                    int farm = random.nextInt(FARMS);
+                    Disease disease = diseases.get((int) Math.min(DISEASES - 1, Math.abs(random.nextGaussian() * 12)));
+                    return new ReportAnalyticsRow(new UUID(i, random.nextLong()), disease.getId(),
+                            farms[farm], new UUID(farm, random.nextInt(40)), "DISTRICT_" + (farm % DISTRICTS),
+                            LocalDate.ofEpochDay(firstDay + random.nextInt(5 * 365)),
+                            outcomes[random.nextInt(outcomes.length)], random.nextInt(4) != 0);
+                }));
+
+        store = new ReportColumnStore(repository, Mockito.mock(FarmRepository.class),
+                Mockito.mock(PlatformTransactionManager.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.adrs.test.benchmark;
+
+import com.adrs.util.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bulk insert throughput and primary-key index size for random (v4)
+ * and time-ordered (v7) UUID keys on a real PostgreSQL instance.
+ *
+ * The table mirrors the shape of {@code disease_reports}. Shared buffers are kept
+ * small so that the table outgrows the cache during the run, which is where random
+ * keys start paying for scattered leaf page writes. Index size and the number of
+ * rows inserted are printed at the end of each trial.
+ *
+ * Requires Docker. Run with:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=UuidInsertBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String INSERT_SQL =
+            "INSERT INTO bench_reports (id, disease_id, report_date, notes, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public String idStrategy;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private UUID diseaseId;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"))
+                .withCommand("postgres", "-c", "shared_buffers=32MB", "-c", "fsync=off");
+        postgres.start();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_reports ("
+                    + "id UUID PRIMARY KEY, disease_id UUID NOT NULL, report_date DATE NOT NULL, "
+                    + "notes TEXT, created_at TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+        diseaseId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        boolean timeOrdered = "TIME_ORDERED_V7".equals(idStrategy);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                insert.setObject(1, timeOrdered ? UuidV7Generator.generate() : UUID.randomUUID());
+                insert.setObject(2, diseaseId);
+                insert.setObject(3, now.toLocalDateTime().toLocalDate());
+                insert.setString(4, "Fever, reduced milk yield, lesions around the mouth");
+                insert.setTimestamp(5, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportAndStop() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*), "
+                     + "pg_relation_size('bench_reports_pkey'), pg_relation_size('bench_reports') "
+                     + "FROM bench_reports")) {
+            rs.next();
+            long rows = rs.getLong(1);
+            long indexBytes = rs.getLong(2);
+            long tableBytes = rs.getLong(3);
+            System.out.printf("%n[%s] rows=%d pk_index=%.1f MB (%.1f bytes/row) table=%.1f MB%n",
+                    idStrategy, rows, indexBytes / 1_048_576.0, rows == 0 ? 0.0 : (double) indexBytes / rows,
+                    tableBytes / 1_048_576.0);
+        } finally {
+            connection.close();
+            postgres.stop();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.adrs.test.config;
+
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.model.Animal;
+import com.adrs.model.AnimalType;
+import com.adrs.model.Disease;
+import com.adrs.model.DiseaseReport;
+import com.adrs.model.Farm;
+import com.adrs.model.FarmType;
+import com.adrs.model.User;
+import com.adrs.repository.AnimalRepository;
+import com.adrs.repository.AnimalTypeRepository;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.DiseaseRepository;
+import com.adrs.repository.FarmRepository;
+import com.adrs.repository.FarmTypeRepository;
+import com.adrs.repository.UserRepository;
+import com.adrs.service.DiseaseService;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Committed disease report fixtures for integration tests.
+ *
+ * Reports are committed (not rolled back) because streamed responses and
+ * after-commit listeners run outside a test's transaction. Creates one officer,
+ * two farms (Colombo and Kandy), one animal per farm, one disease and three
+ * reports; {@link #remove()} deletes them again. The disease goes through the
+ * {@link DiseaseService} so its cached catalog sees it.
+ */
+@TestComponent
+public class DiseaseReportFixtures {
+
+    public static final String DISEASE_CODE = "RT-FMD";
+
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final FarmTypeRepository farmTypeRepository;
+    private final FarmRepository farmRepository;
+    private final AnimalTypeRepository animalTypeRepository;
+    private final AnimalRepository animalRepository;
+    private final DiseaseRepository diseaseRepository;
+    private final DiseaseReportRepository diseaseReportRepository;
+    private final DiseaseService diseaseService;
+
+    private final List<DiseaseReport> reports = new ArrayList<>();
+    private Disease disease;
+
+    public DiseaseReportFixtures(TransactionTemplate transactionTemplate, UserRepository userRepository,
+                                 FarmTypeRepository farmTypeRepository, FarmRepository farmRepository,
+                                 AnimalTypeRepository animalTypeRepository, AnimalRepository animalRepository,
+                                 DiseaseRepository diseaseRepository, DiseaseReportRepository diseaseReportRepository,
+                                 DiseaseService diseaseService) {
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.farmTypeRepository = farmTypeRepository;
+        this.farmRepository = farmRepository;
+        this.animalTypeRepository = animalTypeRepository;
+        this.animalRepository = animalRepository;
+        this.diseaseRepository = diseaseRepository;
+        this.diseaseReportRepository = diseaseReportRepository;
+        this.diseaseService = diseaseService;
+    }
+
+    /**
+     * Commit the fixtures. Reports, in order:
+     * <ol>
+     *   <li>2025-01-10, Colombo, ongoing, confirmed: "Fever and lameness" / "Blisters on the tongue"</li>
+     *   <li>2025-02-20, Colombo, recovered: "Reduced milk yield" / "Suspected FMD"</li>
+     *   <li>2026-03-01, Kandy, ongoing: "Lameness" / "=cmd"</li>
+     * </ol>
+     *
+     * @return the committed reports
+     */
+    public List<DiseaseReport> create() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User officer = new User();
+            officer.setUsername("report.officer");
+            officer.setEmail("report.officer@example.com");
+            officer.setPassword("$2a$10$hashedPassword");
+            officer.setFirstName("Report");
+            officer.setLastName("Officer");
+            officer.setRole(User.Role.VETERINARY_OFFICER);
+            officer.setActive(true);
+            officer = userRepository.save(officer);
+
+            FarmType farmType = farmTypeRepository.save(new FarmType("Report Test Dairy", "Dairy"));
+            AnimalType animalType = animalTypeRepository.save(new AnimalType("Report Test Cattle", "Cattle"));
+            DiseaseDTO diseaseDTO = new DiseaseDTO();
+            diseaseDTO.setDiseaseName("Report Test FMD");
+            diseaseDTO.setDiseaseCode(DISEASE_CODE);
+            diseaseDTO.setDescription("Foot and mouth");
+            diseaseDTO.setSeverity(Disease.Severity.HIGH);
+            diseaseDTO.setIsNotifiable(true);
+            disease = diseaseRepository.findById(diseaseService.createDisease(diseaseDTO).getId()).orElseThrow();
+
+            Farm colombo = saveFarm("Green Valley, Ltd", farmType, "COLOMBO", "WESTERN");
+            Farm kandy = saveFarm("Hill Top Farm", farmType, "KANDY", "CENTRAL");
+            Animal colomboCow = saveAnimal(colombo, animalType, "RT-0001");
+            Animal kandyCow = saveAnimal(kandy, animalType, "RT-0002");
+
+            reports.add(saveReport(colomboCow, officer, LocalDate.of(2025, 1, 10),
+                    "Fever and lameness", "Blisters on the tongue", DiseaseReport.Outcome.ONGOING, true));
+            reports.add(saveReport(colomboCow, officer, LocalDate.of(2025, 2, 20),
+                    "Reduced milk yield", "Suspected FMD", DiseaseReport.Outcome.RECOVERED, false));
+            reports.add(saveReport(kandyCow, officer, LocalDate.of(2026, 3, 1),
+                    "Lameness", "=cmd", DiseaseReport.Outcome.ONGOING, false));
+        });
+        return reports;
+    }
+
+    /**
+     * Delete everything {@link #create()} committed.
+     */
+    public void remove() {
+        transactionTemplate.executeWithoutResult(status -> {
+            diseaseReportRepository.deleteAll(reports);
+            animalRepository.deleteAll();
+            farmRepository.deleteAll();
+            diseaseRepository.findByDiseaseCode(DISEASE_CODE)
+                    .ifPresent(found -> diseaseService.deleteDisease(found.getId()));
+            animalTypeRepository.findByTypeName("Report Test Cattle").ifPresent(animalTypeRepository::delete);
+            farmTypeRepository.findByTypeName("Report Test Dairy").ifPresent(farmTypeRepository::delete);
+            userRepository.findByUsername("report.officer").ifPresent(userRepository::delete);
+        });
+        reports.clear();
+    }
+
+    public Disease getDisease() {
+        return disease;
+    }
+
+    private Farm saveFarm(String name, FarmType farmType, String district, String province) {
+        Farm farm = new Farm();
+        farm.setFarmName(name);
+        farm.setFarmType(farmType);
+        farm.setOwnerName("K. Perera");
+        farm.setAddress("12 Temple Road");
+        farm.setDistrict(district);
+        farm.setProvince(province);
+        return farmRepository.save(farm);
+    }
+
+    private Animal saveAnimal(Farm farm, AnimalType animalType, String tag) {
+        Animal animal = new Animal();
+        animal.setFarm(farm);
+        animal.setAnimalType(animalType);
+        animal.setTagNumber(tag);
+        return animalRepository.save(animal);
+    }
+
+    private DiseaseReport saveReport(Animal animal, User officer, LocalDate reportDate, String symptoms,
+                                     String diagnosis, DiseaseReport.Outcome outcome, boolean confirmed) {
+        DiseaseReport report = new DiseaseReport();
+        report.setAnimal(animal);
+        report.setDisease(disease);
+        report.setFarm(animal.getFarm());
+        report.setReportedBy(officer);
+        report.setReportDate(reportDate);
+        report.setSymptoms(symptoms);
+        report.setDiagnosis(diagnosis);
+        report.setOutcome(outcome);
+        report.setIsConfirmed(confirmed);
+        return diseaseReportRepository.save(report);
+    }
+}
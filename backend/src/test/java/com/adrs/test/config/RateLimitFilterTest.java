@@ -0,0 +1,87 @@
+package com.adrs.test.config;
+
+import com.adrs.config.RateLimitFilter;
+import com.adrs.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the order and overflow handling of RateLimitFilter.
+ */
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    @Test
+    @DisplayName("Should stop at the address rule, leaving the username bucket untouched")
+    void testRefusedRequestTakesNoUsernameToken() throws Exception {
+        // Listed username first, to show address rules are checked first anyway
+        RateLimitFilter filter = filter(8, rule("login-username", RateLimitProperties.Key.USERNAME, 1),
+                rule("login-ip", RateLimitProperties.Key.IP, 2));
+
+        assertThat(login(filter, "10.0.0.1", "spray1")).isEqualTo(HttpStatus.OK.value());
+        assertThat(login(filter, "10.0.0.1", "spray2")).isEqualTo(HttpStatus.OK.value());
+        assertThat(login(filter, "10.0.0.1", "target")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(login(filter, "10.0.0.2", "target")).isEqualTo(HttpStatus.OK.value());
+        assertThat(login(filter, "10.0.0.2", "target")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    @DisplayName("Should refuse a username overflow from a client out of address tokens")
+    void testOverflowRefusedForThrottledClient() throws Exception {
+        RateLimitFilter filter = filter(8, rule("login-ip", RateLimitProperties.Key.IP, 2),
+                rule("login-username", RateLimitProperties.Key.USERNAME, 1));
+        for (int i = 0; i < 8; i++) {
+            assertThat(login(filter, "10.0.1." + i / 2, "user" + i)).isEqualTo(HttpStatus.OK.value());
+        }
+
+        // The username table is full: let through while the address still has a token
+        assertThat(login(filter, "10.0.2.1", "late1")).isEqualTo(HttpStatus.OK.value());
+        MockHttpServletResponse refused = perform(filter, "10.0.2.1", "late2");
+        assertThat(refused.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(refused.getHeader("Retry-After"))).isBetween(1_700L, 1_800L);
+    }
+
+    private static int login(RateLimitFilter filter, String address, String username) throws Exception {
+        return perform(filter, address, username).getStatus();
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String address, String username)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(address);
+        request.setParameter("username", username);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitFilter filter(int capacity, RateLimitProperties.Rule... rules) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(capacity);
+        properties.setRules(List.of(rules));
+        return new RateLimitFilter(properties, new SimpleMeterRegistry());
+    }
+
+    private static RateLimitProperties.Rule rule(String name, RateLimitProperties.Key key, int limit) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setPath("/login");
+        rule.setMethods(List.of("POST"));
+        rule.setKey(key);
+        rule.setLimit(limit);
+        rule.setPeriod(Duration.ofHours(1));
+        return rule;
+    }
+}
@@ -4,18 +4,29 @@ import com.adrs.dto.FarmTypeDTO;
 import com.adrs.dto.AnimalTypeDTO;
 import com.adrs.dto.DiseaseDTO;
 import com.adrs.model.Disease;
+import com.adrs.service.AnimalTypeService;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.FarmTypeService;
+import com.adrs.test.config.DiseaseReportFixtures;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
+@Import(DiseaseReportFixtures.class)
 @DisplayName("Configuration Controller Integration Tests")
 class ConfigurationControllerIntegrationTest {
 
@@ -41,6 +53,21 @@ class ConfigurationControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FarmTypeService farmTypeService;
+
+    @Autowired
+    private AnimalTypeService animalTypeService;
+
+    @Autowired
+    private DiseaseService diseaseService;
+
+    @Autowired
+    private DiseaseReportFixtures fixtures;
+
     // ========================================
     // FARM TYPE TESTS
     // ========================================
@@ -109,6 +136,71 @@ class ConfigurationControllerIntegrationTest {
                 .andExpect(redirectedUrlPattern("**/login"));
     }
 
+    @Test
+    @DisplayName("Should serve repeated farm type reads from cache until a write")
+    void testFarmTypeReadsAreCached() {
+        farmTypeService.getAllFarmTypes();
+        double misses = cacheGets("farm-types", "miss");
+        double hits = cacheGets("farm-types", "hit");
+
+        farmTypeService.getActiveFarmTypes();
+        farmTypeService.getAllFarmTypes();
+        assertThat(cacheGets("farm-types", "miss")).isEqualTo(misses);
+        assertThat(cacheGets("farm-types", "hit")).isEqualTo(hits + 2);
+
+        FarmTypeDTO farmTypeDTO = new FarmTypeDTO();
+        farmTypeDTO.setTypeName("Cached Farm Type");
+        farmTypeService.createFarmType(farmTypeDTO);
+
+        assertThat(farmTypeService.getAllFarmTypes())
+                .extracting(FarmTypeDTO::getTypeName)
+                .contains("Cached Farm Type");
+        assertThat(cacheGets("farm-types", "miss")).isEqualTo(misses + 1);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reject farm type names that differ only by case")
+    void testCreateFarmTypeDuplicateIgnoringCase() throws Exception {
+        FarmTypeDTO farmTypeDTO = new FarmTypeDTO();
+        farmTypeDTO.setTypeName("Case Farm Type");
+        farmTypeService.createFarmType(farmTypeDTO);
+        assertThat(farmTypeService.farmTypeExists("case farm TYPE")).isTrue();
+
+        farmTypeDTO.setTypeName("CASE FARM TYPE");
+        mockMvc.perform(post(FARM_TYPES_ENDPOINT)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(farmTypeDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return usage counts for a whole catalog")
+    void testUsageCounts() throws Exception {
+        fixtures.create();
+        try {
+            UUID diseaseId = fixtures.getDisease().getId();
+            FarmTypeDTO farmTypeDTO = new FarmTypeDTO();
+            farmTypeDTO.setTypeName("Unused Farm Type");
+            UUID unusedFarmType = farmTypeService.createFarmType(farmTypeDTO).getId();
+
+            mockMvc.perform(get(FARM_TYPES_ENDPOINT + "/usage"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['" + unusedFarmType + "']").value(0))
+                    .andExpect(jsonPath("$.*", hasItem(2)));
+            mockMvc.perform(get(ANIMAL_TYPES_ENDPOINT + "/usage"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.*", hasItem(2)));
+            mockMvc.perform(get(DISEASES_ENDPOINT + "/usage"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$['" + diseaseId + "']").value(3));
+        } finally {
+            fixtures.remove();
+        }
+    }
+
     // ========================================
     // ANIMAL TYPE TESTS
     // ========================================
@@ -202,6 +294,32 @@ class ConfigurationControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(roles = "FARMER")
+    @DisplayName("Should list the diseases that can affect an animal type")
+    void testGetDiseasesAffectingAnimalType() throws Exception {
+        AnimalTypeDTO cattle = new AnimalTypeDTO();
+        cattle.setTypeName("Index Cattle");
+        UUID cattleId = animalTypeService.createAnimalType(cattle).getId();
+        UUID otherTypeId = UUID.randomUUID();
+
+        UUID cattleDisease = createDisease("Index Cattle Disease", cattleId.toString(), otherTypeId.toString());
+        UUID otherDisease = createDisease("Index Other Disease", otherTypeId.toString());
+        createDisease("Index Any Disease");
+
+        mockMvc.perform(get(ANIMAL_TYPES_ENDPOINT + "/" + cattleId + "/diseases"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].diseaseName", hasItem("Index Cattle Disease")))
+                .andExpect(jsonPath("$[*].diseaseName", hasItem("Index Any Disease")))
+                .andExpect(jsonPath("$[*].diseaseName", not(hasItem("Index Other Disease"))));
+
+        assertThat(diseaseService.isDiseaseApplicableToAnimalType(cattleDisease, cattleId)).isTrue();
+        assertThat(diseaseService.isDiseaseApplicableToAnimalType(otherDisease, cattleId)).isFalse();
+
+        mockMvc.perform(get(ANIMAL_TYPES_ENDPOINT + "/" + UUID.randomUUID() + "/diseases"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("Should return 400 when creating disease with invalid data")
@@ -261,4 +379,16 @@ class ConfigurationControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(farmTypeDTO)))
                 .andExpect(status().isForbidden());
     }
+
+    private UUID createDisease(String name, String... affectedAnimalTypes) {
+        DiseaseDTO diseaseDTO = new DiseaseDTO();
+        diseaseDTO.setDiseaseName(name);
+        diseaseDTO.setSeverity(Disease.Severity.LOW);
+        diseaseDTO.setAffectedAnimalTypes(affectedAnimalTypes);
+        return diseaseService.createDisease(diseaseDTO).getId();
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).counter().count();
+    }
 }
@@ -0,0 +1,122 @@
+package com.adrs.test.controller;
+
+import com.adrs.dto.AnimalTypeDTO;
+import com.adrs.dto.DiseaseDTO;
+import com.adrs.service.AnimalTypeService;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.FarmTypeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for bulk configuration import and export.
+ * Not transactional, so imports commit and show up in exports.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Configuration Transfer Integration Tests")
+class ConfigurationTransferIntegrationTest {
+
+    private static final String DISEASES_ENDPOINT = "/api/configuration/diseases";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnimalTypeService animalTypeService;
+
+    @Autowired
+    private DiseaseService diseaseService;
+
+    @Autowired
+    private FarmTypeService farmTypeService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should import diseases from CSV and export them with animal type names")
+    void testImportAndExportDiseases() throws Exception {
+        UUID cattle = animalTypeService.createAnimalType(new AnimalTypeDTO("Transfer Cattle", null)).getId();
+        String csv = "diseaseName,diseaseCode,severity,isNotifiable,affectedAnimalTypes\r\n"
+                + "Transfer Pox,TRP-1,high,true,transfer cattle\r\n"
+                + "\"Transfer Fever, Acute\",,LOW,,\r\n";
+        try {
+            mockMvc.perform(post(DISEASES_ENDPOINT + "/import").param("format", "csv")
+                            .with(csrf())
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowsRead").value(2))
+                    .andExpect(jsonPath("$.imported").value(2));
+
+            assertThat(diseaseService.diseaseCodeExists("trp-1")).isTrue();
+            assertThat(diseaseService.getDiseasesAffectingAnimalType(cattle))
+                    .extracting(DiseaseDTO::getDiseaseName)
+                    .contains("Transfer Pox", "Transfer Fever, Acute");
+
+            MvcResult export = mockMvc.perform(get(DISEASES_ENDPOINT + "/export"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"diseases.json\""))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(export))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.diseaseName == 'Transfer Pox')].affectedAnimalTypes[0]")
+                            .value("Transfer Cattle"))
+                    .andExpect(jsonPath("$[?(@.diseaseName == 'Transfer Pox')].severity").value("HIGH"));
+        } finally {
+            for (DiseaseDTO disease : diseaseService.getAllDiseases()) {
+                if (disease.getDiseaseName().startsWith("Transfer ")) {
+                    diseaseService.deleteDisease(disease.getId());
+                }
+            }
+            animalTypeService.deleteAnimalType(cattle);
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reject the whole import and report each bad row")
+    void testImportWithRejectedRows() throws Exception {
+        String json = "[{\"typeName\": \"Bulk Dairy\"},"
+                + " {\"typeName\": \"x\"},"
+                + " {\"typeName\": \"BULK DAIRY\"},"
+                + " {\"typeName\": \"Bulk Poultry\", \"isActive\": \"maybe\"},"
+                + " {\"typeName\": \"Bulk Goat\"}]";
+
+        mockMvc.perform(post("/api/configuration/farm-types/import")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.rowsRead").value(5))
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errorCount").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[1].message").value("Farm type 'BULK DAIRY' is repeated from row 1"))
+                .andExpect(jsonPath("$.errors[2].row").value(4));
+
+        mockMvc.perform(post("/api/configuration/farm-types/import")
+                        .with(csrf())
+                        .contentType("application/json")
+                        .content("[{\"typeName\": "))
+                .andExpect(status().isBadRequest());
+
+        assertThat(farmTypeService.farmTypeExists("Bulk Dairy")).isFalse();
+        mockMvc.perform(get("/api/configuration/farm-types/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
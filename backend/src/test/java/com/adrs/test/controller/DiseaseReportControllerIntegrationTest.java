@@ -0,0 +1,192 @@
+package com.adrs.test.controller;
+
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.test.config.DiseaseReportFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for DiseaseReportController.
+ * Uses committed fixtures; see {@link DiseaseReportFixtures}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DiseaseReportFixtures.class)
+@DisplayName("Disease Report Controller Integration Tests")
+class DiseaseReportControllerIntegrationTest {
+
+    private static final String EXPORT_ENDPOINT = "/api/disease-reports/export";
+    private static final String SEARCH_ENDPOINT = "/api/disease-reports/search";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Autowired
+    private DiseaseReportFixtures fixtures;
+
+    private List<DiseaseReport> reports;
+
+    @BeforeEach
+    void setUp() {
+        reports = fixtures.create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.remove();
+    }
+
+    // ========================================
+    // EXPORT TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should stream reports within the date range as CSV")
+    void testExportCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get(EXPORT_ENDPOINT)
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"disease-reports_2025-01-01_2025-12-31.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("Report ID,Report Date,Disease Code");
+        assertThat(lines[1]).contains("2025-01-10", "RT-FMD", "\"Green Valley, Ltd\"", "COLOMBO", "report.officer");
+        assertThat(lines[2]).contains("2025-02-20", "Reduced milk yield");
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should stream reports as XLSX")
+    void testExportXlsx() throws Exception {
+        MvcResult result = mockMvc.perform(get(EXPORT_ENDPOINT)
+                        .param("from", "2025-01-01")
+                        .param("to", "2026-12-31")
+                        .param("format", "xlsx"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Zip local file header signature
+        assertThat(body).startsWith(0x50, 0x4B, 0x03, 0x04);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 400 for an inverted date range")
+    void testExportInvalidRange() throws Exception {
+        mockMvc.perform(get(EXPORT_ENDPOINT)
+                        .param("from", "2025-12-31")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 400 for an unknown format")
+    void testExportInvalidFormat() throws Exception {
+        mockMvc.perform(get(EXPORT_ENDPOINT)
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31")
+                        .param("format", "pdf"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================================
+    // SEARCH TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should find committed reports by symptom term")
+    void testSearchByTerm() throws Exception {
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", "lameness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].diseaseName").value("Report Test FMD"))
+                .andExpect(jsonPath("$[1].diseaseName").value("Report Test FMD"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should match phrases and honour exclusions")
+    void testSearchPhraseAndExclusion() throws Exception {
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", "\"milk yield\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(reports.get(1).getId().toString()));
+
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", "lameness -blisters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(reports.get(2).getId().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reflect committed updates and deletes")
+    void testSearchFollowsCommittedChanges() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            DiseaseReport report = diseaseReportRepository.findById(reports.get(0).getId()).orElseThrow();
+            report.setNotes("Quarantine ordered");
+        });
+        transactionTemplate.executeWithoutResult(status -> diseaseReportRepository.deleteById(reports.get(1).getId()));
+
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", "quarantine"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(reports.get(0).getId().toString()));
+
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", "milk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 400 for a blank search query")
+    void testSearchBlankQuery() throws Exception {
+        mockMvc.perform(get(SEARCH_ENDPOINT).param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,139 @@
+package com.adrs.test.controller;
+
+import com.adrs.dto.FarmTypeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the pre-rendered reference data endpoints.
+ * Not transactional, so configuration writes commit and replace the snapshot.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Reference Data Integration Tests")
+class ReferenceDataIntegrationTest {
+
+    private static final String VERSION_HEADER = "X-Reference-Data-Version";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockUser(roles = "FARMER")
+    @DisplayName("Should serve location lists as JSON or gzip")
+    void testLocations() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/locations/districts/all"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[?(@.value == 'COLOMBO')].province").value("WESTERN"))
+                .andReturn();
+
+        MvcResult gzipped = mockMvc.perform(get("/api/locations/districts/all")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getResponse().getContentAsByteArray());
+        }
+
+        mockMvc.perform(get("/api/locations/districts").param("provinceName", "WESTERN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", hasItem("COLOMBO")))
+                .andExpect(jsonPath("$[*].value", not(hasItem("KANDY"))));
+
+        mockMvc.perform(get("/api/locations/districts").param("provinceName", "ATLANTIS"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "FARMER")
+    @DisplayName("Should let browsers cache locations and revalidate them by entity tag")
+    void testLocationCaching() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/locations/provinces"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/locations/provinces").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        MvcResult gzipped = mockMvc.perform(get("/api/locations/districts/all")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        String gzipEtag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/locations/districts/all").header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(gzipEtag)));
+
+        mockMvc.perform(get("/api/locations/districts/all").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should replace the snapshot when a configuration write commits")
+    void testSnapshotFollowsCommittedWrites() throws Exception {
+        long version = Long.parseLong(mockMvc.perform(get("/api/configuration/farm-types"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(VERSION_HEADER));
+
+        FarmTypeDTO farmTypeDTO = new FarmTypeDTO();
+        farmTypeDTO.setTypeName("Snapshot Farm Type");
+        MvcResult created = mockMvc.perform(post("/api/configuration/farm-types")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(farmTypeDTO)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String id = objectMapper.readValue(created.getResponse().getContentAsString(), FarmTypeDTO.class)
+                .getId().toString();
+
+        try {
+            String newVersion = mockMvc.perform(get("/api/configuration/farm-types"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].typeName", hasItem("Snapshot Farm Type")))
+                    .andReturn().getResponse().getHeader(VERSION_HEADER);
+            assertThat(Long.parseLong(newVersion)).isGreaterThan(version);
+        } finally {
+            mockMvc.perform(delete("/api/configuration/farm-types/" + id).with(csrf()))
+                    .andExpect(status().isNoContent());
+        }
+
+        mockMvc.perform(get("/api/configuration/farm-types"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].typeName", not(hasItem("Snapshot Farm Type"))));
+    }
+}
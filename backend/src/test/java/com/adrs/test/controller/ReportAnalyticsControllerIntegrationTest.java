@@ -0,0 +1,214 @@
+package com.adrs.test.controller;
+
+import com.adrs.model.DiseaseReport;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.test.config.DiseaseReportFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ReportAnalyticsController.
+ * Uses committed fixtures; see {@link DiseaseReportFixtures}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DiseaseReportFixtures.class)
+@DisplayName("Report Analytics Controller Integration Tests")
+class ReportAnalyticsControllerIntegrationTest {
+
+    private static final String BASE_URL = "/api/dashboard/reports";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Autowired
+    private DiseaseReportFixtures fixtures;
+
+    private List<DiseaseReport> reports;
+
+    @BeforeEach
+    void setUp() {
+        reports = fixtures.create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.remove();
+    }
+
+    // ========================================
+    // GROUP COUNT TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should count committed reports grouped by district")
+    void testGroupCountsByDistrict() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/group-counts").param("groupBy", "district"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].group.district").value("COLOMBO"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[1].group.district").value("KANDY"))
+                .andExpect(jsonPath("$[1].count").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should apply filters and group by several dimensions")
+    void testGroupCountsWithFilters() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/group-counts")
+                        .param("groupBy", "month,outcome")
+                        .param("district", "COLOMBO")
+                        .param("confirmed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].group.month").value("2025-02"))
+                .andExpect(jsonPath("$[0].group.outcome").value("RECOVERED"))
+                .andExpect(jsonPath("$[0].count").value(1));
+
+        mockMvc.perform(get(BASE_URL + "/group-counts")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31")
+                        .param("diseaseId", fixtures.getDisease().getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reflect committed updates and deletes")
+    void testGroupCountsFollowCommittedChanges() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            DiseaseReport report = diseaseReportRepository.findById(reports.get(2).getId()).orElseThrow();
+            report.setIsConfirmed(true);
+        });
+        transactionTemplate.executeWithoutResult(status -> diseaseReportRepository.deleteById(reports.get(1).getId()));
+
+        mockMvc.perform(get(BASE_URL + "/group-counts").param("groupBy", "confirmed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].group.confirmed").value("true"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 400 for an unknown dimension")
+    void testGroupCountsInvalidDimension() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/group-counts").param("groupBy", "colour"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================================
+    // BITMAP COUNT TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should count reports matching district, severity, month and confirmation filters")
+    void testCount() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+
+        mockMvc.perform(get(BASE_URL + "/count")
+                        .param("district", "COLOMBO")
+                        .param("severity", "HIGH")
+                        .param("month", "2025-01", "2025-02")
+                        .param("confirmed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+
+        mockMvc.perform(get(BASE_URL + "/count")
+                        .param("severity", "LOW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should return 400 for an invalid month")
+    void testCountInvalidMonth() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/count").param("month", "2025-13"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================================
+    // DISTINCT COUNT TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should count distinct affected farms and animals")
+    void testDistinct() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/distinct"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.farms").value(2))
+                .andExpect(jsonPath("$.animals").value(2))
+                .andExpect(jsonPath("$.exact").value(true));
+
+        mockMvc.perform(get(BASE_URL + "/distinct")
+                        .param("district", "COLOMBO")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.farms").value(1))
+                .andExpect(jsonPath("$.animals").value(1));
+
+        mockMvc.perform(get(BASE_URL + "/distinct")
+                        .param("from", "2025-12-31")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ========================================
+    // RANGE COUNT TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should count reports in an inclusive date range")
+    void testRangeCount() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/range-count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.confirmed").value(1));
+
+        mockMvc.perform(get(BASE_URL + "/range-count")
+                        .param("district", "COLOMBO")
+                        .param("from", "2025-01-10")
+                        .param("to", "2025-02-20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.confirmed").value(1));
+
+        mockMvc.perform(get(BASE_URL + "/range-count")
+                        .param("from", "2025-12-31")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
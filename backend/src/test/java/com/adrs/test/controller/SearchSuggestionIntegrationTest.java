@@ -0,0 +1,83 @@
+package com.adrs.test.controller;
+
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the typeahead suggestion endpoint.
+ * Not transactional, since the index is only updated by committed changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Search Suggestion Integration Tests")
+class SearchSuggestionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("suggestofficer").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should suggest users as they are saved, renamed and deleted")
+    void testUserSuggestions() throws Exception {
+        User user = new User();
+        user.setUsername("suggestofficer");
+        user.setEmail("wickramasinghe.k@example.com");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setFirstName("Kumudu");
+        user.setLastName("Wickramasinghe");
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        user.setActive(true);
+        user = userRepository.save(user);
+
+        mockMvc.perform(get("/api/search/suggest").param("type", "USER").param("q", "kumudu wick"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(String.valueOf(user.getId())))
+                .andExpect(jsonPath("$[0].label").value("Kumudu Wickramasinghe"))
+                .andExpect(jsonPath("$[0].detail").value("suggestofficer"));
+
+        user.setLastName("Jayasuriya");
+        userRepository.save(user);
+        mockMvc.perform(get("/api/search/suggest").param("type", "USER").param("q", "kumudu jaya"))
+                .andExpect(jsonPath("$[0].label").value("Kumudu Jayasuriya"));
+        mockMvc.perform(get("/api/search/suggest").param("type", "USER").param("q", "wickramasinghe.k"))
+                .andExpect(jsonPath("$[0].detail").value("suggestofficer"));
+
+        userRepository.delete(user);
+        mockMvc.perform(get("/api/search/suggest").param("type", "USER").param("q", "kumudu"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should suggest farms but not users to officers")
+    void testOfficerAccess() throws Exception {
+        mockMvc.perform(get("/api/search/suggest").param("type", "FARM").param("q", "green"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/search/suggest").param("type", "USER").param("q", "kumudu"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/search/suggest").param("type", "FARM").param("q", "green").param("limit", "50"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,262 @@
+package com.adrs.test.controller;
+
+import com.adrs.model.DiseaseReport;
+import com.adrs.model.Farm;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.repository.FarmRepository;
+import com.adrs.service.impl.OpenWriteTransactions;
+import com.adrs.test.config.DiseaseReportFixtures;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SyncController.
+ * Uses committed fixtures; see {@link DiseaseReportFixtures}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(DiseaseReportFixtures.class)
+@DisplayName("Sync Controller Integration Tests")
+class SyncControllerIntegrationTest {
+
+    private static final String BASE_URL = "/api/sync";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Autowired
+    private FarmRepository farmRepository;
+
+    @Autowired
+    private DiseaseReportFixtures fixtures;
+
+    @MockBean
+    private OpenWriteTransactions openWriteTransactions;
+
+    private List<DiseaseReport> reports;
+
+    @BeforeEach
+    void setUp() {
+        reports = fixtures.create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.remove();
+    }
+
+    /**
+     * Changes collected over every chunk of one sync.
+     */
+    private record Synced(String cursor, List<String> reportIds, List<String> farmDistricts,
+                          List<String> deletedIds, int chunks) {
+    }
+
+    private Synced syncAll(String cursor, String district, int limit) throws Exception {
+        List<String> reportIds = new ArrayList<>();
+        List<String> farmDistricts = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        int chunks = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            MockHttpServletRequestBuilder request = get(BASE_URL).param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            if (district != null) {
+                request.param("district", district);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Object> changes = new ArrayList<>();
+            for (String list : List.of("farmTypes", "animalTypes", "diseases", "farms", "animals", "reports", "deleted")) {
+                changes.addAll(JsonPath.read(body, "$." + list));
+            }
+            assertThat(changes.size()).isLessThanOrEqualTo(limit);
+            reportIds.addAll(JsonPath.read(body, "$.reports[*].id"));
+            farmDistricts.addAll(JsonPath.read(body, "$.farms[*].district"));
+            deletedIds.addAll(JsonPath.read(body, "$.deleted[*].id"));
+            cursor = JsonPath.read(body, "$.cursor");
+            hasMore = JsonPath.read(body, "$.hasMore");
+            chunks++;
+        }
+        return new Synced(cursor, reportIds, farmDistricts, deletedIds, chunks);
+    }
+
+    private static String id(DiseaseReport report) {
+        return report.getId().toString();
+    }
+
+    // ========================================
+    // SYNC TESTS
+    // ========================================
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should return every change in resumable chunks and nothing after the last cursor")
+    void testFullSyncInChunks() throws Exception {
+        Synced full = syncAll(null, null, 2);
+
+        assertThat(full.chunks()).isGreaterThan(3);
+        assertThat(full.reportIds()).contains(id(reports.get(0)), id(reports.get(1)), id(reports.get(2)));
+        assertThat(full.reportIds()).doesNotHaveDuplicates();
+
+        mockMvc.perform(get(BASE_URL).param("cursor", full.cursor()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.farms", hasSize(0)))
+                .andExpect(jsonPath("$.reports", hasSize(0)))
+                .andExpect(jsonPath("$.deleted", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should limit farms and reports to the requested district")
+    void testDistrictSync() throws Exception {
+        Synced kandy = syncAll(null, "KANDY", 500);
+
+        assertThat(kandy.chunks()).isEqualTo(1);
+        assertThat(kandy.reportIds()).contains(id(reports.get(2)))
+                .doesNotContain(id(reports.get(0)), id(reports.get(1)));
+        assertThat(kandy.farmDistricts()).isNotEmpty().containsOnly("KANDY");
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should return tombstones for deletes and updated rows after the cursor")
+    void testDeletesAndUpdates() throws Exception {
+        String cursor = syncAll(null, null, 500).cursor();
+        String kandyCursor = syncAll(null, "KANDY", 500).cursor();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            diseaseReportRepository.deleteById(reports.get(0).getId());
+            DiseaseReport report = diseaseReportRepository.findById(reports.get(2).getId()).orElseThrow();
+            report.setIsConfirmed(true);
+        });
+
+        Synced changes = syncAll(cursor, null, 500);
+        assertThat(changes.reportIds()).containsExactly(id(reports.get(2)));
+        assertThat(changes.deletedIds()).containsExactly(id(reports.get(0)));
+
+        Synced kandyChanges = syncAll(kandyCursor, "KANDY", 500);
+        assertThat(kandyChanges.reportIds()).containsExactly(id(reports.get(2)));
+        assertThat(kandyChanges.deletedIds()).isEmpty();
+
+        assertThat(syncAll(null, null, 500).deletedIds()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should hold back changes made after an open write transaction started until it commits")
+    void testOpenWriteTransactionHoldsBackChanges() throws Exception {
+        String cursor = syncAll(null, null, 500).cursor();
+        LocalDateTime started = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            DiseaseReport report = diseaseReportRepository.findById(reports.get(2).getId()).orElseThrow();
+            report.setIsConfirmed(true);
+        });
+
+        when(openWriteTransactions.oldestStart()).thenReturn(Optional.of(started));
+        Synced held = syncAll(cursor, null, 500);
+        assertThat(held.reportIds()).isEmpty();
+
+        when(openWriteTransactions.oldestStart()).thenReturn(Optional.empty());
+        assertThat(syncAll(held.cursor(), null, 500).reportIds()).containsExactly(id(reports.get(2)));
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should move a farm's rows between district syncs when the farm changes district")
+    void testFarmMovedDistrict() throws Exception {
+        String cursor = syncAll(null, null, 500).cursor();
+        String kandyCursor = syncAll(null, "KANDY", 500).cursor();
+        String mataleCursor = syncAll(null, "MATALE", 500).cursor();
+        DiseaseReport kandyReport = reports.get(2);
+        String farmId = kandyReport.getFarm().getId().toString();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Farm farm = farmRepository.findById(kandyReport.getFarm().getId()).orElseThrow();
+            farm.setDistrict("MATALE");
+        });
+
+        Synced kandyChanges = syncAll(kandyCursor, "KANDY", 500);
+        assertThat(kandyChanges.reportIds()).isEmpty();
+        assertThat(kandyChanges.deletedIds()).contains(farmId, id(kandyReport)).hasSize(3);
+
+        Synced mataleChanges = syncAll(mataleCursor, "MATALE", 500);
+        assertThat(mataleChanges.reportIds()).containsExactly(id(kandyReport));
+        assertThat(mataleChanges.farmDistricts()).containsExactly("MATALE");
+        assertThat(mataleChanges.deletedIds()).isEmpty();
+
+        Synced changes = syncAll(cursor, null, 500);
+        assertThat(changes.reportIds()).containsExactly(id(kandyReport));
+        assertThat(changes.deletedIds()).isEmpty();
+
+        // Moving back takes the rows out of the old district's deletes again
+        transactionTemplate.executeWithoutResult(status -> {
+            Farm farm = farmRepository.findById(kandyReport.getFarm().getId()).orElseThrow();
+            farm.setDistrict("KANDY");
+        });
+        assertThat(syncAll(kandyCursor, "KANDY", 500).deletedIds()).isEmpty();
+        assertThat(syncAll(mataleCursor, "MATALE", 500).deletedIds()).contains(farmId, id(kandyReport));
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should refuse cursors older than the tombstone retention window")
+    void testExpiredCursor() throws Exception {
+        // A cursor at the start of every stream, as issued before any delete was seen
+        String expired = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1|||||||".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get(BASE_URL).param("cursor", expired))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @WithMockUser(roles = "VETERINARY_OFFICER")
+    @DisplayName("Should reject invalid cursors and limits")
+    void testInvalidRequests() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(BASE_URL).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
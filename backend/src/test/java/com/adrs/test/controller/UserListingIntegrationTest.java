@@ -0,0 +1,102 @@
+package com.adrs.test.controller;
+
+import com.adrs.model.Province;
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the server-side user listing page and API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("User Listing Integration Tests")
+class UserListingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            userRepository.save(user("listofficer" + i, User.Role.VETERINARY_OFFICER, Province.WESTERN));
+        }
+        userRepository.save(user("listadmin", User.Role.ADMIN, Province.CENTRAL));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should page the API listing by key with filters")
+    void testApiListing() throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .param("q", "LISTOFFICER")
+                        .param("role", "VETERINARY_OFFICER")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.users.length()").value(2))
+                .andExpect(jsonPath("$.users[0].username").value("listofficer1"))
+                .andExpect(jsonPath("$.users[0].province").value("WESTERN"))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("listofficer2"));
+
+        mockMvc.perform(get("/api/users")
+                        .param("q", "listofficer")
+                        .param("after", "listofficer2")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("listofficer3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/users").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should render the filtered page with a next page link")
+    void testPageListing() throws Exception {
+        mockMvc.perform(get("/users")
+                        .param("province", "WESTERN")
+                        .param("q", "listofficer")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("users/user-management"))
+                .andExpect(content().string(containsString("listofficer2")))
+                .andExpect(content().string(not(containsString("listofficer3"))))
+                .andExpect(content().string(not(containsString("listadmin"))))
+                .andExpect(content().string(containsString("after=listofficer2")));
+    }
+
+    private User user(String username, User.Role role, Province province) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setFirstName("List");
+        user.setLastName("User");
+        user.setProvince(province);
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
+}
@@ -6,7 +6,9 @@ import com.adrs.dto.UserRequest;
 import com.adrs.dto.UserResponse;
 import com.adrs.model.User;
 import com.adrs.repository.UserRepository;
+import com.adrs.service.impl.LastLoginRecorder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -51,6 +53,12 @@ class AuthenticationIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
 
     /**
@@ -101,7 +109,9 @@ class AuthenticationIntegrationTest {
         assertThat(authResponse.getToken()).isNotNull();
         assertThat(authResponse.getUsername()).isEqualTo(TEST_USERNAME);
         
-        // And - Verify user's last login was updated
+        // And - Verify user's last login was updated once pending logins are written
+        lastLoginRecorder.flush();
+        entityManager.clear();
         User updatedUser = userRepository.findByUsername(TEST_USERNAME).orElseThrow();
         assertThat(updatedUser.getLastLogin()).isNotNull();
     }
@@ -0,0 +1,139 @@
+package com.adrs.test.integration;
+
+import com.adrs.alert.AlertDigest;
+import com.adrs.alert.AlertSink;
+import com.adrs.alert.DiseaseAlert;
+import com.adrs.alert.DiseaseAlertDispatcher;
+import com.adrs.alert.InMemoryAlertSink;
+import com.adrs.dto.UserRequest;
+import com.adrs.model.DiseaseReport;
+import com.adrs.model.District;
+import com.adrs.model.User;
+import com.adrs.repository.DiseaseReportRepository;
+import com.adrs.service.DiseaseService;
+import com.adrs.service.UserService;
+import com.adrs.test.config.DiseaseReportFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the disease alert pipeline, from report confirmation to the
+ * in-memory sink. Not transactional, since alerts follow committed changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(DiseaseReportFixtures.class)
+@DisplayName("Disease Alert Integration Tests")
+class DiseaseAlertIntegrationTest {
+
+    @Autowired
+    private DiseaseReportFixtures fixtures;
+
+    @Autowired
+    private DiseaseAlertDispatcher dispatcher;
+
+    @Autowired
+    private AlertSink alertSink;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DiseaseService diseaseService;
+
+    @Autowired
+    private DiseaseReportRepository diseaseReportRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> officerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        officerIds.add(officer("alert-colombo-vet", District.COLOMBO, User.Role.VETERINARY_OFFICER));
+        officerIds.add(officer("alert-gampaha-admin", District.GAMPAHA, User.Role.ADMIN));
+        officerIds.add(officer("alert-kandy-vet", District.KANDY, User.Role.VETERINARY_OFFICER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.remove();
+        officerIds.forEach(userService::deleteUser);
+    }
+
+    @Test
+    @DisplayName("Should send one digest per officer, with one alert per disease and district")
+    void testConfirmationsBecomeDigests() {
+        List<DiseaseReport> reports = fixtures.create();
+        confirm(reports.get(1).getId());
+        confirm(reports.get(2).getId());
+
+        dispatcher.flush();
+
+        UUID diseaseId = fixtures.getDisease().getId();
+        assertThat(alertDistricts(officerIds.get(0), diseaseId)).containsExactly(District.COLOMBO);
+        assertThat(alertDistricts(officerIds.get(1), diseaseId)).containsExactly(District.COLOMBO);
+        assertThat(alertDistricts(officerIds.get(2), diseaseId)).containsExactly(District.KANDY);
+        assertThat(((InMemoryAlertSink) alertSink).getDigests().stream()
+                .flatMap(digest -> digest.getAlerts().stream())
+                .filter(alert -> alert.getDiseaseId().equals(diseaseId)))
+                .allSatisfy(alert -> assertThat(alert.getDiseaseName()).isEqualTo("Report Test FMD"));
+    }
+
+    @Test
+    @DisplayName("Should raise no alert for a disease that is no longer active")
+    void testInactiveDiseaseRaisesNoAlert() {
+        List<DiseaseReport> reports = fixtures.create();
+        diseaseService.toggleDiseaseStatus(fixtures.getDisease().getId(), false);
+        confirm(reports.get(2).getId());
+
+        dispatcher.flush();
+
+        assertThat(alertDistricts(officerIds.get(2), fixtures.getDisease().getId())).isEmpty();
+    }
+
+    private List<District> alertDistricts(long recipientId, UUID diseaseId) {
+        return ((InMemoryAlertSink) alertSink).getDigests().stream()
+                .filter(digest -> digest.getRecipientId() == recipientId)
+                .map(AlertDigest::getAlerts)
+                .flatMap(List::stream)
+                .filter(alert -> alert.getDiseaseId().equals(diseaseId))
+                .map(DiseaseAlert::getDistrict)
+                .toList();
+    }
+
+    private void confirm(UUID reportId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            DiseaseReport report = diseaseReportRepository.findById(reportId).orElseThrow();
+            report.setIsConfirmed(true);
+        });
+    }
+
+    private Long officer(String username, District district, User.Role role) {
+        UserRequest request = new UserRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Alert");
+        request.setLastName("Officer");
+        request.setProvince(district.getProvince());
+        request.setDistrict(district);
+        request.setRole(role);
+        request.setActive(true);
+        return userService.createUser(request).getId();
+    }
+}
@@ -0,0 +1,60 @@
+package com.adrs.test.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the rate limit filter on form login.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.rules[0].name=login-username",
+        "app.rate-limit.rules[0].path=/login",
+        "app.rate-limit.rules[0].methods=POST",
+        "app.rate-limit.rules[0].key=USERNAME",
+        "app.rate-limit.rules[0].limit=2",
+        "app.rate-limit.rules[0].period=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Rate Limit Integration Tests")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should refuse logins over the limit for a username before checking the password")
+    void testLoginAttemptsLimitedPerUsername() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/login").with(csrf())
+                            .param("username", "bruteforced")
+                            .param("password", "guess" + i))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/login?error=true"));
+        }
+
+        mockMvc.perform(post("/login").with(csrf())
+                        .param("username", "BruteForced")
+                        .param("password", "guess"))
+                .andExpect(status().isTooManyRequests())
+                // Half an hour per attempt, less the time the two logins took
+                .andExpect(result -> assertThat(Long.parseLong(result.getResponse().getHeader("Retry-After")))
+                        .isBetween(1_700L, 1_800L));
+
+        mockMvc.perform(post("/login").with(csrf())
+                        .param("username", "someoneelse")
+                        .param("password", "guess"))
+                .andExpect(status().is3xxRedirection());
+    }
+}
@@ -0,0 +1,112 @@
+package com.adrs.test.integration;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import com.adrs.session.JdbcSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for form login with the JDBC session store.
+ * Not transactional, since the session is written outside the test's transaction.
+ */
+@SpringBootTest(properties = "app.session.store=jdbc")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Shared Session Integration Tests")
+class SharedSessionIntegrationTest {
+
+    private static final String TEST_USERNAME = "sessionofficer";
+    private static final String TEST_PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcSessionRepository sessionRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername(TEST_USERNAME);
+        testUser.setEmail("sessionofficer@example.com");
+        testUser.setPassword(passwordEncoder.encode(TEST_PASSWORD));
+        testUser.setFirstName("Session");
+        testUser.setLastName("Officer");
+        testUser.setRole(User.Role.VETERINARY_OFFICER);
+        testUser.setActive(true);
+        testUser = userRepository.save(testUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM http_sessions WHERE principal_name = ?", TEST_USERNAME);
+        userRepository.deleteById(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep the logged-in session in the database, indexed by user")
+    void testFormLoginStoresSession() throws Exception {
+        mockMvc.perform(post("/login").with(csrf())
+                        .param("username", TEST_USERNAME)
+                        .param("password", TEST_PASSWORD))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/dashboard"))
+                .andExpect(cookie().exists("SESSION"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions WHERE principal_name = ?",
+                Integer.class, TEST_USERNAME)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should store the session principal without the password hash")
+    void testSessionPrincipalHasNoPassword() throws Exception {
+        // The second login is served from the user cache, which must still hold the hash
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/login").with(csrf())
+                            .param("username", TEST_USERNAME)
+                            .param("password", TEST_PASSWORD))
+                    .andExpect(redirectedUrl("/dashboard"));
+        }
+
+        assertThat(sessionRepository.findByIndexNameAndIndexValue(
+                FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, TEST_USERNAME).values())
+                .hasSize(2)
+                .allSatisfy(session -> {
+                    SecurityContext context = session.getAttribute(
+                            HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+                    assertThat(context.getAuthentication().getPrincipal())
+                            .isInstanceOfSatisfying(AuthenticatedUser.class,
+                                    principal -> assertThat(principal.getPassword()).isNull());
+                });
+    }
+}
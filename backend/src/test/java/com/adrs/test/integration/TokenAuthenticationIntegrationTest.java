@@ -0,0 +1,115 @@
+package com.adrs.test.integration;
+
+import com.adrs.dto.AuthResponse;
+import com.adrs.dto.LoginRequest;
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import com.adrs.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the stateless token mode.
+ * Not transactional, since a token outlives the request that issued it.
+ */
+@SpringBootTest(properties = "app.jwt.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Token Authentication Integration Tests")
+class TokenAuthenticationIntegrationTest {
+
+    private static final String TEST_USERNAME = "tokenadmin";
+    private static final String TEST_PASSWORD = "password123";
+    private static final String FARM_TYPES_ENDPOINT = "/api/configuration/farm-types";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername(TEST_USERNAME);
+        testUser.setEmail("tokenadmin@example.com");
+        testUser.setPassword(passwordEncoder.encode(TEST_PASSWORD));
+        testUser.setFirstName("Token");
+        testUser.setLastName("Admin");
+        testUser.setRole(User.Role.ADMIN);
+        testUser.setActive(true);
+        testUser = userRepository.save(testUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should authenticate API requests with the issued token and no session")
+    void testTokenAuthentication() throws Exception {
+        String token = login();
+
+        mockMvc.perform(get(FARM_TYPES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(request().sessionAttributeDoesNotExist("SPRING_SECURITY_CONTEXT"));
+
+        mockMvc.perform(get(FARM_TYPES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    @DisplayName("Should refuse a token after logout and after the user is deactivated")
+    void testTokenRevocation() throws Exception {
+        String loggedOut = login();
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedOut))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(FARM_TYPES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedOut))
+                .andExpect(status().isUnauthorized());
+
+        String deactivated = login();
+        userService.toggleUserStatus(testUser.getId(), false);
+        mockMvc.perform(get(FARM_TYPES_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + deactivated))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(TEST_USERNAME, TEST_PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).getToken();
+        assertThat(token).isNotBlank();
+        return token;
+    }
+}
@@ -1,5 +1,6 @@
 package com.adrs.test.repository;
 
+import com.adrs.dto.UserSummary;
 import com.adrs.model.District;
 import com.adrs.model.Province;
 import com.adrs.model.User;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -215,4 +217,62 @@ class UserRepositoryTest {
         assertThat(userRepository.existsByUsername("testuser")).isTrue();
         assertThat(userRepository.existsByEmail("test@example.com")).isTrue();
     }
+    @Test
+    @DisplayName("Should list users by key in username order")
+    void testSearchUsersByKey() {
+        // Given
+        for (String username : List.of("delta", "alpha", "charlie", "bravo", "echo")) {
+            entityManager.persist(user(username, User.Role.VETERINARY_OFFICER, Province.WESTERN));
+        }
+        entityManager.flush();
+
+        // When
+        List<UserSummary> first = userRepository.searchUsers(null, null, null, null, null, null, PageRequest.ofSize(2));
+        List<UserSummary> second = userRepository.searchUsers(null, null, null, null, null,
+                first.get(1).getUsername(), PageRequest.ofSize(2));
+
+        // Then
+        assertThat(first).extracting(UserSummary::getUsername).containsExactly("alpha", "bravo");
+        assertThat(second).extracting(UserSummary::getUsername).containsExactly("charlie", "delta");
+        assertThat(second.get(0).getProvince()).isEqualTo(Province.WESTERN);
+        assertThat(userRepository.countSearchUsers(null, null, null, null, null)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should filter the user listing by role, province, status and text")
+    void testSearchUsersFilters() {
+        // Given
+        entityManager.persist(user("officer_one", User.Role.VETERINARY_OFFICER, Province.WESTERN));
+        entityManager.persist(user("officer2", User.Role.VETERINARY_OFFICER, Province.CENTRAL));
+        User inactive = user("officer3", User.Role.VETERINARY_OFFICER, Province.WESTERN);
+        inactive.setActive(false);
+        entityManager.persist(inactive);
+        entityManager.persist(user("admin", User.Role.ADMIN, Province.WESTERN));
+        entityManager.flush();
+
+        // When
+        List<UserSummary> officers = userRepository.searchUsers(User.Role.VETERINARY_OFFICER, Province.WESTERN,
+                null, true, null, null, PageRequest.ofSize(10));
+        List<UserSummary> byText = userRepository.searchUsers(null, null, null, null, "%r\\_o%", null,
+                PageRequest.ofSize(10));
+
+        // Then
+        assertThat(officers).extracting(UserSummary::getUsername).containsExactly("officer_one");
+        assertThat(byText).extracting(UserSummary::getUsername).containsExactly("officer_one");
+        assertThat(userRepository.countSearchUsers(User.Role.VETERINARY_OFFICER, null, null, null, null))
+                .isEqualTo(3);
+    }
+
+    private User user(String username, User.Role role, Province province) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setProvince(province);
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
 }
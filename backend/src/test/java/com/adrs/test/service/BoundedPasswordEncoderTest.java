@@ -0,0 +1,66 @@
+package com.adrs.test.service;
+
+import com.adrs.exception.LoginCapacityExceededException;
+import com.adrs.service.impl.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BoundedPasswordEncoder.
+ */
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the pool")
+    void testEncodeAndMatch() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+        try {
+            String hash = encoder.encode("secret");
+
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ask for a rehash of hashes made at a lower or higher cost")
+    void testUpgradeEncoding() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 4, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+        try {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a hash that waited longer than the queue time allows")
+    void testQueueTimeExceeded() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ZERO, meterRegistry);
+        try {
+            assertThatThrownBy(() -> encoder.matches("secret", "$2a$04$abcdefghijklmnopqrstuuJ2rJ7aW1zPc8mYk7lKqdoTtPaDlrgC"))
+                    .isInstanceOf(LoginCapacityExceededException.class);
+            assertThat(meterRegistry.get("password.hash.rejected").tag("reason", "timed-out").counter().count())
+                    .isEqualTo(1.0);
+        } finally {
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.adrs.test.service;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.exception.LoginCapacityExceededException;
+import com.adrs.model.User;
+import com.adrs.service.impl.CapacityAwareAuthenticationProvider;
+import com.adrs.service.impl.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CapacityAwareAuthenticationProvider.
+ */
+@DisplayName("Capacity Aware Authentication Provider Tests")
+class CapacityAwareAuthenticationProviderTest {
+
+    private UserDetailsService userDetailsService;
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        UserDetailsCache userCache = new UserDetailsCache(10, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        provider = new CapacityAwareAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userCache);
+
+        assertThat(userCache.getUserFromCache("officer")).isNull();
+        userCache.putUserInCache(user());
+    }
+
+    @Test
+    @DisplayName("Should fail a cached login without reloading the user when hashing is at capacity")
+    void testCapacityExceededIsNotRetried() {
+        when(passwordEncoder.matches(anyString(), anyString()))
+                .thenThrow(new LoginCapacityExceededException("Password verification queue is full"));
+
+        assertThatThrownBy(() -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("officer", "password123")))
+                .isInstanceOf(LoginCapacityExceededException.class)
+                .hasMessage("Password verification queue is full");
+
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should still reload a cached user whose password did not match")
+    void testBadPasswordIsRetried() {
+        when(userDetailsService.loadUserByUsername("officer")).thenReturn(user());
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+
+        assertThatThrownBy(() -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("officer", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(userDetailsService, times(1)).loadUserByUsername("officer");
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    private AuthenticatedUser user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("officer");
+        user.setPassword("hash");
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        return AuthenticatedUser.fromUser(user);
+    }
+}
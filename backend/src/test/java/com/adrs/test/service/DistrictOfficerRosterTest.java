@@ -0,0 +1,116 @@
+package com.adrs.test.service;
+
+import com.adrs.dto.UserRequest;
+import com.adrs.dto.UserResponse;
+import com.adrs.model.District;
+import com.adrs.model.Province;
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import com.adrs.service.UserService;
+import com.adrs.service.impl.DistrictOfficerRoster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for DistrictOfficerRoster against the test database.
+ * Not transactional, since the roster only sees committed changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("District Officer Roster Tests")
+class DistrictOfficerRosterTest {
+
+    @Autowired
+    private DistrictOfficerRoster districtRoster;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findAll().stream()
+                .filter(user -> user.getUsername().startsWith("roster-"))
+                .forEach(user -> userService.deleteUser(user.getId()));
+        districtRoster.reload();
+    }
+
+    @Test
+    @DisplayName("Should follow users created, moved, deactivated and deleted through the user service")
+    void testIncrementalUpdates() {
+        UserResponse officer = userService.createUser(request("roster-officer", District.TRINCOMALEE,
+                User.Role.VETERINARY_OFFICER, true));
+        UserResponse admin = userService.createUser(request("roster-admin", District.TRINCOMALEE,
+                User.Role.ADMIN, true));
+        userService.createUser(request("roster-inactive", District.TRINCOMALEE, User.Role.VETERINARY_OFFICER, false));
+
+        assertThat(districtRoster.userIds(District.TRINCOMALEE, User.Role.VETERINARY_OFFICER))
+                .containsExactly(officer.getId());
+        assertThat(districtRoster.userIds(District.TRINCOMALEE, null))
+                .containsExactlyInAnyOrder(officer.getId(), admin.getId());
+        assertThat(districtRoster.users(District.TRINCOMALEE, User.Role.VETERINARY_OFFICER))
+                .singleElement()
+                .satisfies(user -> {
+                    assertThat(user.getUsername()).isEqualTo("roster-officer");
+                    assertThat(user.getEmail()).isEqualTo("roster-officer@example.com");
+                    assertThat(user.getDistrict()).isEqualTo("TRINCOMALEE");
+                });
+
+        UserRequest move = request("roster-officer", District.BATTICALOA, User.Role.VETERINARY_OFFICER, true);
+        move.setPassword(null);
+        userService.updateUser(officer.getId(), move);
+        assertThat(districtRoster.count(District.TRINCOMALEE, User.Role.VETERINARY_OFFICER)).isZero();
+        assertThat(districtRoster.userIds(District.BATTICALOA, User.Role.VETERINARY_OFFICER))
+                .containsExactly(officer.getId());
+
+        userService.toggleUserStatus(officer.getId(), false);
+        assertThat(districtRoster.count(District.BATTICALOA, null)).isZero();
+
+        userService.deleteUser(admin.getId());
+        assertThat(districtRoster.users(District.TRINCOMALEE, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pick up users changed outside the user service on reload")
+    void testReload() {
+        User user = new User();
+        user.setUsername("roster-direct");
+        user.setEmail("roster-direct@example.com");
+        user.setPassword("unused");
+        user.setFirstName("Direct");
+        user.setLastName("Write");
+        user.setProvince(Province.EASTERN);
+        user.setDistrict(District.AMPARA);
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        user.setActive(true);
+        User saved = userRepository.save(user);
+        assertThat(districtRoster.count(District.AMPARA, User.Role.VETERINARY_OFFICER)).isZero();
+
+        districtRoster.reload();
+
+        assertThat(districtRoster.userIds(District.AMPARA, User.Role.VETERINARY_OFFICER))
+                .containsExactly(saved.getId());
+    }
+
+    private UserRequest request(String username, District district, User.Role role, boolean active) {
+        UserRequest request = new UserRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("password123");
+        request.setFirstName("Roster");
+        request.setLastName("Member");
+        request.setProvince(Province.EASTERN);
+        request.setDistrict(district);
+        request.setRole(role);
+        request.setActive(active);
+        return request;
+    }
+}
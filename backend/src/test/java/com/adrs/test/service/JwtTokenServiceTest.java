@@ -0,0 +1,119 @@
+package com.adrs.test.service;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.model.User;
+import com.adrs.repository.RevokedTokenRepository;
+import com.adrs.service.impl.JwtTokenServiceImpl;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for JwtTokenServiceImpl.
+ */
+@DisplayName("JWT Token Service Tests")
+class JwtTokenServiceTest {
+
+    private static final String OLD_SECRET = "OldSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+    private static final String NEW_SECRET = "NewSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    @Test
+    @DisplayName("Should accept tokens signed with a previous key until it is dropped")
+    void testKeyRotation() {
+        String token = service(OLD_SECRET, List.of()).issueToken(user());
+
+        assertThat(service(NEW_SECRET, List.of(OLD_SECRET)).verifyToken(token))
+                .hasValueSatisfying(verified -> {
+                    assertThat(verified.getUsername()).isEqualTo("officer");
+                    assertThat(verified.getId()).isEqualTo(7L);
+                    assertThat(verified.getRole()).isEqualTo(User.Role.VETERINARY_OFFICER);
+                    assertThat(verified.getPassword()).isNull();
+                });
+        assertThat(service(NEW_SECRET, List.of()).verifyToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse tokens revoked singly or for the whole user")
+    void testRevocation() {
+        JwtTokenServiceImpl service = service(NEW_SECRET, List.of());
+        String first = service.issueToken(user());
+        String second = service.issueToken(user());
+
+        service.revokeToken(first);
+        assertThat(service.verifyToken(first)).isEmpty();
+        assertThat(service.verifyToken(second)).isPresent();
+
+        service.revokeUserTokens(7L);
+        assertThat(service.verifyToken(second)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject signed tokens with missing or unknown claims")
+    void testMissingClaims() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtTokenServiceImpl service = new JwtTokenServiceImpl(NEW_SECRET, List.of(), 60_000,
+                mock(RevokedTokenRepository.class), meterRegistry);
+
+        assertThat(service.verifyToken(signed(NEW_SECRET).claim("role", "ADMIN").compact())).isEmpty();
+        assertThat(service.verifyToken(signed(NEW_SECRET).claim("uid", 7L).compact())).isEmpty();
+        assertThat(service.verifyToken(signed(NEW_SECRET).claim("uid", "7").claim("role", "ADMIN")
+                .compact())).isEmpty();
+        assertThat(service.verifyToken(signed(NEW_SECRET).claim("uid", 7L).claim("role", "ROOT")
+                .compact())).isEmpty();
+        assertThat(service.verifyToken(signed(NEW_SECRET).id(null).claim("uid", 7L).claim("role", "ADMIN")
+                .compact())).isEmpty();
+        assertThat(service.verifyToken(signed(NEW_SECRET).claim("uid", 7L).claim("role", "ADMIN")
+                .compact())).isPresent();
+
+        assertThat(meterRegistry.get("auth.tokens.verified").tag("result", "invalid").counter().count())
+                .isEqualTo(5);
+    }
+
+    /**
+     * A token signed the way the service signs its own, with no custom claims.
+     */
+    private JwtBuilder signed(String secret) throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        String keyId = HexFormat.of().formatHex(
+                Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(key.getEncoded()), 8));
+        Date issuedAt = new Date();
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .id(UUID.randomUUID().toString())
+                .issuer("adrs")
+                .subject("officer")
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + 60_000))
+                .signWith(key);
+    }
+
+    private JwtTokenServiceImpl service(String secret, List<String> previousSecrets) {
+        return new JwtTokenServiceImpl(secret, previousSecrets, 60_000, mock(RevokedTokenRepository.class),
+                new SimpleMeterRegistry());
+    }
+
+    private AuthenticatedUser user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("officer");
+        user.setPassword("hash");
+        user.setEmail("officer@example.com");
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        return AuthenticatedUser.fromUser(user);
+    }
+}
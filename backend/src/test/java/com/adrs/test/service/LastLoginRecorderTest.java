@@ -0,0 +1,75 @@
+package com.adrs.test.service;
+
+import com.adrs.model.User;
+import com.adrs.repository.UserRepository;
+import com.adrs.service.impl.LastLoginRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for LastLoginRecorder against the test database.
+ * Not transactional, since the recorder writes through its own connection.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Last Login Recorder Tests")
+class LastLoginRecorderTest {
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should write only the latest of several pending logins and never move back in time")
+    void testCoalescedFlush() {
+        User first = userRepository.save(user("recorder-first"));
+        User second = userRepository.save(user("recorder-second"));
+        LocalDateTime earlier = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime later = earlier.plusMinutes(30);
+        try {
+            lastLoginRecorder.record(first.getId(), later);
+            lastLoginRecorder.record(first.getId(), earlier);
+            lastLoginRecorder.record(second.getId(), earlier);
+            assertThat(meterRegistry.get("users.last_login.pending").gauge().value()).isEqualTo(2.0);
+
+            assertThat(lastLoginRecorder.flush()).isEqualTo(2);
+
+            assertThat(meterRegistry.get("users.last_login.pending").gauge().value()).isZero();
+            assertThat(userRepository.findById(first.getId()).orElseThrow().getLastLogin()).isEqualTo(later);
+            assertThat(userRepository.findById(second.getId()).orElseThrow().getLastLogin()).isEqualTo(earlier);
+
+            lastLoginRecorder.record(second.getId(), earlier.minusMinutes(5));
+            lastLoginRecorder.flush();
+            assertThat(userRepository.findById(second.getId()).orElseThrow().getLastLogin()).isEqualTo(earlier);
+        } finally {
+            userRepository.deleteAll(List.of(first, second));
+        }
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setFirstName("Last");
+        user.setLastName("Login");
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,72 @@
+package com.adrs.test.service;
+
+import com.adrs.dto.AuthenticatedUser;
+import com.adrs.model.User;
+import com.adrs.service.impl.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UserDetailsCache.
+ */
+@DisplayName("User Details Cache Tests")
+class UserDetailsCacheTest {
+
+    @Test
+    @DisplayName("Should keep the most recently used users up to the bound")
+    void testBoundedLeastRecentlyUsed() {
+        UserDetailsCache cache = new UserDetailsCache(2, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        load(cache, "alice");
+        load(cache, "bob");
+        assertThat(cache.getUserFromCache("alice")).isNotNull();
+        load(cache, "carol");
+
+        assertThat(cache.getUserFromCache("alice")).isNotNull();
+        assertThat(cache.getUserFromCache("bob")).isNull();
+        assertThat(cache.getUserFromCache("carol")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should expire users after the TTL")
+    void testExpiry() {
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ZERO, new SimpleMeterRegistry());
+
+        load(cache, "alice");
+
+        assertThat(cache.getUserFromCache("alice")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep a user loaded before a concurrent eviction")
+    void testEvictionDuringLoad() {
+        UserDetailsCache cache = new UserDetailsCache(10, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        assertThat(cache.getUserFromCache("alice")).isNull();
+        cache.removeUserFromCache("alice");
+        cache.putUserInCache(user("alice"));
+        assertThat(cache.getUserFromCache("alice")).isNull();
+
+        cache.putUserInCache(user("alice"));
+        assertThat(cache.getUserFromCache("alice")).isNotNull();
+    }
+
+    private void load(UserDetailsCache cache, String username) {
+        assertThat(cache.getUserFromCache(username)).isNull();
+        cache.putUserInCache(user(username));
+    }
+
+    private AuthenticatedUser user(String username) {
+        User user = new User();
+        user.setId((long) username.hashCode());
+        user.setUsername(username);
+        user.setPassword("hash");
+        user.setRole(User.Role.VETERINARY_OFFICER);
+        return AuthenticatedUser.fromUser(user);
+    }
+}
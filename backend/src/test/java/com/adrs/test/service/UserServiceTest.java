@@ -1,6 +1,7 @@
 package com.adrs.test.service;
 
 import com.adrs.dto.AuthResponse;
+import com.adrs.dto.AuthenticatedUser;
 import com.adrs.dto.LoginRequest;
 import com.adrs.dto.UserRequest;
 import com.adrs.dto.UserResponse;
@@ -9,6 +10,9 @@ import com.adrs.model.District;
 import com.adrs.model.Province;
 import com.adrs.model.User;
 import com.adrs.repository.UserRepository;
+import com.adrs.service.impl.DistrictOfficerRoster;
+import com.adrs.service.impl.LastLoginRecorder;
+import com.adrs.service.impl.UserDetailsCache;
 import com.adrs.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -58,6 +63,15 @@ class UserServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private UserDetailsCache userCache;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Mock
+    private DistrictOfficerRoster districtRoster;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -104,8 +118,7 @@ class UserServiceTest {
         
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.fromUser(testUser));
 
         // When
         AuthResponse response = userService.authenticateUser(loginRequest);
@@ -118,8 +131,9 @@ class UserServiceTest {
         assertThat(response.getRole()).isEqualTo("VETERINARY_OFFICER");
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByUsername(TEST_USERNAME);
-        verify(userRepository).save(any(User.class));
+        verify(lastLoginRecorder).record(eq(1L), any(LocalDateTime.class));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -213,6 +227,7 @@ class UserServiceTest {
         
         verify(userRepository).findById(userId);
         verify(userRepository).save(any(User.class));
+        verify(userCache).removeUserFromCache(TEST_USERNAME);
     }
 
     @Test
@@ -305,6 +320,7 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(userId);
         verify(userRepository).delete(any(User.class));
+        verify(userCache).removeUserFromCache(TEST_USERNAME);
     }
 
     @Test
@@ -0,0 +1,143 @@
+package com.adrs.test.session;
+
+import com.adrs.session.JdbcSessionRepository;
+import com.adrs.session.JdbcSessionRepository.JdbcSession;
+import com.adrs.session.SessionAttributeCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for JdbcSessionRepository against H2 in PostgreSQL mode.
+ * Two repositories over one database stand in for two nodes.
+ */
+@DisplayName("JDBC Session Repository Tests")
+class JdbcSessionRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSessionRepository node1;
+    private JdbcSessionRepository node2;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sessions;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        node1 = repository(dataSource);
+        node2 = repository(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/session-schema.sql")).execute(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE http_session_attributes");
+        jdbcTemplate.execute("DROP TABLE http_sessions");
+    }
+
+    @Test
+    @DisplayName("Should share sessions between nodes, loading other attributes on demand")
+    void testSharedSessionWithLazyAttributes() {
+        JdbcSession created = node1.createSession();
+        created.setAttribute("SPRING_SECURITY_CONTEXT", context("officer"));
+        created.setAttribute("filters", "x".repeat(2_000));
+        node1.save(created);
+
+        JdbcSession loaded = node2.findById(created.getId());
+
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getAttributeNames()).containsExactlyInAnyOrder("SPRING_SECURITY_CONTEXT", "filters");
+        assertThat(loaded.<SecurityContextImpl>getAttribute("SPRING_SECURITY_CONTEXT").getAuthentication().getName())
+                .isEqualTo("officer");
+        assertThat(loaded.<String>getAttribute("filters")).hasSize(2_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT LENGTH(attribute_bytes) FROM http_session_attributes "
+                + "WHERE attribute_name = 'filters'", Integer.class)).isLessThan(200);
+
+        loaded.removeAttribute("filters");
+        String newId = loaded.changeSessionId();
+        node2.save(loaded);
+
+        assertThat(node1.findById(created.getId())).isNull();
+        assertThat(node1.findById(newId).getAttributeNames()).containsExactly("SPRING_SECURITY_CONTEXT");
+    }
+
+    @Test
+    @DisplayName("Should write access times in batches rather than on every save")
+    void testBatchedLastAccessTime() {
+        JdbcSession session = node1.createSession();
+        node1.save(session);
+        Instant accessed = session.getLastAccessedTime().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+
+        JdbcSession request = node1.findById(session.getId());
+        request.setLastAccessedTime(accessed);
+        node1.save(request);
+
+        assertThat(storedLastAccess(session.getId())).isLessThan(accessed.toEpochMilli());
+        assertThat(node1.findById(session.getId()).getLastAccessedTime()).isEqualTo(accessed);
+
+        assertThat(node1.flushLastAccessTimes()).isEqualTo(1);
+        assertThat(storedLastAccess(session.getId())).isEqualTo(accessed.toEpochMilli());
+        assertThat(node2.findById(session.getId()).getLastAccessedTime()).isEqualTo(accessed);
+    }
+
+    @Test
+    @DisplayName("Should apply the single-session rule across nodes")
+    void testClusterSessionRegistry() {
+        JdbcSession first = node1.createSession();
+        first.setAttribute("SPRING_SECURITY_CONTEXT", context("officer"));
+        node1.save(first);
+        JdbcSession expired = node1.createSession();
+        expired.setAttribute("SPRING_SECURITY_CONTEXT", context("officer"));
+        expired.setMaxInactiveInterval(Duration.ofSeconds(1));
+        expired.setLastAccessedTime(Instant.now().minusSeconds(60));
+        node1.save(expired);
+
+        assertThat(node2.findByIndexNameAndIndexValue(
+                FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "officer")).containsOnlyKeys(first.getId());
+
+        List<SessionInformation> sessions = new SpringSessionBackedSessionRegistry<>(node2)
+                .getAllSessions(context("officer").getAuthentication().getPrincipal(), false);
+        assertThat(sessions).hasSize(1);
+        sessions.get(0).expireNow();
+
+        assertThat(new SpringSessionBackedSessionRegistry<>(node1).getSessionInformation(first.getId()).isExpired())
+                .isTrue();
+    }
+
+    private long storedLastAccess(String sessionId) {
+        return jdbcTemplate.queryForObject("SELECT last_access_time FROM http_sessions WHERE session_id = ?",
+                Long.class, sessionId);
+    }
+
+    private JdbcSessionRepository repository(DriverManagerDataSource dataSource) {
+        return new JdbcSessionRepository(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new SessionAttributeCodec(getClass().getClassLoader()), Duration.ofMinutes(30),
+                Duration.ofSeconds(10), new SimpleMeterRegistry());
+    }
+
+    private SecurityContextImpl context(String username) {
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_VETERINARY_OFFICER")));
+    }
+}
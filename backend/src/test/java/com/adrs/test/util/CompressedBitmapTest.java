@@ -0,0 +1,121 @@
+package com.adrs.test.util;
+
+import com.adrs.util.CompressedBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CompressedBitmap, checked against java.util.BitSet.
+ */
+@DisplayName("Compressed Bitmap Tests")
+class CompressedBitmapTest {
+
+    private static final int RANGE = 5 * 65536;
+
+    /**
+     * Random values with a density that varies per 64K chunk, so both
+     * sparse and dense chunks occur.
+     */
+    private static BitSet randomSet(SplittableRandom random) {
+        BitSet set = new BitSet(RANGE);
+        for (int chunk = 0; chunk < RANGE / 65536; chunk++) {
+            int values = random.nextInt(3) == 0 ? 20_000 : random.nextInt(3000);
+            for (int i = 0; i < values; i++) {
+                set.set(chunk * 65536 + random.nextInt(65536));
+            }
+        }
+        return set;
+    }
+
+    private static CompressedBitmap bitmapOf(BitSet set) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        set.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static void assertSameValues(CompressedBitmap bitmap, BitSet expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        expected.stream().forEach(value -> assertThat(bitmap.contains(value)).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should add, remove and test values across sparse and dense chunks")
+    void testAddRemoveContains() {
+        SplittableRandom random = new SplittableRandom(7);
+        BitSet expected = randomSet(random);
+        CompressedBitmap bitmap = bitmapOf(expected);
+        assertSameValues(bitmap, expected);
+        assertThat(bitmap.contains(RANGE + 1)).isFalse();
+        assertThat(bitmap.contains(-1)).isFalse();
+
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(RANGE);
+            bitmap.remove(value);
+            expected.clear(value);
+        }
+        assertSameValues(bitmap, expected);
+        expected.stream().forEach(bitmap::remove);
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.cardinality()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compute AND, OR, ANDNOT and multi-way counts like BitSet")
+    void testSetOperations() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < 5; round++) {
+            BitSet a = randomSet(random);
+            BitSet b = randomSet(random);
+            BitSet c = randomSet(random);
+            CompressedBitmap x = bitmapOf(a);
+            CompressedBitmap y = bitmapOf(b);
+            CompressedBitmap z = bitmapOf(c);
+
+            BitSet and = (BitSet) a.clone();
+            and.and(b);
+            BitSet or = (BitSet) a.clone();
+            or.or(b);
+            BitSet andNot = (BitSet) a.clone();
+            andNot.andNot(b);
+            BitSet union = (BitSet) or.clone();
+            union.or(c);
+
+            assertSameValues(x.and(y), and);
+            assertThat(x.andCardinality(y)).isEqualTo(and.cardinality());
+            assertSameValues(x.or(y), or);
+            assertSameValues(x.andNot(y), andNot);
+            assertSameValues(CompressedBitmap.or(List.of(x, y, z)), union);
+
+            BitSet andAndNot = (BitSet) and.clone();
+            andAndNot.and(c);
+            BitSet excluded = randomSet(random);
+            andAndNot.andNot(excluded);
+            assertThat(CompressedBitmap.andCardinality(List.of(x, y, z), bitmapOf(excluded)))
+                    .isEqualTo(andAndNot.cardinality());
+            // inputs are unchanged
+            assertSameValues(x, a);
+            assertSameValues(y, b);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not share storage between results and inputs")
+    void testResultsAreIndependent() {
+        CompressedBitmap a = new CompressedBitmap();
+        a.add(1);
+        CompressedBitmap union = CompressedBitmap.or(List.of(a));
+        union.add(2);
+        a.remove(1);
+
+        assertThat(union.contains(1)).isTrue();
+        assertThat(a.contains(2)).isFalse();
+        assertThatThrownBy(() -> a.add(-5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
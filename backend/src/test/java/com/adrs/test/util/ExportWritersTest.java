@@ -0,0 +1,103 @@
+package com.adrs.test.util;
+
+import com.adrs.util.CsvReader;
+import com.adrs.util.CsvWriter;
+import com.adrs.util.XlsxStreamWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the streaming CSV and XLSX extract writers.
+ */
+@DisplayName("Export Writer Tests")
+class ExportWritersTest {
+
+    @Test
+    @DisplayName("Should quote CSV fields containing separators, quotes and newlines")
+    void testCsvQuoting() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.writeRow("plain", "a,b", "say \"hi\"", "line\nbreak", null, 42);
+        csv.flush();
+
+        assertThat(out.toString())
+                .isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\",,42\r\n");
+    }
+
+    @Test
+    @DisplayName("Should neutralise CSV values that start like spreadsheet formulas")
+    void testCsvFormulaInjection() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.writeRow("=HYPERLINK(\"x\")", "-5");
+        csv.flush();
+
+        assertThat(out.toString()).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\",\"'-5\"\r\n");
+    }
+
+    @Test
+    @DisplayName("Should read back CSV rows as written, formula guards included")
+    void testCsvRoundTrip() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow("plain", "a,b", "say \"hi\"", "line\nbreak", null, "=SUM(A1)", "'quoted");
+        csv.writeRow("last");
+        csv.flush();
+
+        CsvReader reader = new CsvReader(new StringReader("\uFEFF" + out));
+        assertThat(reader.readRow())
+                .containsExactly("plain", "a,b", "say \"hi\"", "line\nbreak", "", "=SUM(A1)", "'quoted");
+        assertThat(reader.readRow()).isEqualTo(List.of("last"));
+        assertThat(reader.readRow()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should write a valid XLSX package with inline string and numeric cells")
+    void testXlsxPackage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxStreamWriter xlsx = new XlsxStreamWriter(out, "Reports")) {
+            xlsx.writeRow("Disease", "Count");
+            xlsx.writeRow("Foot & Mouth <FMD>", 3);
+            xlsx.writeRow(null, "bad\u0001char");
+        }
+
+        Map<String, String> parts = readZip(out.toByteArray());
+
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        assertThat(parts.get("xl/workbook.xml")).contains("name=\"Reports\"");
+
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"3\">");
+        assertThat(sheet).contains("Foot &amp; Mouth &lt;FMD&gt;");
+        assertThat(sheet).contains("<c t=\"n\"><v>3</v></c>");
+        assertThat(sheet).contains("badchar");
+        assertThat(sheet).endsWith("</sheetData></worksheet>");
+    }
+
+    private Map<String, String> readZip(byte[] bytes) throws Exception {
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,56 @@
+package com.adrs.test.util;
+
+import com.adrs.util.FenwickTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FenwickTree.
+ */
+@DisplayName("Fenwick Tree Tests")
+class FenwickTreeTest {
+
+    @Test
+    @DisplayName("Should match brute-force range sums while growing")
+    void testRangeSumsMatchBruteForce() {
+        FenwickTree tree = new FenwickTree(4);
+        int[] counts = new int[1000];
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 5000; i++) {
+            int position = random.nextInt(i < 100 ? 10 : counts.length);
+            int delta = random.nextInt(5) - 1;
+            tree.add(position, delta);
+            counts[position] += delta;
+
+            int from = random.nextInt(counts.length);
+            int to = from + random.nextInt(counts.length - from);
+            long expected = 0;
+            for (int p = from; p <= to; p++) {
+                expected += counts[p];
+            }
+            assertThat(tree.rangeSum(from, to)).isEqualTo(expected);
+        }
+        assertThat(tree.capacity()).isEqualTo(1024);
+        assertThat(tree.total()).isEqualTo(tree.prefixSum(counts.length - 1));
+    }
+
+    @Test
+    @DisplayName("Should treat ranges outside the tree as empty or clamped")
+    void testRangeBounds() {
+        FenwickTree tree = new FenwickTree();
+        tree.add(0, 2);
+        tree.add(15, 3);
+
+        assertThat(tree.rangeSum(-10, 1_000_000)).isEqualTo(5);
+        assertThat(tree.rangeSum(16, 1_000_000)).isZero();
+        assertThat(tree.rangeSum(10, 5)).isZero();
+        assertThat(tree.prefixSum(-1)).isZero();
+        assertThatThrownBy(() -> tree.add(-1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.adrs.test.util;
+
+import com.adrs.util.HyperLogLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for HyperLogLog.
+ */
+@DisplayName("HyperLogLog Tests")
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(long from, long to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long value = from; value < to; value++) {
+            sketch.add(HyperLogLog.hash(value));
+        }
+        return sketch;
+    }
+
+    @Test
+    @DisplayName("Should count small sets exactly and ignore duplicates")
+    void testSparseCountsAreExact() {
+        HyperLogLog sketch = sketchOf(0, 300);
+        for (long value = 0; value < 300; value++) {
+            sketch.add(HyperLogLog.hash(value));
+        }
+
+        assertThat(sketch.isExact()).isTrue();
+        assertThat(sketch.estimate()).isEqualTo(300);
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should estimate large sets within three standard errors")
+    void testDenseEstimateWithinErrorBound() {
+        double error = HyperLogLog.relativeStandardError(HyperLogLog.DEFAULT_PRECISION);
+        for (long size : new long[] {1_000, 20_000, 1_000_000}) {
+            HyperLogLog sketch = sketchOf(0, size);
+
+            assertThat(sketch.isExact()).isFalse();
+            assertThat((double) sketch.estimate()).isCloseTo(size, within(3 * error * size));
+        }
+    }
+
+    @Test
+    @DisplayName("Should merge sparse and dense sketches into the union")
+    void testMerge() {
+        HyperLogLog sparse = sketchOf(0, 100);
+        sparse.merge(sketchOf(50, 200));
+        assertThat(sparse.estimate()).isEqualTo(200);
+
+        HyperLogLog dense = sketchOf(0, 50_000);
+        HyperLogLog union = sketchOf(25_000, 100_000);
+        union.merge(dense);
+        union.merge(sparse);
+        double error = HyperLogLog.relativeStandardError(HyperLogLog.DEFAULT_PRECISION);
+        assertThat((double) union.estimate()).isCloseTo(100_000, within(3 * error * 100_000));
+
+        HyperLogLog copy = union.copy();
+        copy.merge(sketchOf(100_000, 400_000));
+        assertThat(copy.estimate()).isGreaterThan(union.estimate());
+    }
+
+    @Test
+    @DisplayName("Should hash UUIDs consistently and reject mismatched precisions")
+    void testHashAndPrecision() {
+        UUID id = UUID.randomUUID();
+        assertThat(HyperLogLog.hash(id)).isEqualTo(HyperLogLog.hash(new UUID(id.getMostSignificantBits(),
+                id.getLeastSignificantBits())));
+
+        assertThatThrownBy(() -> new HyperLogLog(12).merge(new HyperLogLog(14)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.adrs.test.util;
+
+import com.adrs.util.InvertedIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InvertedIndex.
+ */
+@DisplayName("Inverted Index Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex<Integer> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex<>();
+        index.put(1, "Fever, lameness and blisters on the tongue", "Suspected foot-and-mouth disease");
+        index.put(2, "Lameness in the hind leg", null, "Treated with antibiotics");
+        index.put(3, "Loss of appetite and reduced milk yield", "Mastitis");
+        index.put(4, "Sudden death", "Anthrax suspected; blisters absent");
+    }
+
+    private List<Integer> keys(String query) {
+        return index.search(query, 10).stream().map(InvertedIndex.Hit::key).toList();
+    }
+
+    @Test
+    @DisplayName("Should AND terms, OR alternatives and exclude negated terms")
+    void testBooleanQueries() {
+        assertThat(keys("lameness")).containsExactlyInAnyOrder(1, 2);
+        assertThat(keys("lameness blisters")).containsExactly(1);
+        assertThat(keys("mastitis OR anthrax")).containsExactlyInAnyOrder(3, 4);
+        assertThat(keys("lameness -blisters")).containsExactly(2);
+        assertThat(keys("-lameness")).isEmpty();
+        assertThat(keys("unknownterm")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match phrases by position, skipping stop words and not across fields")
+    void testPhraseQueries() {
+        assertThat(keys("\"loss of appetite\"")).containsExactly(3);
+        assertThat(keys("\"appetite loss\"")).isEmpty();
+        assertThat(keys("foot-and-mouth")).containsExactly(1);
+        // "tongue" ends the first field of report 1 and "suspected" starts the second
+        assertThat(keys("\"tongue suspected\"")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank rarer and denser matches higher")
+    void testRanking() {
+        index.put(5, "Blisters blisters blisters");
+
+        List<InvertedIndex.Hit<Integer>> hits = index.search("blisters", 10);
+
+        assertThat(hits).extracting(InvertedIndex.Hit::key).first().isEqualTo(5);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should replace updated documents and forget removed ones")
+    void testUpdateAndRemove() {
+        index.put(2, "Recovered fully");
+        assertThat(keys("lameness")).containsExactly(1);
+        assertThat(keys("recovered")).containsExactly(2);
+
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(keys("lameness")).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep results identical across compaction")
+    void testCompaction() {
+        for (int i = 100; i < 3100; i++) {
+            index.put(i, "routine vaccination visit " + i);
+        }
+        for (int i = 100; i < 2100; i++) {
+            index.remove(i);
+        }
+
+        assertThat(keys("\"loss of appetite\"")).containsExactly(3);
+        assertThat(index.search("vaccination", 5000)).hasSize(1000);
+        assertThat(keys("2500")).containsExactly(2500);
+        assertThat(keys("1500")).isEmpty();
+
+        index.compact();
+        assertThat(index.search("vaccination", 5000)).hasSize(1000);
+        assertThat(keys("lameness blisters")).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1004);
+    }
+}
@@ -0,0 +1,62 @@
+package com.adrs.test.util;
+
+import com.adrs.util.PrefixIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PrefixIndex.
+ */
+@DisplayName("Prefix Index Tests")
+class PrefixIndexTest {
+
+    @Test
+    @DisplayName("Should rank whole words, then earlier fields, then shorter words")
+    void testRanking() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.putAll(List.of(
+                document("1", "Nimal Perera", "nperera"),
+                document("2", "Kamal Nimalasiri", "kamal"),
+                document("3", "Sunil Silva", "nimal2"),
+                document("4", "Nimali Fernando", "nfernando")));
+
+        assertThat(index.suggest("nimal", 10)).containsExactly("1", "4", "2", "3");
+        assertThat(index.suggest("NIMAL PER", 10)).containsExactly("1");
+        assertThat(index.suggest("nim", 2)).containsExactly("1", "4");
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply updates and removals before and after the array is rebuilt")
+    void testWrites() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(document("1", "Green Valley Farm", "Saman Kumara"));
+        index.put(document("2", "Hill Top Dairy", "Anura Bandara"));
+
+        assertThat(index.suggest("gre", 10)).containsExactly("1");
+        index.put(document("1", "Blue Lagoon Farm", "Saman Kumara"));
+        assertThat(index.suggest("gre", 10)).isEmpty();
+        assertThat(index.suggest("saman", 10)).containsExactly("1");
+        index.remove("2");
+        assertThat(index.suggest("anura", 10)).isEmpty();
+
+        for (int i = 0; i < 600; i++) {
+            index.put(document("farm" + i, "Farm " + i, "Owner" + i));
+        }
+        assertThat(index.size()).isEqualTo(601);
+        assertThat(index.suggest("owner59", 20)).containsExactlyInAnyOrder("farm59",
+                "farm590", "farm591", "farm592", "farm593", "farm594",
+                "farm595", "farm596", "farm597", "farm598", "farm599");
+        assertThat(index.suggest("owner59", 1)).containsExactly("farm59");
+        assertThat(index.suggest("lagoon", 10)).containsExactly("1");
+    }
+
+    private static PrefixIndex.Document<String> document(String key, String... fields) {
+        return new PrefixIndex.Document<>(key, key, Arrays.asList(fields));
+    }
+}
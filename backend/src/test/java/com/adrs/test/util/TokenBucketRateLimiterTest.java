@@ -0,0 +1,95 @@
+package com.adrs.test.util;
+
+import com.adrs.util.TokenBucketRateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TokenBucketRateLimiter, on a clock the tests move.
+ */
+@DisplayName("Token Bucket Rate Limiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    @DisplayName("Should allow the burst, then one request per interval")
+    void testBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(6, Duration.ofMinutes(1), 3, 64, clock::get);
+        long key = limiter.keyHash("officer");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+        assertThat(limiter.tryAcquire(key)).isEqualTo(10_000);
+        assertThat(limiter.tryAcquire(limiter.keyHash("other"))).isZero();
+
+        clock.addAndGet(4_000);
+        assertThat(limiter.tryAcquire(key)).isEqualTo(6_000);
+        clock.addAndGet(6_000);
+        assertThat(limiter.tryAcquire(key)).isZero();
+        assertThat(limiter.tryAcquire(key)).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should free the buckets of idle keys for new keys")
+    void testIdleBucketsReused() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 1, 8, clock::get);
+
+        for (int key = 0; key < 8; key++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+        assertThat(limiter.activeBuckets()).isEqualTo(8);
+        assertThat(limiter.tryAcquire(100)).isEqualTo(TokenBucketRateLimiter.OVERFLOW);
+        assertThat(limiter.overflowCount()).isEqualTo(1);
+
+        clock.addAndGet(1_000);
+        assertThat(limiter.activeBuckets()).isZero();
+        for (int key = 100; key < 108; key++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+            assertThat(limiter.tryAcquire(key)).isPositive();
+        }
+        assertThat(limiter.overflowCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep keys with equal String hash codes in separate buckets")
+    void testCollidingStringHashesKeptApart() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 1, 65_536, clock::get);
+        assertThat("victim.a_".hashCode()).isEqualTo("victim.b@".hashCode());
+
+        assertThat(limiter.tryAcquire(limiter.keyHash("victim.b@"))).isZero();
+        assertThat(limiter.tryAcquire(limiter.keyHash("victim.b@"))).isPositive();
+        assertThat(limiter.tryAcquire(limiter.keyHash("victim.a_"))).isZero();
+        assertThat(limiter.keyHash("victim.a_")).isEqualTo(limiter.keyHash("victim.a_"));
+    }
+
+    @Test
+    @DisplayName("Should report the wait for a token without taking one")
+    void testWaitMillis() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(6, Duration.ofMinutes(1), 2, 64, clock::get);
+        long key = limiter.keyHash("officer");
+
+        assertThat(limiter.waitMillis(key)).isZero();
+        limiter.tryAcquire(key);
+        assertThat(limiter.waitMillis(key)).isZero();
+        limiter.tryAcquire(key);
+        assertThat(limiter.waitMillis(key)).isEqualTo(10_000);
+        assertThat(limiter.waitMillis(key)).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should reject rates finer than a millisecond")
+    void testRejectsInvalidRates() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(2_000, Duration.ofSeconds(1), 1, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, Duration.ofSeconds(1), 1, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.adrs.test.util;
+
+import com.adrs.util.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UuidV7Generator.
+ */
+@DisplayName("UUIDv7 Generator Tests")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should set version 7 and RFC variant bits")
+    void testVersionAndVariant() {
+        UUID uuid = UuidV7Generator.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should embed the current timestamp")
+    void testTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        // The sequence may carry into the timestamp under load, so allow a small lead
+        assertThat(UuidV7Generator.timestampMillis(uuid)).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing values in one thread")
+    void testMonotonicSingleThread() {
+        UUID previous = UuidV7Generator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.generate();
+            assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique values across threads")
+    void testUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(UuidV7Generator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(seen).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Should reject timestamp extraction from non-v7 UUIDs")
+    void testTimestampOfRandomUuid() {
+        UUID random = UUID.randomUUID();
+
+        assertThatThrownBy(() -> UuidV7Generator.timestampMillis(random))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
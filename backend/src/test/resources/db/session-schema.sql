@@ -0,0 +1,26 @@
+-- Shared HTTP session store (app.session.store=jdbc) for tests on H2.
+-- PostgreSQL databases get these tables from database/migrations/007_add_http_session_tables.sql.
+
+CREATE TABLE IF NOT EXISTS http_sessions (
+    primary_id CHAR(36) NOT NULL,
+    session_id VARCHAR(64) NOT NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    principal_name VARCHAR(100),
+    CONSTRAINT pk_http_sessions PRIMARY KEY (primary_id),
+    CONSTRAINT uk_http_sessions_session_id UNIQUE (session_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_http_sessions_expiry_time ON http_sessions (expiry_time);
+CREATE INDEX IF NOT EXISTS idx_http_sessions_principal_name ON http_sessions (principal_name);
+
+CREATE TABLE IF NOT EXISTS http_session_attributes (
+    session_primary_id CHAR(36) NOT NULL,
+    attribute_name VARCHAR(200) NOT NULL,
+    attribute_bytes BYTEA NOT NULL,
+    CONSTRAINT pk_http_session_attributes PRIMARY KEY (session_primary_id, attribute_name),
+    CONSTRAINT fk_http_session_attributes_session FOREIGN KEY (session_primary_id)
+        REFERENCES http_sessions (primary_id) ON DELETE CASCADE
+);
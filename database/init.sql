@@ -38,6 +38,13 @@ CREATE TABLE IF NOT EXISTS users (
     updated_by UUID
 );
 
+-- Revoked API tokens table (revocations kept until the tokens expire)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id VARCHAR(64) PRIMARY KEY,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
 -- =====================================================
 -- FARM MANAGEMENT TABLES
 -- =====================================================
@@ -146,6 +153,47 @@ CREATE TABLE IF NOT EXISTS disease_reports (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- =====================================================
+-- SYNC TABLES
+-- =====================================================
+
+-- Sync tombstones table (deleted rows, for offline clients)
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id UUID PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    district VARCHAR(50),
+    deleted_at TIMESTAMP NOT NULL,
+    moved BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- =====================================================
+-- SESSION TABLES
+-- =====================================================
+
+-- HTTP sessions table (shared session store, app.session.store=jdbc; times in epoch milliseconds)
+CREATE TABLE IF NOT EXISTS http_sessions (
+    primary_id CHAR(36) NOT NULL,
+    session_id VARCHAR(64) NOT NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    principal_name VARCHAR(100),
+    CONSTRAINT pk_http_sessions PRIMARY KEY (primary_id),
+    CONSTRAINT uk_http_sessions_session_id UNIQUE (session_id)
+);
+
+-- HTTP session attributes table
+CREATE TABLE IF NOT EXISTS http_session_attributes (
+    session_primary_id CHAR(36) NOT NULL,
+    attribute_name VARCHAR(200) NOT NULL,
+    attribute_bytes BYTEA NOT NULL,
+    CONSTRAINT pk_http_session_attributes PRIMARY KEY (session_primary_id, attribute_name),
+    CONSTRAINT fk_http_session_attributes_session FOREIGN KEY (session_primary_id)
+        REFERENCES http_sessions (primary_id) ON DELETE CASCADE
+);
+
 -- =====================================================
 -- INDEXES FOR PERFORMANCE
 -- =====================================================
@@ -156,25 +204,40 @@ CREATE INDEX IF NOT EXISTS idx_users_district ON users(district);
 CREATE INDEX IF NOT EXISTS idx_users_province ON users(province);
 CREATE INDEX IF NOT EXISTS idx_users_is_active ON users(is_active);
 
+-- Revoked tokens indexes
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
 -- Farms indexes
 CREATE INDEX IF NOT EXISTS idx_farms_district ON farms(district);
 CREATE INDEX IF NOT EXISTS idx_farms_province ON farms(province);
 CREATE INDEX IF NOT EXISTS idx_farms_farm_type_id ON farms(farm_type_id);
 CREATE INDEX IF NOT EXISTS idx_farms_is_active ON farms(is_active);
 CREATE INDEX IF NOT EXISTS idx_farms_gps ON farms(gps_latitude, gps_longitude);
+CREATE INDEX IF NOT EXISTS idx_farms_updated_at_id ON farms(updated_at, id);
 
 -- Farm Types indexes
 CREATE INDEX IF NOT EXISTS idx_farm_types_is_active ON farm_types(is_active);
 CREATE INDEX IF NOT EXISTS idx_farm_types_type_name ON farm_types(type_name);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_farm_types_type_name_lower ON farm_types(lower(type_name));
+CREATE INDEX IF NOT EXISTS idx_farm_types_updated_at_id ON farm_types(updated_at, id);
 
 -- Animals indexes
 CREATE INDEX IF NOT EXISTS idx_animals_farm_id ON animals(farm_id);
 CREATE INDEX IF NOT EXISTS idx_animals_animal_type_id ON animals(animal_type_id);
 CREATE INDEX IF NOT EXISTS idx_animals_is_active ON animals(is_active);
+CREATE INDEX IF NOT EXISTS idx_animals_updated_at_id ON animals(updated_at, id);
+
+-- Animal Types indexes
+CREATE UNIQUE INDEX IF NOT EXISTS uq_animal_types_type_name_lower ON animal_types(lower(type_name));
+CREATE INDEX IF NOT EXISTS idx_animal_types_updated_at_id ON animal_types(updated_at, id);
 
 -- Diseases indexes
 CREATE INDEX IF NOT EXISTS idx_diseases_is_active ON diseases(is_active);
 CREATE INDEX IF NOT EXISTS idx_diseases_severity ON diseases(severity);
+CREATE INDEX IF NOT EXISTS idx_diseases_affected_animal_types ON diseases USING GIN (affected_animal_types);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_diseases_disease_name_lower ON diseases(lower(disease_name));
+CREATE UNIQUE INDEX IF NOT EXISTS uq_diseases_disease_code_lower ON diseases(lower(disease_code));
+CREATE INDEX IF NOT EXISTS idx_diseases_updated_at_id ON diseases(updated_at, id);
 
 -- Disease Reports indexes
 CREATE INDEX IF NOT EXISTS idx_disease_reports_animal_id ON disease_reports(animal_id);
@@ -183,6 +246,14 @@ CREATE INDEX IF NOT EXISTS idx_disease_reports_farm_id ON disease_reports(farm_i
 CREATE INDEX IF NOT EXISTS idx_disease_reports_reported_by ON disease_reports(reported_by);
 CREATE INDEX IF NOT EXISTS idx_disease_reports_report_date ON disease_reports(report_date);
 CREATE INDEX IF NOT EXISTS idx_disease_reports_is_confirmed ON disease_reports(is_confirmed);
+CREATE INDEX IF NOT EXISTS idx_disease_reports_updated_at_id ON disease_reports(updated_at, id);
+
+-- Sync tombstones indexes
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_deleted_at_id ON sync_tombstones(deleted_at, id);
+
+-- HTTP sessions indexes
+CREATE INDEX IF NOT EXISTS idx_http_sessions_expiry_time ON http_sessions(expiry_time);
+CREATE INDEX IF NOT EXISTS idx_http_sessions_principal_name ON http_sessions(principal_name);
 
 -- =====================================================
 -- AUDIT TRIGGERS
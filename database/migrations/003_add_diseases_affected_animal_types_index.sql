@@ -0,0 +1,24 @@
+-- =====================================================
+-- Database Migration Script
+-- =====================================================
+-- Migration: Add GIN index on diseases.affected_animal_types
+-- Date: 2026-10-18
+-- Description: Lets array containment queries such as
+--              affected_animal_types @> ARRAY['<animal type id>'] use an index
+--              instead of scanning every disease
+-- =====================================================
+
+-- Start transaction
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_diseases_affected_animal_types
+    ON diseases USING GIN (affected_animal_types);
+
+-- =====================================================
+-- Rollback SQL (for reference - run manually if needed)
+-- =====================================================
+
+-- DROP INDEX IF EXISTS idx_diseases_affected_animal_types;
+
+-- Commit transaction
+COMMIT;
@@ -0,0 +1,38 @@
+-- =====================================================
+-- Database Migration Script
+-- =====================================================
+-- Migration: Add case-insensitive unique indexes on configuration names and codes
+-- Date: 2026-10-18
+-- Description: Enforces that farm type names, animal type names, disease
+--              names and disease codes are unique ignoring case, and lets
+--              lower(...) lookups use an index. Creation fails if existing
+--              rows already differ only by case; rename those first.
+-- =====================================================
+
+-- Start transaction
+BEGIN;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_farm_types_type_name_lower
+    ON farm_types (lower(type_name));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_animal_types_type_name_lower
+    ON animal_types (lower(type_name));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_diseases_disease_name_lower
+    ON diseases (lower(disease_name));
+
+-- NULL codes are allowed more than once
+CREATE UNIQUE INDEX IF NOT EXISTS uq_diseases_disease_code_lower
+    ON diseases (lower(disease_code));
+
+-- =====================================================
+-- Rollback SQL (for reference - run manually if needed)
+-- =====================================================
+
+-- DROP INDEX IF EXISTS uq_farm_types_type_name_lower;
+-- DROP INDEX IF EXISTS uq_animal_types_type_name_lower;
+-- DROP INDEX IF EXISTS uq_diseases_disease_name_lower;
+-- DROP INDEX IF EXISTS uq_diseases_disease_code_lower;
+
+-- Commit transaction
+COMMIT;
@@ -0,0 +1,48 @@
+-- =====================================================
+-- Database Migration Script
+-- =====================================================
+-- Migration: Add sync tombstones table and keyset indexes for delta sync
+-- Date: 2026-10-19
+-- Description: Creates sync_tombstones, which records deleted rows and rows
+--              whose farm moved district, so that offline clients learn
+--              about them, and adds (updated_at, id) indexes so that
+--              GET /api/sync reads each page of changes with an index range
+--              scan instead of a table scan
+-- =====================================================
+
+-- Start transaction
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id UUID PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    district VARCHAR(50),
+    deleted_at TIMESTAMP NOT NULL,
+    moved BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_deleted_at_id
+    ON sync_tombstones (deleted_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_farm_types_updated_at_id ON farm_types (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_animal_types_updated_at_id ON animal_types (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_diseases_updated_at_id ON diseases (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_farms_updated_at_id ON farms (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_animals_updated_at_id ON animals (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_disease_reports_updated_at_id ON disease_reports (updated_at, id);
+
+-- =====================================================
+-- Rollback SQL (for reference - run manually if needed)
+-- =====================================================
+
+-- DROP INDEX IF EXISTS idx_disease_reports_updated_at_id;
+-- DROP INDEX IF EXISTS idx_animals_updated_at_id;
+-- DROP INDEX IF EXISTS idx_farms_updated_at_id;
+-- DROP INDEX IF EXISTS idx_diseases_updated_at_id;
+-- DROP INDEX IF EXISTS idx_animal_types_updated_at_id;
+-- DROP INDEX IF EXISTS idx_farm_types_updated_at_id;
+-- DROP TABLE IF EXISTS sync_tombstones;
+
+-- Commit transaction
+COMMIT;
@@ -0,0 +1,31 @@
+-- =====================================================
+-- Database Migration Script
+-- =====================================================
+-- Migration: Add revoked tokens table
+-- Date: 2026-10-19
+-- Description: Creates revoked_tokens, which records API tokens revoked
+--              before they expire, and an expires_at index for purging
+--              revocations once their tokens have expired. The table is
+--              needed even when app.jwt.enabled=false, since the entity is
+--              validated at startup.
+-- =====================================================
+
+-- Start transaction
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id VARCHAR(64) PRIMARY KEY,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- =====================================================
+-- Rollback SQL (for reference - run manually if needed)
+-- =====================================================
+
+-- DROP TABLE IF EXISTS revoked_tokens;
+
+-- Commit transaction
+COMMIT;
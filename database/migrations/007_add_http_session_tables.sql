@@ -0,0 +1,49 @@
+-- =====================================================
+-- Database Migration Script
+-- =====================================================
+-- Migration: Add HTTP session tables
+-- Date: 2026-10-19
+-- Description: Creates http_sessions and http_session_attributes, the
+--              shared session store used when app.session.store=jdbc, with
+--              indexes on expiry time for removing expired sessions and on
+--              principal name for the cluster-wide session registry. Times
+--              are epoch milliseconds; a session keeps its primary ID when
+--              its session ID changes.
+-- =====================================================
+
+-- Start transaction
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS http_sessions (
+    primary_id CHAR(36) NOT NULL,
+    session_id VARCHAR(64) NOT NULL,
+    creation_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL,
+    max_inactive_interval INT NOT NULL,
+    expiry_time BIGINT NOT NULL,
+    principal_name VARCHAR(100),
+    CONSTRAINT pk_http_sessions PRIMARY KEY (primary_id),
+    CONSTRAINT uk_http_sessions_session_id UNIQUE (session_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_http_sessions_expiry_time ON http_sessions (expiry_time);
+CREATE INDEX IF NOT EXISTS idx_http_sessions_principal_name ON http_sessions (principal_name);
+
+CREATE TABLE IF NOT EXISTS http_session_attributes (
+    session_primary_id CHAR(36) NOT NULL,
+    attribute_name VARCHAR(200) NOT NULL,
+    attribute_bytes BYTEA NOT NULL,
+    CONSTRAINT pk_http_session_attributes PRIMARY KEY (session_primary_id, attribute_name),
+    CONSTRAINT fk_http_session_attributes_session FOREIGN KEY (session_primary_id)
+        REFERENCES http_sessions (primary_id) ON DELETE CASCADE
+);
+
+-- =====================================================
+-- Rollback SQL (for reference - run manually if needed)
+-- =====================================================
+
+-- DROP TABLE IF EXISTS http_session_attributes;
+-- DROP TABLE IF EXISTS http_sessions;
+
+-- Commit transaction
+COMMIT;